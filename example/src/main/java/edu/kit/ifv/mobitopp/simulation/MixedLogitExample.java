@@ -69,7 +69,7 @@ public class MixedLogitExample extends Simulation {
 						new DestinationChoiceForFlexibleActivity(
 								modeAvailabilityModel, 
 								new CarRangeReachableZonesFilter(impedance),
-								new AttractivityCalculatorCostNextPole(zoneRepository().zones(),
+								AttractivityKernel.from(context().configuration()).createNextPole(zoneRepository().zones(),
 										impedance, destinationChoiceFiles.get("cost"), 0.5f)),
 						destinationChoiceFiles.get("repetition")));
 	}
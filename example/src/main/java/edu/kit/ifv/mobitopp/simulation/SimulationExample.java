@@ -84,7 +84,7 @@ public class SimulationExample extends Simulation {
                         new DestinationChoiceForFlexibleActivity(
                                 modeAvailabilityModel,
                                 new CarRangeReachableZonesFilter(impedance),
-                                new AttractivityCalculatorCostNextPole(zoneRepository().zones(),
+                                AttractivityKernel.from(context().configuration()).createNextPole(zoneRepository().zones(),
                                         impedance, destinationChoiceFiles.get("cost"), 0.5f)),
                         destinationChoiceFiles.get("repetition")));
     }
@@ -1,5 +1,9 @@
 package edu.kit.ifv.mobitopp.routing;
 
+/**
+ * Travel times of links are taken from MATSim at the given time. Connectors keep the travel time
+ * of Visum.
+ */
 public final class MatsimVisumTravelTime implements TravelTime {
 
   private static final float secondsPerMinute = 60.0f;
@@ -11,9 +15,6 @@ public final class MatsimVisumTravelTime implements TravelTime {
 
   @Override
   public float travelTime(Edge edge, float currentTime) {
-    if (edge instanceof LinkFromMatsim) {
-      return ((LinkFromMatsim) edge).travelTime();
-    }
     if (edge instanceof LinkFromVisumConnector) {
       return travelTimeInSeconds((LinkFromVisumConnector) edge);
     }
@@ -23,4 +24,4 @@ public final class MatsimVisumTravelTime implements TravelTime {
   private float travelTimeInSeconds(LinkFromVisumConnector fromConnector) {
     return fromConnector.travelTime() * secondsPerMinute;
   }
-}
\ No newline at end of file
+}
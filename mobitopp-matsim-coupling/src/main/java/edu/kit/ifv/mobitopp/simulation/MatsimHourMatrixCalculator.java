@@ -1,8 +1,10 @@
 package edu.kit.ifv.mobitopp.simulation;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.TreeMap;
 
 import org.matsim.api.core.v01.network.Network;
 import org.matsim.core.controler.Controler;
@@ -10,17 +12,21 @@ import org.matsim.core.router.util.TravelTime;
 
 import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
 import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.routing.CompactGraph;
 import edu.kit.ifv.mobitopp.routing.MatsimGraph;
 import edu.kit.ifv.mobitopp.routing.MatsimVisumTravelTime;
-import edu.kit.ifv.mobitopp.routing.Node;
-import edu.kit.ifv.mobitopp.routing.Path;
-import edu.kit.ifv.mobitopp.routing.TimeAwareForwardDijkstra;
 import edu.kit.ifv.mobitopp.routing.TravelTimeFromMatsim;
-import edu.kit.ifv.mobitopp.routing.util.PriorityQueueBasedPQ;
+import edu.kit.ifv.mobitopp.routing.ZoneSkims;
 import edu.kit.ifv.mobitopp.visum.VisumRoadNetwork;
 
+/**
+ * Calculates car travel times in minutes between all zones from the link travel times of MATSim.
+ * The graph is built once and shared by all hours, only the costs of the edges are taken per hour.
+ */
 public class MatsimHourMatrixCalculator {
 
+  private static final float secondsPerMinute = 60.0f;
+
   private final Network network;
   private final VisumRoadNetwork visumNetwork;
   private final Map<Integer, ZoneId> idsToOids;
@@ -37,43 +43,77 @@ public class MatsimHourMatrixCalculator {
   }
 
   public TravelTimeMatrix calculateMatrix(float timeOfDayInSec) {
-    System.out.println("starting Dijkstra: " + ((int) timeOfDayInSec / 60 / 60));
+    return calculateMatrices(Collections.singletonList(timeOfDayInSec)).get(0);
+  }
+
+  /**
+   * Calculates one matrix per given time of day. All hours are skimmed together, so the work is
+   * spread over all processors independent of the number of hours. Travel times within a zone are
+   * 0, pairs of zones without a route are {@link Float#POSITIVE_INFINITY}.
+   *
+   * @return matrices in the order of the given times
+   */
+  public List<TravelTimeMatrix> calculateMatrices(List<Float> timesOfDayInSec) {
     TravelTimeFromMatsim ttForGraph = createTravelTimeForGraph();
-    MatsimGraph graph = createMatsimGraph(timeOfDayInSec, ttForGraph);
+    CompactGraph graph = CompactGraph.of(createMatsimGraph(ttForGraph));
     edu.kit.ifv.mobitopp.routing.TravelTime ttFunction = new MatsimVisumTravelTime(ttForGraph);
-    return doCalculateMatrix(timeOfDayInSec, graph, ttFunction);
+    List<ZoneId> ids = new ArrayList<>(idsToOids.values());
+    List<float[]> costs = new ArrayList<>();
+    List<TravelTimeMatrix> matrices = new ArrayList<>();
+    for (float timeOfDayInSec : timesOfDayInSec) {
+      costs.add(costsInMinutes(graph, ttFunction, timeOfDayInSec));
+      matrices.add(new TravelTimeMatrix(ids, Float.POSITIVE_INFINITY));
+    }
+    new ZoneSkims(graph).skim(costs, matrices, columnsOf(graph));
+    return matrices;
   }
 
-  private MatsimGraph createMatsimGraph(float timeOfDayInSec, TravelTimeFromMatsim ttForGraph) {
-    return new MatsimGraph(visumNetwork, ttForGraph, timeOfDayInSec);
+  /**
+   * Calculates the matrices of the given hours at the middle of each hour.
+   */
+  public TreeMap<Integer, TravelTimeMatrix> calculateHours(List<Integer> hours) {
+    List<Float> midHoursInSec = new ArrayList<>();
+    for (int hour : hours) {
+      midHoursInSec.add((0.5f + hour) * 60 * 60);
+    }
+    List<TravelTimeMatrix> matrices = calculateMatrices(midHoursInSec);
+    TreeMap<Integer, TravelTimeMatrix> hourMatrices = new TreeMap<>();
+    for (int index = 0; index < hours.size(); index++) {
+      hourMatrices.put(hours.get(index), matrices.get(index));
+    }
+    return hourMatrices;
   }
 
-  private TravelTimeFromMatsim createTravelTimeForGraph() {
-    TravelTime tt = controler.getLinkTravelTimes();
-    return new TravelTimeFromMatsim(network, tt);
+  private static float[] costsInMinutes(
+      CompactGraph graph, edu.kit.ifv.mobitopp.routing.TravelTime ttFunction,
+      float timeOfDayInSec) {
+    float[] costs = graph.costsAt(ttFunction, timeOfDayInSec);
+    for (int edge = 0; edge < costs.length; edge++) {
+      costs[edge] /= secondsPerMinute;
+    }
+    return costs;
   }
 
-  private TravelTimeMatrix doCalculateMatrix(
-      float timeOfDayInSec, MatsimGraph graph, edu.kit.ifv.mobitopp.routing.TravelTime ttfunction) {
-    TravelTimeMatrix ttMatrix = new TravelTimeMatrix(new ArrayList<>(idsToOids.values()),
-        Float.POSITIVE_INFINITY);
-    for (Entry<Integer, Node> from : graph.zones().entrySet()) {
-      Integer fromId = from.getKey();
-      Node zone = from.getValue();
-      Map<Node, Path> paths = dijkstra()
-          .shortestPathToAllZones(graph, ttfunction, zone, timeOfDayInSec);
-      for (Node n : paths.keySet()) {
-        Path p = paths.get(n);
-        Integer toId = Integer.valueOf(n.id().replaceFirst("Z", ""));
-        if (fromId != toId) {
-          ttMatrix.set(idsToOids.get(fromId), idsToOids.get(toId), p.travelTime() / 60.0f);
-        }
-      }
+  private int[] columnsOf(CompactGraph graph) {
+    int[] columns = new int[graph.numberOfZones()];
+    for (int zone = 0; zone < columns.length; zone++) {
+      ZoneId id = idsToOids.get(graph.zoneId(zone));
+      columns[zone] = null == id ? -1 : id.getMatrixColumn();
     }
-    return ttMatrix;
+    return columns;
+  }
+
+  /**
+   * The travel times stored in the links of the graph are not used. The costs of every hour are
+   * taken from {@link MatsimVisumTravelTime}.
+   */
+  private MatsimGraph createMatsimGraph(TravelTimeFromMatsim ttForGraph) {
+    return new MatsimGraph(visumNetwork, ttForGraph, 0.0f);
   }
 
-  private TimeAwareForwardDijkstra dijkstra() {
-    return new TimeAwareForwardDijkstra(new PriorityQueueBasedPQ<>());
+  private TravelTimeFromMatsim createTravelTimeForGraph() {
+    TravelTime tt = controler.getLinkTravelTimes();
+    return new TravelTimeFromMatsim(network, tt);
   }
+
 }
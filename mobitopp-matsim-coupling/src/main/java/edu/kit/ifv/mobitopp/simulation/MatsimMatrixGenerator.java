@@ -1,10 +1,9 @@
 package edu.kit.ifv.mobitopp.simulation;
 
+import static java.util.stream.Collectors.toList;
+
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
 import org.matsim.api.core.v01.network.Network;
@@ -16,6 +15,8 @@ import edu.kit.ifv.mobitopp.visum.VisumRoadNetwork;
 
 public class MatsimMatrixGenerator {
 
+  private static final int hoursPerDay = 24;
+
   private final Network network;
   private final VisumRoadNetwork visumNetwork;
   private final Map<Integer, ZoneId> idsToOids;
@@ -28,40 +29,17 @@ public class MatsimMatrixGenerator {
     this.idsToOids = idsToOids;
   }
 
+  /**
+   * Calculates the travel time matrices of all hours of the day. The hours are not calculated
+   * separately, the {@link MatsimHourMatrixCalculator} spreads the origins of all hours over all
+   * processors.
+   */
   public TreeMap<Integer, TravelTimeMatrix> travelTimeMatrices(
       Controler controler) {
-    TreeMap<Integer, TravelTimeMatrix> ttMatrix = new TreeMap<>();
-    calculateTravelTimes(controler, ttMatrix);
-    return ttMatrix;
-  }
-
-  private void calculateTravelTimes(Controler matsim, TreeMap<Integer, TravelTimeMatrix> ttMatrix) {
-    MatsimHourMatrixCalculator matrixCalculator = new MatsimHourMatrixCalculator(network, visumNetwork, idsToOids, matsim);
-    IntConsumer createAndAdd = hour -> createAndAddMatrix(ttMatrix, matrixCalculator, hour);
-    runInParallel(() -> IntStream.range(0, 24).parallel().forEach(createAndAdd));
-  }
-
-  private void createAndAddMatrix(
-      TreeMap<Integer, TravelTimeMatrix> ttMatrix, MatsimHourMatrixCalculator matrixCalculator,
-      int hour) {
-    float midHourInSeconds = (0.5f + hour) * 60 * 60;
-    TravelTimeMatrix matrix = matrixCalculator.calculateMatrix(midHourInSeconds);
-    ttMatrix.put(hour, matrix);
-  }
-
-  private void runInParallel(Runnable task) {
-    System.out.print(task.toString());
-    ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfThreads());
-    try {
-      forkJoinPool.submit(task).get();
-    } catch (InterruptedException | ExecutionException cause) {
-      throw new RuntimeException(cause);
-    }
-  }
-
-  private int numberOfThreads() {
-    System.out.println("number of threads = " + Runtime.getRuntime().availableProcessors());
-    return Runtime.getRuntime().availableProcessors();
+    MatsimHourMatrixCalculator matrixCalculator = new MatsimHourMatrixCalculator(network,
+        visumNetwork, idsToOids, controler);
+    return matrixCalculator
+        .calculateHours(IntStream.range(0, hoursPerDay).boxed().collect(toList()));
   }
 
 }
@@ -20,6 +20,8 @@ import edu.kit.ifv.mobitopp.publictransport.model.RoutePoints;
 import edu.kit.ifv.mobitopp.publictransport.model.Station;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.publictransport.model.TransportSystem;
+import edu.kit.ifv.mobitopp.publictransport.raptor.Raptor;
+import edu.kit.ifv.mobitopp.publictransport.raptor.RaptorNetwork;
 import edu.kit.ifv.mobitopp.time.RelativeTime;
 import edu.kit.ifv.mobitopp.time.SimpleTime;
 import edu.kit.ifv.mobitopp.time.Time;
@@ -86,6 +88,10 @@ public class SimpleNetwork {
 		return new ConnectionScan(timetable());
 	}
 
+	public Raptor raptor() {
+		return new Raptor(RaptorNetwork.createOf(stops(), connections()));
+	}
+
 	private TransitNetwork timetable() {
 		return TransitNetwork.createOf(stops(), connections());
 	}
@@ -12,6 +12,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -24,6 +25,8 @@ import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
 import edu.kit.ifv.mobitopp.publictransport.model.Connection;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.publictransport.raptor.Raptor;
+import edu.kit.ifv.mobitopp.publictransport.raptor.RaptorRoute;
 import edu.kit.ifv.mobitopp.time.RelativeTime;
 import edu.kit.ifv.mobitopp.time.Time;
 
@@ -107,4 +110,34 @@ public class SimpleTransitExampleTest {
 		assertThat(route.end(), is(equalTo(berlin)));
 		assertThat(route.connections(), contains(chemnitzToBerlin));
 	}
+
+	@Test
+	public void raptorFindsSameRoutesAsConnectionScan() {
+		Time atNoon = network.noon();
+		RouteSearch connectionScan = network.connectionScan();
+		RouteSearch raptor = network.raptor();
+
+		for (Stop from : asList(network.amsterdam(), network.dortmund(), network.chemnitz())) {
+			Optional<PublicTransportRoute> expected = connectionScan.findRoute(from, network.berlin(), atNoon);
+			Optional<PublicTransportRoute> route = raptor.findRoute(from, network.berlin(), atNoon);
+
+			assertThat(route.map(PublicTransportRoute::arrival), is(equalTo(expected.map(PublicTransportRoute::arrival))));
+			assertThat(route.map(PublicTransportRoute::connections), is(equalTo(expected.map(PublicTransportRoute::connections))));
+		}
+	}
+
+	@Test
+	public void paretoRoutesFromStopToStop() {
+		Raptor raptor = network.raptor();
+		StopPaths fromAmsterdam = DefaultStopPaths.from(asList(new StopPath(network.amsterdam(), RelativeTime.ZERO)));
+		StopPaths toBerlin = DefaultStopPaths.from(asList(new StopPath(network.berlin(), RelativeTime.ZERO)));
+
+		List<RaptorRoute> routes = raptor.findParetoRoutes(fromAmsterdam, toBerlin, network.noon());
+
+		assertThat(routes.size(), is(1));
+		RaptorRoute route = routes.get(0);
+		assertThat(route.arrival(), is(equalTo(threeOClock)));
+		assertThat(route.transfers(), is(0));
+		assertThat(route.connections(), contains(network.amsterdamToDortmund(), network.dortmundToBerlin()));
+	}
 }
@@ -0,0 +1,247 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import static java.util.Collections.emptyList;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.ConnectionScan;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.DefaultStopPaths;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.TransitNetwork;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.ConnectionId;
+import edu.kit.ifv.mobitopp.publictransport.model.Connections;
+import edu.kit.ifv.mobitopp.publictransport.model.DefaultModifiableJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.DefaultStation;
+import edu.kit.ifv.mobitopp.publictransport.model.ModifiableJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.RoutePoints;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.publictransport.model.TransportSystem;
+import edu.kit.ifv.mobitopp.simulation.InMemory;
+import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.ProfileConnectionScan;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Compares the connection scan, the profile scan and {@link Raptor} on the same queries. The simple
+ * network contains the four cities of the integration test network. The grid network contains bus
+ * lines along every row and column of a square grid of stops running in both directions the whole
+ * day. Profiles are built during setup and only for the ends of the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RouteSearchBenchmark {
+
+	private static final int numberOfQueries = 20;
+	private static final int gridSize = 25;
+	private static final int headway = 15;
+	private static final int travelTimePerHop = 2;
+	private static final Time day = SimpleTime.ofDays(0);
+	private static final TransportSystem bus = new TransportSystem("bus");
+
+	@Param({ "simple", "grid" })
+	private String network;
+
+	private List<Stop> stops;
+	private Connections connections;
+	private int connectionId;
+	private List<Stop> starts;
+	private List<Stop> ends;
+	private List<Time> departures;
+	private RouteSearch connectionScan;
+	private RouteSearch profileScan;
+	private Raptor raptor;
+
+	@Setup
+	public void setup() {
+		stops = new ArrayList<>();
+		connections = new Connections();
+		if ("simple".equals(network)) {
+			simpleNetwork();
+		} else {
+			gridNetwork();
+		}
+		createQueries();
+		connectionScan = new ConnectionScan(TransitNetwork.createOf(stops, connections));
+		raptor = new Raptor(RaptorNetwork.createOf(stops, connections));
+		Set<Stop> targets = new LinkedHashSet<>(ends);
+		profileScan = ProfileConnectionScan.from(connections.asCollection(), targets, new InMemory());
+	}
+
+	private void simpleNetwork() {
+		Stop amsterdam = stop("Amsterdam", 4.890444, 52.370197, 0);
+		Stop berlin = stop("Berlin", 13.408333, 52.518611, 0);
+		Stop chemnitz = stop("Chemnitz", 12.9252977, 50.8322608, 0);
+		Stop dortmund = stop("Dortmund", 7.4652789, 51.5142273, 0);
+		ModifiableJourney ice1 = new DefaultModifiableJourney(1, day, bus, 460);
+		ModifiableJourney ice2 = new DefaultModifiableJourney(2, day, bus, 460);
+		Time noon = day.plusHours(12);
+		add(amsterdam, chemnitz, noon, noon.plusHours(2), ice1);
+		add(amsterdam, dortmund, noon, noon.plusHours(1), ice2);
+		add(chemnitz, berlin, noon.plusHours(2), noon.plusHours(4), ice2);
+		add(dortmund, berlin, noon.plusHours(1), noon.plusHours(3), ice2);
+	}
+
+	private void gridNetwork() {
+		for (int row = 0; row < gridSize; row++) {
+			for (int column = 0; column < gridSize; column++) {
+				stop("grid " + row + "/" + column, column, row, 1);
+			}
+		}
+		for (int row = 0; row < gridSize; row++) {
+			for (int column = 0; column < gridSize; column++) {
+				if (row + 1 < gridSize && column + 1 < gridSize) {
+					RelativeTime walkTime = RelativeTime.ofMinutes(3);
+					stopAt(row, column).addNeighbour(stopAt(row + 1, column + 1), walkTime);
+				}
+			}
+		}
+		int journeyId = 0;
+		for (int line = 0; line < gridSize; line++) {
+			List<Stop> row = new ArrayList<>();
+			List<Stop> column = new ArrayList<>();
+			for (int position = 0; position < gridSize; position++) {
+				row.add(stopAt(line, position));
+				column.add(stopAt(position, line));
+			}
+			journeyId = addLine(row, line, journeyId);
+			journeyId = addLine(column, line + 1, journeyId);
+		}
+	}
+
+	private int addLine(List<Stop> line, int offset, int firstJourneyId) {
+		int journeyId = firstJourneyId;
+		List<Stop> reversed = new ArrayList<>(line);
+		Collections.reverse(reversed);
+		for (List<Stop> direction : List.of(line, reversed)) {
+			for (Time start = day.plusHours(6).plusMinutes(offset % headway); start
+					.isBefore(day.plusHours(22)); start = start.plusMinutes(headway)) {
+				ModifiableJourney journey = new DefaultModifiableJourney(journeyId++, day, bus, 80);
+				Time departure = start;
+				for (int hop = 0; hop + 1 < direction.size(); hop++) {
+					Time arrival = departure.plusMinutes(travelTimePerHop);
+					add(direction.get(hop), direction.get(hop + 1), departure, arrival, journey);
+					departure = arrival;
+				}
+			}
+		}
+		return journeyId;
+	}
+
+	private Stop stopAt(int row, int column) {
+		return stops.get(row * gridSize + column);
+	}
+
+	private Stop stop(String name, double x, double y, int changeTime) {
+		int id = stops.size();
+		Stop stop = new Stop(id, name, new Point2D.Double(x, y), RelativeTime.ofMinutes(changeTime),
+				new DefaultStation(id, emptyList()), id);
+		stops.add(stop);
+		return stop;
+	}
+
+	private void add(Stop start, Stop end, Time departure, Time arrival, ModifiableJourney journey) {
+		RoutePoints route = RoutePoints.from(start, end);
+		Connection connection = Connection
+				.from(ConnectionId.of(connectionId++), start, end, departure, arrival, journey, route);
+		journey.add(connection);
+		connections.add(connection);
+	}
+
+	private void createQueries() {
+		Random random = new Random(42);
+		starts = new ArrayList<>();
+		ends = new ArrayList<>();
+		departures = new ArrayList<>();
+		Time earliest = "simple".equals(network) ? day.plusHours(12) : day.plusHours(7);
+		for (int query = 0; query < numberOfQueries; query++) {
+			starts.add(stops.get(random.nextInt(stops.size())));
+			ends.add(stops.get(random.nextInt(stops.size())));
+			departures.add(earliest.plusMinutes(random.nextInt(120)));
+		}
+	}
+
+	private static StopPaths pathsOf(Stop stop) {
+		return DefaultStopPaths.from(List.of(new StopPath(stop, RelativeTime.ZERO)));
+	}
+
+	private int search(RouteSearch routeSearch) {
+		int found = 0;
+		for (int query = 0; query < numberOfQueries; query++) {
+			found += routeSearch
+					.findRoute(starts.get(query), ends.get(query), departures.get(query))
+					.isPresent() ? 1 : 0;
+		}
+		return found;
+	}
+
+	@Benchmark
+	public int connectionScan() {
+		return search(connectionScan);
+	}
+
+	@Benchmark
+	public int profileScan() {
+		return search(profileScan);
+	}
+
+	@Benchmark
+	public int raptor() {
+		return search(raptor);
+	}
+
+	@Benchmark
+	public int raptorPareto() {
+		int found = 0;
+		for (int query = 0; query < numberOfQueries; query++) {
+			found += raptor
+					.findParetoRoutes(pathsOf(starts.get(query)), pathsOf(ends.get(query)),
+							departures.get(query))
+					.size();
+		}
+		return found;
+	}
+
+	/**
+	 * Searches all routes departing within one hour after the departure of each query.
+	 */
+	@Benchmark
+	public int raptorRange() {
+		int found = 0;
+		for (int query = 0; query < numberOfQueries; query++) {
+			Time departure = departures.get(query);
+			found += raptor
+					.findRangeRoutes(pathsOf(starts.get(query)), pathsOf(ends.get(query)), departure,
+							departure.plusHours(1))
+					.size();
+		}
+		return found;
+	}
+
+}
@@ -0,0 +1,120 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares shortest path queries of {@link CompactDijkstra} and {@link CustomisedHierarchy} on a
+ * square grid of roads with randomised travel times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ZoneRoutingBenchmark {
+
+	private static final int numberOfQueries = 100;
+
+	@Param({ "50", "150" })
+	private int gridSize;
+
+	private CompactGraph graph;
+	private CompactDijkstra dijkstra;
+	private CustomisedHierarchy hierarchy;
+	private int[] sources;
+	private int[] targets;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		graph = CompactGraph.of(grid(random));
+		dijkstra = new CompactDijkstra(graph);
+		hierarchy = ContractionHierarchy.of(graph).customise();
+		sources = new int[numberOfQueries];
+		targets = new int[numberOfQueries];
+		for (int query = 0; query < numberOfQueries; query++) {
+			sources[query] = random.nextInt(graph.numberOfNodes());
+			targets[query] = random.nextInt(graph.numberOfNodes());
+		}
+	}
+
+	private DefaultGraph grid(Random random) {
+		List<DefaultNode> nodes = new ArrayList<>();
+		Map<DefaultNode, List<Link>> outgoing = new HashMap<>();
+		Map<DefaultNode, List<Link>> incoming = new HashMap<>();
+		for (int index = 0; index < gridSize * gridSize; index++) {
+			DefaultNode node = new DefaultNode("n" + index);
+			nodes.add(node);
+			outgoing.put(node, new ArrayList<>());
+			incoming.put(node, new ArrayList<>());
+		}
+		List<DefaultLink> links = new ArrayList<>();
+		for (int row = 0; row < gridSize; row++) {
+			for (int column = 0; column < gridSize; column++) {
+				DefaultNode node = nodes.get(row * gridSize + column);
+				if (column + 1 < gridSize) {
+					DefaultNode right = nodes.get(row * gridSize + column + 1);
+					connect(node, right, random, links, outgoing, incoming);
+					connect(right, node, random, links, outgoing, incoming);
+				}
+				if (row + 1 < gridSize) {
+					DefaultNode below = nodes.get((row + 1) * gridSize + column);
+					connect(node, below, random, links, outgoing, incoming);
+					connect(below, node, random, links, outgoing, incoming);
+				}
+			}
+		}
+		for (DefaultNode node : nodes) {
+			node.setOutgoingLinks(outgoing.get(node));
+			node.setIncomingLinks(incoming.get(node));
+		}
+		return new DefaultGraph(nodes, links);
+	}
+
+	private static void connect(
+			DefaultNode from, DefaultNode to, Random random, List<DefaultLink> links,
+			Map<DefaultNode, List<Link>> outgoing, Map<DefaultNode, List<Link>> incoming) {
+		float cost = 1.0f + random.nextFloat();
+		DefaultLink link = new DefaultLink("l" + links.size(), from, to, cost, cost);
+		links.add(link);
+		outgoing.get(from).add(link);
+		incoming.get(to).add(link);
+	}
+
+	@Benchmark
+	public int dijkstra() {
+		int links = 0;
+		for (int query = 0; query < numberOfQueries; query++) {
+			links += dijkstra.shortestPath(sources[query], targets[query]).size();
+		}
+		return links;
+	}
+
+	@Benchmark
+	public int hierarchy() {
+		int links = 0;
+		for (int query = 0; query < numberOfQueries; query++) {
+			links += hierarchy.shortestPath(sources[query], targets[query]).size();
+		}
+		return links;
+	}
+
+}
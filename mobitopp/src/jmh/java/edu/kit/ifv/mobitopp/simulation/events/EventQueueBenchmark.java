@@ -0,0 +1,104 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.ifv.mobitopp.simulation.activityschedule.OccupationIfc;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Compares the {@link EventQueueType}s with a hold model: each person holds one event, every time
+ * step all due events are removed and replaced by a follow-up event of the same person, as done by
+ * the simulation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventQueueBenchmark {
+
+	private static final int timeStepLength = 60;
+	private static final int simulatedSeconds = 24 * 60 * 60;
+	private static final int maximumActivityDuration = 4 * 60 * 60;
+
+	@Param({ "simple", "calendar" })
+	private EventQueueType queueType;
+
+	@Param({ "10000", "1000000" })
+	private int numberOfPersons;
+
+	private List<SimulationPerson> persons;
+	private OccupationIfc occupation;
+	private int[] durations;
+
+	@Setup
+	public void setup() {
+		persons = new ArrayList<>(numberOfPersons);
+		for (int oid = 0; oid < numberOfPersons; oid++) {
+			persons.add(person(oid));
+		}
+		occupation = occupation();
+		Random random = new Random(42);
+		durations = new int[numberOfPersons];
+		for (int index = 0; index < numberOfPersons; index++) {
+			durations[index] = 1 + random.nextInt(maximumActivityDuration);
+		}
+	}
+
+	private static SimulationPerson person(int oid) {
+		return (SimulationPerson) Proxy
+				.newProxyInstance(SimulationPerson.class.getClassLoader(),
+						new Class<?>[] { SimulationPerson.class },
+						(proxy, method, arguments) -> "getOid".equals(method.getName()) ? oid : null);
+	}
+
+	private static OccupationIfc occupation() {
+		return (OccupationIfc) Proxy
+				.newProxyInstance(OccupationIfc.class.getClassLoader(),
+						new Class<?>[] { OccupationIfc.class },
+						(proxy, method, arguments) -> "getOid".equals(method.getName()) ? 0 : null);
+	}
+
+	@Benchmark
+	public int hold() {
+		EventQueue queue = queueType.create(timeStepLength);
+		for (int index = 0; index < numberOfPersons; index++) {
+			queue.add(eventOf(index, SimpleTime.ofSeconds(durations[index])));
+		}
+		int handledEvents = 0;
+		for (int second = 0; second < simulatedSeconds; second += timeStepLength) {
+			Time currentTime = SimpleTime.ofSeconds(second);
+			while (queue.hasEventsUntil(currentTime)) {
+				DemandSimulationEventIfc event = queue.nextEvent();
+				int index = event.getPerson().getOid();
+				queue.add(eventOf(index, currentTime.plusSeconds(durations[index])));
+				handledEvents++;
+			}
+		}
+		return handledEvents;
+	}
+
+	private DemandSimulationEvent eventOf(int index, Time date) {
+		return new DemandSimulationEvent(persons.get(index), occupation, date);
+	}
+
+}
@@ -0,0 +1,295 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static java.util.Collections.emptyList;
+
+import java.awt.geom.Point2D;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.ConnectionId;
+import edu.kit.ifv.mobitopp.publictransport.model.DefaultModifiableJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.DefaultStation;
+import edu.kit.ifv.mobitopp.publictransport.model.ModifiableJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.RoutePoints;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.TransportSystem;
+import edu.kit.ifv.mobitopp.simulation.publictransport.Timetable;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares {@link ArrivalTimeFunction} with a reference implementation which keeps a list of
+ * {@link FunctionEntry}s, scans it linearly and reads one {@link FunctionEntry} with two
+ * {@link SimpleTime}s per entry, as the function did before. The lookups query random departures
+ * of all functions. The reads load a profile of all functions written by {@link WriteBinary}.
+ *
+ * The retained heap of all functions is logged during setup. Run with {@code -prof gc} to compare
+ * the allocated bytes per operation.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArrivalTimeFunctionBenchmark {
+
+	private static final int numberOfFunctions = 1000;
+	private static final int numberOfQueries = 10000;
+	private static final int secondsBetweenDepartures = 120;
+	private static final Time day = SimpleTime.ofDays(0);
+
+	@Param({ "16", "256" })
+	private int entriesPerFunction;
+
+	private Stop stop;
+	private Connection[] connections;
+	private Timetable timetable;
+	private ArrivalTimeFunction[] functions;
+	private ListFunction[] references;
+	private int[] queriedFunctions;
+	private Time[] queriedDepartures;
+	private byte[] profile;
+
+	@Setup
+	public void setup() throws IOException {
+		stop = new Stop(0, "stop", new Point2D.Double(), RelativeTime.ZERO,
+				new DefaultStation(0, emptyList()), 0);
+		createConnections();
+		timetable = timetable();
+		functions = new ArrivalTimeFunction[numberOfFunctions];
+		references = new ListFunction[numberOfFunctions];
+		for (int function = 0; function < numberOfFunctions; function++) {
+			functions[function] = newFunction(function);
+			references[function] = ListFunction.of(functions[function]);
+		}
+		createQueries();
+		profile = write();
+		long retained = retainedBytes(this::newFunction);
+		long retainedReference = retainedBytes(
+				function -> ListFunction.of(newFunction(function)));
+		long entries = (long) numberOfFunctions * entriesPerFunction;
+		log
+				.info(String
+						.format("Retained bytes per entry: arrays %.1f, reference %.1f",
+								(double) retained / entries, (double) retainedReference / entries));
+	}
+
+	private void createConnections() {
+		TransportSystem bus = new TransportSystem("bus");
+		ModifiableJourney journey = new DefaultModifiableJourney(0, day, bus, 80);
+		connections = new Connection[entriesPerFunction];
+		for (int index = 0; index < entriesPerFunction; index++) {
+			Time departure = day.plusSeconds(index * secondsBetweenDepartures);
+			connections[index] = Connection
+					.from(ConnectionId.of(index), stop, stop, departure, departure.plusMinutes(1),
+							journey, RoutePoints.from(stop, stop));
+		}
+	}
+
+	private Timetable timetable() {
+		return new Timetable() {
+
+			@Override
+			public Stop stopFor(int id) {
+				return stop;
+			}
+
+			@Override
+			public Stop stopByExternal(int id) {
+				return stop;
+			}
+
+			@Override
+			public Connection connectionFor(ConnectionId id) {
+				return connections[id.asInteger()];
+			}
+		};
+	}
+
+	private ArrivalTimeFunction newFunction(int function) {
+		ArrivalTimeFunction arrivals = new ArrivalTimeFunction(entriesPerFunction);
+		for (int index = 0; index < entriesPerFunction; index++) {
+			int departure = index * secondsBetweenDepartures;
+			int arrival = departure + 600 + function;
+			arrivals.addDeserialized(departure, arrival, connections[index]);
+		}
+		return arrivals;
+	}
+
+	private void createQueries() {
+		Random random = new Random(42);
+		queriedFunctions = new int[numberOfQueries];
+		queriedDepartures = new Time[numberOfQueries];
+		int latestDeparture = (entriesPerFunction - 1) * secondsBetweenDepartures;
+		for (int query = 0; query < numberOfQueries; query++) {
+			queriedFunctions[query] = random.nextInt(numberOfFunctions);
+			queriedDepartures[query] = day.plusSeconds(random.nextInt(latestDeparture + 1));
+		}
+	}
+
+	private byte[] write() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (WriteBinary writer = new WriteBinary(new DataOutputStream(bytes))) {
+			for (ArrivalTimeFunction function : functions) {
+				writer.write(stop, function);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private long retainedBytes(IntFunction<Object> create) {
+		long before = usedHeap();
+		Object[] created = new Object[numberOfFunctions];
+		for (int function = 0; function < numberOfFunctions; function++) {
+			created[function] = create.apply(function);
+		}
+		long after = usedHeap();
+		Reference.reachabilityFence(created);
+		return after - before;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int run = 0; run < 5; run++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Benchmark
+	public void lookup(Blackhole blackhole) {
+		for (int query = 0; query < numberOfQueries; query++) {
+			ArrivalTimeFunction function = functions[queriedFunctions[query]];
+			blackhole.consume(function.arrivalFor(queriedDepartures[query]));
+			blackhole.consume(function.connectionFor(queriedDepartures[query]));
+		}
+	}
+
+	@Benchmark
+	public void referenceLookup(Blackhole blackhole) {
+		for (int query = 0; query < numberOfQueries; query++) {
+			ListFunction function = references[queriedFunctions[query]];
+			blackhole.consume(function.arrivalFor(queriedDepartures[query]));
+			blackhole.consume(function.connectionFor(queriedDepartures[query]));
+		}
+	}
+
+	@Benchmark
+	public void read(Blackhole blackhole) throws IOException {
+		try (ReadBinary reader = reader()) {
+			while (reader.next()) {
+				blackhole.consume(reader.readStop());
+				blackhole.consume(reader.readFunction());
+			}
+		}
+	}
+
+	@Benchmark
+	public void referenceRead(Blackhole blackhole) throws IOException {
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(profile))) {
+			while (0 < input.available()) {
+				blackhole.consume(timetable.stopFor(input.readInt()));
+				blackhole.consume(ListFunction.read(input, timetable));
+			}
+		}
+	}
+
+	private ReadBinary reader() {
+		return new ReadBinary(new DataInputStream(new ByteArrayInputStream(profile)), timetable);
+	}
+
+	/**
+	 * Arrival time function as it has been implemented before the entries were kept in arrays.
+	 */
+	private static class ListFunction {
+
+		private final List<FunctionEntry> entries;
+
+		private ListFunction() {
+			super();
+			entries = new ArrayList<>();
+		}
+
+		static ListFunction of(ArrivalTimeFunction function) {
+			ListFunction reference = new ListFunction();
+			for (int index = 0; index < function.size(); index++) {
+				reference.entries
+						.add(new FunctionEntry(SimpleTime.ofSeconds(function.departureAt(index)),
+								SimpleTime.ofSeconds(function.arrivalAt(index)), function.connectionAt(index)));
+			}
+			return reference;
+		}
+
+		static ListFunction read(DataInputStream input, Timetable timetable) throws IOException {
+			ListFunction function = new ListFunction();
+			int numberOfEntries = input.readInt();
+			for (int current = 0; current < numberOfEntries; current++) {
+				Time departure = SimpleTime.ofSeconds(input.readInt());
+				Time arrival = SimpleTime.ofSeconds(input.readInt());
+				Connection connection = timetable.connectionFor(ConnectionId.of(input.readInt()));
+				function.entries.add(new FunctionEntry(departure, arrival, connection));
+			}
+			return function;
+		}
+
+		Optional<Time> arrivalFor(Time departure) {
+			if (noEntryMatches(departure)) {
+				return Optional.empty();
+			}
+			return Optional.of(findEntryFor(departure).arrivalAtTarget());
+		}
+
+		Optional<Connection> connectionFor(Time departure) {
+			if (noEntryMatches(departure)) {
+				return Optional.empty();
+			}
+			return Optional.of(findEntryFor(departure).connection());
+		}
+
+		private boolean noEntryMatches(Time departure) {
+			return entries.isEmpty() || departure.isAfter(latestEntry().departure());
+		}
+
+		private FunctionEntry latestEntry() {
+			return entries.get(entries.size() - 1);
+		}
+
+		private FunctionEntry findEntryFor(Time departure) {
+			for (FunctionEntry entry : entries) {
+				if (departure.isBeforeOrEqualTo(entry.departure())) {
+					return entry;
+				}
+			}
+			return latestEntry();
+		}
+	}
+
+}
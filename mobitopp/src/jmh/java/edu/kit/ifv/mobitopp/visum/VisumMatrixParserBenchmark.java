@@ -0,0 +1,144 @@
+package edu.kit.ifv.mobitopp.visum;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.util.file.StreamContent;
+
+/**
+ * Parses a synthetic Visum matrix with the streaming {@link VisumMatrixParser} and with a
+ * reference implementation which boxes every value into a list before copying it into the matrix,
+ * as the parser did before. Run with {@code -prof gc} to compare the allocated bytes per
+ * operation. The reference needs a heap of about 2 GB for 5000 zones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VisumMatrixParserBenchmark {
+
+	private static final int valuesPerLine = 10;
+
+	@Param({ "5000" })
+	private int numberOfZones;
+
+	@Param({ "plain", "gz" })
+	private String compression;
+
+	private File file;
+
+	@Setup
+	public void writeMatrix() throws IOException {
+		String suffix = "plain".equals(compression) ? ".mtx" : ".mtx." + compression;
+		file = File.createTempFile("matrix", suffix);
+		Random random = new Random(42);
+		try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputFor(file)))) {
+			writer.write("$V;D3\n* Anzahl Netzobjekte\n" + numberOfZones + "\n* Netzobjekt-Nummern\n");
+			writeLines(writer, index -> String.valueOf(index + 1));
+			writer.write("*\n");
+			for (int row = 0; row < numberOfZones; row++) {
+				writer.write("* Obj " + (row + 1) + " Summe = 0.0\n");
+				writeLines(writer, index -> String.format(Locale.ROOT, "%.3f", 1000 * random.nextFloat()));
+			}
+			writer.write("* Netzobjektnamen\n$NAMES\n");
+		}
+	}
+
+	private OutputStream outputFor(File file) throws IOException {
+		OutputStream output = new FileOutputStream(file);
+		if ("gz".equals(compression)) {
+			return new GZIPOutputStream(output);
+		}
+		return output;
+	}
+
+	private void writeLines(BufferedWriter writer, ValueWriter values) throws IOException {
+		for (int index = 0; index < numberOfZones; index++) {
+			writer.write(" ");
+			writer.write(values.valueAt(index));
+			if (valuesPerLine - 1 == index % valuesPerLine || numberOfZones - 1 == index) {
+				writer.write("\n");
+			}
+		}
+	}
+
+	@TearDown
+	public void deleteMatrix() {
+		file.delete();
+	}
+
+	@Benchmark
+	public FloatMatrix streaming() throws IOException {
+		return VisumMatrixParser.load(file).parseMatrix();
+	}
+
+	@Benchmark
+	public FloatMatrix boxedReference() throws IOException {
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(StreamContent.of(file)))) {
+			String line = reader.readLine();
+			while (!"* Anzahl Netzobjekte".equals(line)) {
+				line = reader.readLine();
+			}
+			int zones = Integer.parseInt(reader.readLine());
+			reader.readLine();
+			List<ZoneId> zoneIds = new ArrayList<>();
+			while (zoneIds.size() < zones) {
+				for (String token : reader.readLine().trim().split("\\s+")) {
+					zoneIds.add(new ZoneId(token, zoneIds.size()));
+				}
+			}
+			List<Float> data = new ArrayList<>();
+			line = reader.readLine();
+			while (null != line && !line.startsWith("* Netzobjektnamen")) {
+				if (!line.startsWith("*") && !line.isEmpty()) {
+					for (String token : line.trim().split("\\s+")) {
+						data.add(Float.parseFloat(token));
+					}
+				}
+				line = reader.readLine();
+			}
+			FloatMatrix matrix = new FloatMatrix(zoneIds);
+			for (int index = 0; index < data.size(); index++) {
+				matrix.set(index / zones, index % zones, data.get(index));
+			}
+			return matrix;
+		}
+	}
+
+	@FunctionalInterface
+	private interface ValueWriter {
+
+		String valueAt(int index);
+	}
+
+}
@@ -0,0 +1,23 @@
+package edu.kit.ifv.mobitopp.communication;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RouteCacheData {
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private int cached_routes;
+
+}
@@ -0,0 +1,39 @@
+package edu.kit.ifv.mobitopp.data;
+
+import java.util.Arrays;
+
+/**
+ * Stores the values in a single float array on the heap.
+ */
+public class ArrayFloatStorage implements FloatStorage {
+
+	private static final long serialVersionUID = 1L;
+
+	private final float[] values;
+
+	public ArrayFloatStorage(float[] values) {
+		super();
+		this.values = values;
+	}
+
+	public ArrayFloatStorage(int size, float defaultValue) {
+		this(new float[size]);
+		Arrays.fill(values, defaultValue);
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public float get(int index) {
+		return values[index];
+	}
+
+	@Override
+	public void set(int index, float value) {
+		values[index] = value;
+	}
+
+}
@@ -11,6 +11,11 @@ public class CostMatrix extends FloatMatrix implements MatrixIfc {
     super(ids);
   }
 
+	public CostMatrix(List<ZoneId> ids, FloatStorage values)
+  {
+    super(ids, values);
+  }
+
   public MatrixType type()
   {
     return MatrixType.COSTMATRIX;
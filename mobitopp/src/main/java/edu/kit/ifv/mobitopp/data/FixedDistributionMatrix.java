@@ -10,6 +10,10 @@ public class FixedDistributionMatrix extends FloatMatrix implements MatrixIfc, M
         super(ids);
     }
 
+    public FixedDistributionMatrix(List<ZoneId> ids, FloatStorage values) {
+        super(ids, values);
+    }
+
     public MatrixType type() {
         return MatrixType.FIXEDDISTRIBUTIONMATRIX;
     }
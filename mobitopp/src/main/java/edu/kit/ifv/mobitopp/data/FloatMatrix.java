@@ -1,43 +1,67 @@
 package edu.kit.ifv.mobitopp.data;
 
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Square matrix of float values. The cells are stored row by row in a single {@link FloatStorage},
+ * which is kept on the heap by default. Use {@link #getFloat(int, int)} to access cells without
+ * boxing.
+ *
+ * Matrices serialised with the former layout of nested float arrays are rejected on
+ * deserialisation, because their cells cannot be assigned to the storage.
+ */
+@Slf4j
 public class FloatMatrix
-        implements Serializable {
+        implements Serializable, Matrix<Float> {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    private float[][] matrix;
+    private final FloatStorage values;
     private final List<ZoneId> ids;
     private final int size;
-    private final float defaultValue;
-
-    public FloatMatrix(List<ZoneId> oids, float defaultValue) {
 
+    public FloatMatrix(List<ZoneId> oids, FloatStorage values) {
         this.ids = Collections.unmodifiableList(new ArrayList<>(oids));
         this.size = oids.size();
+        verify(values);
+        this.values = values;
+    }
 
-        this.defaultValue = defaultValue;
-
-        this.matrix = new float[size][size];
-
-        initMatrix();
+    public FloatMatrix(List<ZoneId> oids, float defaultValue) {
+        this(oids, new ArrayFloatStorage(numberOfCells(oids), defaultValue));
     }
 
     public FloatMatrix(List<ZoneId> oids) {
         this(oids, Float.NaN);
     }
 
+    /**
+     * Returns the number of cells of a matrix with the given zones.
+     *
+     * @param oids zones of the matrix
+     * @return number of cells
+     */
+    public static int numberOfCells(List<ZoneId> oids) {
+        long cells = (long) oids.size() * oids.size();
+        if (Integer.MAX_VALUE < cells) {
+            throw warn(new IllegalArgumentException(
+                    "Too many zones for a single matrix: " + oids.size()), log);
+        }
+        return (int) cells;
+    }
 
-    private void initMatrix() {
-
-        for (int i = 0; i < this.size; i++) {
-            for (int j = 0; j < this.size; j++) {
-                this.matrix[i][j] = this.defaultValue;
-            }
+    private void verify(FloatStorage values) {
+        if (numberOfCells(ids) != values.size()) {
+            throw warn(new IllegalArgumentException(String.format(
+                    "Storage size %s does not match number of cells %s.", values.size(),
+                    numberOfCells(ids))), log);
         }
     }
 
@@ -45,16 +69,33 @@ public class FloatMatrix
         return this.ids;
     }
 
-    public Float get(int row, int column) {
+    /**
+     * Returns the storage containing the cells of this matrix row by row.
+     *
+     * @return storage of the cells
+     */
+    public FloatStorage values() {
+        return this.values;
+    }
+
+    public float getFloat(int row, int column) {
         assert row >= 0 && row < size : String.format("Row %s is higher than size %s", row, size);
         assert column >= 0 && column < size : String.format("column %s is higher than size %s", column, size);
 
-        return this.matrix[row][column];
+        return this.values.get(row * size + column);
     }
 
-    public Float get(ZoneId origin, ZoneId destination) {
+    public float getFloat(ZoneId origin, ZoneId destination) {
         verify(origin, destination);
-        return get(origin.getMatrixColumn(), destination.getMatrixColumn());
+        return getFloat(origin.getMatrixColumn(), destination.getMatrixColumn());
+    }
+
+    public Float get(int row, int column) {
+        return getFloat(row, column);
+    }
+
+    public Float get(ZoneId origin, ZoneId destination) {
+        return getFloat(origin, destination);
     }
 
     private void verify(ZoneId origin, ZoneId destination) {
@@ -68,11 +109,15 @@ public class FloatMatrix
         return String.format("Origin (%s) and destination (%s) pair is not available.", origin, destination);
     }
 
-    public void set(int row, int column, Float value) {
+    public void setFloat(int row, int column, float value) {
         assert row >= 0 && row < size : ("row=" + row + ", size=" + size);
         assert column >= 0 && column < size : ("column=" + column + ", size=" + size);
 
-        this.matrix[row][column] = value;
+        this.values.set(row * size + column, value);
+    }
+
+    public void set(int row, int column, Float value) {
+        setFloat(row, column, value);
     }
 
     public void set(ZoneId origin, ZoneId destination, Float value) {
@@ -0,0 +1,17 @@
+package edu.kit.ifv.mobitopp.data;
+
+import java.io.Serializable;
+
+/**
+ * Flat storage of float values used by {@link FloatMatrix}. Values are addressed by a single index,
+ * matrices store their cells row by row.
+ */
+public interface FloatStorage extends Serializable {
+
+	int size();
+
+	float get(int index);
+
+	void set(int index, float value);
+
+}
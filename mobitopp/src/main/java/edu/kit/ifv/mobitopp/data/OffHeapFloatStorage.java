@@ -0,0 +1,144 @@
+package edu.kit.ifv.mobitopp.data;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores the values outside of the heap, either in direct buffers or in a memory mapped file. Values
+ * are stored as little endian floats. A read only mapping of the same file can be shared by several
+ * processes via the page cache of the operating system.
+ *
+ * Large storages are split into several buffers, because a single buffer is limited to 2 GB.
+ * Serialising an off heap storage copies its values into an {@link ArrayFloatStorage}.
+ */
+@Slf4j
+public class OffHeapFloatStorage implements FloatStorage {
+
+	private static final long serialVersionUID = 1L;
+	private static final int bytesPerValue = Float.BYTES;
+	private static final int chunkShift = 28;
+	private static final int valuesPerChunk = 1 << chunkShift;
+	private static final int chunkMask = valuesPerChunk - 1;
+
+	private final transient FloatBuffer[] chunks;
+	private final int size;
+
+	private OffHeapFloatStorage(FloatBuffer[] chunks, int size) {
+		super();
+		this.chunks = chunks;
+		this.size = size;
+	}
+
+	/**
+	 * Allocates direct buffers for the given number of values.
+	 */
+	public static OffHeapFloatStorage allocate(int size, float defaultValue) {
+		FloatBuffer[] chunks = new FloatBuffer[numberOfChunks(size)];
+		for (int chunk = 0; chunk < chunks.length; chunk++) {
+			chunks[chunk] = ByteBuffer
+					.allocateDirect(bytesPerValue * valuesInChunk(chunk, size))
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asFloatBuffer();
+		}
+		OffHeapFloatStorage storage = new OffHeapFloatStorage(chunks, size);
+		storage.fill(defaultValue);
+		return storage;
+	}
+
+	/**
+	 * Maps the given number of values starting at the given byte position of the file read only.
+	 */
+	public static OffHeapFloatStorage mapReadOnly(File file, long position, int size)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			verifyLength(file, channel.size(), position, size);
+			return map(channel, MapMode.READ_ONLY, position, size);
+		}
+	}
+
+	/**
+	 * Maps the given number of values starting at the given byte position of the file for reading and
+	 * writing. The file is created or enlarged if necessary. Changes are written back to the file by
+	 * the operating system.
+	 */
+	public static OffHeapFloatStorage mapReadWrite(File file, long position, int size)
+			throws IOException {
+		try (FileChannel channel = FileChannel
+				.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+						StandardOpenOption.WRITE)) {
+			return map(channel, MapMode.READ_WRITE, position, size);
+		}
+	}
+
+	private static OffHeapFloatStorage map(
+			FileChannel channel, MapMode mode, long position, int size) throws IOException {
+		FloatBuffer[] chunks = new FloatBuffer[numberOfChunks(size)];
+		for (int chunk = 0; chunk < chunks.length; chunk++) {
+			long start = position + (long) chunk * valuesPerChunk * bytesPerValue;
+			long length = (long) bytesPerValue * valuesInChunk(chunk, size);
+			chunks[chunk] = channel
+					.map(mode, start, length)
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asFloatBuffer();
+		}
+		return new OffHeapFloatStorage(chunks, size);
+	}
+
+	private static void verifyLength(File file, long fileLength, long position, int size) {
+		long requiredLength = position + (long) bytesPerValue * size;
+		if (fileLength < requiredLength) {
+			throw warn(new IllegalArgumentException(String
+					.format("File %s is too short. Expected at least %s bytes, but was %s bytes.", file,
+							requiredLength, fileLength)),
+					log);
+		}
+	}
+
+	private static int numberOfChunks(int size) {
+		return Math.max(1, (int) (((long) size + chunkMask) >>> chunkShift));
+	}
+
+	private static int valuesInChunk(int chunk, int size) {
+		return Math.min(valuesPerChunk, size - chunk * valuesPerChunk);
+	}
+
+	private void fill(float value) {
+		for (int index = 0; index < size; index++) {
+			set(index, value);
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public float get(int index) {
+		return chunks[index >>> chunkShift].get(index & chunkMask);
+	}
+
+	@Override
+	public void set(int index, float value) {
+		chunks[index >>> chunkShift].put(index & chunkMask, value);
+	}
+
+	private Object writeReplace() {
+		float[] values = new float[size];
+		for (int index = 0; index < size; index++) {
+			values[index] = get(index);
+		}
+		return new ArrayFloatStorage(values);
+	}
+
+}
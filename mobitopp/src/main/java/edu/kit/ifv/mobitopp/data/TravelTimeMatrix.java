@@ -16,6 +16,11 @@ public class TravelTimeMatrix extends FloatMatrix implements MatrixIfc, Matrix<F
     super(ids, defaultValue);
   }
 
+  public TravelTimeMatrix(List<ZoneId> ids, FloatStorage values)
+  {
+    super(ids, values);
+  }
+
   public MatrixType type()
   {
     return MatrixType.TRAVELTIMEMATRIX;
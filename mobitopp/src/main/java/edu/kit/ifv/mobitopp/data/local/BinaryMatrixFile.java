@@ -0,0 +1,220 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.FloatStorage;
+import edu.kit.ifv.mobitopp.data.OffHeapFloatStorage;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary copy of a matrix which is stored next to its source file. The file starts with a header
+ * containing a description of the source file and the zone ids, followed by the cell values as
+ * little endian floats row by row. All header values are little endian as well.
+ *
+ * The binary copy is valid as long as the source file has the same length and modification time as
+ * during writing. If only the modification time differs, e.g. after copying the source file, the
+ * checksum of the source file decides whether the binary copy is still valid.
+ */
+@Slf4j
+public class BinaryMatrixFile {
+
+	static final String suffix = ".matrixcache";
+	private static final int magicNumber = 0x4d544d58;
+	private static final int version = 1;
+	private static final int sourceHeaderLength = 2 * Integer.BYTES + 3 * Long.BYTES;
+	private static final int bufferSize = 1 << 20;
+
+	private final File source;
+	private final File cache;
+
+	public BinaryMatrixFile(File source) {
+		super();
+		this.source = source;
+		this.cache = new File(source.getParentFile(), source.getName() + suffix);
+	}
+
+	public File file() {
+		return cache;
+	}
+
+	/**
+	 * Memory maps the binary copy, if it exists and is still valid for the source file.
+	 *
+	 * @param creator creates the matrix from the zone ids and the mapped values
+	 * @return mapped matrix or nothing if the binary copy is missing or outdated
+	 */
+	public <T extends FloatMatrix> Optional<T> map(BiFunction<List<ZoneId>, FloatStorage, T> creator)
+			throws IOException {
+		if (!cache.exists()) {
+			return Optional.empty();
+		}
+		Header header = readHeader();
+		if (!header.isValidFor(source)) {
+			log.info("Binary matrix {} is outdated", cache);
+			return Optional.empty();
+		}
+		int cells = FloatMatrix.numberOfCells(header.zoneIds);
+		FloatStorage values = OffHeapFloatStorage.mapReadOnly(cache, header.dataOffset, cells);
+		return Optional.of(creator.apply(header.zoneIds, values));
+	}
+
+	private Header readHeader() throws IOException {
+		try (FileChannel channel = FileChannel.open(cache.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer fixed = read(channel, sourceHeaderLength + Integer.BYTES * 2);
+			if (magicNumber != fixed.getInt() || version != fixed.getInt()) {
+				throw warn(new IOException("Unknown binary matrix format: " + cache), log);
+			}
+			long length = fixed.getLong();
+			long lastModified = fixed.getLong();
+			long checksum = fixed.getLong();
+			int numberOfZones = fixed.getInt();
+			int zoneBytes = fixed.getInt();
+			ByteBuffer zones = read(channel, zoneBytes);
+			List<ZoneId> zoneIds = new ArrayList<>(numberOfZones);
+			for (int column = 0; column < numberOfZones; column++) {
+				byte[] externalId = new byte[zones.getInt()];
+				zones.get(externalId);
+				zoneIds.add(new ZoneId(new String(externalId, UTF_8), column));
+			}
+			return new Header(length, lastModified, checksum, zoneIds, channel.position());
+		}
+	}
+
+	private ByteBuffer read(FileChannel channel, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (0 > channel.read(buffer)) {
+				throw warn(new IOException("Binary matrix is truncated: " + cache), log);
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Writes the binary copy of the given matrix which has been parsed from the source file. The copy
+	 * is written to a temporary file first and moved afterwards, so other processes never see a
+	 * partially written file.
+	 */
+	public void write(FloatMatrix matrix) throws IOException {
+		Path temporary = Files
+				.createTempFile(cache.getParentFile().toPath(), cache.getName(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				writeHeader(channel, matrix.ids());
+				writeValues(channel, matrix.values());
+			}
+			Files.move(temporary, cache.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private void writeHeader(FileChannel channel, List<ZoneId> zoneIds) throws IOException {
+		List<byte[]> externalIds = new ArrayList<>(zoneIds.size());
+		int zoneBytes = 0;
+		for (ZoneId zoneId : zoneIds) {
+			byte[] externalId = zoneId.getExternalId().getBytes(UTF_8);
+			externalIds.add(externalId);
+			zoneBytes += Integer.BYTES + externalId.length;
+		}
+		ByteBuffer header = ByteBuffer
+				.allocate(sourceHeaderLength + 2 * Integer.BYTES + zoneBytes)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(magicNumber);
+		header.putInt(version);
+		header.putLong(source.length());
+		header.putLong(source.lastModified());
+		header.putLong(checksumOf(source));
+		header.putInt(zoneIds.size());
+		header.putInt(zoneBytes);
+		for (byte[] externalId : externalIds) {
+			header.putInt(externalId.length);
+			header.put(externalId);
+		}
+		header.flip();
+		writeFully(channel, header);
+	}
+
+	private void writeValues(FileChannel channel, FloatStorage values) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+		for (int index = 0; index < values.size(); index++) {
+			if (!buffer.hasRemaining()) {
+				buffer.flip();
+				writeFully(channel, buffer);
+				buffer.clear();
+			}
+			buffer.putFloat(values.get(index));
+		}
+		buffer.flip();
+		writeFully(channel, buffer);
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	static long checksumOf(File file) throws IOException {
+		CRC32 checksum = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			while (0 <= channel.read(buffer)) {
+				buffer.flip();
+				checksum.update(buffer);
+				buffer.clear();
+			}
+		}
+		return checksum.getValue();
+	}
+
+	private static class Header {
+
+		private final long length;
+		private final long lastModified;
+		private final long checksum;
+		private final List<ZoneId> zoneIds;
+		private final long dataOffset;
+
+		private Header(
+				long length, long lastModified, long checksum, List<ZoneId> zoneIds, long dataOffset) {
+			super();
+			this.length = length;
+			this.lastModified = lastModified;
+			this.checksum = checksum;
+			this.zoneIds = zoneIds;
+			this.dataOffset = dataOffset;
+		}
+
+		boolean isValidFor(File source) throws IOException {
+			if (length != source.length()) {
+				return false;
+			}
+			if (lastModified == source.lastModified()) {
+				return true;
+			}
+			return checksum == checksumOf(source);
+		}
+	}
+
+}
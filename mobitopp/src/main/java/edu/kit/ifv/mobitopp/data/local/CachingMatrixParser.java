@@ -0,0 +1,100 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import edu.kit.ifv.mobitopp.data.CostMatrix;
+import edu.kit.ifv.mobitopp.data.FixedDistributionMatrix;
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.FloatStorage;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads matrices from their {@link BinaryMatrixFile} if it is valid. Otherwise the source file is
+ * parsed and the binary file is written for later loads. Failing to write the binary file does not
+ * prevent loading the matrix.
+ */
+@Slf4j
+public class CachingMatrixParser implements MatrixParser {
+
+	private final BinaryMatrixFile binaryFile;
+	private final SourceParser sourceParser;
+
+	public CachingMatrixParser(File source, SourceParser sourceParser) {
+		super();
+		this.binaryFile = new BinaryMatrixFile(source);
+		this.sourceParser = sourceParser;
+	}
+
+	@Override
+	public FloatMatrix parseMatrix() throws IOException {
+		return load(FloatMatrix::new, MatrixParser::parseMatrix);
+	}
+
+	@Override
+	public CostMatrix parseCostMatrix() throws IOException {
+		return load(CostMatrix::new, MatrixParser::parseCostMatrix);
+	}
+
+	@Override
+	public TravelTimeMatrix parseTravelTimeMatrix() throws IOException {
+		return load(TravelTimeMatrix::new, MatrixParser::parseTravelTimeMatrix);
+	}
+
+	@Override
+	public FixedDistributionMatrix parseFixedDistributionMatrix() throws IOException {
+		return load(FixedDistributionMatrix::new, MatrixParser::parseFixedDistributionMatrix);
+	}
+
+	private <T extends FloatMatrix> T load(
+			BiFunction<List<ZoneId>, FloatStorage, T> creator, Parse<T> parse) throws IOException {
+		Optional<T> mapped = mapBinaryFile(creator);
+		if (mapped.isPresent()) {
+			return mapped.get();
+		}
+		T matrix = parse.from(sourceParser.load());
+		writeBinaryFile(matrix);
+		return matrix;
+	}
+
+	private <T extends FloatMatrix> Optional<T> mapBinaryFile(
+			BiFunction<List<ZoneId>, FloatStorage, T> creator) {
+		try {
+			return binaryFile.map(creator);
+		} catch (IOException | IllegalArgumentException cause) {
+			log.warn("Could not read binary matrix " + binaryFile.file() + ", parsing source instead",
+					cause);
+			return Optional.empty();
+		}
+	}
+
+	private void writeBinaryFile(FloatMatrix matrix) {
+		try {
+			binaryFile.write(matrix);
+		} catch (IOException cause) {
+			log.warn("Could not write binary matrix " + binaryFile.file(), cause);
+		}
+	}
+
+	/**
+	 * Creates the parser for the source file. The parser is only created, when the binary file can
+	 * not be used.
+	 */
+	@FunctionalInterface
+	public interface SourceParser {
+
+		MatrixParser load() throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface Parse<T> {
+
+		T from(MatrixParser parser) throws IOException;
+	}
+
+}
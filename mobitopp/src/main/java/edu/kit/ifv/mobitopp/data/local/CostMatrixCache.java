@@ -21,13 +21,12 @@ import lombok.extern.slf4j.Slf4j;
 public class CostMatrixCache extends MatrixCache<CostMatrixId, TaggedCostMatrix> {
 
 	private final Map<Mode, CostMatrixType> modeToType;
-	private int cachedHour;
-	private CostMatrix[] cachedMatrices;
+	private final HourlyMatrices<CostMatrix> cachedMatrices;
 
 	public CostMatrixCache(MatrixConfiguration configuration) {
 		super(configuration);
 		modeToType = modeToTypes();
-		createEmptyCache();
+		cachedMatrices = new HourlyMatrices<>();
 	}
 
 	private static Map<Mode, CostMatrixType> modeToTypes() {
@@ -64,25 +63,12 @@ public class CostMatrixCache extends MatrixCache<CostMatrixId, TaggedCostMatrix>
 	}
 
 	public CostMatrix matrixFor(StandardMode mode, Time date) {
-		if (this.cachedHour != date.getHour()) {
-			createEmptyCache();
-		}
-		if (null != cachedMatrices[mode.ordinal()]) {
-			return cachedMatrices[mode.ordinal()];
-		}
-		return updateCache(mode, date);
+		return cachedMatrices.get(date.getHour(), mode, () -> load(mode, date));
 	}
 
-	private CostMatrix updateCache(StandardMode mode, Time date) {
+	private CostMatrix load(StandardMode mode, Time date) {
 		CostMatrixId id = idOf(typeOf(mode), date);
-		CostMatrix matrix = matrixFor(id).matrix();
-		cachedMatrices[mode.ordinal()] = matrix;
-		cachedHour = date.getHour();
-		return matrix;
-	}
-
-	private void createEmptyCache() {
-		cachedMatrices = new CostMatrix[StandardMode.values().length];
+		return matrixFor(id).matrix();
 	}
 
 	protected TaggedCostMatrix loadMatrixBy(CostMatrixId id) throws IOException {
@@ -32,6 +32,11 @@ public class DynamicTypeMapping implements TypeMapping {
     throw warn(new IllegalArgumentException("No travel time matrix type available for " + mode), log);
   }
 
+  @Override
+  public boolean canResolve(Mode mode) {
+    return mapping.containsKey(mode);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(mapping);
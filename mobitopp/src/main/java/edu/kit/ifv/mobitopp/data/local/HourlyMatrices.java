@@ -0,0 +1,56 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import edu.kit.ifv.mobitopp.simulation.StandardMode;
+
+/**
+ * Keeps the matrices per {@link StandardMode} of the most recently requested hour. Accessing an
+ * other hour replaces all kept matrices. The matrices can be accessed by several threads at once.
+ */
+class HourlyMatrices<V> {
+
+	private volatile Hour<V> current;
+
+	HourlyMatrices() {
+		super();
+		current = new Hour<>(0);
+	}
+
+	V get(int hour, StandardMode mode, Supplier<V> loader) {
+		Hour<V> matrices = current;
+		if (matrices.hour != hour) {
+			matrices = new Hour<>(hour);
+			current = matrices;
+		}
+		V matrix = matrices.get(mode);
+		if (null != matrix) {
+			return matrix;
+		}
+		V loaded = loader.get();
+		matrices.set(mode, loaded);
+		return loaded;
+	}
+
+	private static class Hour<V> {
+
+		private final int hour;
+		private final AtomicReferenceArray<V> matrices;
+
+		Hour(int hour) {
+			super();
+			this.hour = hour;
+			this.matrices = new AtomicReferenceArray<>(StandardMode.values().length);
+		}
+
+		V get(StandardMode mode) {
+			return matrices.get(mode.ordinal());
+		}
+
+		void set(StandardMode mode, V matrix) {
+			matrices.set(mode.ordinal(), matrix);
+		}
+	}
+
+}
@@ -40,7 +40,7 @@ public class ImpedanceLocalData implements ImpedanceIfc {
 
     @Override
     public float getTravelTime(ZoneId origin, ZoneId destination, Mode mode, Time date) {
-        return matrices.travelTimeFor(mode.legMode(), date).get(origin, destination);
+        return matrices.travelTimeFor(mode.legMode(), date).getFloat(origin, destination);
     }
 
     @Override
@@ -49,29 +49,29 @@ public class ImpedanceLocalData implements ImpedanceIfc {
             return 0.0f;
         } else if (mode == StandardMode.PASSENGER) {
             mode = StandardMode.CAR;
-            return matrices.travelCostFor(mode.legMode(), date).get(origin, destination) / 2;
+            return matrices.travelCostFor(mode.legMode(), date).getFloat(origin, destination) / 2;
         }
-        return matrices.travelCostFor(mode.legMode(), date).get(origin, destination);
+        return matrices.travelCostFor(mode.legMode(), date).getFloat(origin, destination);
     }
 
     @Override
     public float getDistance(ZoneId origin, ZoneId destination) {
-        return matrices.distanceMatrix(start).get(origin, destination);
+        return matrices.distanceMatrix(start).getFloat(origin, destination);
     }
 
     @Override
     public float getParkingCost(ZoneId destination, Time date) {
-        return matrices.parkingCostMatrix(date).get(destination, destination);
+        return matrices.parkingCostMatrix(date).getFloat(destination, destination);
     }
 
     @Override
     public float getParkingStress(ZoneId destination, Time date) {
-        return matrices.parkingStressMatrix(date).get(destination, destination);
+        return matrices.parkingStressMatrix(date).getFloat(destination, destination);
     }
 
     @Override
     public float getConstant(ZoneId origin, ZoneId destination, Time date) {
-        return matrices.constantMatrix(date).get(origin, destination);
+        return matrices.constantMatrix(date).getFloat(origin, destination);
     }
 
     @Override
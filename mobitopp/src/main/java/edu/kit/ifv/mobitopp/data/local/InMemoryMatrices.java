@@ -18,7 +18,7 @@ public class InMemoryMatrices {
 	public float getTravelTime(int origin, int destination, Time date) {
 		DayOfWeek dayOfWeek = date.weekDay();
 		int hour = date.getHour();
-		return matrices.get(dayOfWeek).floorEntry(hour).getValue().get(origin, destination);
+		return matrices.get(dayOfWeek).floorEntry(hour).getValue().getFloat(origin, destination);
 	}
 
 }
@@ -78,6 +78,7 @@ public class LocalFiles implements DataSource {
     private ChargingType charging;
     private String defaultChargingPower;
     private boolean mapIds;
+    private int matrixPreloadThreads;
 
 
     public LocalFiles() {
@@ -194,6 +195,18 @@ public class LocalFiles implements DataSource {
         this.defaultChargingPower = defaultChargingPower;
     }
 
+    /**
+     * Number of threads used to load all matrices before the simulation starts. Matrices are loaded
+     * lazily on first access, if no threads are configured.
+     */
+    public int getMatrixPreloadThreads() {
+        return matrixPreloadThreads;
+    }
+
+    public void setMatrixPreloadThreads(int matrixPreloadThreads) {
+        this.matrixPreloadThreads = matrixPreloadThreads;
+    }
+
     public boolean isMapIds() {
         return mapIds;
     }
@@ -257,7 +270,11 @@ public class LocalFiles implements DataSource {
 
     private Matrices matrices(TypeMapping modeToType) throws FileNotFoundException {
         MatrixConfiguration matrixConfiguration = loadMatrixConfiguration(modeToType);
-        return new MatrixRepository(matrixConfiguration);
+        MatrixRepository matrices = new MatrixRepository(matrixConfiguration);
+        if (0 < matrixPreloadThreads) {
+            matrices.preload(matrixPreloadThreads);
+        }
+        return matrices;
     }
 
     private MatrixConfiguration loadMatrixConfiguration(TypeMapping modeToType) throws FileNotFoundException {
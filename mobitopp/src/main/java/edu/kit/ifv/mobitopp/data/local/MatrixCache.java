@@ -3,23 +3,29 @@ package edu.kit.ifv.mobitopp.data.local;
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfiguration;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Loads matrices on first access and keeps them afterwards. The cache can be used by several
+ * threads at once. Each matrix is loaded only once, even if it is requested concurrently.
+ */
 @Slf4j
 public abstract class MatrixCache<K, V> {
 
 	private final Map<K, V> cache;
+	private final Map<K, Object> locks;
 	private MatrixConfiguration configuration;
 
 	public MatrixCache(MatrixConfiguration configuration) {
 		super();
 		this.configuration = configuration;
-		cache = new HashMap<>();
+		cache = new ConcurrentHashMap<>();
+		locks = new ConcurrentHashMap<>();
 	}
 
 	private boolean contains(K id) {
@@ -27,13 +33,22 @@ public abstract class MatrixCache<K, V> {
 	}
 
 	protected V matrixFor(K id) {
-		if (contains(id)) {
-			return cache.get(id);
+		if (null == id) {
+			throw warn(new IllegalArgumentException("Can not find matrix without id."), log);
 		}
-		try {
-			return loadFrom(id);
-		} catch (IOException e) {
-			throw warn(new IllegalArgumentException("Can not find matrix for: " + id, e), log);
+		V matrix = cache.get(id);
+		if (null != matrix) {
+			return matrix;
+		}
+		synchronized (locks.computeIfAbsent(id, key -> new Object())) {
+			if (contains(id)) {
+				return cache.get(id);
+			}
+			try {
+				return loadFrom(id);
+			} catch (IOException e) {
+				throw warn(new IllegalArgumentException("Can not find matrix for: " + id, e), log);
+			}
 		}
 	}
 
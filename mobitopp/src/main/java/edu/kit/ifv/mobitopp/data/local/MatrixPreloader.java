@@ -0,0 +1,118 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfiguration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads all configured travel time and cost matrices into their caches before the simulation
+ * starts. Matrices are loaded concurrently on a pool with a fixed number of threads.
+ */
+@Slf4j
+public class MatrixPreloader {
+
+	private final MatrixConfiguration configuration;
+	private final TravelTimeMatrixCache travelTimeCache;
+	private final CostMatrixCache costCache;
+
+	public MatrixPreloader(
+			MatrixConfiguration configuration, TravelTimeMatrixCache travelTimeCache,
+			CostMatrixCache costCache) {
+		super();
+		this.configuration = configuration;
+		this.travelTimeCache = travelTimeCache;
+		this.costCache = costCache;
+	}
+
+	/**
+	 * Loads all matrices and waits until loading has finished.
+	 *
+	 * @param numberOfThreads maximum number of matrices loaded at the same time
+	 * @return load time and size of each matrix
+	 */
+	public List<PreloadedMatrix> preload(int numberOfThreads) {
+		if (1 > numberOfThreads) {
+			throw warn(new IllegalArgumentException(
+					"Number of threads must be at least 1, but was: " + numberOfThreads), log);
+		}
+		List<Callable<PreloadedMatrix>> tasks = Stream
+				.concat(tasksFor(configuration.travelTimeMatrixIds(),
+						id -> travelTimeCache.matrixFor(id).matrix()),
+						tasksFor(configuration.costMatrixIds(), id -> costCache.matrixFor(id).matrix()))
+				.collect(toList());
+		long start = System.nanoTime();
+		List<PreloadedMatrix> loaded = runAll(tasks, numberOfThreads);
+		long totalBytes = loaded.stream().mapToLong(PreloadedMatrix::getBytes).sum();
+		log.info("Preloaded {} matrices with {} bytes in {} ms using {} threads", loaded.size(),
+				totalBytes, millisecondsSince(start), numberOfThreads);
+		return loaded;
+	}
+
+	private static <K> Stream<Callable<PreloadedMatrix>> tasksFor(
+			Stream<K> ids, Function<K, FloatMatrix> loader) {
+		return ids.map(id -> () -> load(id, loader));
+	}
+
+	private static <K> PreloadedMatrix load(K id, Function<K, FloatMatrix> loader) {
+		long start = System.nanoTime();
+		FloatMatrix matrix = loader.apply(id);
+		long bytes = (long) Float.BYTES * matrix.values().size();
+		PreloadedMatrix loaded = new PreloadedMatrix(id, millisecondsSince(start), bytes);
+		log.info("Preloaded {} with {} bytes in {} ms", id, bytes, loaded.getMilliseconds());
+		return loaded;
+	}
+
+	private static long millisecondsSince(long start) {
+		return (System.nanoTime() - start) / 1_000_000L;
+	}
+
+	private static List<PreloadedMatrix> runAll(
+			List<Callable<PreloadedMatrix>> tasks, int numberOfThreads) {
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<PreloadedMatrix> loaded = new ArrayList<>(tasks.size());
+			for (Future<PreloadedMatrix> result : executor.invokeAll(tasks)) {
+				loaded.add(result.get());
+			}
+			return loaded;
+		} catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw warn(new IllegalStateException("Preloading matrices has been interrupted.", cause),
+					log);
+		} catch (ExecutionException cause) {
+			throw warn(new IllegalStateException("Could not preload matrices.", cause.getCause()), log);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Load time and size of a single preloaded matrix.
+	 */
+	@Getter
+	@ToString
+	@RequiredArgsConstructor
+	public static class PreloadedMatrix {
+
+		private final Object id;
+		private final long milliseconds;
+		private final long bytes;
+	}
+
+}
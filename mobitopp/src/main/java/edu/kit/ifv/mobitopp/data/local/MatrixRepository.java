@@ -5,10 +5,13 @@ import static edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixType.dista
 import static edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixType.parking;
 import static edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixType.parkingstress;
 
+import java.util.List;
+
 import edu.kit.ifv.mobitopp.data.CostMatrix;
 import edu.kit.ifv.mobitopp.data.FixedDistributionMatrix;
 import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
 import edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixType;
+import edu.kit.ifv.mobitopp.data.local.MatrixPreloader.PreloadedMatrix;
 import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfiguration;
 import edu.kit.ifv.mobitopp.simulation.ActivityType;
 import edu.kit.ifv.mobitopp.simulation.StandardMode;
@@ -19,14 +22,26 @@ public class MatrixRepository implements Matrices {
 	private final TravelTimeMatrixCache travelTimeCache;
 	private final CostMatrixCache costCache;
 	private final FixedDistributionMatrixCache fixedDistributionCache;
+	private final MatrixConfiguration configuration;
 
 	public MatrixRepository(MatrixConfiguration configuration) {
 		super();
+		this.configuration = configuration;
 		costCache = new CostMatrixCache(configuration);
 		fixedDistributionCache = new FixedDistributionMatrixCache(configuration);
 		travelTimeCache = new TravelTimeMatrixCache(configuration);
 	}
 
+	/**
+	 * Loads all configured travel time and cost matrices concurrently.
+	 *
+	 * @param numberOfThreads maximum number of matrices loaded at the same time
+	 * @return load time and size of each matrix
+	 */
+	public List<PreloadedMatrix> preload(int numberOfThreads) {
+		return new MatrixPreloader(configuration, travelTimeCache, costCache).preload(numberOfThreads);
+	}
+
 	@Override
 	public TravelTimeMatrix travelTimeFor(StandardMode mode, Time date) {
 		return travelTimeCache.matrixFor(mode, date);
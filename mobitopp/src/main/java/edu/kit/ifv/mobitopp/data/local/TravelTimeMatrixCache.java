@@ -12,12 +12,11 @@ import edu.kit.ifv.mobitopp.time.Time;
 
 public class TravelTimeMatrixCache extends MatrixCache<TravelTimeMatrixId, TaggedTravelTimeMatrix> {
 
-	private int cachedHour;
-	private TravelTimeMatrix[] cachedMatrices;
+	private final HourlyMatrices<TravelTimeMatrix> cachedMatrices;
 
 	public TravelTimeMatrixCache(MatrixConfiguration configuration) {
 		super(configuration);
-		createEmptyCache();
+		cachedMatrices = new HourlyMatrices<>();
 	}
 
 	public TravelTimeMatrixId idOf(StandardMode mode, Time date) {
@@ -25,25 +24,12 @@ public class TravelTimeMatrixCache extends MatrixCache<TravelTimeMatrixId, Tagge
 	}
 
 	public TravelTimeMatrix matrixFor(StandardMode mode, Time date) {
-		if (this.cachedHour != date.getHour()) {
-			createEmptyCache();
-		}
-		if (null != cachedMatrices[mode.ordinal()]) {
-			return cachedMatrices[mode.ordinal()];
-		}
-		return updateCache(mode, date);
+		return cachedMatrices.get(date.getHour(), mode, () -> load(mode, date));
 	}
 
-	private TravelTimeMatrix updateCache(StandardMode mode, Time date) {
+	private TravelTimeMatrix load(StandardMode mode, Time date) {
 		TravelTimeMatrixId id = idOf(mode, date);
-		TravelTimeMatrix matrix = matrixFor(id).matrix();
-		cachedMatrices[mode.ordinal()] = matrix;
-		cachedHour = date.getHour();
-		return matrix;
-	}
-
-	private void createEmptyCache() {
-		cachedMatrices = new TravelTimeMatrix[StandardMode.values().length];
+		return matrixFor(id).matrix();
 	}
 
 	protected TaggedTravelTimeMatrix loadMatrixBy(TravelTimeMatrixId id) throws IOException {
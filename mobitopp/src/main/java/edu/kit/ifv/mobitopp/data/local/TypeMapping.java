@@ -8,4 +8,16 @@ public interface TypeMapping {
 
   TravelTimeMatrixType resolve(Mode mode);
 
+  /**
+   * Checks whether the given mode can be resolved to a travel time matrix type.
+   */
+  default boolean canResolve(Mode mode) {
+    try {
+      resolve(mode);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
 }
\ No newline at end of file
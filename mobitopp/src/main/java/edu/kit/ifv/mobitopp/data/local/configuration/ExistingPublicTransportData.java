@@ -1,15 +1,25 @@
 package edu.kit.ifv.mobitopp.data.local.configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.data.Zone;
 import edu.kit.ifv.mobitopp.data.ZoneRepository;
 import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
 import edu.kit.ifv.mobitopp.result.ResultWriter;
 import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
+import edu.kit.ifv.mobitopp.simulation.Location;
 import edu.kit.ifv.mobitopp.simulation.PublicTransportData;
 import edu.kit.ifv.mobitopp.simulation.PublicTransportWriter;
 import edu.kit.ifv.mobitopp.simulation.VehicleBehaviour;
+import edu.kit.ifv.mobitopp.simulation.opportunities.OpportunityDataForZone;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportFromVisum;
 import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportImpedance;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportSkimGeneration;
 import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportTimetable;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.PublicTransportResults;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationAccessCache;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.Vehicles;
 
 public class ExistingPublicTransportData implements PublicTransportData {
@@ -17,13 +27,36 @@ public class ExistingPublicTransportData implements PublicTransportData {
 	private final PublicTransportTimetable timetable;
 	private final Capacity capacity;
 	private final RouteSearch routeSearch;
+	private final StationAccessCache stationAccess;
+	private final Optional<PublicTransportSkimGeneration> skims;
 
 	public ExistingPublicTransportData(
 			PublicTransportTimetable timetable, Capacity capacity, RouteSearch routeSearch) {
+		this(timetable, capacity, routeSearch,
+				StationAccessCache.inMemory(PublicTransportFromVisum.defaultMaximumWalkTime));
+	}
+
+	public ExistingPublicTransportData(
+			PublicTransportTimetable timetable, Capacity capacity, RouteSearch routeSearch,
+			StationAccessCache stationAccess) {
+		this(timetable, capacity, routeSearch, stationAccess, Optional.empty());
+	}
+
+	/**
+	 * @param stationAccess when it is persistent, the reachable stations of all zone centroids and
+	 *          opportunity locations are searched in advance and saved
+	 * @param skims when present, skims between all zones are generated before the impedance is
+	 *          created
+	 */
+	public ExistingPublicTransportData(
+			PublicTransportTimetable timetable, Capacity capacity, RouteSearch routeSearch,
+			StationAccessCache stationAccess, Optional<PublicTransportSkimGeneration> skims) {
 		super();
 		this.timetable = timetable;
 		this.capacity = capacity;
 		this.routeSearch = routeSearch;
+		this.stationAccess = stationAccess;
+		this.skims = skims;
 	}
 
 	@Override
@@ -35,6 +68,26 @@ public class ExistingPublicTransportData implements PublicTransportData {
 
 	@Override
 	public ImpedanceIfc impedance(ImpedanceIfc impedance, ZoneRepository zoneRepository) {
+		if (stationAccess.isPersistent()) {
+			precomputeStationAccess(zoneRepository);
+		}
+		skims.ifPresent(generation -> generation.generate(timetable, zoneRepository.zones().values()));
 		return new PublicTransportImpedance(routeSearch, timetable, impedance);
 	}
+
+	private void precomputeStationAccess(ZoneRepository zoneRepository) {
+		List<Location> locations = new ArrayList<>();
+		for (Zone zone : zoneRepository.zones().values()) {
+			locations.add(zone.centroidLocation());
+			OpportunityDataForZone opportunities = zone.opportunities();
+			if (opportunities.locationsAvailable()) {
+				opportunities.forEach(opportunity -> locations.add(opportunity.location()));
+			}
+		}
+		int before = stationAccess.size();
+		timetable.precompute(locations);
+		if (stationAccess.size() > before) {
+			stationAccess.save();
+		}
+	}
 }
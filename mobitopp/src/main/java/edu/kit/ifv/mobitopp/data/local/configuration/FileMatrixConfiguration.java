@@ -5,11 +5,16 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import edu.kit.ifv.mobitopp.data.CostMatrix;
 import edu.kit.ifv.mobitopp.data.DayType;
 import edu.kit.ifv.mobitopp.data.FixedDistributionMatrix;
 import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.local.CachingMatrixParser;
 import edu.kit.ifv.mobitopp.data.local.MatrixParser;
 import edu.kit.ifv.mobitopp.data.local.TypeMapping;
 import edu.kit.ifv.mobitopp.data.local.Validate;
@@ -102,7 +107,8 @@ public class FileMatrixConfiguration implements MatrixConfiguration {
 	}
 
 	MatrixParser parserFor(StoredMatrix storedMatrix) throws IOException {
-		return VisumMatrixParser.load(storedMatrix.file(baseFolder));
+		File source = storedMatrix.file(baseFolder);
+		return new CachingMatrixParser(source, () -> VisumMatrixParser.load(source));
 	}
 
 	@Override
@@ -120,6 +126,41 @@ public class FileMatrixConfiguration implements MatrixConfiguration {
 		return new FixedDistributionMatrixId(activityType);
 	}
 
+	@Override
+	public Stream<CostMatrixId> costMatrixIds() {
+		return matrices
+				.getCostMatrices()
+				.entrySet()
+				.stream()
+				.flatMap(type -> idsOf(type.getValue(),
+						(dayType, timeSpan) -> new CostMatrixId(type.getKey(), dayType, timeSpan)));
+	}
+
+	@Override
+	public Stream<TravelTimeMatrixId> travelTimeMatrixIds() {
+		Map<TravelTimeMatrixType, TypeMatrices> travelTimeMatrices = matrices.getTravelTimeMatrices();
+		return Arrays
+				.stream(StandardMode.values())
+				.filter(modeToType::canResolve)
+				.filter(mode -> travelTimeMatrices.containsKey(modeToType.resolve(mode)))
+				.flatMap(mode -> idsOf(travelTimeMatrices.get(modeToType.resolve(mode)),
+						(dayType, timeSpan) -> new TravelTimeMatrixId(mode, dayType, timeSpan)));
+	}
+
+	private static <T> Stream<T> idsOf(
+			TypeMatrices typeMatrices, BiFunction<DayType, TimeSpan, T> idFactory) {
+		return typeMatrices
+				.getAt()
+				.entrySet()
+				.stream()
+				.flatMap(dayType -> dayType
+						.getValue()
+						.getBetween()
+						.keySet()
+						.stream()
+						.map(timeSpan -> idFactory.apply(dayType.getKey(), timeSpan)));
+	}
+
 	@Override
 	public void validate() {
 		Validate.folder(baseFolder).isValid();
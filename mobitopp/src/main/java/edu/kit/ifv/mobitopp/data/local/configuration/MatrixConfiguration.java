@@ -1,6 +1,7 @@
 package edu.kit.ifv.mobitopp.data.local.configuration;
 
 import java.io.IOException;
+import java.util.stream.Stream;
 
 import edu.kit.ifv.mobitopp.simulation.ActivityType;
 import edu.kit.ifv.mobitopp.simulation.StandardMode;
@@ -21,6 +22,18 @@ public interface MatrixConfiguration {
 
   FixedDistributionMatrixId idOf(ActivityType activityType);
 
+  /**
+   * Returns the ids of all configured cost matrices. Each id covers the time span of the stored
+   * matrix.
+   */
+  Stream<CostMatrixId> costMatrixIds();
+
+  /**
+   * Returns the ids of all configured travel time matrices for each mode which is mapped to a
+   * configured travel time matrix type. Each id covers the time span of the stored matrix.
+   */
+  Stream<TravelTimeMatrixId> travelTimeMatrixIds();
+
   void validate();
 
 }
\ No newline at end of file
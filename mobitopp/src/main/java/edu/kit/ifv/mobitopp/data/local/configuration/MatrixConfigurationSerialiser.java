@@ -8,7 +8,7 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
-class MatrixConfigurationSerialiser {
+public class MatrixConfigurationSerialiser {
 
 	private static final String timeSpanSeparator = "to";
 	private static final Pattern timeSpanPatter = Pattern
@@ -38,6 +38,7 @@ public class ParserBuilder {
 		mapping.put(NoPublicTransport.class, new Tag("!deactivated"));
 		mapping.put(ConnectionScanAlgorithm.class, new Tag("!connectionScan"));
 		mapping.put(ProfileScanAlgorithm.class, new Tag("!profileScan"));
+		mapping.put(RaptorAlgorithm.class, new Tag("!raptor"));
 		return mapping;
 	}
 
@@ -1,6 +1,10 @@
 package edu.kit.ifv.mobitopp.data.local.configuration;
 
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.data.local.Convert;
@@ -9,18 +13,27 @@ import edu.kit.ifv.mobitopp.simulation.CachedStore;
 import edu.kit.ifv.mobitopp.simulation.Hook;
 import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportTimetable;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.EntrySplitter;
+import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.PackProfiles;
+import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.ProfileArchive;
+import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.ProfilePrecomputation;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.Split;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.Store;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.StoreIn;
 import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class ProfileScanAlgorithm implements RouteSearchAlgorithm {
 
 	private File profileFolder;
+	private long profileCacheEntries;
+	private int profileWorkers;
 	private Hook cleanCache;
 
 	public ProfileScanAlgorithm() {
 		super();
+		profileCacheEntries = CachedStore.unlimited;
+		profileWorkers = ProfilePrecomputation.defaultWorkers();
 	}
 
 	public String getProfileFolder() {
@@ -31,20 +44,106 @@ public class ProfileScanAlgorithm implements RouteSearchAlgorithm {
 		this.profileFolder = Convert.asFile(profileFolder);
 	}
 
+	public long getProfileCacheEntries() {
+		return profileCacheEntries;
+	}
+
+	/**
+	 * Limits the number of arrival time function entries of profiles kept in memory. Least recently
+	 * used profiles are evicted, when the limit is exceeded.
+	 */
+	public void setProfileCacheEntries(long profileCacheEntries) {
+		this.profileCacheEntries = profileCacheEntries;
+	}
+
+	public int getProfileWorkers() {
+		return profileWorkers;
+	}
+
+	/**
+	 * Number of threads building profiles, when profiles are missing. Each thread keeps one profile
+	 * in memory.
+	 */
+	public void setProfileWorkers(int profileWorkers) {
+		this.profileWorkers = profileWorkers;
+	}
+
+	/**
+	 * Profiles are built when the profile folder is empty or when a checkpoint of an earlier build
+	 * exists. In the latter case, only missing profiles and profiles affected by changes of the
+	 * timetable are built. The profile folder is packed into {@value ProfileArchive#fileName}
+	 * afterwards.
+	 *
+	 * An existing archive is used, if it matches the timetable. Otherwise, outdated profiles are built
+	 * again and the folder is packed again. Without checkpoint, outdated profiles can not be found,
+	 * so an archive not matching the timetable is rejected.
+	 */
 	public RouteSearch createRouteScan(
 			PublicTransportTimetable publicTransport, Time simulationStart) {
 		EntrySplitter splitter = Split.hourly(simulationStart);
-		Store storedProfiles = StoreIn.folder(profileFolder, publicTransport, splitter);
-		CachedStore cachedProfiles = new CachedStore(storedProfiles);
-		cleanCache = currentTime -> cachedProfiles.cleanBefore(currentTime);
-		if (profilesAreMissing()) {
-			return publicTransport.createProfileScan(cachedProfiles);
+		File checkpoint = new File(profileFolder, ProfilePrecomputation.checkpointName);
+		if (needsBuild(publicTransport, checkpoint)) {
+			Store folder = StoreIn.folder(profileFolder, publicTransport, splitter);
+			publicTransport.createProfileScan(folder, profileWorkers, checkpoint);
+			pack();
 		}
+		Store storedProfiles = storedProfiles(publicTransport, splitter);
+		CachedStore cachedProfiles = new CachedStore(storedProfiles, profileCacheEntries);
+		cleanCache = currentTime -> cachedProfiles.cleanBefore(currentTime);
 		return publicTransport.loadProfileScan(cachedProfiles);
 	}
 
+	private boolean needsBuild(PublicTransportTimetable publicTransport, File checkpoint) {
+		File archive = archive();
+		if (!archive.exists()) {
+			return profilesAreMissing() || checkpoint.exists();
+		}
+		long packed = ProfileArchive.fingerprintOf(archive);
+		if (ProfileArchive.unknownFingerprint == packed) {
+			log.warn("Profile archive has no fingerprint and is not checked against the timetable: "
+					+ archive);
+			return false;
+		}
+		if (packed == publicTransport.profileFingerprint()) {
+			return false;
+		}
+		if (!checkpoint.exists()) {
+			throw warn(new IllegalStateException(
+					"Profile archive does not match the timetable and no checkpoint is available to "
+							+ "rebuild outdated profiles: " + archive),
+					log);
+		}
+		log.info("Profile archive does not match the timetable. Outdated profiles are built again.");
+		return true;
+	}
+
+	private void pack() {
+		try {
+			new PackProfiles(profileFolder).to(archive());
+		} catch (IOException cause) {
+			throw warn(new UncheckedIOException(cause), log);
+		}
+	}
+
+	/**
+	 * Uses the packed profile archive of the profile folder, if available. Otherwise, profiles are
+	 * read from one file per stop and hour.
+	 */
+	private Store storedProfiles(PublicTransportTimetable publicTransport, EntrySplitter splitter) {
+		File archive = archive();
+		if (archive.exists()) {
+			return ProfileArchive.open(archive, publicTransport, splitter);
+		}
+		return StoreIn.folder(profileFolder, publicTransport, splitter);
+	}
+
+	private File archive() {
+		return new File(profileFolder, ProfileArchive.fileName);
+	}
+
 	private boolean profilesAreMissing() {
-		return 0 == profileFolder.listFiles().length;
+		File[] files = profileFolder.listFiles();
+		return null == files || 0 == files.length;
 	}
 
 	@Override
@@ -0,0 +1,41 @@
+package edu.kit.ifv.mobitopp.data.local.configuration;
+
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.publictransport.raptor.Raptor;
+import edu.kit.ifv.mobitopp.simulation.Hook;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportTimetable;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class RaptorAlgorithm implements RouteSearchAlgorithm {
+
+	private int maximumTransfers;
+
+	public RaptorAlgorithm() {
+		super();
+		maximumTransfers = Raptor.defaultMaximumTransfers;
+	}
+
+	public int getMaximumTransfers() {
+		return maximumTransfers;
+	}
+
+	/**
+	 * Limits the number of rounds of the search. Routes with more transfers are not found.
+	 */
+	public void setMaximumTransfers(int maximumTransfers) {
+		this.maximumTransfers = maximumTransfers;
+	}
+
+	public RouteSearch createRouteScan(
+			PublicTransportTimetable publicTransport, Time simulationStart) {
+		return publicTransport.createRaptor(maximumTransfers);
+	}
+
+	@Override
+	public Optional<Hook> cleanCacheHook() {
+		return Optional.empty();
+	}
+
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import edu.kit.ifv.mobitopp.data.InputSpecification;
 import edu.kit.ifv.mobitopp.data.Network;
 import edu.kit.ifv.mobitopp.data.local.Convert;
 import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
@@ -15,8 +16,14 @@ import edu.kit.ifv.mobitopp.simulation.PublicTransportData;
 import edu.kit.ifv.mobitopp.simulation.SimulationDays;
 import edu.kit.ifv.mobitopp.simulation.person.PersonState;
 import edu.kit.ifv.mobitopp.simulation.person.PersonStatePublicTransport;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportFromVisum;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportSkimGeneration;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportSkimWriter;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportSkims;
 import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportTimetable;
 import edu.kit.ifv.mobitopp.simulation.publictransport.TimetableVerifier;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationAccessCache;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
 import edu.kit.ifv.mobitopp.time.Time;
 import edu.kit.ifv.mobitopp.visum.VisumNetwork;
 
@@ -25,11 +32,20 @@ public class UsePublicTransport extends BasePublicTransport implements PublicTra
 	private File timetableFolder;
 	private RouteSearchAlgorithm routeSearch;
 	private Capacity capacity;
+	private File stationAccessFile;
+	private int maximumWalkMinutes;
+	private File skimFolder;
+	private int skimDepartureMinutes;
+	private boolean skimTransfers;
+	private StationAccessCache stationAccess;
 
 	public UsePublicTransport() {
 		super();
 		routeSearch = new ConnectionScanAlgorithm();
 		capacity = Capacity.unlimited;
+		maximumWalkMinutes = PublicTransportFromVisum.defaultMaximumWalkTime.toMinutes();
+		skimDepartureMinutes = PublicTransportSkims.defaultDepartureInterval.toMinutes();
+		skimTransfers = true;
 	}
 
 	public String getTimetableFolder() {
@@ -56,6 +72,73 @@ public class UsePublicTransport extends BasePublicTransport implements PublicTra
 		this.capacity = capacity;
 	}
 
+	public String getStationAccessFile() {
+		return Convert.asString(stationAccessFile);
+	}
+
+	/**
+	 * Reachable stations of zone centroids and opportunity locations are searched in advance and
+	 * saved to this file. Later runs load them instead of searching again.
+	 */
+	public void setStationAccessFile(String stationAccessFile) {
+		this.stationAccessFile = Convert.asFile(stationAccessFile);
+	}
+
+	public int getMaximumWalkMinutes() {
+		return maximumWalkMinutes;
+	}
+
+	/**
+	 * Limits the walking time from a location to reachable stations.
+	 */
+	public void setMaximumWalkMinutes(int maximumWalkMinutes) {
+		this.maximumWalkMinutes = maximumWalkMinutes;
+	}
+
+	public String getSkimFolder() {
+		return Convert.asString(skimFolder);
+	}
+
+	/**
+	 * Travel times between all zones are skimmed from the timetable for every hour of the first
+	 * simulation day and written as matrices into this folder, unless it already contains skims.
+	 *
+	 * Next to the matrices, a configuration listing only the public transport travel time matrices
+	 * is written into this folder (see {@link PublicTransportSkimWriter}). Its file names are
+	 * relative to this folder. It is not merged into the matrix configuration of the simulation,
+	 * whose file names are relative to the folder of the matrix configuration file, and the
+	 * simulation keeps reading public transport travel times from the matrices configured there. To
+	 * use the skims in later runs, replace the public transport travel time entries of the matrix
+	 * configuration by the entries of the written configuration and prefix their file names with
+	 * the path of this folder relative to the folder of the matrix configuration file.
+	 */
+	public void setSkimFolder(String skimFolder) {
+		this.skimFolder = Convert.asFile(skimFolder);
+	}
+
+	public int getSkimDepartureMinutes() {
+		return skimDepartureMinutes;
+	}
+
+	/**
+	 * Interval between the departures averaged per hour, when skimming.
+	 */
+	public void setSkimDepartureMinutes(int skimDepartureMinutes) {
+		this.skimDepartureMinutes = skimDepartureMinutes;
+	}
+
+	public boolean isSkimTransfers() {
+		return skimTransfers;
+	}
+
+	/**
+	 * Skims the numbers of transfers next to the travel times. Skimming only travel times is
+	 * considerably faster.
+	 */
+	public void setSkimTransfers(boolean skimTransfers) {
+		this.skimTransfers = skimTransfers;
+	}
+
 	@Override
 	public PersonState initialState(PersonState defaultState) {
 		return PersonStatePublicTransport.UNINITIALIZED;
@@ -65,9 +148,39 @@ public class UsePublicTransport extends BasePublicTransport implements PublicTra
 	public PublicTransportData loadData(Supplier<Network> network, SimulationDays simulationDays,
 		TimetableVerifier timetableVerifier) throws IOException {
 		VisumNetwork visumNetwork = network.get().visumNetwork;
+		stationAccess = createStationAccess();
 		PublicTransportTimetable timetable = loadTimetable(visumNetwork, simulationDays, timetableVerifier);
 		RouteSearch finder = createFinder(timetable, simulationDays.startDate());
-		return new ExistingPublicTransportData(timetable, capacity, finder);
+		return new ExistingPublicTransportData(timetable, capacity, finder, stationAccess,
+				skimGeneration(simulationDays));
+	}
+
+	private Optional<PublicTransportSkimGeneration> skimGeneration(SimulationDays simulationDays) {
+		if (null == skimFolder) {
+			return Optional.empty();
+		}
+		return Optional
+				.of(new PublicTransportSkimGeneration(skimFolder, simulationDays.startDate(),
+						RelativeTime.ofMinutes(skimDepartureMinutes),
+						Runtime.getRuntime().availableProcessors(), skimTransfers));
+	}
+
+	private StationAccessCache createStationAccess() {
+		RelativeTime maximumWalkTime = RelativeTime.ofMinutes(maximumWalkMinutes);
+		if (null == stationAccessFile) {
+			return StationAccessCache.inMemory(maximumWalkTime);
+		}
+		return StationAccessCache.in(stationAccessFile, maximumWalkTime);
+	}
+
+	@Override
+	protected PublicTransportFromVisum converter(
+			InputSpecification input, VisumNetwork network, TimetableVerifier timetableVerifier) {
+		if (null == stationAccess) {
+			stationAccess = createStationAccess();
+		}
+		return new PublicTransportFromVisum(input.simulationDates(), timetableVerifier, network,
+				stationAccess);
 	}
 
 	private RouteSearch createFinder(
@@ -9,12 +9,19 @@ import edu.kit.ifv.mobitopp.network.Edge;
 import edu.kit.ifv.mobitopp.network.SimpleEdge;
 import edu.kit.ifv.mobitopp.network.SimpleRoadNetwork;
 import edu.kit.ifv.mobitopp.network.Zone;
-import edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable;
+import edu.kit.ifv.mobitopp.util.randomvariable.IndexedRandomVariable;
 
+/**
+ * Selects edges of a zone with a probability proportional to their length. The distribution of
+ * each zone is built once and sampled for every household or opportunity located in the zone, so
+ * it uses an {@link IndexedRandomVariable}. This selects the same edges as a
+ * {@link edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable} for the same random
+ * numbers.
+ */
 public class EdgeDistributions {
 
 	private final EdgeFilter edgeFilter;
-	private final Map<Integer, DiscreteRandomVariable<Edge>> edgeDistributions;
+	private final Map<Integer, IndexedRandomVariable<Edge>> edgeDistributions;
 	private final SimpleRoadNetwork network;
 
 	public EdgeDistributions(SimpleRoadNetwork network, EdgeFilter edgeFilter) {
@@ -32,7 +39,7 @@ public class EdgeDistributions {
 	}
 
 	private Edge findEdgeIn(Zone zone, double random) {
-		DiscreteRandomVariable<Edge> distribution = edgeDistributions.get(zone.id());
+		IndexedRandomVariable<Edge> distribution = edgeDistributions.get(zone.id());
 		return distribution.realization(random);
 	}
 
@@ -42,7 +49,7 @@ public class EdgeDistributions {
 		
 		assert filtered.size() > 0 : "This zone does not have any edges, abort. zone id=" + zone.id();
 		
-		DiscreteRandomVariable<Edge> distribution = createCumulativeDistribution(filtered);
+		IndexedRandomVariable<Edge> distribution = createDistribution(filtered);
 		edgeDistributions.put(zone.id(), distribution);
 	}
 
@@ -50,14 +57,14 @@ public class EdgeDistributions {
 		return edgeFilter.filter(edges);
 	}
 
-	private DiscreteRandomVariable<Edge> createCumulativeDistribution(Collection<Edge> edges) {
+	private IndexedRandomVariable<Edge> createDistribution(Collection<Edge> edges) {
 		Map<Edge, Double> lengths = new LinkedHashMap<Edge, Double>();
 		for (Edge e : edges) {
 			SimpleEdge edge = (SimpleEdge) e;
 			double length = edge.length();
 			lengths.put(edge, length);
 		}
-		return new DiscreteRandomVariable<>(lengths);
+		return new IndexedRandomVariable<>(lengths);
 	}
 
 }
@@ -0,0 +1,229 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Earliest arrival search for up to {@value #maximumOrigins} origins at once. Every connection is
+ * read once from the {@link ConnectionTable} and then evaluated for all origins, so origins
+ * departing at about the same time share one sweep over the connections. Per origin, connections
+ * are evaluated exactly like in {@link MultipleSearchRequest}.
+ *
+ * Arrival times are stored per stop with the origins side by side. Journeys used by an origin and
+ * stops reached by a connection are tracked as bits of a {@code long} per journey and per stop.
+ * All of them are kept in the {@link SearchState} of the search. Only arrival times are kept, so
+ * no routes can be created from the request.
+ */
+@Slf4j
+class ArrivalSearchRequest {
+
+	static final int maximumOrigins = Long.SIZE;
+	private static final int future = Time.future.toSeconds();
+
+	private final int numberOfOrigins;
+	private final int[] departures;
+	private final List<StopPaths> ends;
+	private final SearchState state;
+	private int settled;
+
+	private ArrivalSearchRequest(int[] departures, List<StopPaths> ends, SearchState state) {
+		super();
+		this.numberOfOrigins = departures.length;
+		this.departures = departures;
+		this.ends = ends;
+		this.state = state;
+		this.settled = 0;
+		state.searchOrigins(numberOfOrigins);
+	}
+
+	/**
+	 * Creates a request for the given origins. All stops of the origins must be part of the
+	 * network. The state must be acquired by the caller and must not be released before the
+	 * arrivals have been read from the request.
+	 */
+	static ArrivalSearchRequest from(
+			List<SearchOrigin> origins, List<StopPaths> ends, SearchState state) {
+		if (origins.isEmpty() || maximumOrigins < origins.size()) {
+			throw warn(new IllegalArgumentException(
+					"Number of origins must be between 1 and " + maximumOrigins + " but was "
+							+ origins.size()),
+					log);
+		}
+		int[] departures = origins.stream().mapToInt(origin -> origin.time().toSeconds()).toArray();
+		ArrivalSearchRequest request = new ArrivalSearchRequest(departures, ends, state);
+		for (int origin = 0; origin < origins.size(); origin++) {
+			request.initialise(origin, origins.get(origin).startStops());
+		}
+		return request;
+	}
+
+	private void initialise(int origin, StopPaths startStops) {
+		long bit = 1L << origin;
+		for (StopPath path : startStops.stopPaths()) {
+			int stop = path.stop().id();
+			state.setArrival(stop, origin, departures[origin] + path.duration().seconds());
+			state.addStartingOrigins(stop, bit);
+		}
+		for (StopPath path : startStops.stopPaths()) {
+			Stop start = path.stop();
+			Time departure = SimpleTime.ofSeconds(departures[origin] + path.duration().seconds());
+			updateArrivalAtNeighbours(start, departure, bit);
+		}
+	}
+
+	/**
+	 * @return departure in seconds of the origin departing first
+	 */
+	int startTime() {
+		int earliest = Integer.MAX_VALUE;
+		for (int departure : departures) {
+			earliest = Math.min(earliest, departure);
+		}
+		return earliest;
+	}
+
+	void updateArrival(ConnectionTable connections, int index) {
+		int journey = connections.journey(index);
+		int start = connections.start(index);
+		int end = connections.end(index);
+		int departure = connections.departure(index);
+		int arrival = connections.arrival(index);
+		int changeTime = connections.changeTimeAtStart(index);
+		long used = state.usingOrigins(journey);
+		long starting = state.startingOrigins(start);
+		long improved = 0L;
+		for (int origin = 0; origin < numberOfOrigins; origin++) {
+			long bit = 1L << origin;
+			if (0L == (used & bit)) {
+				int arrivalAtStart = state.arrival(start, origin);
+				if (0L == (starting & bit)) {
+					arrivalAtStart += changeTime;
+				}
+				if (arrivalAtStart > departure) {
+					continue;
+				}
+			}
+			if (state.arrival(end, origin) > arrival) {
+				state.setArrival(end, origin, arrival);
+				improved |= bit;
+			}
+		}
+		if (0L != improved) {
+			state.addReachedOrigins(end, improved);
+			state.addUsingOrigins(journey, improved);
+			Connection connection = connections.connection(index);
+			updateArrivalAtNeighbours(connection.end(), connection.arrival(), improved);
+		}
+	}
+
+	private void updateArrivalAtNeighbours(Stop stop, Time arrival, long origins) {
+		for (Stop neighbour : stop.neighbours()) {
+			stop
+					.arrivalAt(neighbour, arrival)
+					.ifPresent(arrivalByFoot -> updateArrivalByFoot(neighbour.id(), arrivalByFoot.toSeconds(),
+							origins));
+		}
+	}
+
+	private void updateArrivalByFoot(int stop, int arrival, long origins) {
+		for (int origin = 0; origin < numberOfOrigins; origin++) {
+			long bit = 1L << origin;
+			if (0L != (origins & bit) && state.arrival(stop, origin) > arrival) {
+				state.setArrival(stop, origin, arrival);
+				state.addReachedOrigins(stop, bit);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the arrival at every end is known for every origin. Once an end has been
+	 * reached before the given departure, later connections can not improve the arrival any more.
+	 * Pairs of end and origin known to be settled are not checked again.
+	 *
+	 * @param departure departure in seconds
+	 */
+	boolean departsAfterArrivalAtEnds(int departure) {
+		int pairs = ends.size() * numberOfOrigins;
+		while (settled < pairs) {
+			if (!isSettled(settled / numberOfOrigins, settled % numberOfOrigins, departure)) {
+				return false;
+			}
+			settled++;
+		}
+		return true;
+	}
+
+	private boolean isSettled(int end, int origin, int departure) {
+		StopPaths endStops = ends.get(end);
+		if (isNotAvailable(endStops)) {
+			return true;
+		}
+		for (StopPath path : endStops.stopPaths()) {
+			int arrival = state.arrival(path.stop().id(), origin) + path.duration().seconds();
+			if (arrival < departure) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isNotAvailable(StopPaths endStops) {
+		if (endStops.stops().isEmpty()) {
+			return true;
+		}
+		for (Stop stop : endStops.stops()) {
+			if (0 > stop.id() || state.numberOfStops() <= stop.id()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Arrival times at all ends per origin. Like {@link MultipleSearchRequest}, the end stop with
+	 * the earliest arrival including the footpath is chosen. There is no arrival at an end, if this
+	 * stop is not reached by any connection.
+	 */
+	List<List<Optional<Time>>> arrivals() {
+		List<List<Optional<Time>>> arrivalsPerOrigin = new ArrayList<>(numberOfOrigins);
+		for (int origin = 0; origin < numberOfOrigins; origin++) {
+			List<Optional<Time>> arrivalsAtEnds = new ArrayList<>(ends.size());
+			for (StopPaths endStops : ends) {
+				arrivalsAtEnds.add(arrivalAt(endStops, origin));
+			}
+			arrivalsPerOrigin.add(arrivalsAtEnds);
+		}
+		return arrivalsPerOrigin;
+	}
+
+	private Optional<Time> arrivalAt(StopPaths endStops, int origin) {
+		if (isNotAvailable(endStops)) {
+			return Optional.empty();
+		}
+		int stop = -1;
+		int earliest = 0;
+		for (StopPath path : endStops.stopPaths()) {
+			int current = path.stop().id();
+			int arrival = state.arrival(current, origin) + path.duration().seconds();
+			if (-1 == stop || arrival < earliest) {
+				stop = current;
+				earliest = arrival;
+			}
+		}
+		if (-1 == stop || 0L == (state.reachedOrigins(stop) & (1L << origin))) {
+			return Optional.empty();
+		}
+		return Optional.of(SimpleTime.ofSeconds(earliest));
+	}
+
+}
@@ -15,6 +15,17 @@ interface ArrivalTimes {
 
 	Time get(Stop stop);
 
+	/**
+	 * @return arrival in seconds at the stop with the given id
+	 */
+	int get(int stop);
+
+	/**
+	 * @return arrival in seconds at the stop with the given id including the change time if the
+	 *         stop is not a start
+	 */
+	int getConsideringMinimumChangeTime(int stop, int changeTime);
+
 	Time startTime();
 
 }
\ No newline at end of file
@@ -39,6 +39,10 @@ abstract class BaseSearchRequest implements PreparedSearchRequest {
 		return times.get(stop);
 	}
 
+	protected int arrivalAt(int stop) {
+		return times.get(stop);
+	}
+
 	@Override
 	public Time startTime() {
 		return times.startTime();
@@ -55,6 +59,34 @@ abstract class BaseSearchRequest implements PreparedSearchRequest {
 		}
 	}
 
+	@Override
+	public void updateArrival(ConnectionTable connections, int index) {
+		if (isNotReachable(connections, index)) {
+			return;
+		}
+		int currentArrival = times.get(connections.end(index));
+		if (currentArrival > connections.arrival(index)) {
+			updateArrivalInternal(connections, index);
+		}
+	}
+
+	private boolean isNotReachable(ConnectionTable connections, int index) {
+		if (usedJourneys.used(connections.journey(index))) {
+			return false;
+		}
+		int currentArrival = times
+				.getConsideringMinimumChangeTime(connections.start(index),
+						connections.changeTimeAtStart(index));
+		return currentArrival > connections.departure(index);
+	}
+
+	private void updateArrivalInternal(ConnectionTable connections, int index) {
+		Connection connection = connections.connection(index);
+		updateTimeAndConnection(connection);
+		usedJourneys.use(connections.journey(index));
+		updateArrivalAtNeighbours(connection);
+	}
+
 	private boolean isNotReachable(Connection connection) {
 		if (usedJourneys.used(connection.journey())) {
 			return false;
@@ -102,11 +134,23 @@ abstract class BaseSearchRequest implements PreparedSearchRequest {
 		return arrival.isBefore(departure);
 	}
 
+	protected boolean isAfterArrivalAt(int departure, Stop end) {
+		int arrival = times.getConsideringMinimumChangeTime(end.id(), end.changeTime().seconds());
+		return arrival < departure;
+	}
+
 	@Override
 	public Optional<PublicTransportRoute> createRoute() {
+		return createRoute(this::collectConnections);
+	}
+
+	/**
+	 * Creates the route made of the connections returned by the given collector.
+	 */
+	protected Optional<PublicTransportRoute> createRoute(ConnectionCollector collector) {
 		try {
 			Time time = times.startTime();
-			List<Connection> connections = collectConnections(usedConnections, time);
+			List<Connection> connections = collector.collect(usedConnections, time);
 			if (connections.isEmpty()) {
 				return empty();
 			}
@@ -136,4 +180,10 @@ abstract class BaseSearchRequest implements PreparedSearchRequest {
 		return of(new ScannedRoute(start, end, time, arrivalTime, connections));
 	}
 
+	@FunctionalInterface
+	protected interface ConnectionCollector {
+
+		List<Connection> collect(UsedConnections usedConnections, Time time) throws StopNotReachable;
+	}
+
 }
\ No newline at end of file
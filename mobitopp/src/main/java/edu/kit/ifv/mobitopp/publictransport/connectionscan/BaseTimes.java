@@ -1,21 +1,29 @@
 package edu.kit.ifv.mobitopp.publictransport.connectionscan;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
 import edu.kit.ifv.mobitopp.time.Time;
 
 abstract class BaseTimes implements ArrivalTimes {
 
-	private final Time[] times;
+	private static final int future = Time.future.toSeconds();
+
+	private final SearchState state;
 
 	BaseTimes(int numberOfStops) {
+		this(new SearchState(numberOfStops));
+	}
+
+	BaseTimes(SearchState state) {
 		super();
-		times = new Time[numberOfStops];
+		this.state = state;
 	}
 
+	/**
+	 * Sets the arrival at the start stops. All other stops are not reached in a freshly created or
+	 * acquired {@link SearchState}.
+	 */
 	protected void initialise() {
-		for (int i = 0; i < times.length; i++) {
-			times[i] = Time.future;
-		}
 		initialiseStart();
 	}
 
@@ -23,7 +31,7 @@ abstract class BaseTimes implements ArrivalTimes {
 
 	@Override
 	public void set(Stop stop, Time time) {
-		times[stop.id()] = time;
+		state.setTime(stop.id(), time.toSeconds());
 	}
 
 	@Override
@@ -34,8 +42,18 @@ abstract class BaseTimes implements ArrivalTimes {
 		return considerChangeTime(stop);
 	}
 
+	@Override
+	public int getConsideringMinimumChangeTime(int stop, int changeTime) {
+		if (isStart(stop)) {
+			return get(stop);
+		}
+		return get(stop) + changeTime;
+	}
+
 	protected abstract boolean isStart(Stop stop);
 
+	protected abstract boolean isStart(int stop);
+
 	private Time considerChangeTime(Stop stop) {
 		return stop.addChangeTimeTo(get(stop));
 	}
@@ -43,10 +61,18 @@ abstract class BaseTimes implements ArrivalTimes {
 	@Override
 	public Time get(Stop stop) {
 		int internal = stop.id();
-		if (internal >= times.length || internal < 0) {
+		if (internal >= state.numberOfStops() || internal < 0) {
 			return Time.future;
 		}
-		return times[internal];
+		return SimpleTime.ofSeconds(state.time(internal));
+	}
+
+	@Override
+	public int get(int stop) {
+		if (stop >= state.numberOfStops() || stop < 0) {
+			return future;
+		}
+		return state.time(stop);
 	}
 
 }
\ No newline at end of file
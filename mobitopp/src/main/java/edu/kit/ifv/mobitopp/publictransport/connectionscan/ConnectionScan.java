@@ -1,17 +1,39 @@
 package edu.kit.ifv.mobitopp.publictransport.connectionscan;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.time.Time;
 
+/**
+ * Searches routes with the connection scan algorithm. The arrays needed during a search are kept
+ * in a {@link SearchState} per thread and reused for every search of this thread. Searches of
+ * different threads therefore do not share any state.
+ *
+ * Routes to many ends are searched in a single sweep over the connections. Arrivals at many ends
+ * are searched without creating routes. Origins departing in the same minute are searched together
+ * in one sweep over the connections, see {@link ArrivalSearchRequest}.
+ */
 public class ConnectionScan implements RouteSearch {
 
+	/**
+	 * Maximum number of origins searched in one sweep over the connections.
+	 */
+	public static final int maximumOriginsPerSweep = ArrivalSearchRequest.maximumOrigins;
+
 	private final TransitNetwork transitNetwork;
+	private final ThreadLocal<SearchState> states;
 
 	public ConnectionScan(TransitNetwork transitNetwork) {
 		super();
 		this.transitNetwork = transitNetwork;
+		this.states = ThreadLocal.withInitial(this::newState);
 	}
 
 	@Override
@@ -19,16 +41,22 @@ public class ConnectionScan implements RouteSearch {
 		if (scanNotNeeded(fromStart, toEnd, atTime)) {
 			return Optional.empty();
 		}
-		PreparedSearchRequest searchRequest = newSweeperData(fromStart, toEnd, atTime);
-		return sweepOver(searchRequest);
+		SearchState state = acquireState();
+		try {
+			PreparedSearchRequest searchRequest = newSweeperData(fromStart, toEnd, atTime, state);
+			return sweepOver(searchRequest);
+		} finally {
+			state.release();
+		}
 	}
 
 	private boolean scanNotNeeded(Stop start, Stop end, Time time) {
 		return transitNetwork.scanNotNeeded(start, end, time);
 	}
 	
-	private PreparedSearchRequest newSweeperData(Stop fromStart, Stop toEnd, Time atTime) {
-		return SingleSearchRequest.from(fromStart, toEnd, atTime, arrivalSize());
+	private PreparedSearchRequest newSweeperData(
+			Stop fromStart, Stop toEnd, Time atTime, SearchState state) {
+		return SingleSearchRequest.from(fromStart, toEnd, atTime, state);
 	}
 
 	@Override
@@ -37,8 +65,13 @@ public class ConnectionScan implements RouteSearch {
 		if (scanNotNeeded(fromStarts, toEnds, atTime)) {
 			return Optional.empty();
 		}
-		PreparedSearchRequest searchRequest = newSearchRequest(fromStarts, toEnds, atTime);
-		return sweepOver(searchRequest);
+		SearchState state = acquireState();
+		try {
+			PreparedSearchRequest searchRequest = newSearchRequest(fromStarts, toEnds, atTime, state);
+			return sweepOver(searchRequest);
+		} finally {
+			state.release();
+		}
 	}
 
 	private Optional<PublicTransportRoute> sweepOver(PreparedSearchRequest searchRequest) {
@@ -49,8 +82,120 @@ public class ConnectionScan implements RouteSearch {
 		return transitNetwork.scanNotNeeded(startStops, endStops, time);
 	}
 
-	PreparedSearchRequest newSearchRequest(StopPaths fromStarts, StopPaths toEnds, Time atTime) {
-		return MultipleSearchRequest.from(fromStarts, toEnds, atTime, arrivalSize());
+	PreparedSearchRequest newSearchRequest(
+			StopPaths fromStarts, StopPaths toEnds, Time atTime, SearchState state) {
+		return MultipleSearchRequest.from(fromStarts, toEnds, atTime, state);
+	}
+
+	/**
+	 * Searches the routes to all ends in a single sweep over the connections.
+	 */
+	@Override
+	public List<Optional<PublicTransportRoute>> findRoutes(
+			StopPaths fromStarts, List<StopPaths> toEnds, Time atTime) {
+		if (scanNotNeeded(fromStarts, atTime)) {
+			return Collections.nCopies(toEnds.size(), Optional.empty());
+		}
+		SearchState state = acquireState();
+		try {
+			RoutesSearchRequest searchRequest = RoutesSearchRequest
+					.from(fromStarts, toEnds, atTime, state);
+			transitNetwork.connections().sweepRoutes(searchRequest);
+			return searchRequest.createRoutes();
+		} finally {
+			state.release();
+		}
+	}
+
+	@Override
+	public List<Optional<Time>> findArrivals(
+			StopPaths fromStarts, List<StopPaths> toEnds, Time atTime) {
+		return findArrivals(List.of(SearchOrigin.from(fromStarts, atTime)), toEnds).get(0);
+	}
+
+	/**
+	 * Equal origins are searched only once. The remaining origins are sorted by their departure and
+	 * searched in groups of origins departing in the same minute.
+	 */
+	@Override
+	public List<List<Optional<Time>>> findArrivals(
+			List<SearchOrigin> origins, List<StopPaths> toEnds) {
+		Map<SearchOrigin, List<Optional<Time>>> arrivals = new LinkedHashMap<>();
+		List<SearchOrigin> toSearch = new ArrayList<>();
+		for (SearchOrigin origin : origins) {
+			if (arrivals.containsKey(origin)) {
+				continue;
+			}
+			if (scanNotNeeded(origin.startStops(), origin.time())) {
+				arrivals.put(origin, Collections.nCopies(toEnds.size(), Optional.empty()));
+			} else {
+				arrivals.put(origin, null);
+				toSearch.add(origin);
+			}
+		}
+		toSearch.sort(Comparator.comparingInt(origin -> origin.time().toSeconds()));
+		int first = 0;
+		while (first < toSearch.size()) {
+			int last = lastOfGroup(toSearch, first);
+			List<SearchOrigin> group = toSearch.subList(first, last + 1);
+			List<List<Optional<Time>>> groupArrivals = sweepOver(group, toEnds);
+			for (int index = 0; index < group.size(); index++) {
+				arrivals.put(group.get(index), groupArrivals.get(index));
+			}
+			first = last + 1;
+		}
+		List<List<Optional<Time>>> result = new ArrayList<>(origins.size());
+		for (SearchOrigin origin : origins) {
+			result.add(arrivals.get(origin));
+		}
+		return result;
+	}
+
+	private boolean scanNotNeeded(StopPaths startStops, Time time) {
+		return transitNetwork.scanNotNeeded(startStops, time);
+	}
+
+	private static int lastOfGroup(List<SearchOrigin> sortedOrigins, int first) {
+		int minute = minuteOf(sortedOrigins.get(first));
+		int maximum = Math.min(sortedOrigins.size(), first + ArrivalSearchRequest.maximumOrigins);
+		int last = first;
+		while (last + 1 < maximum && minute == minuteOf(sortedOrigins.get(last + 1))) {
+			last++;
+		}
+		return last;
+	}
+
+	private static int minuteOf(SearchOrigin origin) {
+		return Math.floorDiv(origin.time().toSeconds(), 60);
+	}
+
+	private List<List<Optional<Time>>> sweepOver(List<SearchOrigin> origins, List<StopPaths> toEnds) {
+		SearchState state = acquireState();
+		try {
+			ArrivalSearchRequest searchRequest = ArrivalSearchRequest.from(origins, toEnds, state);
+			transitNetwork.connections().sweepArrivals(searchRequest);
+			return searchRequest.arrivals();
+		} finally {
+			state.release();
+		}
+	}
+
+	/**
+	 * Returns the state of the current thread. A nested search on the same thread gets a new state,
+	 * because the state of the thread is still used by the outer search.
+	 */
+	private SearchState acquireState() {
+		SearchState state = states.get();
+		if (state.acquire()) {
+			return state;
+		}
+		SearchState nestedState = newState();
+		nestedState.acquire();
+		return nestedState;
+	}
+
+	private SearchState newState() {
+		return new SearchState(arrivalSize());
 	}
 	
 	private int arrivalSize() {
@@ -9,5 +9,9 @@ interface ConnectionSweeper {
 	boolean areDepartedBefore(Time time);
 
 	Optional<PublicTransportRoute> sweep(PreparedSearchRequest searchRequest);
+
+	void sweepArrivals(ArrivalSearchRequest searchRequest);
+
+	void sweepRoutes(RoutesSearchRequest searchRequest);
 	
 }
\ No newline at end of file
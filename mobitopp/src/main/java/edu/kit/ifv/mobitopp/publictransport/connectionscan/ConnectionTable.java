@@ -0,0 +1,133 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+
+/**
+ * Sorted connections stored as parallel arrays. Times are stored in seconds, stops by their id and
+ * journeys by a dense index starting at 0. The connection scan only reads these arrays and looks
+ * up the {@link Connection} of an index when the connection improves the arrival at a stop.
+ */
+class ConnectionTable {
+
+	private final Connection[] connections;
+	private final int[] departures;
+	private final int[] arrivals;
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] journeys;
+	private final int[] changeTimesAtStart;
+	private final int numberOfJourneys;
+
+	private ConnectionTable(
+			Connection[] connections, int[] departures, int[] arrivals, int[] starts, int[] ends,
+			int[] journeys, int[] changeTimesAtStart, int numberOfJourneys) {
+		super();
+		this.connections = connections;
+		this.departures = departures;
+		this.arrivals = arrivals;
+		this.starts = starts;
+		this.ends = ends;
+		this.journeys = journeys;
+		this.changeTimesAtStart = changeTimesAtStart;
+		this.numberOfJourneys = numberOfJourneys;
+	}
+
+	/**
+	 * @param sortedConnections connections sorted by departure
+	 */
+	static ConnectionTable from(List<Connection> sortedConnections) {
+		int size = sortedConnections.size();
+		Connection[] connections = new Connection[size];
+		int[] departures = new int[size];
+		int[] arrivals = new int[size];
+		int[] starts = new int[size];
+		int[] ends = new int[size];
+		int[] journeys = new int[size];
+		int[] changeTimesAtStart = new int[size];
+		Map<Journey, Integer> journeyIndices = new HashMap<>();
+		for (int index = 0; index < size; index++) {
+			Connection connection = sortedConnections.get(index);
+			connections[index] = connection;
+			departures[index] = connection.departure().toSeconds();
+			arrivals[index] = connection.arrival().toSeconds();
+			starts[index] = connection.start().id();
+			ends[index] = connection.end().id();
+			journeys[index] = journeyIndices
+					.computeIfAbsent(connection.journey(), journey -> journeyIndices.size());
+			changeTimesAtStart[index] = connection.start().changeTime().seconds();
+		}
+		return new ConnectionTable(connections, departures, arrivals, starts, ends, journeys,
+				changeTimesAtStart, journeyIndices.size());
+	}
+
+	int size() {
+		return connections.length;
+	}
+
+	boolean isEmpty() {
+		return 0 == size();
+	}
+
+	int numberOfJourneys() {
+		return numberOfJourneys;
+	}
+
+	Connection connection(int index) {
+		return connections[index];
+	}
+
+	int departure(int index) {
+		return departures[index];
+	}
+
+	int arrival(int index) {
+		return arrivals[index];
+	}
+
+	int start(int index) {
+		return starts[index];
+	}
+
+	int end(int index) {
+		return ends[index];
+	}
+
+	int journey(int index) {
+		return journeys[index];
+	}
+
+	int changeTimeAtStart(int index) {
+		return changeTimesAtStart[index];
+	}
+
+	/**
+	 * @return index of the first connection departing at or after the given time or {@link #size()}
+	 *         if all connections depart before
+	 */
+	int firstDepartureAtOrAfter(int time) {
+		int low = 0;
+		int high = departures.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (departures[middle] < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return {@code true} if the latest connection departs before the given time
+	 */
+	boolean departedBefore(int time) {
+		return isEmpty() || departures[departures.length - 1] < time;
+	}
+
+}
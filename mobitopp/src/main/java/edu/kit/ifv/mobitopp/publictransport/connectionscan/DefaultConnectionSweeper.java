@@ -4,10 +4,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.function.Function;
 import java.util.stream.Stream;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Connection;
@@ -17,19 +14,15 @@ import edu.kit.ifv.mobitopp.time.Time;
 class DefaultConnectionSweeper implements ConnectionSweeper {
 
 	private static final int defaultArrivalCheckInterval = 100;
-	private static final Function<Time, Boolean> alwaysTooLate = (time) -> true;
 	private final List<Connection> connections;
-	private final Function<Time, Integer> lookup;
-	private final Function<Time, Boolean> isTooLate;
+	private final ConnectionTable table;
 	private final int intervalToCheckArrivalAtEnd;
 
 	private DefaultConnectionSweeper(
-			List<Connection> connections, Function<Time, Integer> lookup,
-			Function<Time, Boolean> isTooLate, int intervalToCheckArrivalAtEnd) {
+			List<Connection> connections, ConnectionTable table, int intervalToCheckArrivalAtEnd) {
 		super();
 		this.connections = connections;
-		this.lookup = lookup;
-		this.isTooLate = isTooLate;
+		this.table = table;
 		this.intervalToCheckArrivalAtEnd = intervalToCheckArrivalAtEnd;
 	}
 
@@ -41,34 +34,8 @@ class DefaultConnectionSweeper implements ConnectionSweeper {
 		Stream<Connection> stream = connections.asCollection().stream();
 		List<Connection> sorted = stream.sorted(new ConnectionComparator()).collect(toList());
 		List<Connection> fixedConnections = Collections.unmodifiableList(sorted);
-		Function<Time, Integer> lookup = initialiseLookup(fixedConnections);
-		Function<Time, Boolean> isTooLate = createIsTooLate(fixedConnections);
-		return new DefaultConnectionSweeper(fixedConnections, lookup, isTooLate, intervalToCheckArrivalAtEnd);
-	}
-
-	private static Function<Time, Integer> initialiseLookup(List<Connection> connections) {
-		TreeMap<Time, Integer> lookup = new TreeMap<>();
-		for (int index = 0; index < connections.size(); index++) {
-			Time departure = connections.get(index).departure();
-			lookup.putIfAbsent(departure, index);
-		}
-		return (time) -> indexIn(lookup, time, connections.size());
-	}
-
-	private static Integer indexIn(TreeMap<Time, Integer> lookup, Time time, int noEntryFound) {
-		Entry<Time, Integer> possibleEntry = lookup.ceilingEntry(time);
-		if (possibleEntry == null) {
-			return noEntryFound;
-		}
-		return possibleEntry.getValue();
-	}
-
-	private static Function<Time, Boolean> createIsTooLate(List<Connection> connections) {
-		if (connections.isEmpty()) {
-			return alwaysTooLate;
-		}
-		Connection latestConnection = connections.get(connections.size() - 1);
-		return latestConnection::departsBefore;
+		ConnectionTable table = ConnectionTable.from(fixedConnections);
+		return new DefaultConnectionSweeper(fixedConnections, table, intervalToCheckArrivalAtEnd);
 	}
 
 	public List<Connection> asList() {
@@ -77,7 +44,7 @@ class DefaultConnectionSweeper implements ConnectionSweeper {
 
 	@Override
 	public boolean areDepartedBefore(Time time) {
-		return isTooLate.apply(time);
+		return table.departedBefore(time.toSeconds());
 	}
 
 	@Override
@@ -86,24 +53,43 @@ class DefaultConnectionSweeper implements ConnectionSweeper {
 		return searchRequest.createRoute();
 	}
 
+	@Override
+	public void sweepArrivals(ArrivalSearchRequest searchRequest) {
+		int startIndex = table.firstDepartureAtOrAfter(searchRequest.startTime());
+		int size = table.size();
+		for (int index = startIndex; index < size; index++) {
+			if (checkOnlyAtInterval(index)
+					&& searchRequest.departsAfterArrivalAtEnds(table.departure(index))) {
+				break;
+			}
+			searchRequest.updateArrival(table, index);
+		}
+	}
+
+	@Override
+	public void sweepRoutes(RoutesSearchRequest searchRequest) {
+		scanConnections(searchRequest);
+	}
+
 	private int startIndexFor(PreparedSearchRequest searchRequest) {
 		Time atTime = searchRequest.startTime();
-		return lookup.apply(atTime);
+		return table.firstDepartureAtOrAfter(atTime.toSeconds());
 	}
 
 	private void scanConnections(PreparedSearchRequest searchRequest) {
 		int startIndex = startIndexFor(searchRequest);
-		for (int index = startIndex; index < connections.size(); index++) {
-			Connection connection = connections.get(index);
-			if (sweepCanBeCancled(searchRequest, index, connection)) {
+		int size = table.size();
+		for (int index = startIndex; index < size; index++) {
+			if (sweepCanBeCancled(searchRequest, index)) {
 				break;
 			}
-			searchRequest.updateArrival(connection);
+			searchRequest.updateArrival(table, index);
 		}
 	}
 
-	private boolean sweepCanBeCancled(PreparedSearchRequest searchRequest, int index, Connection connection) {
-		return checkOnlyAtInterval(index) && searchRequest.departsAfterArrivalAtEnd(connection);
+	private boolean sweepCanBeCancled(PreparedSearchRequest searchRequest, int index) {
+		return checkOnlyAtInterval(index)
+				&& searchRequest.departsAfterArrivalAtEnd(table.departure(index));
 	}
 
 	/**
@@ -11,16 +11,20 @@ import edu.kit.ifv.mobitopp.time.Time;
 
 class DefaultUsedConnections implements UsedConnections {
 
-	private final Connection[] arrivals;
+	private final SearchState arrivals;
 
 	DefaultUsedConnections(int numberOfStops) {
+		this(new SearchState(numberOfStops));
+	}
+
+	DefaultUsedConnections(SearchState state) {
 		super();
-		arrivals = new Connection[numberOfStops];
+		arrivals = state;
 	}
 
 	@Override
 	public void update(Stop stop, Connection connection) {
-		arrivals[stop.id()] = connection;
+		arrivals.setConnection(stop.id(), connection);
 	}
 
 	@Override
@@ -58,9 +62,10 @@ class DefaultUsedConnections implements UsedConnections {
 	}
 
 	private Connection connectionArrivingAt(Stop currentStop) throws StopNotReachable {
-		if (arrivals[currentStop.id()] == null) {
+		Connection connection = arrivals.connection(currentStop.id());
+		if (connection == null) {
 			throw new StopNotReachable(currentStop);
 		}
-		return arrivals[currentStop.id()];
+		return connection;
 	}
 }
\ No newline at end of file
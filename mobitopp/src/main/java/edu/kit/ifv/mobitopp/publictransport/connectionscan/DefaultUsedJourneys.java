@@ -8,10 +8,16 @@ import edu.kit.ifv.mobitopp.publictransport.model.Journey;
 class DefaultUsedJourneys implements UsedJourneys {
 
 	private final Set<Journey> used;
+	private final SearchState usedIndices;
 
 	public DefaultUsedJourneys() {
+		this(new SearchState(0));
+	}
+
+	DefaultUsedJourneys(SearchState state) {
 		super();
 		used = new HashSet<>();
+		usedIndices = state;
 	}
 
 	@Override
@@ -23,4 +29,14 @@ class DefaultUsedJourneys implements UsedJourneys {
 	public void use(Journey journey) {
 		used.add(journey);
 	}
+
+	@Override
+	public boolean used(int journey) {
+		return usedIndices.isUsed(journey);
+	}
+
+	@Override
+	public void use(int journey) {
+		usedIndices.use(journey);
+	}
 }
\ No newline at end of file
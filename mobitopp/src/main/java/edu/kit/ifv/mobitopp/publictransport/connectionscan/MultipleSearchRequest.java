@@ -24,9 +24,18 @@ class MultipleSearchRequest extends BaseSearchRequest {
 	}
 
 	static MultipleSearchRequest from(StopPaths fromStarts, StopPaths toEnds, Time atTime, int numberOfStops) {
-		ArrivalTimes times = MultipleStarts.create(fromStarts, atTime, numberOfStops);
-		UsedConnections usedConnections = new DefaultUsedConnections(numberOfStops);
-		UsedJourneys usedJourneys = new DefaultUsedJourneys();
+		return from(fromStarts, toEnds, atTime, new SearchState(numberOfStops));
+	}
+
+	/**
+	 * Creates a search request working on the given state. The state must have been acquired for
+	 * this search.
+	 */
+	static MultipleSearchRequest from(
+			StopPaths fromStarts, StopPaths toEnds, Time atTime, SearchState state) {
+		ArrivalTimes times = MultipleStarts.create(fromStarts, atTime, state);
+		UsedConnections usedConnections = new DefaultUsedConnections(state);
+		UsedJourneys usedJourneys = new DefaultUsedJourneys(state);
 		return from(fromStarts, toEnds, times, usedConnections, usedJourneys);
 	}
 
@@ -76,16 +85,11 @@ class MultipleSearchRequest extends BaseSearchRequest {
 	}
 
 	@Override
-	public boolean departsAfterArrivalAtEnd(Connection connection) {
-		return isAfterArrivalAtEnd(connection.departure());
-	}
-	
-	private boolean isAfterArrivalAtEnd(Time departure) {
+	public boolean departsAfterArrivalAtEnd(int departure) {
 		for (StopPath stopPath : toEnds.stopPaths()) {
-			Stop stop = stopPath.stop();
-			Time arrivalAtStop = arrivalAt(stop);
-			Time arrival = stopPath.arrivalTimeStartingAt(arrivalAtStop);
-			if (arrival.isBefore(departure)) {
+			int arrivalAtStop = arrivalAt(stopPath.stop().id());
+			int arrival = arrivalAtStop + stopPath.duration().seconds();
+			if (arrival < departure) {
 				return true;
 			}
 		}
@@ -11,16 +11,22 @@ class MultipleStarts extends BaseTimes {
 
 	private final Time startTime;
 	private final List<StopPath> startPaths;
+	private final int[] startIds;
 
-	private MultipleStarts(List<StopPath> startPaths, Time startTime, int numberOfStops) {
-		super(numberOfStops);
+	private MultipleStarts(List<StopPath> startPaths, Time startTime, SearchState state) {
+		super(state);
 		this.startPaths = startPaths;
 		this.startTime = startTime;
+		this.startIds = startPaths.stream().mapToInt(path -> path.stop().id()).toArray();
 		initialise();
 	}
 
 	static ArrivalTimes create(StopPaths fromStarts, Time startTime, int numberOfStops) {
-		return new MultipleStarts(fromStarts.stopPaths(), startTime, numberOfStops);
+		return create(fromStarts, startTime, new SearchState(numberOfStops));
+	}
+
+	static ArrivalTimes create(StopPaths fromStarts, Time startTime, SearchState state) {
+		return new MultipleStarts(fromStarts.stopPaths(), startTime, state);
 	}
 
 	@Override
@@ -52,4 +58,14 @@ class MultipleStarts extends BaseTimes {
 		return false;
 	}
 
+	@Override
+	protected boolean isStart(int stop) {
+		for (int startId : startIds) {
+			if (startId == stop) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
\ No newline at end of file
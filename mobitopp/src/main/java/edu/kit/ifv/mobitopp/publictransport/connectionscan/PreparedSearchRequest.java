@@ -9,10 +9,22 @@ interface PreparedSearchRequest {
 
 	Time startTime();
 	
-	boolean departsAfterArrivalAtEnd(Connection connection);
+	default boolean departsAfterArrivalAtEnd(Connection connection) {
+		return departsAfterArrivalAtEnd(connection.departure().toSeconds());
+	}
+
+	/**
+	 * @param departure departure in seconds
+	 */
+	boolean departsAfterArrivalAtEnd(int departure);
 
 	void updateArrival(Connection connection);
 
+	/**
+	 * Updates the arrival with the connection at the given index of the table.
+	 */
+	void updateArrival(ConnectionTable connections, int index);
+
 	Optional<PublicTransportRoute> createRoute();
 
 }
\ No newline at end of file
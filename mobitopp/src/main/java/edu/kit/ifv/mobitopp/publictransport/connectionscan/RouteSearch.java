@@ -1,5 +1,8 @@
 package edu.kit.ifv.mobitopp.publictransport.connectionscan;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
@@ -11,4 +14,47 @@ public interface RouteSearch {
 
 	Optional<PublicTransportRoute> findRoute(StopPaths startStops, StopPaths endStops, Time time);
 
-}
\ No newline at end of file
+	/**
+	 * Searches the earliest arrival at each of the given ends when departing at the given time. The
+	 * arrival at an end is the arrival of {@link #findRoute(StopPaths, StopPaths, Time)} for this
+	 * end. The default implementation searches every end on its own.
+	 *
+	 * @return arrival times in the order of {@code endStops}
+	 */
+	default List<Optional<Time>> findArrivals(
+			StopPaths startStops, List<StopPaths> endStops, Time time) {
+		return endStops
+				.stream()
+				.map(end -> findRoute(startStops, end, time).map(PublicTransportRoute::arrival))
+				.collect(toList());
+	}
+
+	/**
+	 * Searches the route to each of the given ends when departing at the given time. The route to an
+	 * end is the route of {@link #findRoute(StopPaths, StopPaths, Time)} for this end. The default
+	 * implementation searches every end on its own.
+	 *
+	 * @return routes in the order of {@code endStops}
+	 */
+	default List<Optional<PublicTransportRoute>> findRoutes(
+			StopPaths startStops, List<StopPaths> endStops, Time time) {
+		return endStops
+				.stream()
+				.map(end -> findRoute(startStops, end, time))
+				.collect(toList());
+	}
+
+	/**
+	 * Searches the earliest arrival at each of the given ends for each of the given origins.
+	 *
+	 * @return arrival times per origin in the order of {@code origins} and {@code endStops}
+	 */
+	default List<List<Optional<Time>>> findArrivals(
+			List<SearchOrigin> origins, List<StopPaths> endStops) {
+		return origins
+				.stream()
+				.map(origin -> findArrivals(origin.startStops(), endStops, origin.time()))
+				.collect(toList());
+	}
+
+}
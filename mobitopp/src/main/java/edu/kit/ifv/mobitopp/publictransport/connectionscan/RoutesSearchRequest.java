@@ -0,0 +1,176 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Searches the routes from one origin to many ends with a single sweep over the connections. The
+ * sweep stops as soon as the arrival at every end is known. Ends which are only reachable by
+ * walking from the origin or not reachable at all, do not get a route.
+ *
+ * {@link #createRoute()} creates the route to the end which is reached first, routes to all ends
+ * are created by {@link #createRoutes()}.
+ */
+class RoutesSearchRequest extends BaseSearchRequest {
+
+	private static final int future = Time.future.toSeconds();
+
+	private final StopPaths fromStarts;
+	private final List<StopPaths> toEnds;
+	private final int numberOfStops;
+	private int settled;
+
+	private RoutesSearchRequest(
+			StopPaths fromStarts, List<StopPaths> toEnds, ArrivalTimes times,
+			UsedConnections usedConnections, UsedJourneys usedJourneys, int numberOfStops) {
+		super(times, usedConnections, usedJourneys);
+		this.fromStarts = fromStarts;
+		this.toEnds = toEnds;
+		this.numberOfStops = numberOfStops;
+		settled = 0;
+	}
+
+	/**
+	 * Creates a search request working on the given state. The state must have been acquired for
+	 * this search.
+	 */
+	static RoutesSearchRequest from(
+			StopPaths fromStarts, List<StopPaths> toEnds, Time atTime, SearchState state) {
+		ArrivalTimes times = MultipleStarts.create(fromStarts, atTime, state);
+		UsedConnections usedConnections = new DefaultUsedConnections(state);
+		UsedJourneys usedJourneys = new DefaultUsedJourneys(state);
+		RoutesSearchRequest searchRequest = new RoutesSearchRequest(fromStarts, toEnds, times,
+				usedConnections, usedJourneys, state.numberOfStops());
+		times.initialise(searchRequest::initialise);
+		return searchRequest;
+	}
+
+	@Override
+	public boolean departsAfterArrivalAtEnd(int departure) {
+		while (settled < toEnds.size()) {
+			if (!isSettled(toEnds.get(settled), departure)) {
+				return false;
+			}
+			settled++;
+		}
+		return true;
+	}
+
+	private boolean isSettled(StopPaths toEnd, int departure) {
+		if (isNotAvailable(toEnd)) {
+			return true;
+		}
+		for (StopPath path : toEnd.stopPaths()) {
+			if (arrivalAt(path) < departure) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isNotAvailable(StopPaths toEnd) {
+		for (Stop stop : toEnd.stops()) {
+			if (0 > stop.id() || numberOfStops <= stop.id()) {
+				return true;
+			}
+		}
+		return toEnd.stops().isEmpty();
+	}
+
+	private int arrivalAt(StopPath path) {
+		int arrival = arrivalAt(path.stop().id());
+		if (future == arrival) {
+			return future;
+		}
+		return arrival + path.duration().seconds();
+	}
+
+	@Override
+	public Optional<PublicTransportRoute> createRoute() {
+		return endWithEarliestArrival().flatMap(this::createRouteTo);
+	}
+
+	@Override
+	protected List<Connection> collectConnections(UsedConnections usedConnections, Time time)
+			throws StopNotReachable {
+		Optional<StopPath> toEndStop = endWithEarliestArrival().flatMap(this::pathWithEarliestArrival);
+		if (toEndStop.isPresent()) {
+			return usedConnections.collectConnections(fromStarts, toEndStop.get().stop(), time);
+		}
+		return emptyList();
+	}
+
+	private Optional<StopPaths> endWithEarliestArrival() {
+		StopPaths earliest = null;
+		int earliestArrival = future;
+		for (StopPaths toEnd : toEnds) {
+			if (isNotAvailable(toEnd)) {
+				continue;
+			}
+			Optional<StopPath> path = pathWithEarliestArrival(toEnd);
+			if (path.isPresent() && arrivalAt(path.get()) < earliestArrival
+					&& !isReachedByWalkingOnly(path.get().stop())) {
+				earliest = toEnd;
+				earliestArrival = arrivalAt(path.get());
+			}
+		}
+		return Optional.ofNullable(earliest);
+	}
+
+	/**
+	 * @return routes in the order of the ends given to the search
+	 */
+	List<Optional<PublicTransportRoute>> createRoutes() {
+		List<Optional<PublicTransportRoute>> routes = new ArrayList<>(toEnds.size());
+		for (StopPaths toEnd : toEnds) {
+			routes.add(createRouteTo(toEnd));
+		}
+		return routes;
+	}
+
+	private Optional<PublicTransportRoute> createRouteTo(StopPaths toEnd) {
+		if (isNotAvailable(toEnd)) {
+			return Optional.empty();
+		}
+		Optional<StopPath> toEndStop = pathWithEarliestArrival(toEnd);
+		if (!toEndStop.isPresent() || isReachedByWalkingOnly(toEndStop.get().stop())) {
+			return Optional.empty();
+		}
+		StopPath pathFromEnd = toEndStop.get();
+		Stop end = pathFromEnd.stop();
+		return createRoute(
+				(connections, time) -> connections.collectConnections(fromStarts, end, time))
+						.map(route -> new RouteIncludingFootpaths(route, fromStarts.pathTo(route.start()),
+								pathFromEnd));
+	}
+
+	private Optional<StopPath> pathWithEarliestArrival(StopPaths toEnd) {
+		StopPath earliest = null;
+		int earliestArrival = future;
+		for (StopPath path : toEnd.stopPaths()) {
+			int arrival = arrivalAt(path);
+			if (arrival < earliestArrival) {
+				earliest = path;
+				earliestArrival = arrival;
+			}
+		}
+		return Optional.ofNullable(earliest);
+	}
+
+	private boolean isReachedByWalkingOnly(Stop stop) {
+		if (!fromStarts.stops().contains(stop)) {
+			return false;
+		}
+		int walkingArrival = startTime().toSeconds() + fromStarts.pathTo(stop).duration().seconds();
+		return arrivalAt(stop.id()) >= walkingArrival;
+	}
+
+}
@@ -0,0 +1,75 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Stops reachable from an origin together with the time of departure at the origin. Used to
+ * search arrivals of several origins at once.
+ */
+public class SearchOrigin {
+
+	private final StopPaths startStops;
+	private final Time time;
+
+	private SearchOrigin(StopPaths startStops, Time time) {
+		super();
+		this.startStops = startStops;
+		this.time = time;
+	}
+
+	public static SearchOrigin from(StopPaths startStops, Time time) {
+		return new SearchOrigin(startStops, time);
+	}
+
+	public StopPaths startStops() {
+		return startStops;
+	}
+
+	public Time time() {
+		return time;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((startStops == null) ? 0 : startStops.hashCode());
+		result = prime * result + ((time == null) ? 0 : time.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		SearchOrigin other = (SearchOrigin) obj;
+		if (startStops == null) {
+			if (other.startStops != null) {
+				return false;
+			}
+		} else if (!startStops.equals(other.startStops)) {
+			return false;
+		}
+		if (time == null) {
+			if (other.time != null) {
+				return false;
+			}
+		} else if (!time.equals(other.time)) {
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "SearchOrigin [startStops=" + startStops + ", time=" + time + "]";
+	}
+
+}
@@ -0,0 +1,223 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import java.util.Arrays;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Arrival times, used connections and used journeys of a single search. Every entry is stamped with
+ * the generation in which it has been written. Entries of older generations count as not set, so
+ * {@link #acquire() acquiring} the state for the next search only increases the generation instead
+ * of clearing arrays sized to the whole network.
+ *
+ * Searches for several origins at once keep one arrival time per stop and origin, the origins
+ * starting at and reached by a connection at each stop and the origins using each journey. These
+ * entries are stamped per stop and per journey. A stop is reset for all origins, when it is first
+ * written in a generation.
+ *
+ * A state must only be used by one search at a time. {@link ConnectionScan} keeps one state per
+ * thread and reuses it for all searches of this thread.
+ */
+class SearchState {
+
+	private static final int future = Time.future.toSeconds();
+	private static final int initialGeneration = 1;
+
+	private final int[] times;
+	private final int[] timeGenerations;
+	private final Connection[] connections;
+	private final int[] connectionGenerations;
+	private int[] journeyGenerations;
+	private int[] originArrivals;
+	private final long[] startingOrigins;
+	private final long[] reachedOrigins;
+	private final int[] originGenerations;
+	private long[] usingOrigins;
+	private int[] usingGenerations;
+	private int numberOfOrigins;
+	private int generation;
+	private boolean inUse;
+
+	SearchState(int numberOfStops) {
+		super();
+		times = new int[numberOfStops];
+		timeGenerations = new int[numberOfStops];
+		connections = new Connection[numberOfStops];
+		connectionGenerations = new int[numberOfStops];
+		journeyGenerations = new int[0];
+		originArrivals = new int[0];
+		startingOrigins = new long[numberOfStops];
+		reachedOrigins = new long[numberOfStops];
+		originGenerations = new int[numberOfStops];
+		usingOrigins = new long[0];
+		usingGenerations = new int[0];
+		numberOfOrigins = 1;
+		generation = initialGeneration;
+		inUse = false;
+	}
+
+	int numberOfStops() {
+		return times.length;
+	}
+
+	/**
+	 * Prepares the state for a new search and marks it as used.
+	 *
+	 * @return {@code false} if the state is already used by another search
+	 */
+	boolean acquire() {
+		if (inUse) {
+			return false;
+		}
+		inUse = true;
+		nextGeneration();
+		return true;
+	}
+
+	void release() {
+		inUse = false;
+	}
+
+	private void nextGeneration() {
+		if (Integer.MAX_VALUE == generation) {
+			Arrays.fill(timeGenerations, 0);
+			Arrays.fill(connectionGenerations, 0);
+			Arrays.fill(journeyGenerations, 0);
+			Arrays.fill(originGenerations, 0);
+			Arrays.fill(usingGenerations, 0);
+			Arrays.fill(connections, null);
+			generation = initialGeneration;
+			return;
+		}
+		generation++;
+	}
+
+	int time(int stop) {
+		if (generation == timeGenerations[stop]) {
+			return times[stop];
+		}
+		return future;
+	}
+
+	void setTime(int stop, int time) {
+		times[stop] = time;
+		timeGenerations[stop] = generation;
+	}
+
+	/**
+	 * @return connection used to arrive at the stop or {@code null} if the stop has not been reached
+	 */
+	Connection connection(int stop) {
+		if (generation == connectionGenerations[stop]) {
+			return connections[stop];
+		}
+		return null;
+	}
+
+	void setConnection(int stop, Connection connection) {
+		connections[stop] = connection;
+		connectionGenerations[stop] = generation;
+	}
+
+	boolean isUsed(int journey) {
+		return journey < journeyGenerations.length && generation == journeyGenerations[journey];
+	}
+
+	void use(int journey) {
+		if (journey >= journeyGenerations.length) {
+			int size = Math.max(journey + 1, 2 * journeyGenerations.length);
+			journeyGenerations = Arrays.copyOf(journeyGenerations, size);
+		}
+		journeyGenerations[journey] = generation;
+	}
+
+	/**
+	 * Prepares the entries per origin for a search of the given number of origins. Must be called
+	 * after {@link #acquire()} and before any entry per origin is accessed.
+	 */
+	void searchOrigins(int numberOfOrigins) {
+		this.numberOfOrigins = numberOfOrigins;
+		int size = numberOfStops() * numberOfOrigins;
+		if (size > originArrivals.length) {
+			originArrivals = new int[size];
+		}
+	}
+
+	int arrival(int stop, int origin) {
+		if (generation == originGenerations[stop]) {
+			return originArrivals[stop * numberOfOrigins + origin];
+		}
+		return future;
+	}
+
+	void setArrival(int stop, int origin, int time) {
+		touch(stop);
+		originArrivals[stop * numberOfOrigins + origin] = time;
+	}
+
+	/**
+	 * @return origins starting at the stop as bits
+	 */
+	long startingOrigins(int stop) {
+		if (generation == originGenerations[stop]) {
+			return startingOrigins[stop];
+		}
+		return 0L;
+	}
+
+	void addStartingOrigins(int stop, long origins) {
+		touch(stop);
+		startingOrigins[stop] |= origins;
+	}
+
+	/**
+	 * @return origins which reached the stop by a connection as bits
+	 */
+	long reachedOrigins(int stop) {
+		if (generation == originGenerations[stop]) {
+			return reachedOrigins[stop];
+		}
+		return 0L;
+	}
+
+	void addReachedOrigins(int stop, long origins) {
+		touch(stop);
+		reachedOrigins[stop] |= origins;
+	}
+
+	private void touch(int stop) {
+		if (generation == originGenerations[stop]) {
+			return;
+		}
+		int first = stop * numberOfOrigins;
+		Arrays.fill(originArrivals, first, first + numberOfOrigins, future);
+		startingOrigins[stop] = 0L;
+		reachedOrigins[stop] = 0L;
+		originGenerations[stop] = generation;
+	}
+
+	/**
+	 * @return origins using the journey as bits
+	 */
+	long usingOrigins(int journey) {
+		if (journey < usingGenerations.length && generation == usingGenerations[journey]) {
+			return usingOrigins[journey];
+		}
+		return 0L;
+	}
+
+	void addUsingOrigins(int journey, long origins) {
+		if (journey >= usingGenerations.length) {
+			int size = Math.max(journey + 1, 2 * usingGenerations.length);
+			usingOrigins = Arrays.copyOf(usingOrigins, size);
+			usingGenerations = Arrays.copyOf(usingGenerations, size);
+		}
+		if (generation != usingGenerations[journey]) {
+			usingOrigins[journey] = 0L;
+			usingGenerations[journey] = generation;
+		}
+		usingOrigins[journey] |= origins;
+	}
+
+}
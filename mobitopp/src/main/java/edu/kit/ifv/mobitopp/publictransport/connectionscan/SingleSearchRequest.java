@@ -19,17 +19,25 @@ class SingleSearchRequest extends BaseSearchRequest {
 	}
 
 	static PreparedSearchRequest from(Stop start, Stop end, Time atTime, int totalNumberOfStopsInNetwork) {
-		ArrivalTimes times = SingleStart.create(start, atTime, totalNumberOfStopsInNetwork);
-		UsedConnections usedConnections = new DefaultUsedConnections(totalNumberOfStopsInNetwork);
-		UsedJourneys usedJourneys = new DefaultUsedJourneys();
+		return from(start, end, atTime, new SearchState(totalNumberOfStopsInNetwork));
+	}
+
+	/**
+	 * Creates a search request working on the given state. The state must have been acquired for
+	 * this search.
+	 */
+	static PreparedSearchRequest from(Stop start, Stop end, Time atTime, SearchState state) {
+		ArrivalTimes times = SingleStart.create(start, atTime, state);
+		UsedConnections usedConnections = new DefaultUsedConnections(state);
+		UsedJourneys usedJourneys = new DefaultUsedJourneys(state);
 		BaseSearchRequest searchRequest = new SingleSearchRequest(start, end, times, usedConnections, usedJourneys);
 		times.initialise(searchRequest::initialise);
 		return searchRequest;
 	}
 
 	@Override
-	public boolean departsAfterArrivalAtEnd(Connection connection) {
-		return isAfterArrivalAt(connection.departure(), end);
+	public boolean departsAfterArrivalAtEnd(int departure) {
+		return isAfterArrivalAt(departure, end);
 	}
 
 	@Override
@@ -10,15 +10,19 @@ class SingleStart extends BaseTimes {
 	private final Stop start;
 	private final Time startTime;
 
-	private SingleStart(Stop start, Time startTime, int numberOfStops) {
-		super(numberOfStops);
+	private SingleStart(Stop start, Time startTime, SearchState state) {
+		super(state);
 		this.start = start;
 		this.startTime = startTime;
 		initialise();
 	}
 
 	static ArrivalTimes create(Stop start, Time departure, int numberOfStops) {
-		return new SingleStart(start, departure, numberOfStops);
+		return create(start, departure, new SearchState(numberOfStops));
+	}
+
+	static ArrivalTimes create(Stop start, Time departure, SearchState state) {
+		return new SingleStart(start, departure, state);
 	}
 	
 	@Override
@@ -41,4 +45,9 @@ class SingleStart extends BaseTimes {
 		return start.equals(stop);
 	}
 
+	@Override
+	protected boolean isStart(int stop) {
+		return start.id() == stop;
+	}
+
 }
\ No newline at end of file
@@ -60,6 +60,10 @@ public class TransitNetwork {
 		return connections.areDepartedBefore(time) || notAvailable(starts, ends);
 	}
 
+	boolean scanNotNeeded(StopPaths starts, Time time) {
+		return connections.areDepartedBefore(time) || notAvailable(starts);
+	}
+
 	private boolean notAvailable(StopPaths startStops, StopPaths endStops) {
 		return notAvailable(startStops) || notAvailable(endStops);
 	}
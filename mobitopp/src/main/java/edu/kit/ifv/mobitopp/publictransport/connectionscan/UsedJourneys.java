@@ -8,4 +8,14 @@ interface UsedJourneys {
 
 	void use(Journey journey);
 
+	/**
+	 * @param journey index of the journey in the {@link ConnectionTable}
+	 */
+	boolean used(int journey);
+
+	/**
+	 * @param journey index of the journey in the {@link ConnectionTable}
+	 */
+	void use(int journey);
+
 }
@@ -0,0 +1,220 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.DefaultStopPaths;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.PublicTransportRoute;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Searches routes round by round (RAPTOR). Round {@code k} finds the earliest arrivals using at
+ * most {@code k} trips. So a single search yields the earliest arrival and all routes arriving
+ * earlier with more transfers, see {@link #findParetoRoutes(StopPaths, StopPaths, Time)}.
+ *
+ * A range search runs the rounds once per departure within a time span, starting with the latest
+ * departure. Labels of later departures are kept and prune the searches of earlier departures, see
+ * {@link #findRangeRoutes(StopPaths, StopPaths, Time, Time)}. No precomputed profiles are needed.
+ *
+ * Like the connection scan, the change time of a stop is not applied at the start stops and a
+ * single footpath is walked after every arrival. The labels needed during a search are kept per
+ * thread and reused for every search of this thread.
+ */
+@Slf4j
+public class Raptor implements RouteSearch {
+
+	public static final int defaultMaximumTransfers = 7;
+
+	private final RaptorNetwork network;
+	private final int maximumTransfers;
+	private final ThreadLocal<RaptorSearch> searches;
+
+	public Raptor(RaptorNetwork network, int maximumTransfers) {
+		super();
+		if (0 > maximumTransfers) {
+			throw warn(new IllegalArgumentException(
+					"Number of transfers must not be negative: " + maximumTransfers), log);
+		}
+		this.network = network;
+		this.maximumTransfers = maximumTransfers;
+		this.searches = ThreadLocal
+				.withInitial(() -> new RaptorSearch(network, maximumTransfers + 1));
+	}
+
+	public Raptor(RaptorNetwork network) {
+		this(network, defaultMaximumTransfers);
+	}
+
+	public int maximumTransfers() {
+		return maximumTransfers;
+	}
+
+	@Override
+	public Optional<PublicTransportRoute> findRoute(Stop fromStart, Stop toEnd, Time time) {
+		return findRoute(pathsOf(fromStart), pathsOf(toEnd), time);
+	}
+
+	private static StopPaths pathsOf(Stop stop) {
+		return DefaultStopPaths.from(List.of(new StopPath(stop, RelativeTime.ZERO)));
+	}
+
+	/**
+	 * Searches the earliest arrival. Of all routes with the earliest arrival, the one with the fewest
+	 * transfers is returned.
+	 */
+	@Override
+	public Optional<PublicTransportRoute> findRoute(
+			StopPaths startStops, StopPaths endStops, Time time) {
+		List<RaptorRoute> routes = findParetoRoutes(startStops, endStops, time);
+		if (routes.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(routes.get(routes.size() - 1));
+	}
+
+	/**
+	 * Searches all routes departing at the given time, which are not dominated in arrival time and
+	 * number of transfers. Routes only walking between start and end are not part of the result.
+	 *
+	 * @return routes sorted by increasing number of transfers and decreasing arrival time
+	 */
+	public List<RaptorRoute> findParetoRoutes(StopPaths startStops, StopPaths endStops, Time time) {
+		if (notAvailable(startStops) || notAvailable(endStops)) {
+			return Collections.emptyList();
+		}
+		RaptorSearch search = searches.get();
+		try {
+			List<RaptorRoute> routes = new ArrayList<>();
+			searchAt(search, startStops, endStops, time.toSeconds(), routes);
+			return routes;
+		} finally {
+			search.reset();
+		}
+	}
+
+	/**
+	 * Searches all routes departing between the given times, which are not dominated in departure
+	 * time, arrival time and number of transfers. A route is dominated by another route departing
+	 * later or at the same time, arriving earlier or at the same time and using at most as many
+	 * transfers. Only departures at which a trip can be boarded are searched.
+	 *
+	 * @return routes sorted by departure and in the order of
+	 *         {@link #findParetoRoutes(StopPaths, StopPaths, Time)} for routes departing at the same
+	 *         time
+	 */
+	public List<RaptorRoute> findRangeRoutes(
+			StopPaths startStops, StopPaths endStops, Time earliestDeparture, Time latestDeparture) {
+		if (notAvailable(startStops) || notAvailable(endStops)) {
+			return Collections.emptyList();
+		}
+		RaptorSearch search = searches.get();
+		try {
+			List<List<RaptorRoute>> perDeparture = new ArrayList<>();
+			for (int departure : departuresOf(startStops, earliestDeparture.toSeconds(),
+					latestDeparture.toSeconds())) {
+				List<RaptorRoute> routes = new ArrayList<>();
+				searchAt(search, startStops, endStops, departure, routes);
+				perDeparture.add(routes);
+			}
+			Collections.reverse(perDeparture);
+			List<RaptorRoute> routes = new ArrayList<>();
+			perDeparture.forEach(routes::addAll);
+			return routes;
+		} finally {
+			search.reset();
+		}
+	}
+
+	private boolean notAvailable(StopPaths stops) {
+		return stops.stops().isEmpty() || !stops.stops().stream().allMatch(network::contains);
+	}
+
+	/**
+	 * Reports a route of a round, if the arrival of the round improves the arrival of the previous
+	 * round and the arrival known before the search.
+	 */
+	private void searchAt(
+			RaptorSearch search, StopPaths startStops, StopPaths endStops, int departure,
+			List<RaptorRoute> routes) {
+		int[] before = new int[search.rounds()];
+		for (int round = 0; round < before.length; round++) {
+			before[round] = search.targetArrival(round, endStops);
+		}
+		int rounds = search.search(startStops, departure, endStops);
+		int previous = search.targetArrival(0, endStops);
+		for (int round = 1; round <= rounds; round++) {
+			int arrival = search.targetArrival(round, endStops);
+			if (arrival < previous && arrival < before[round]) {
+				routes.add(routeOf(search, round, endStops, departure));
+			}
+			previous = Math.min(previous, arrival);
+		}
+	}
+
+	private RaptorRoute routeOf(RaptorSearch search, int round, StopPaths endStops, int departure) {
+		StopPath end = search.bestEnd(round, endStops);
+		List<Connection> connections = search.connectionsTo(round, end.stop().id());
+		Connection first = connections.get(0);
+		Connection last = connections.get(connections.size() - 1);
+		int transfers = Math.max(0, RaptorSearch.numberOfTrips(connections) - 1);
+		return new RaptorRoute(first.start(), last.end(), SimpleTime.ofSeconds(departure),
+				last.arrival().plus(end.duration()), transfers, connections);
+	}
+
+	/**
+	 * Departures at the start, which reach a trip just in time. Trips reached by a footpath from a
+	 * start stop include the change time at the stop of the trip.
+	 *
+	 * @return departures in decreasing order
+	 */
+	private List<Integer> departuresOf(StopPaths startStops, int earliest, int latest) {
+		TreeSet<Integer> departures = new TreeSet<>();
+		for (StopPath path : startStops.stopPaths()) {
+			int stop = path.stop().id();
+			int walk = path.duration().seconds();
+			addDepartures(stop, walk, earliest, latest, departures);
+			for (int footpath = network.firstFootpathAt(stop); footpath < network
+					.endOfFootpathsAt(stop); footpath++) {
+				int target = network.footpathTarget(footpath);
+				int changeTime = startStops.stops().contains(network.stop(target)) ? 0
+						: network.changeTimeAt(target);
+				int offset = walk + network.footpathDuration(footpath) + changeTime;
+				addDepartures(target, offset, earliest, latest, departures);
+			}
+		}
+		return new ArrayList<>(departures.descendingSet());
+	}
+
+	private void addDepartures(
+			int stop, int offset, int earliest, int latest, TreeSet<Integer> departures) {
+		for (int boarding = network.firstBoardingAt(stop); boarding < network
+				.endOfBoardingsAt(stop); boarding++) {
+			int pattern = network.boardingPattern(boarding);
+			int hop = network.boardingHop(boarding);
+			int end = network.endOfTripsOf(pattern);
+			for (int trip = network.earliestTripOf(pattern, hop, earliest + offset); trip < end
+					&& network.departureOf(trip, hop) - offset <= latest; trip++) {
+				departures.add(network.departureOf(trip, hop) - offset);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Raptor [network=" + network + ", maximumTransfers=" + maximumTransfers + "]";
+	}
+
+}
@@ -0,0 +1,385 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Connections;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timetable of a transit network organised in patterns for round based searches. A trip is the
+ * sequence of connections of a {@link Journey} sorted by departure. Trips serving the same sequence
+ * of hops form a pattern. Trips of a pattern never overtake each other, so the trips of a pattern
+ * are sorted by departure at every hop. Trips which would overtake another trip are put into an own
+ * pattern with the same hops.
+ *
+ * All data is stored in flat arrays indexed by pattern, trip, hop and stop id. Times are stored in
+ * seconds.
+ */
+@Slf4j
+public class RaptorNetwork {
+
+	private static final Comparator<Connection> byTime = comparing(Connection::departure)
+			.thenComparing(Connection::arrival);
+
+	private final Stop[] stops;
+	private final int[] changeTimes;
+	private final int[] patternHops;
+	private final int[] hopStarts;
+	private final int[] hopEnds;
+	private final int[] patternTrips;
+	private final int[] tripTimes;
+	private final int[] departures;
+	private final int[] arrivals;
+	private final Connection[] connections;
+	private final int[] stopPatterns;
+	private final int[] boardingPatterns;
+	private final int[] boardingHops;
+	private final int[] stopFootpaths;
+	private final int[] footpathTargets;
+	private final int[] footpathDurations;
+
+	private RaptorNetwork(
+			Stop[] stops, int[] changeTimes, int[] patternHops, int[] hopStarts, int[] hopEnds,
+			int[] patternTrips, int[] tripTimes, int[] departures, int[] arrivals,
+			Connection[] connections, int[] stopPatterns, int[] boardingPatterns, int[] boardingHops,
+			int[] stopFootpaths, int[] footpathTargets, int[] footpathDurations) {
+		super();
+		this.stops = stops;
+		this.changeTimes = changeTimes;
+		this.patternHops = patternHops;
+		this.hopStarts = hopStarts;
+		this.hopEnds = hopEnds;
+		this.patternTrips = patternTrips;
+		this.tripTimes = tripTimes;
+		this.departures = departures;
+		this.arrivals = arrivals;
+		this.connections = connections;
+		this.stopPatterns = stopPatterns;
+		this.boardingPatterns = boardingPatterns;
+		this.boardingHops = boardingHops;
+		this.stopFootpaths = stopFootpaths;
+		this.footpathTargets = footpathTargets;
+		this.footpathDurations = footpathDurations;
+	}
+
+	public static RaptorNetwork createOf(Collection<Stop> stops, Connections connections) {
+		Stop[] stopsById = stopsById(stops);
+		List<List<List<Connection>>> patterns = patternsOf(tripsOf(connections));
+		Builder builder = new Builder(stopsById, patterns);
+		RaptorNetwork network = builder.build();
+		log.info("Created raptor network with " + network.numberOfPatterns() + " patterns and "
+				+ network.numberOfTrips() + " trips");
+		return network;
+	}
+
+	private static Stop[] stopsById(Collection<Stop> stops) {
+		List<Stop> sorted = new ArrayList<>(stops);
+		sorted.sort(comparingInt(Stop::id));
+		for (int index = 0; index < sorted.size(); index++) {
+			Stop stop = sorted.get(index);
+			if (index != stop.id()) {
+				throw warn(new IllegalArgumentException(
+						"Ids of stops must be consecutive starting at 0. Wrong id at stop: " + stop), log);
+			}
+		}
+		return sorted.toArray(new Stop[0]);
+	}
+
+	private static Collection<List<Connection>> tripsOf(Connections connections) {
+		Map<Journey, List<Connection>> trips = new LinkedHashMap<>();
+		for (Connection connection : connections.asCollection()) {
+			trips.computeIfAbsent(connection.journey(), journey -> new ArrayList<>()).add(connection);
+		}
+		trips.values().forEach(trip -> trip.sort(byTime));
+		return trips.values();
+	}
+
+	/**
+	 * Groups trips by their hops and splits every group into patterns without overtaking trips.
+	 */
+	private static List<List<List<Connection>>> patternsOf(Collection<List<Connection>> trips) {
+		Map<List<Integer>, List<List<Connection>>> byHops = new LinkedHashMap<>();
+		for (List<Connection> trip : trips) {
+			byHops.computeIfAbsent(hopsOf(trip), hops -> new ArrayList<>()).add(trip);
+		}
+		List<List<List<Connection>>> patterns = new ArrayList<>();
+		for (List<List<Connection>> group : byHops.values()) {
+			group.sort((first, second) -> byTime.compare(first.get(0), second.get(0)));
+			List<List<List<Connection>>> split = new ArrayList<>();
+			for (List<Connection> trip : group) {
+				Optional<List<List<Connection>>> pattern = split
+						.stream()
+						.filter(candidate -> isNotOvertaken(candidate.get(candidate.size() - 1), trip))
+						.findFirst();
+				if (pattern.isPresent()) {
+					pattern.get().add(trip);
+				} else {
+					List<List<Connection>> newPattern = new ArrayList<>();
+					newPattern.add(trip);
+					split.add(newPattern);
+				}
+			}
+			patterns.addAll(split);
+		}
+		return patterns;
+	}
+
+	private static List<Integer> hopsOf(List<Connection> trip) {
+		List<Integer> hops = new ArrayList<>(2 * trip.size());
+		for (Connection connection : trip) {
+			hops.add(connection.start().id());
+			hops.add(connection.end().id());
+		}
+		return hops;
+	}
+
+	private static boolean isNotOvertaken(List<Connection> earlier, List<Connection> later) {
+		for (int hop = 0; hop < earlier.size(); hop++) {
+			Connection first = earlier.get(hop);
+			Connection second = later.get(hop);
+			if (first.departure().isAfter(second.departure())
+					|| first.arrival().isAfter(second.arrival())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	int numberOfStops() {
+		return stops.length;
+	}
+
+	int numberOfPatterns() {
+		return patternHops.length - 1;
+	}
+
+	int numberOfTrips() {
+		return tripTimes.length - 1;
+	}
+
+	Stop stop(int id) {
+		return stops[id];
+	}
+
+	boolean contains(Stop stop) {
+		return 0 <= stop.id() && stop.id() < stops.length && stops[stop.id()].equals(stop);
+	}
+
+	int changeTimeAt(int stop) {
+		return changeTimes[stop];
+	}
+
+	int numberOfHops(int pattern) {
+		return patternHops[pattern + 1] - patternHops[pattern];
+	}
+
+	int startOf(int pattern, int hop) {
+		return hopStarts[patternHops[pattern] + hop];
+	}
+
+	int endOf(int pattern, int hop) {
+		return hopEnds[patternHops[pattern] + hop];
+	}
+
+	int firstTripOf(int pattern) {
+		return patternTrips[pattern];
+	}
+
+	int endOfTripsOf(int pattern) {
+		return patternTrips[pattern + 1];
+	}
+
+	int departureOf(int trip, int hop) {
+		return departures[tripTimes[trip] + hop];
+	}
+
+	int arrivalOf(int trip, int hop) {
+		return arrivals[tripTimes[trip] + hop];
+	}
+
+	Connection connectionOf(int trip, int hop) {
+		return connections[tripTimes[trip] + hop];
+	}
+
+	/**
+	 * @return first trip of the pattern departing at the given hop at or after the given time or
+	 *         {@link #endOfTripsOf(int)} if there is no such trip
+	 */
+	int earliestTripOf(int pattern, int hop, int time) {
+		int low = firstTripOf(pattern);
+		int high = endOfTripsOf(pattern);
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (departureOf(middle, hop) < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	int firstBoardingAt(int stop) {
+		return stopPatterns[stop];
+	}
+
+	int endOfBoardingsAt(int stop) {
+		return stopPatterns[stop + 1];
+	}
+
+	int boardingPattern(int boarding) {
+		return boardingPatterns[boarding];
+	}
+
+	int boardingHop(int boarding) {
+		return boardingHops[boarding];
+	}
+
+	int firstFootpathAt(int stop) {
+		return stopFootpaths[stop];
+	}
+
+	int endOfFootpathsAt(int stop) {
+		return stopFootpaths[stop + 1];
+	}
+
+	int footpathTarget(int footpath) {
+		return footpathTargets[footpath];
+	}
+
+	int footpathDuration(int footpath) {
+		return footpathDurations[footpath];
+	}
+
+	@Override
+	public String toString() {
+		return "RaptorNetwork [stops=" + numberOfStops() + ", patterns=" + numberOfPatterns()
+				+ ", trips=" + numberOfTrips() + "]";
+	}
+
+	private static class Builder {
+
+		private final Stop[] stops;
+		private final List<List<List<Connection>>> patterns;
+
+		Builder(Stop[] stops, List<List<List<Connection>>> patterns) {
+			super();
+			this.stops = stops;
+			this.patterns = patterns;
+		}
+
+		RaptorNetwork build() {
+			int numberOfPatterns = patterns.size();
+			int[] patternHops = new int[numberOfPatterns + 1];
+			int[] patternTrips = new int[numberOfPatterns + 1];
+			int trips = 0;
+			int times = 0;
+			for (int pattern = 0; pattern < numberOfPatterns; pattern++) {
+				List<List<Connection>> tripsOfPattern = patterns.get(pattern);
+				int hops = tripsOfPattern.get(0).size();
+				patternHops[pattern + 1] = patternHops[pattern] + hops;
+				patternTrips[pattern + 1] = patternTrips[pattern] + tripsOfPattern.size();
+				trips += tripsOfPattern.size();
+				times += hops * tripsOfPattern.size();
+			}
+			int[] hopStarts = new int[patternHops[numberOfPatterns]];
+			int[] hopEnds = new int[patternHops[numberOfPatterns]];
+			int[] tripTimes = new int[trips + 1];
+			int[] departures = new int[times];
+			int[] arrivals = new int[times];
+			Connection[] connections = new Connection[times];
+			int[] boardingsPerStop = new int[stops.length + 1];
+			int trip = 0;
+			for (int pattern = 0; pattern < numberOfPatterns; pattern++) {
+				List<Connection> firstTrip = patterns.get(pattern).get(0);
+				for (int hop = 0; hop < firstTrip.size(); hop++) {
+					int start = firstTrip.get(hop).start().id();
+					hopStarts[patternHops[pattern] + hop] = start;
+					hopEnds[patternHops[pattern] + hop] = firstTrip.get(hop).end().id();
+					boardingsPerStop[start + 1]++;
+				}
+				for (List<Connection> tripConnections : patterns.get(pattern)) {
+					int offset = tripTimes[trip];
+					for (int hop = 0; hop < tripConnections.size(); hop++) {
+						Connection connection = tripConnections.get(hop);
+						departures[offset + hop] = connection.departure().toSeconds();
+						arrivals[offset + hop] = connection.arrival().toSeconds();
+						connections[offset + hop] = connection;
+					}
+					tripTimes[trip + 1] = offset + tripConnections.size();
+					trip++;
+				}
+			}
+			int[] stopPatterns = cumulate(boardingsPerStop);
+			int[] boardingPatterns = new int[hopStarts.length];
+			int[] boardingHops = new int[hopStarts.length];
+			int[] next = stopPatterns.clone();
+			for (int pattern = 0; pattern < numberOfPatterns; pattern++) {
+				for (int hop = 0; hop < patternHops[pattern + 1] - patternHops[pattern]; hop++) {
+					int start = hopStarts[patternHops[pattern] + hop];
+					int boarding = next[start]++;
+					boardingPatterns[boarding] = pattern;
+					boardingHops[boarding] = hop;
+				}
+			}
+			return withFootpaths(patternHops, hopStarts, hopEnds, patternTrips, tripTimes, departures,
+					arrivals, connections, stopPatterns, boardingPatterns, boardingHops);
+		}
+
+		private RaptorNetwork withFootpaths(
+				int[] patternHops, int[] hopStarts, int[] hopEnds, int[] patternTrips, int[] tripTimes,
+				int[] departures, int[] arrivals, Connection[] connections, int[] stopPatterns,
+				int[] boardingPatterns, int[] boardingHops) {
+			int[] changeTimes = new int[stops.length];
+			int[] stopFootpaths = new int[stops.length + 1];
+			List<Integer> targets = new ArrayList<>();
+			List<Integer> durations = new ArrayList<>();
+			for (Stop stop : stops) {
+				changeTimes[stop.id()] = stop.changeTime().seconds();
+				for (Stop neighbour : stop.neighbours()) {
+					if (isInNetwork(neighbour)) {
+						RelativeTime walkTime = stop.neighbours().walkTimeTo(neighbour).get();
+						targets.add(neighbour.id());
+						durations.add(walkTime.seconds());
+					}
+				}
+				stopFootpaths[stop.id() + 1] = targets.size();
+			}
+			return new RaptorNetwork(stops, changeTimes, patternHops, hopStarts, hopEnds, patternTrips,
+					tripTimes, departures, arrivals, connections, stopPatterns, boardingPatterns,
+					boardingHops, stopFootpaths, toArray(targets), toArray(durations));
+		}
+
+		private boolean isInNetwork(Stop stop) {
+			return 0 <= stop.id() && stop.id() < stops.length && stops[stop.id()].equals(stop);
+		}
+
+		private static int[] cumulate(int[] counts) {
+			int[] offsets = counts.clone();
+			for (int index = 1; index < offsets.length; index++) {
+				offsets[index] += offsets[index - 1];
+			}
+			return offsets;
+		}
+
+		private static int[] toArray(List<Integer> values) {
+			return values.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+	}
+
+}
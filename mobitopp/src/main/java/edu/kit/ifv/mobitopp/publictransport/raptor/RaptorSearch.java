@@ -0,0 +1,339 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.FootJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Labels of a round based search on a {@link RaptorNetwork}. Round {@code k} holds the earliest
+ * arrival at every stop using at most {@code k} trips. Round 0 contains the start stops and the
+ * stops reachable by foot from them. At the beginning of every round, the labels of the previous
+ * round are copied for all stops reached so far. So the arrival at a stop never increases from round
+ * to round.
+ *
+ * Labels are kept between searches of a range query. A search for a later departure leaves labels
+ * which are valid bounds for earlier departures. {@link #reset()} clears only stops touched since
+ * the last reset.
+ */
+class RaptorSearch {
+
+	static final int unreachable = Time.future.toSeconds();
+
+	private static final byte none = 0;
+	private static final byte start = 1;
+	private static final byte inherited = 2;
+	private static final byte trip = 3;
+	private static final byte foot = 4;
+
+	private final RaptorNetwork network;
+	private final int rounds;
+	private final int[][] arrivals;
+	private final byte[][] kinds;
+	private final int[][] parents;
+	private final int[][] boardingHops;
+	private final int[][] alightingHops;
+	private final boolean[] isStart;
+	private final boolean[] isTouched;
+	private final List<Integer> touched;
+	private final boolean[] isMarked;
+	private final List<Integer> marked;
+	private final int[] markedHops;
+	private final List<Integer> markedPatterns;
+
+	RaptorSearch(RaptorNetwork network, int maximumTrips) {
+		super();
+		this.network = network;
+		this.rounds = maximumTrips + 1;
+		int stops = network.numberOfStops();
+		arrivals = new int[rounds][stops];
+		kinds = new byte[rounds][stops];
+		parents = new int[rounds][stops];
+		boardingHops = new int[rounds][stops];
+		alightingHops = new int[rounds][stops];
+		isStart = new boolean[stops];
+		isTouched = new boolean[stops];
+		touched = new ArrayList<>();
+		isMarked = new boolean[stops];
+		marked = new ArrayList<>();
+		markedHops = new int[network.numberOfPatterns()];
+		markedPatterns = new ArrayList<>();
+		for (int round = 0; round < rounds; round++) {
+			Arrays.fill(arrivals[round], unreachable);
+		}
+		Arrays.fill(markedHops, Integer.MAX_VALUE);
+	}
+
+	int rounds() {
+		return rounds;
+	}
+
+	void reset() {
+		for (int stop : touched) {
+			for (int round = 0; round < rounds; round++) {
+				arrivals[round][stop] = unreachable;
+				kinds[round][stop] = none;
+			}
+			isStart[stop] = false;
+			isTouched[stop] = false;
+		}
+		touched.clear();
+		clearMarks();
+	}
+
+	/**
+	 * Sets the labels of round 0 for the given departure and runs all rounds.
+	 *
+	 * @return number of rounds which improved any label
+	 */
+	int search(StopPaths starts, int departure, StopPaths ends) {
+		initialise(starts, departure);
+		int round = 1;
+		for (; round < rounds && !marked.isEmpty(); round++) {
+			scanRound(round, ends);
+		}
+		clearMarks();
+		return round - 1;
+	}
+
+	private void initialise(StopPaths starts, int departure) {
+		List<Integer> reached = new ArrayList<>();
+		for (StopPath path : starts.stopPaths()) {
+			if (!network.contains(path.stop())) {
+				continue;
+			}
+			int stop = path.stop().id();
+			isStart[stop] = true;
+			touch(stop);
+			int arrival = departure + path.duration().seconds();
+			if (arrival < arrivals[0][stop]) {
+				arrivals[0][stop] = arrival;
+				kinds[0][stop] = start;
+				mark(stop);
+				reached.add(stop);
+			}
+		}
+		walkFrom(0, reached, Integer.MAX_VALUE);
+	}
+
+	private void scanRound(int round, StopPaths ends) {
+		inheritLabels(round);
+		int bound = targetArrival(round, ends);
+		collectPatterns();
+		List<Integer> improved = new ArrayList<>();
+		for (int pattern : markedPatterns) {
+			scanPattern(round, pattern, markedHops[pattern], bound, improved);
+			markedHops[pattern] = Integer.MAX_VALUE;
+		}
+		markedPatterns.clear();
+		walkFrom(round, improved, bound);
+	}
+
+	private void inheritLabels(int round) {
+		int[] previous = arrivals[round - 1];
+		int[] current = arrivals[round];
+		for (int stop : touched) {
+			if (previous[stop] < current[stop]) {
+				current[stop] = previous[stop];
+				kinds[round][stop] = inherited;
+			}
+		}
+	}
+
+	private void collectPatterns() {
+		for (int stop : marked) {
+			for (int boarding = network.firstBoardingAt(stop); boarding < network
+					.endOfBoardingsAt(stop); boarding++) {
+				int pattern = network.boardingPattern(boarding);
+				int hop = network.boardingHop(boarding);
+				if (Integer.MAX_VALUE == markedHops[pattern]) {
+					markedPatterns.add(pattern);
+				}
+				markedHops[pattern] = Math.min(markedHops[pattern], hop);
+			}
+		}
+		clearMarks();
+	}
+
+	private void scanPattern(int round, int pattern, int firstHop, int bound, List<Integer> improved) {
+		int[] previous = arrivals[round - 1];
+		int[] current = arrivals[round];
+		int currentTrip = -1;
+		int boardedAt = -1;
+		int endOfTrips = network.endOfTripsOf(pattern);
+		for (int hop = firstHop; hop < network.numberOfHops(pattern); hop++) {
+			int stop = network.startOf(pattern, hop);
+			if (unreachable != previous[stop]) {
+				int earliestDeparture = previous[stop] + changeTimeAt(stop);
+				if (-1 == currentTrip || earliestDeparture <= network.departureOf(currentTrip, hop)) {
+					int earliest = network.earliestTripOf(pattern, hop, earliestDeparture);
+					if (earliest < endOfTrips && (-1 == currentTrip || earliest < currentTrip)) {
+						currentTrip = earliest;
+						boardedAt = hop;
+					}
+				}
+			}
+			if (-1 == currentTrip) {
+				continue;
+			}
+			int end = network.endOf(pattern, hop);
+			int arrival = network.arrivalOf(currentTrip, hop);
+			if (arrival < current[end] && arrival < bound) {
+				current[end] = arrival;
+				kinds[round][end] = trip;
+				parents[round][end] = currentTrip;
+				boardingHops[round][end] = boardedAt;
+				alightingHops[round][end] = hop;
+				touch(end);
+				mark(end);
+				improved.add(end);
+			}
+		}
+	}
+
+	private int changeTimeAt(int stop) {
+		return isStart[stop] ? 0 : network.changeTimeAt(stop);
+	}
+
+	/**
+	 * Walks a single footpath from each of the given stops. Stops reached by foot are not used as
+	 * origin of another footpath in the same round.
+	 */
+	private void walkFrom(int round, List<Integer> origins, int bound) {
+		int[] current = arrivals[round];
+		for (int origin : origins) {
+			if (foot == kinds[round][origin]) {
+				continue;
+			}
+			for (int footpath = network.firstFootpathAt(origin); footpath < network
+					.endOfFootpathsAt(origin); footpath++) {
+				int target = network.footpathTarget(footpath);
+				int arrival = current[origin] + network.footpathDuration(footpath);
+				if (arrival < current[target] && arrival < bound) {
+					current[target] = arrival;
+					kinds[round][target] = foot;
+					parents[round][target] = origin;
+					touch(target);
+					mark(target);
+				}
+			}
+		}
+	}
+
+	private void touch(int stop) {
+		if (!isTouched[stop]) {
+			isTouched[stop] = true;
+			touched.add(stop);
+		}
+	}
+
+	private void mark(int stop) {
+		if (!isMarked[stop]) {
+			isMarked[stop] = true;
+			marked.add(stop);
+		}
+	}
+
+	private void clearMarks() {
+		for (int stop : marked) {
+			isMarked[stop] = false;
+		}
+		marked.clear();
+	}
+
+	/**
+	 * @return earliest arrival at any of the ends including the path from the stop to the end or
+	 *         {@link #unreachable}
+	 */
+	int targetArrival(int round, StopPaths ends) {
+		int best = unreachable;
+		for (StopPath path : ends.stopPaths()) {
+			if (network.contains(path.stop()) && unreachable != arrivals[round][path.stop().id()]) {
+				best = Math.min(best, arrivals[round][path.stop().id()] + path.duration().seconds());
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return path to the end which is reached earliest in the given round
+	 */
+	StopPath bestEnd(int round, StopPaths ends) {
+		StopPath bestPath = null;
+		int best = unreachable;
+		for (StopPath path : ends.stopPaths()) {
+			if (network.contains(path.stop()) && unreachable != arrivals[round][path.stop().id()]) {
+				int arrival = arrivals[round][path.stop().id()] + path.duration().seconds();
+				if (arrival < best) {
+					best = arrival;
+					bestPath = path;
+				}
+			}
+		}
+		return bestPath;
+	}
+
+	/**
+	 * Follows the labels from the given stop back to a start stop.
+	 *
+	 * @return connections in order of travel including footpaths between stops
+	 */
+	List<Connection> connectionsTo(int round, int stop) {
+		List<Connection> connections = new ArrayList<>();
+		int current = stop;
+		int currentRound = round;
+		while (start != kinds[currentRound][current]) {
+			byte kind = kinds[currentRound][current];
+			if (inherited == kind) {
+				currentRound--;
+			} else if (foot == kind) {
+				int origin = parents[currentRound][current];
+				connections.add(footpath(origin, current, arrivals[currentRound][current]));
+				current = origin;
+			} else if (trip == kind) {
+				int usedTrip = parents[currentRound][current];
+				int boardedAt = boardingHops[currentRound][current];
+				for (int hop = alightingHops[currentRound][current]; hop >= boardedAt; hop--) {
+					connections.add(network.connectionOf(usedTrip, hop));
+				}
+				current = network.connectionOf(usedTrip, boardedAt).start().id();
+				currentRound--;
+			} else {
+				throw new IllegalStateException("Stop has not been reached: " + network.stop(current));
+			}
+		}
+		Collections.reverse(connections);
+		return connections;
+	}
+
+	private Connection footpath(int origin, int target, int arrival) {
+		Stop from = network.stop(origin);
+		Stop to = network.stop(target);
+		int duration = from.neighbours().walkTimeTo(to).get().seconds();
+		return Connection
+				.byFootFrom(from, to, SimpleTime.ofSeconds(arrival - duration), SimpleTime.ofSeconds(arrival));
+	}
+
+	static int numberOfTrips(List<Connection> connections) {
+		int trips = 0;
+		Journey current = null;
+		for (Connection connection : connections) {
+			Journey journey = connection.journey();
+			if (!FootJourney.footJourney.equals(journey) && !journey.equals(current)) {
+				trips++;
+				current = journey;
+			}
+		}
+		return trips;
+	}
+
+}
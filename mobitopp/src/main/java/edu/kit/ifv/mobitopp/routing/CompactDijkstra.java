@@ -0,0 +1,374 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.ifv.mobitopp.routing.util.IndexedFloatHeap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dijkstra on a {@link CompactGraph}. Distances and predecessors are kept in arrays indexed by node
+ * and reused for every search. Only the labels touched by the previous search are reset, so a
+ * search costs nothing for the parts of the graph it does not reach.
+ *
+ * The searches behave like {@link Dijkstra} and {@link TimeAwareForwardDijkstra}: sink nodes are
+ * reached, but not expanded except at the start of a search.
+ *
+ * An instance is not thread safe. Use one instance per thread, the {@link CompactGraph} can be
+ * shared.
+ */
+@Slf4j
+public class CompactDijkstra {
+
+	private static final float unreached = Float.POSITIVE_INFINITY;
+	private static final int noEdge = -1;
+
+	private final CompactGraph graph;
+	private final Labels forward;
+	private final Labels backward;
+
+	private float startTime;
+	private float minimumDistance;
+	private int centralNode;
+
+	public CompactDijkstra(CompactGraph graph) {
+		super();
+		this.graph = graph;
+		this.forward = new Labels(graph.numberOfNodes());
+		this.backward = new Labels(graph.numberOfNodes());
+	}
+
+	public CompactGraph graph() {
+		return graph;
+	}
+
+	/**
+	 * Searches the shortest path with a bidirectional search.
+	 *
+	 * @return {@link DefaultPath#emptyPath} for equal nodes and {@link DefaultPath#invalidPath} if no
+	 *         path exists
+	 */
+	public Path shortestPath(Node source, Node target) {
+		return shortestPath(graph.indexOf(source), graph.indexOf(target));
+	}
+
+	public Path shortestPath(int source, int target) {
+		if (source == target) {
+			return DefaultPath.emptyPath;
+		}
+		if (0 > source || 0 > target) {
+			return DefaultPath.invalidPath;
+		}
+		bidirectional(source, target);
+		if (noEdge == centralNode) {
+			return DefaultPath.invalidPath;
+		}
+		List<Link> links = forwardLinksTo(centralNode);
+		links.addAll(backwardLinksFrom(centralNode));
+		return links.isEmpty() ? DefaultPath.invalidPath : DefaultPath.makePath(links);
+	}
+
+	/**
+	 * Searches the shortest path starting at the given time.
+	 *
+	 * @return path with the travel time from start to target, {@link DefaultPath#emptyPath} for equal
+	 *         nodes and {@link DefaultPath#invalidPath} if no path exists
+	 */
+	public Path shortestPath(TravelTime travelTime, Node source, Node target, float startTime) {
+		int start = graph.indexOf(source);
+		int end = graph.indexOf(target);
+		if (start == end) {
+			return DefaultPath.emptyPath;
+		}
+		if (0 > start || 0 > end) {
+			return DefaultPath.invalidPath;
+		}
+		forward(start, end, travelTime, null, startTime);
+		return timedPathTo(end);
+	}
+
+	/**
+	 * Searches the shortest paths to all zones. Like {@link Dijkstra}, the paths carry no travel
+	 * time.
+	 */
+	public Map<Node, Path> shortestPathToAllZones(Node source) {
+		int start = graph.indexOf(source);
+		searchFrom(start);
+		Map<Node, Path> paths = new HashMap<>();
+		for (int zone = 0; zone < graph.numberOfZones(); zone++) {
+			int node = graph.zoneNode(zone);
+			if (start == node) {
+				paths.put(graph.node(node), DefaultPath.emptyPath);
+			} else if (reached(node)) {
+				paths.put(graph.node(node), DefaultPath.makePath(forwardLinksTo(node)));
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Searches the paths to all zones starting at the given time. Like
+	 * {@link TimeAwareForwardDijkstra}, the paths carry the travel time from the start to the zone.
+	 */
+	public Map<Node, Path> shortestPathToAllZones(
+			TravelTime travelTime, Node source, float startTime) {
+		int start = graph.indexOf(source);
+		searchFrom(start, travelTime, startTime);
+		Map<Node, Path> paths = new HashMap<>();
+		for (int zone = 0; zone < graph.numberOfZones(); zone++) {
+			int node = graph.zoneNode(zone);
+			if (start == node) {
+				paths.put(graph.node(node), DefaultPath.emptyPath);
+			} else if (reached(node)) {
+				paths.put(graph.node(node), timedPathTo(node));
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Searches the distances from the given node to all other nodes using the costs of the graph.
+	 * The result is available via {@link #distanceTo(int)} until the next search starts.
+	 */
+	public void searchFrom(int source) {
+		forward(source, noEdge, null, null, 0.0f);
+	}
+
+	/**
+	 * Searches the distances from the given node to all other nodes using the given costs instead of
+	 * the costs of the graph, e.g. the costs of an hour from {@link CompactGraph#costsAt}. The result
+	 * is available via {@link #distanceTo(int)} until the next search starts.
+	 *
+	 * @param costs
+	 *          costs indexed by edge
+	 */
+	public void searchFrom(int source, float[] costs) {
+		if (graph.numberOfEdges() != costs.length) {
+			throw warn(new IllegalArgumentException(String.format(
+					"Number of costs %s does not match number of edges %s.", costs.length,
+					graph.numberOfEdges())), log);
+		}
+		forward(source, noEdge, null, costs, 0.0f);
+	}
+
+	/**
+	 * Searches the arrival times at all other nodes when leaving the given node at the given time.
+	 * The result is available via {@link #distanceTo(int)} and {@link #travelTimeTo(int)} until the
+	 * next search starts.
+	 */
+	public void searchFrom(int source, TravelTime travelTime, float startTime) {
+		forward(source, noEdge, travelTime, null, startTime);
+	}
+
+	public boolean reached(int node) {
+		return unreached != forward.distance[node];
+	}
+
+	/**
+	 * @return distance or arrival time at the given node of the last forward search or
+	 *         {@link Float#POSITIVE_INFINITY} if the node has not been reached
+	 */
+	public float distanceTo(int node) {
+		return forward.distance[node];
+	}
+
+	public float travelTimeTo(int node) {
+		return forward.distance[node] - startTime;
+	}
+
+	/**
+	 * @return links of the last forward search leading to the given node
+	 */
+	public List<Link> linksTo(int node) {
+		return forwardLinksTo(node);
+	}
+
+	private void forward(
+			int source, int target, TravelTime travelTime, float[] costs, float startTime) {
+		forward.reset();
+		this.startTime = startTime;
+		forward.set(source, startTime, noEdge);
+		relaxOutgoing(source, travelTime, costs);
+		while (!forward.queue.isEmpty()) {
+			int node = forward.queue.deleteMin();
+			if (node == target) {
+				break;
+			}
+			if (!graph.isSink(node)) {
+				relaxOutgoing(node, travelTime, costs);
+			}
+		}
+		forward.queue.clear();
+	}
+
+	private void relaxOutgoing(int node, TravelTime travelTime, float[] costs) {
+		float current = forward.distance[node];
+		for (int edge = graph.firstOutgoing(node); edge < graph.endOfOutgoing(node); edge++) {
+			float cost = null != travelTime ? travelTime.travelTime(graph.edge(edge), current)
+					: null != costs ? costs[edge] : graph.cost(edge);
+			forward.relax(graph.head(edge), current + cost, edge);
+		}
+	}
+
+	private void bidirectional(int source, int target) {
+		forward.reset();
+		backward.reset();
+		startTime = 0.0f;
+		minimumDistance = unreached;
+		centralNode = noEdge;
+		forward.set(source, 0.0f, noEdge);
+		backward.set(target, 0.0f, noEdge);
+		relaxForward(source);
+		relaxBackward(target);
+		boolean forwardStep = true;
+		while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+			if (forwardStep) {
+				int node = forward.queue.deleteMin();
+				if (!graph.isSink(node)) {
+					relaxForward(node);
+				}
+			} else {
+				int node = backward.queue.deleteMin();
+				if (!graph.isSink(node)) {
+					relaxBackward(node);
+				}
+			}
+			if (minimumDistance < minimumKey(forward) + minimumKey(backward)) {
+				break;
+			}
+			forwardStep = !forwardStep;
+		}
+		forward.queue.clear();
+		backward.queue.clear();
+	}
+
+	private static float minimumKey(Labels labels) {
+		return labels.queue.isEmpty() ? unreached : labels.queue.minPriority();
+	}
+
+	private void relaxForward(int node) {
+		float current = forward.distance[node];
+		for (int edge = graph.firstOutgoing(node); edge < graph.endOfOutgoing(node); edge++) {
+			int head = graph.head(edge);
+			if (forward.relax(head, current + graph.cost(edge), edge)) {
+				updateMinimumDistance(head);
+			}
+		}
+	}
+
+	private void relaxBackward(int node) {
+		float current = backward.distance[node];
+		for (int position = graph.firstIncoming(node); position < graph
+				.endOfIncoming(node); position++) {
+			int edge = graph.incomingEdge(position);
+			int tail = graph.tail(edge);
+			if (backward.relax(tail, current + graph.cost(edge), edge)) {
+				updateMinimumDistance(tail);
+			}
+		}
+	}
+
+	private void updateMinimumDistance(int node) {
+		float length = forward.distance[node] + backward.distance[node];
+		if (length < minimumDistance) {
+			minimumDistance = length;
+			centralNode = node;
+		}
+	}
+
+	private Path timedPathTo(int node) {
+		List<Link> links = forwardLinksTo(node);
+		if (links.isEmpty()) {
+			return DefaultPath.invalidPath;
+		}
+		return new DefaultPath(links, travelTimeTo(node));
+	}
+
+	private List<Link> forwardLinksTo(int node) {
+		List<Link> links = new ArrayList<>();
+		for (int edge = forward.previous[node]; noEdge != edge; edge = forward.previous[graph
+				.tail(edge)]) {
+			links.add((Link) graph.edge(edge));
+		}
+		Collections.reverse(links);
+		return links;
+	}
+
+	private List<Link> backwardLinksFrom(int node) {
+		List<Link> links = new ArrayList<>();
+		for (int edge = backward.previous[node]; noEdge != edge; edge = backward.previous[graph
+				.head(edge)]) {
+			links.add((Link) graph.edge(edge));
+		}
+		return links;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactDijkstra [graph=" + graph + "]";
+	}
+
+	/**
+	 * Distances, predecessor edges and queue of one search direction.
+	 */
+	private static class Labels {
+
+		private final float[] distance;
+		private final int[] previous;
+		private final int[] touched;
+		private final IndexedFloatHeap queue;
+		private int numberOfTouched;
+
+		private Labels(int numberOfNodes) {
+			super();
+			distance = new float[numberOfNodes];
+			previous = new int[numberOfNodes];
+			touched = new int[numberOfNodes];
+			queue = new IndexedFloatHeap(numberOfNodes);
+			Arrays.fill(distance, unreached);
+			Arrays.fill(previous, noEdge);
+			numberOfTouched = 0;
+		}
+
+		private void set(int node, float newDistance, int edge) {
+			if (unreached == distance[node]) {
+				touched[numberOfTouched++] = node;
+			}
+			distance[node] = newDistance;
+			previous[node] = edge;
+		}
+
+		/**
+		 * @return {@code true} if the distance of the node has been improved
+		 */
+		private boolean relax(int node, float newDistance, int edge) {
+			if (!(newDistance < distance[node])) {
+				return false;
+			}
+			set(node, newDistance, edge);
+			if (queue.contains(node)) {
+				queue.decreaseKey(node, newDistance);
+			} else {
+				queue.add(node, newDistance);
+			}
+			return true;
+		}
+
+		private void reset() {
+			for (int index = 0; index < numberOfTouched; index++) {
+				int node = touched[index];
+				distance[node] = unreached;
+				previous[node] = noEdge;
+			}
+			numberOfTouched = 0;
+			queue.clear();
+		}
+	}
+
+}
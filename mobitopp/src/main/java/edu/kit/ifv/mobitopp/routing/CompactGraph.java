@@ -0,0 +1,258 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.kit.ifv.mobitopp.visum.VisumRoadNetwork;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable copy of a {@link Graph} in compressed sparse row layout. Nodes are numbered from
+ * {@code 0} to {@code numberOfNodes() - 1}. Edges are numbered in the order of their tail, so the
+ * outgoing edges of a node {@code n} are the edges {@code firstOutgoing(n)} to
+ * {@code endOfOutgoing(n) - 1}. Incoming edges are kept as a second index into the same edges.
+ *
+ * The original {@link Node}s and {@link Edge}s are kept to translate results back into
+ * {@link Path}s. Costs are taken from {@link Graph#cost(Edge)} once during creation.
+ */
+@Slf4j
+public class CompactGraph {
+
+	private final Node[] nodes;
+	private final Map<Node, Integer> indices;
+	private final Map<Edge, Integer> edgeIndices;
+	private final boolean[] sinks;
+	private final int[] firstOutgoing;
+	private final int[] tails;
+	private final int[] heads;
+	private final Edge[] edges;
+	private final float[] costs;
+	private final int[] firstIncoming;
+	private final int[] incoming;
+	private final int[] zoneIds;
+	private final int[] zoneNodes;
+
+	private CompactGraph(
+			Node[] nodes, Map<Node, Integer> indices, Map<Edge, Integer> edgeIndices, boolean[] sinks,
+			int[] firstOutgoing, int[] tails, int[] heads, Edge[] edges, float[] costs,
+			int[] firstIncoming, int[] incoming, int[] zoneIds, int[] zoneNodes) {
+		super();
+		this.nodes = nodes;
+		this.indices = indices;
+		this.edgeIndices = edgeIndices;
+		this.sinks = sinks;
+		this.firstOutgoing = firstOutgoing;
+		this.tails = tails;
+		this.heads = heads;
+		this.edges = edges;
+		this.costs = costs;
+		this.firstIncoming = firstIncoming;
+		this.incoming = incoming;
+		this.zoneIds = zoneIds;
+		this.zoneNodes = zoneNodes;
+	}
+
+	/**
+	 * Creates the car network of the given {@link VisumRoadNetwork}. Links and connectors are
+	 * validated like in {@link GraphFromVisumNetwork}.
+	 */
+	public static CompactGraph from(VisumRoadNetwork network) {
+		return of(new GraphFromVisumNetwork(network));
+	}
+
+	public static CompactGraph of(GraphFromVisumNetwork graph) {
+		return of(graph, graph.zones());
+	}
+
+	public static CompactGraph of(Graph graph) {
+		return of(graph, Collections.emptyMap());
+	}
+
+	/**
+	 * Copies the given graph. The zones must be nodes of the graph.
+	 */
+	public static CompactGraph of(Graph graph, Map<Integer, Node> zones) {
+		Node[] nodes = graph.nodes().clone();
+		Map<Node, Integer> indices = new HashMap<>(2 * nodes.length);
+		boolean[] sinks = new boolean[nodes.length];
+		int numberOfEdges = 0;
+		for (int index = 0; index < nodes.length; index++) {
+			indices.put(nodes[index], index);
+			sinks[index] = nodes[index].isSink();
+			numberOfEdges += graph.outgoingEdges(nodes[index]).length;
+		}
+		int[] firstOutgoing = new int[nodes.length + 1];
+		int[] tails = new int[numberOfEdges];
+		int[] heads = new int[numberOfEdges];
+		Edge[] edges = new Edge[numberOfEdges];
+		float[] costs = new float[numberOfEdges];
+		Map<Edge, Integer> edgeIndices = new HashMap<>(2 * numberOfEdges);
+		int[] incomingCount = new int[nodes.length + 1];
+		int edge = 0;
+		for (int tail = 0; tail < nodes.length; tail++) {
+			firstOutgoing[tail] = edge;
+			for (Edge outgoing : graph.outgoingEdges(nodes[tail])) {
+				int head = indexOf(indices, graph.to(outgoing));
+				tails[edge] = tail;
+				heads[edge] = head;
+				edges[edge] = outgoing;
+				edgeIndices.put(outgoing, edge);
+				costs[edge] = graph.cost(outgoing);
+				incomingCount[head + 1]++;
+				edge++;
+			}
+		}
+		firstOutgoing[nodes.length] = edge;
+		int[] firstIncoming = new int[nodes.length + 1];
+		for (int node = 0; node < nodes.length; node++) {
+			firstIncoming[node + 1] = firstIncoming[node] + incomingCount[node + 1];
+		}
+		int[] incoming = new int[numberOfEdges];
+		int[] next = Arrays.copyOf(firstIncoming, nodes.length);
+		for (edge = 0; edge < numberOfEdges; edge++) {
+			incoming[next[heads[edge]]++] = edge;
+		}
+		TreeMap<Integer, Node> sortedZones = new TreeMap<>(zones);
+		int[] zoneIds = new int[sortedZones.size()];
+		int[] zoneNodes = new int[sortedZones.size()];
+		int zone = 0;
+		for (Map.Entry<Integer, Node> entry : sortedZones.entrySet()) {
+			zoneIds[zone] = entry.getKey();
+			zoneNodes[zone] = indexOf(indices, entry.getValue());
+			zone++;
+		}
+		return new CompactGraph(nodes, indices, edgeIndices, sinks, firstOutgoing, tails, heads, edges,
+				costs, firstIncoming, incoming, zoneIds, zoneNodes);
+	}
+
+	private static int indexOf(Map<Node, Integer> indices, Node node) {
+		Integer index = indices.get(node);
+		if (null == index) {
+			throw warn(new IllegalArgumentException("Node is not part of the graph: " + node), log);
+		}
+		return index;
+	}
+
+	public int numberOfNodes() {
+		return nodes.length;
+	}
+
+	public int numberOfEdges() {
+		return edges.length;
+	}
+
+	public Node node(int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * @return index of the given node or {@code -1} if the node is not part of the graph
+	 */
+	public int indexOf(Node node) {
+		return indices.getOrDefault(node, -1);
+	}
+
+	/**
+	 * @return index of the given edge or {@code -1} if the edge is not part of the graph
+	 */
+	public int indexOf(Edge edge) {
+		return edgeIndices.getOrDefault(edge, -1);
+	}
+
+	public boolean isSink(int node) {
+		return sinks[node];
+	}
+
+	public int firstOutgoing(int node) {
+		return firstOutgoing[node];
+	}
+
+	public int endOfOutgoing(int node) {
+		return firstOutgoing[node + 1];
+	}
+
+	public int firstIncoming(int node) {
+		return firstIncoming[node];
+	}
+
+	public int endOfIncoming(int node) {
+		return firstIncoming[node + 1];
+	}
+
+	/**
+	 * @return edge at the given position of the incoming index, see {@link #firstIncoming(int)}
+	 */
+	public int incomingEdge(int position) {
+		return incoming[position];
+	}
+
+	public int tail(int edge) {
+		return tails[edge];
+	}
+
+	public int head(int edge) {
+		return heads[edge];
+	}
+
+	public float cost(int edge) {
+		return costs[edge];
+	}
+
+	public Edge edge(int edge) {
+		return edges[edge];
+	}
+
+	/**
+	 * @return costs of all edges when entering them at the given time, e.g. to customise a
+	 *         {@link ContractionHierarchy} for an hour of the day
+	 */
+	public float[] costsAt(TravelTime travelTime, float time) {
+		float[] costs = new float[edges.length];
+		for (int edge = 0; edge < edges.length; edge++) {
+			costs[edge] = travelTime.travelTime(edges[edge], time);
+		}
+		return costs;
+	}
+
+	public int numberOfZones() {
+		return zoneIds.length;
+	}
+
+	/**
+	 * @return zone ids in ascending order
+	 */
+	public int[] zoneIds() {
+		return zoneIds.clone();
+	}
+
+	public int zoneId(int zone) {
+		return zoneIds[zone];
+	}
+
+	/**
+	 * @return node of the zone at the given position of {@link #zoneIds()}
+	 */
+	public int zoneNode(int zone) {
+		return zoneNodes[zone];
+	}
+
+	/**
+	 * @return node of the zone with the given id or {@code -1} if the zone is not part of the graph
+	 */
+	public int nodeOfZone(int zoneId) {
+		int zone = Arrays.binarySearch(zoneIds, zoneId);
+		return 0 <= zone ? zoneNodes[zone] : -1;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactGraph [nodes=" + nodes.length + ", edges=" + edges.length + ", zones="
+				+ zoneIds.length + "]";
+	}
+
+}
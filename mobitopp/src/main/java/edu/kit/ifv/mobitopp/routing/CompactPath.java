@@ -0,0 +1,147 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.Arrays;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable {@link Path} of a {@link CompactGraph}. Only the indices of the edges are stored, the
+ * {@link Link}s are looked up in the graph on access. A path can be shared by many agents.
+ */
+@Slf4j
+public class CompactPath implements Path {
+
+	private final CompactGraph graph;
+	private final int[] edges;
+	private final float travelTime;
+
+	private CompactPath(CompactGraph graph, int[] edges, float travelTime) {
+		super();
+		this.graph = graph;
+		this.edges = edges;
+		this.travelTime = travelTime;
+	}
+
+	/**
+	 * @return the given path, if it is not valid, otherwise a copy of it referencing the edges of the
+	 *         given graph
+	 */
+	public static Path of(CompactGraph graph, Path path) {
+		if (!path.isValid()) {
+			return path;
+		}
+		int[] edges = new int[path.size()];
+		for (int index = 0; index < edges.length; index++) {
+			Link link = path.get(index);
+			edges[index] = graph.indexOf(link);
+			if (0 > edges[index]) {
+				throw warn(new IllegalArgumentException("Link is not part of the graph: " + link), log);
+			}
+		}
+		return new CompactPath(graph, edges, path.travelTime());
+	}
+
+	private Link link(int index) {
+		return (Link) graph.edge(edges[index]);
+	}
+
+	@Override
+	public Node from() {
+		return link(0).from();
+	}
+
+	@Override
+	public Node to() {
+		if (isEmpty()) {
+			return null;
+		}
+		return link(edges.length - 1).to();
+	}
+
+	@Override
+	public Link first() {
+		return link(0);
+	}
+
+	@Override
+	public Link get(int idx) {
+		return link(idx);
+	}
+
+	@Override
+	public Link next(Link link) {
+		int edge = graph.indexOf(link);
+		for (int index = 0; index + 1 < edges.length; index++) {
+			if (edge == edges[index]) {
+				return link(index + 1);
+			}
+		}
+		throw warn(new IllegalArgumentException("Link has no successor on the path: " + link), log);
+	}
+
+	@Override
+	public int size() {
+		return edges.length;
+	}
+
+	@Override
+	public Float length() {
+		float length = 0.0f;
+		for (int index = 0; index < edges.length; index++) {
+			length += link(index).distance();
+		}
+		return length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return 0 == edges.length;
+	}
+
+	@Override
+	public boolean isValid() {
+		return true;
+	}
+
+	@Override
+	public float travelTime() {
+		return travelTime;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(edges);
+		result = prime * result + Float.floatToIntBits(travelTime);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		CompactPath other = (CompactPath) obj;
+		return graph == other.graph && Arrays.equals(edges, other.edges)
+				&& Float.floatToIntBits(travelTime) == Float.floatToIntBits(other.travelTime);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder string = new StringBuilder("<");
+		for (int index = 0; index < edges.length; index++) {
+			string.append(link(index));
+		}
+		return string.append(">").toString();
+	}
+
+}
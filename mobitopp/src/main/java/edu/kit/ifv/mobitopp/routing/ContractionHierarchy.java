@@ -0,0 +1,433 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Metric independent contraction hierarchy of a {@link CompactGraph}. Nodes are contracted in the
+ * order of a {@link NestedDissection}. Contracting a node connects all its remaining neighbours, so
+ * no witness searches are needed and the hierarchy is independent of the costs of the edges. Costs
+ * are applied afterwards by {@link #customise()} or {@link #customise(float[])}, so the same
+ * hierarchy serves different weights, e.g. the travel times of every hour of the day. Customising
+ * keeps only the arcs, which are shortest paths between their nodes, for queries.
+ *
+ * Sink nodes are contracted first and without connecting their neighbours. So a path never passes
+ * a sink, like in {@link Dijkstra}.
+ *
+ * The hierarchy can be saved to and loaded from a file. A saved hierarchy is only used for the
+ * graph it has been built for.
+ *
+ * <pre>
+ * int magic, int version, int number of nodes, int number of edges, long fingerprint
+ * per node: int rank
+ * int number of arcs, per node: int first arc, per arc: int head
+ * </pre>
+ */
+@Slf4j
+public class ContractionHierarchy {
+
+	private static final int magic = 0x4d504348;
+	private static final int version = 1;
+
+	private final CompactGraph graph;
+	private final int[] rank;
+	private final int[] firstArc;
+	private final int[] tails;
+	private final int[] heads;
+
+	private ContractionHierarchy(CompactGraph graph, int[] rank, int[] firstArc, int[] heads) {
+		super();
+		this.graph = graph;
+		this.rank = rank;
+		this.firstArc = firstArc;
+		this.heads = heads;
+		this.tails = tailsOf(firstArc, heads.length);
+	}
+
+	private static int[] tailsOf(int[] firstArc, int numberOfArcs) {
+		int[] tails = new int[numberOfArcs];
+		for (int node = 0; node + 1 < firstArc.length; node++) {
+			Arrays.fill(tails, firstArc[node], firstArc[node + 1], node);
+		}
+		return tails;
+	}
+
+	/**
+	 * Contracts all nodes of the given graph.
+	 */
+	public static ContractionHierarchy of(CompactGraph graph) {
+		int numberOfNodes = graph.numberOfNodes();
+		List<Set<Integer>> neighbours = undirectedNeighbours(graph);
+		int[] rank = new int[numberOfNodes];
+		Arrays.fill(rank, -1);
+		List<int[]> upward = new ArrayList<>(numberOfNodes);
+		for (int node = 0; node < numberOfNodes; node++) {
+			upward.add(null);
+		}
+		int next = 0;
+		for (int node = 0; node < numberOfNodes; node++) {
+			if (graph.isSink(node)) {
+				rank[node] = next++;
+				upward.set(node, contract(node, neighbours, false));
+			}
+		}
+		for (int node : dissectionOrder(graph, neighbours)) {
+			rank[node] = next++;
+			upward.set(node, contract(node, neighbours, true));
+		}
+		int[] firstArc = new int[numberOfNodes + 1];
+		for (int node = 0; node < numberOfNodes; node++) {
+			firstArc[node + 1] = firstArc[node] + upward.get(node).length;
+		}
+		int[] heads = new int[firstArc[numberOfNodes]];
+		for (int node = 0; node < numberOfNodes; node++) {
+			System.arraycopy(upward.get(node), 0, heads, firstArc[node], upward.get(node).length);
+		}
+		log.info("Contracted " + numberOfNodes + " nodes with " + heads.length + " arcs for "
+				+ graph.numberOfEdges() + " edges");
+		return new ContractionHierarchy(graph, rank, firstArc, heads);
+	}
+
+	private static int[] dissectionOrder(CompactGraph graph, List<Set<Integer>> neighbours) {
+		int[][] roads = new int[graph.numberOfNodes()][];
+		for (int node = 0; node < roads.length; node++) {
+			roads[node] = neighbours
+					.get(node)
+					.stream()
+					.mapToInt(Integer::intValue)
+					.filter(neighbour -> !graph.isSink(neighbour))
+					.toArray();
+		}
+		int[] nodes = IntStream
+				.range(0, graph.numberOfNodes())
+				.filter(node -> !graph.isSink(node))
+				.toArray();
+		return NestedDissection.order(roads, nodes);
+	}
+
+	private static List<Set<Integer>> undirectedNeighbours(CompactGraph graph) {
+		List<Set<Integer>> neighbours = new ArrayList<>(graph.numberOfNodes());
+		for (int node = 0; node < graph.numberOfNodes(); node++) {
+			neighbours.add(new HashSet<>());
+		}
+		for (int edge = 0; edge < graph.numberOfEdges(); edge++) {
+			int tail = graph.tail(edge);
+			int head = graph.head(edge);
+			if (tail != head) {
+				neighbours.get(tail).add(head);
+				neighbours.get(head).add(tail);
+			}
+		}
+		return neighbours;
+	}
+
+	/**
+	 * Removes the node from the graph and connects its remaining neighbours, if requested.
+	 *
+	 * @return remaining neighbours in ascending order
+	 */
+	private static int[] contract(int node, List<Set<Integer>> neighbours, boolean connect) {
+		int[] remaining = neighbours
+				.get(node)
+				.stream()
+				.mapToInt(Integer::intValue)
+				.sorted()
+				.toArray();
+		for (int neighbour : remaining) {
+			Set<Integer> others = neighbours.get(neighbour);
+			others.remove(node);
+			if (connect) {
+				for (int other : remaining) {
+					if (other != neighbour) {
+						others.add(other);
+					}
+				}
+			}
+		}
+		neighbours.get(node).clear();
+		return remaining;
+	}
+
+	/**
+	 * Loads the hierarchy from the given file, if it has been built for the given graph. Otherwise,
+	 * the hierarchy is built and saved to the file.
+	 */
+	public static ContractionHierarchy in(File file, CompactGraph graph) {
+		if (file.exists()) {
+			ContractionHierarchy loaded = load(file, graph);
+			if (null != loaded) {
+				return loaded;
+			}
+			log.warn("Ignore contraction hierarchy built for another graph: " + file);
+		}
+		ContractionHierarchy hierarchy = of(graph);
+		hierarchy.save(file);
+		return hierarchy;
+	}
+
+	/**
+	 * @return hierarchy saved in the given file or {@code null} if it has been built for another
+	 *         graph
+	 */
+	static ContractionHierarchy load(File file, CompactGraph graph) {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (magic != input.readInt() || version != input.readInt()) {
+				throw new IOException("Unsupported format of contraction hierarchy: " + file);
+			}
+			if (graph.numberOfNodes() != input.readInt() || graph.numberOfEdges() != input.readInt()
+					|| fingerprintOf(graph) != input.readLong()) {
+				return null;
+			}
+			int[] rank = readInts(input, graph.numberOfNodes());
+			int numberOfArcs = input.readInt();
+			int[] firstArc = readInts(input, graph.numberOfNodes() + 1);
+			int[] heads = readInts(input, numberOfArcs);
+			log.info("Loaded contraction hierarchy with " + numberOfArcs + " arcs from " + file);
+			return new ContractionHierarchy(graph, rank, firstArc, heads);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not read contraction hierarchy: " + file, e), log);
+		}
+	}
+
+	private static int[] readInts(DataInputStream input, int length) throws IOException {
+		int[] values = new int[length];
+		for (int index = 0; index < length; index++) {
+			values[index] = input.readInt();
+		}
+		return values;
+	}
+
+	public void save(File file) {
+		file.getAbsoluteFile().getParentFile().mkdirs();
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			output.writeInt(magic);
+			output.writeInt(version);
+			output.writeInt(graph.numberOfNodes());
+			output.writeInt(graph.numberOfEdges());
+			output.writeLong(fingerprintOf(graph));
+			writeInts(output, rank);
+			output.writeInt(heads.length);
+			writeInts(output, firstArc);
+			writeInts(output, heads);
+			log.info("Saved contraction hierarchy with " + heads.length + " arcs to " + file);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not write contraction hierarchy: " + file, e), log);
+		}
+	}
+
+	private static void writeInts(DataOutputStream output, int[] values) throws IOException {
+		for (int value : values) {
+			output.writeInt(value);
+		}
+	}
+
+	/**
+	 * Fingerprint of the node ids and the structure of the graph. Costs are not part of the
+	 * fingerprint.
+	 */
+	static long fingerprintOf(CompactGraph graph) {
+		long fingerprint = 17;
+		for (int node = 0; node < graph.numberOfNodes(); node++) {
+			fingerprint = 31 * fingerprint + graph.node(node).id().hashCode();
+			fingerprint = 31 * fingerprint + (graph.isSink(node) ? 1 : 0);
+		}
+		for (int edge = 0; edge < graph.numberOfEdges(); edge++) {
+			fingerprint = 31 * fingerprint + graph.tail(edge);
+			fingerprint = 31 * fingerprint + graph.head(edge);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Applies the costs of the graph.
+	 */
+	public CustomisedHierarchy customise() {
+		float[] costs = new float[graph.numberOfEdges()];
+		for (int edge = 0; edge < costs.length; edge++) {
+			costs[edge] = graph.cost(edge);
+		}
+		return customise(costs);
+	}
+
+	/**
+	 * Applies the given costs. The costs are indexed by the edges of the graph and must not be
+	 * negative.
+	 */
+	public CustomisedHierarchy customise(float[] costs) {
+		if (graph.numberOfEdges() != costs.length) {
+			throw warn(new IllegalArgumentException(
+					"Expected costs for " + graph.numberOfEdges() + " edges, but got " + costs.length),
+					log);
+		}
+		int numberOfArcs = heads.length;
+		float[] upward = new float[numberOfArcs];
+		float[] downward = new float[numberOfArcs];
+		int[] upwardVia = new int[numberOfArcs];
+		int[] downwardVia = new int[numberOfArcs];
+		Arrays.fill(upward, Float.POSITIVE_INFINITY);
+		Arrays.fill(downward, Float.POSITIVE_INFINITY);
+		Arrays.fill(upwardVia, CustomisedHierarchy.noEdge);
+		Arrays.fill(downwardVia, CustomisedHierarchy.noEdge);
+		for (int edge = 0; edge < costs.length; edge++) {
+			int tail = graph.tail(edge);
+			int head = graph.head(edge);
+			if (tail == head) {
+				continue;
+			}
+			if (rank[tail] < rank[head]) {
+				int arc = arcBetween(tail, head);
+				if (costs[edge] < upward[arc]) {
+					upward[arc] = costs[edge];
+					upwardVia[arc] = CustomisedHierarchy.edgeVia(edge);
+				}
+			} else {
+				int arc = arcBetween(head, tail);
+				if (costs[edge] < downward[arc]) {
+					downward[arc] = costs[edge];
+					downwardVia[arc] = CustomisedHierarchy.edgeVia(edge);
+				}
+			}
+		}
+		int[] nodesByRank = nodesByRank();
+		for (int node : nodesByRank) {
+			if (graph.isSink(node)) {
+				continue;
+			}
+			for (int first = firstArc[node]; first < firstArc[node + 1]; first++) {
+				for (int second = first + 1; second < firstArc[node + 1]; second++) {
+					int lower = rank[heads[first]] < rank[heads[second]] ? first : second;
+					int higher = lower == first ? second : first;
+					int arc = arcBetween(heads[lower], heads[higher]);
+					float up = downward[lower] + upward[higher];
+					if (up < upward[arc]) {
+						upward[arc] = up;
+						upwardVia[arc] = node;
+					}
+					float down = downward[higher] + upward[lower];
+					if (down < downward[arc]) {
+						downward[arc] = down;
+						downwardVia[arc] = node;
+					}
+				}
+			}
+		}
+		float[] shortestUpward = upward.clone();
+		float[] shortestDownward = downward.clone();
+		for (int index = nodesByRank.length - 1; 0 <= index; index--) {
+			int node = nodesByRank[index];
+			if (!graph.isSink(node)) {
+				shortenArcsOf(node, upward, downward, shortestUpward, shortestDownward);
+			}
+		}
+		boolean[] usedUpward = new boolean[numberOfArcs];
+		boolean[] usedDownward = new boolean[numberOfArcs];
+		for (int arc = 0; arc < numberOfArcs; arc++) {
+			usedUpward[arc] = upward[arc] < Float.POSITIVE_INFINITY
+					&& !(shortestUpward[arc] < upward[arc]);
+			usedDownward[arc] = downward[arc] < Float.POSITIVE_INFINITY
+					&& !(shortestDownward[arc] < downward[arc]);
+		}
+		return new CustomisedHierarchy(this, upward, downward, upwardVia, downwardVia, usedUpward,
+				usedDownward);
+	}
+
+	/**
+	 * Reduces the costs of the arcs of the node to the costs of the shortest paths via higher nodes.
+	 * The arcs between higher nodes must already be shortest. The costs of lower triangles are not
+	 * changed, because they are needed to unpack the arcs.
+	 */
+	private void shortenArcsOf(
+			int node, float[] upward, float[] downward, float[] shortestUpward,
+			float[] shortestDownward) {
+		for (int first = firstArc[node]; first < firstArc[node + 1]; first++) {
+			for (int second = firstArc[node]; second < firstArc[node + 1]; second++) {
+				if (first == second) {
+					continue;
+				}
+				int target = heads[first];
+				int via = heads[second];
+				float toTarget;
+				float fromTarget;
+				if (rank[via] < rank[target]) {
+					int arc = arcBetween(via, target);
+					toTarget = shortestUpward[arc];
+					fromTarget = shortestDownward[arc];
+				} else {
+					int arc = arcBetween(target, via);
+					toTarget = shortestDownward[arc];
+					fromTarget = shortestUpward[arc];
+				}
+				shortestUpward[first] = Math.min(shortestUpward[first], upward[second] + toTarget);
+				shortestDownward[first] = Math.min(shortestDownward[first], fromTarget + downward[second]);
+			}
+		}
+	}
+
+	private int[] nodesByRank() {
+		int[] nodes = new int[rank.length];
+		for (int node = 0; node < rank.length; node++) {
+			nodes[rank[node]] = node;
+		}
+		return nodes;
+	}
+
+	/**
+	 * @return arc from the lower to the higher node or {@code -1} if there is none
+	 */
+	int arcBetween(int lower, int higher) {
+		int arc = Arrays.binarySearch(heads, firstArc[lower], firstArc[lower + 1], higher);
+		return 0 <= arc ? arc : -1;
+	}
+
+	public CompactGraph graph() {
+		return graph;
+	}
+
+	public int numberOfArcs() {
+		return heads.length;
+	}
+
+	int rankOf(int node) {
+		return rank[node];
+	}
+
+	int firstArc(int node) {
+		return firstArc[node];
+	}
+
+	int endOfArcs(int node) {
+		return firstArc[node + 1];
+	}
+
+	int tail(int arc) {
+		return tails[arc];
+	}
+
+	int head(int arc) {
+		return heads[arc];
+	}
+
+	@Override
+	public String toString() {
+		return "ContractionHierarchy [graph=" + graph + ", arcs=" + heads.length + "]";
+	}
+
+}
@@ -0,0 +1,281 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.kit.ifv.mobitopp.routing.util.IndexedFloatHeap;
+
+/**
+ * {@link ContractionHierarchy} with costs applied. A query runs a Dijkstra upwards the hierarchy
+ * from the source and a Dijkstra upwards the hierarchy towards the target. Both searches only see a
+ * small part of the graph. Arcs, which do not correspond to an edge of the graph, know the node
+ * they bypass, so the edges of a path are restored by unpacking its arcs recursively.
+ *
+ * Queries can be run concurrently. The labels of a query are kept per thread.
+ */
+public class CustomisedHierarchy {
+
+	static final int noEdge = -1;
+	private static final float unreached = Float.POSITIVE_INFINITY;
+
+	private final ContractionHierarchy hierarchy;
+	private final float[] upward;
+	private final float[] downward;
+	private final int[] upwardVia;
+	private final int[] downwardVia;
+	private final int[] firstForward;
+	private final int[] forwardArcs;
+	private final int[] firstBackward;
+	private final int[] backwardArcs;
+	private final ThreadLocal<Query> queries;
+
+	/**
+	 * Only the used arcs are searched by queries. All arcs are needed to unpack paths.
+	 */
+	CustomisedHierarchy(
+			ContractionHierarchy hierarchy, float[] upward, float[] downward, int[] upwardVia,
+			int[] downwardVia, boolean[] usedUpward, boolean[] usedDownward) {
+		super();
+		this.hierarchy = hierarchy;
+		this.upward = upward;
+		this.downward = downward;
+		this.upwardVia = upwardVia;
+		this.downwardVia = downwardVia;
+		int numberOfNodes = hierarchy.graph().numberOfNodes();
+		this.firstForward = new int[numberOfNodes + 1];
+		this.forwardArcs = usedArcs(hierarchy, usedUpward, firstForward);
+		this.firstBackward = new int[numberOfNodes + 1];
+		this.backwardArcs = usedArcs(hierarchy, usedDownward, firstBackward);
+		this.queries = ThreadLocal
+				.withInitial(() -> new Query(hierarchy.graph().numberOfNodes()));
+	}
+
+	private static int[] usedArcs(ContractionHierarchy hierarchy, boolean[] used, int[] first) {
+		int[] arcs = new int[hierarchy.numberOfArcs()];
+		int numberOfArcs = 0;
+		for (int node = 0; node + 1 < first.length; node++) {
+			first[node] = numberOfArcs;
+			for (int arc = hierarchy.firstArc(node); arc < hierarchy.endOfArcs(node); arc++) {
+				if (used[arc]) {
+					arcs[numberOfArcs++] = arc;
+				}
+			}
+		}
+		first[first.length - 1] = numberOfArcs;
+		return Arrays.copyOf(arcs, numberOfArcs);
+	}
+
+	/**
+	 * Encodes an edge of the graph to distinguish it from the bypassed node of an arc.
+	 */
+	static int edgeVia(int edge) {
+		return -edge - 2;
+	}
+
+	private static boolean isEdge(int via) {
+		return noEdge > via;
+	}
+
+	private static int edgeOf(int via) {
+		return -via - 2;
+	}
+
+	public CompactGraph graph() {
+		return hierarchy.graph();
+	}
+
+	/**
+	 * @return {@link DefaultPath#emptyPath} for equal nodes and {@link DefaultPath#invalidPath} if no
+	 *         path exists
+	 */
+	public Path shortestPath(Node source, Node target) {
+		return shortestPath(graph().indexOf(source), graph().indexOf(target));
+	}
+
+	/**
+	 * Like {@link Dijkstra}, the path carries no travel time. Use {@link #distance(int, int)} to get
+	 * the costs of the path.
+	 *
+	 * @return {@link DefaultPath#emptyPath} for equal nodes and {@link DefaultPath#invalidPath} if no
+	 *         path exists
+	 */
+	public Path shortestPath(int source, int target) {
+		if (source == target) {
+			return DefaultPath.emptyPath;
+		}
+		if (0 > source || 0 > target) {
+			return DefaultPath.invalidPath;
+		}
+		Query query = queries.get();
+		int meeting = query.search(source, target);
+		if (0 > meeting) {
+			return DefaultPath.invalidPath;
+		}
+		List<Link> links = new ArrayList<>();
+		List<Integer> arcs = new ArrayList<>();
+		for (int node = meeting; node != source; node = hierarchy.tail(query.forward.previous[node])) {
+			arcs.add(query.forward.previous[node]);
+		}
+		Collections.reverse(arcs);
+		for (int arc : arcs) {
+			unpackUpward(arc, links);
+		}
+		for (int node = meeting; node != target; node = hierarchy
+				.tail(query.backward.previous[node])) {
+			unpackDownward(query.backward.previous[node], links);
+		}
+		return DefaultPath.makePath(links);
+	}
+
+	/**
+	 * @return costs of the shortest path or {@link Float#POSITIVE_INFINITY} if there is none
+	 */
+	public float distance(int source, int target) {
+		if (source == target) {
+			return 0.0f;
+		}
+		Query query = queries.get();
+		int meeting = query.search(source, target);
+		return 0 > meeting ? unreached : query.forward.distance[meeting] + query.backward.distance[meeting];
+	}
+
+	/**
+	 * Adds the edges from the tail to the head of the arc.
+	 */
+	private void unpackUpward(int arc, List<Link> links) {
+		int via = upwardVia[arc];
+		if (isEdge(via)) {
+			links.add((Link) graph().edge(edgeOf(via)));
+			return;
+		}
+		unpackDownward(hierarchy.arcBetween(via, hierarchy.tail(arc)), links);
+		unpackUpward(hierarchy.arcBetween(via, hierarchy.head(arc)), links);
+	}
+
+	/**
+	 * Adds the edges from the head to the tail of the arc.
+	 */
+	private void unpackDownward(int arc, List<Link> links) {
+		int via = downwardVia[arc];
+		if (isEdge(via)) {
+			links.add((Link) graph().edge(edgeOf(via)));
+			return;
+		}
+		unpackDownward(hierarchy.arcBetween(via, hierarchy.head(arc)), links);
+		unpackUpward(hierarchy.arcBetween(via, hierarchy.tail(arc)), links);
+	}
+
+	@Override
+	public String toString() {
+		return "CustomisedHierarchy [hierarchy=" + hierarchy + "]";
+	}
+
+	/**
+	 * Labels of both search directions of a single thread.
+	 */
+	private class Query {
+
+		private final Labels forward;
+		private final Labels backward;
+
+		private Query(int numberOfNodes) {
+			super();
+			forward = new Labels(numberOfNodes);
+			backward = new Labels(numberOfNodes);
+		}
+
+		/**
+		 * @return node at which both searches meet on the shortest path or {@code -1} if the target
+		 *         can not be reached
+		 */
+		private int search(int source, int target) {
+			forward.reset();
+			backward.reset();
+			forward.start(source);
+			backward.start(target);
+			float best = unreached;
+			int meeting = -1;
+			while (forward.proceedsBelow(best) || backward.proceedsBelow(best)) {
+				Labels current = forward.proceedsBelow(best) ? forward : backward;
+				Labels other = current == forward ? backward : forward;
+				float[] costs = current == forward ? upward : downward;
+				int[] first = current == forward ? firstForward : firstBackward;
+				int[] arcs = current == forward ? forwardArcs : backwardArcs;
+				int node = current.queue.deleteMin();
+				float distance = current.distance[node];
+				if (distance + other.distance[node] < best) {
+					best = distance + other.distance[node];
+					meeting = node;
+				}
+				if (node != current.start && graph().isSink(node)) {
+					continue;
+				}
+				for (int index = first[node]; index < first[node + 1]; index++) {
+					int arc = arcs[index];
+					current.relax(hierarchy.head(arc), distance + costs[arc], arc);
+				}
+			}
+			forward.queue.clear();
+			backward.queue.clear();
+			return meeting;
+		}
+	}
+
+	private static class Labels {
+
+		private final float[] distance;
+		private final int[] previous;
+		private final int[] touched;
+		private final IndexedFloatHeap queue;
+		private int numberOfTouched;
+		private int start;
+
+		private Labels(int numberOfNodes) {
+			super();
+			distance = new float[numberOfNodes];
+			previous = new int[numberOfNodes];
+			touched = new int[numberOfNodes];
+			queue = new IndexedFloatHeap(numberOfNodes);
+			Arrays.fill(distance, unreached);
+			Arrays.fill(previous, noEdge);
+		}
+
+		private void start(int node) {
+			start = node;
+			relax(node, 0.0f, noEdge);
+		}
+
+		private boolean proceedsBelow(float best) {
+			return !queue.isEmpty() && queue.minPriority() < best;
+		}
+
+		private void relax(int node, float newDistance, int arc) {
+			if (!(newDistance < distance[node])) {
+				return;
+			}
+			if (unreached == distance[node]) {
+				touched[numberOfTouched++] = node;
+			}
+			distance[node] = newDistance;
+			previous[node] = arc;
+			if (queue.contains(node)) {
+				queue.decreaseKey(node, newDistance);
+			} else {
+				queue.add(node, newDistance);
+			}
+		}
+
+		private void reset() {
+			for (int index = 0; index < numberOfTouched; index++) {
+				int node = touched[index];
+				distance[node] = unreached;
+				previous[node] = noEdge;
+			}
+			numberOfTouched = 0;
+			queue.clear();
+		}
+	}
+
+}
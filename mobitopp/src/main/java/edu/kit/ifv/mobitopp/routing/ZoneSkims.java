@@ -0,0 +1,111 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Skims the costs between all zones of a {@link CompactGraph} for several time slices, e.g. the
+ * hours of a day. All time slices share the topology of the graph and only differ in the costs of
+ * the edges, see {@link CompactGraph#costsAt(TravelTime, float)}.
+ *
+ * Every pair of time slice and origin is a separate unit of work. The units are processed on a
+ * fixed number of workers, each using its own {@link CompactDijkstra}. Costs are written directly
+ * into the cells of the matrices, so no {@link Path}s are created. Pairs without a path keep the
+ * value the matrix already contains. The cost from a zone to itself is 0.
+ */
+@Slf4j
+public class ZoneSkims {
+
+	private final CompactGraph graph;
+	private final int workers;
+
+	public ZoneSkims(CompactGraph graph, int workers) {
+		super();
+		if (1 > workers) {
+			throw warn(new IllegalArgumentException("At least one worker is needed: " + workers), log);
+		}
+		this.graph = graph;
+		this.workers = workers;
+	}
+
+	public ZoneSkims(CompactGraph graph) {
+		this(graph, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param costs
+	 *          costs of all edges per time slice in the unit of the matrices
+	 * @param matrices
+	 *          one matrix per time slice
+	 * @param columns
+	 *          matrix column of every zone in the order of {@link CompactGraph#zoneIds()}, zones
+	 *          with a negative column are skipped
+	 */
+	public void skim(List<float[]> costs, List<? extends FloatMatrix> matrices, int[] columns) {
+		if (costs.size() != matrices.size()) {
+			throw warn(new IllegalArgumentException(String.format(
+					"Number of costs %s does not match number of matrices %s.", costs.size(),
+					matrices.size())), log);
+		}
+		if (graph.numberOfZones() != columns.length) {
+			throw warn(new IllegalArgumentException(String.format(
+					"Number of columns %s does not match number of zones %s.", columns.length,
+					graph.numberOfZones())), log);
+		}
+		ThreadLocal<CompactDijkstra> searches = ThreadLocal
+				.withInitial(() -> new CompactDijkstra(graph));
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int slice = 0; slice < costs.size(); slice++) {
+				float[] sliceCosts = costs.get(slice);
+				FloatMatrix matrix = matrices.get(slice);
+				for (int origin = 0; origin < columns.length; origin++) {
+					if (0 > columns[origin]) {
+						continue;
+					}
+					int zone = origin;
+					tasks.add(executor
+							.submit(() -> skimRow(searches.get(), sliceCosts, matrix, columns, zone)));
+				}
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw warn(new RuntimeException("Skimming zones has been interrupted.", e), log);
+		} catch (ExecutionException e) {
+			throw warn(new RuntimeException("Could not skim zones.", e.getCause()), log);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void skimRow(
+			CompactDijkstra dijkstra, float[] costs, FloatMatrix matrix, int[] columns, int origin) {
+		dijkstra.searchFrom(graph.zoneNode(origin), costs);
+		int row = columns[origin];
+		for (int destination = 0; destination < columns.length; destination++) {
+			int node = graph.zoneNode(destination);
+			if (0 <= columns[destination] && dijkstra.reached(node)) {
+				matrix.setFloat(row, columns[destination], dijkstra.distanceTo(node));
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ZoneSkims [graph=" + graph + ", workers=" + workers + "]";
+	}
+
+}
@@ -0,0 +1,136 @@
+package edu.kit.ifv.mobitopp.routing.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap over the integers {@code 0} to {@code capacity - 1} with float priorities. In
+ * contrast to {@link IntegerHeap} no objects are created while adding or removing elements. The
+ * position of every element inside the heap is kept to support {@link #decreaseKey(int, float)}.
+ */
+public class IndexedFloatHeap {
+
+	private final int[] heap;
+	private final int[] position;
+	private final float[] priority;
+	private int size;
+
+	public IndexedFloatHeap(int capacity) {
+		super();
+		this.heap = new int[capacity];
+		this.position = new int[capacity];
+		this.priority = new float[capacity];
+		Arrays.fill(position, -1);
+		this.size = 0;
+	}
+
+	public int capacity() {
+		return heap.length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	public boolean contains(int element) {
+		return 0 <= position[element];
+	}
+
+	public void add(int element, float newPriority) {
+		assert !contains(element) : element;
+		heap[size] = element;
+		position[element] = size;
+		priority[element] = newPriority;
+		size++;
+		siftUp(size - 1);
+	}
+
+	public void decreaseKey(int element, float newPriority) {
+		assert contains(element) : element;
+		assert newPriority <= priority[element] : newPriority;
+		priority[element] = newPriority;
+		siftUp(position[element]);
+	}
+
+	public int minElement() {
+		assert !isEmpty();
+		return heap[0];
+	}
+
+	public float minPriority() {
+		assert !isEmpty();
+		return priority[heap[0]];
+	}
+
+	public int deleteMin() {
+		assert !isEmpty();
+		int min = heap[0];
+		size--;
+		if (0 < size) {
+			move(heap[size], 0);
+			siftDown(0);
+		}
+		position[min] = -1;
+		return min;
+	}
+
+	/**
+	 * Removes all remaining elements. Only the remaining elements are touched, so clearing a heap
+	 * after a search stopped early is cheap.
+	 */
+	public void clear() {
+		for (int index = 0; index < size; index++) {
+			position[heap[index]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int index) {
+		int element = heap[index];
+		float key = priority[element];
+		int current = index;
+		while (0 < current) {
+			int parent = (current - 1) >>> 1;
+			if (priority[heap[parent]] <= key) {
+				break;
+			}
+			move(heap[parent], current);
+			current = parent;
+		}
+		move(element, current);
+	}
+
+	private void siftDown(int index) {
+		int element = heap[index];
+		float key = priority[element];
+		int current = index;
+		int half = size >>> 1;
+		while (current < half) {
+			int child = 2 * current + 1;
+			int right = child + 1;
+			if (right < size && priority[heap[right]] < priority[heap[child]]) {
+				child = right;
+			}
+			if (key <= priority[heap[child]]) {
+				break;
+			}
+			move(heap[child], current);
+			current = child;
+		}
+		move(element, current);
+	}
+
+	private void move(int element, int index) {
+		heap[index] = element;
+		position[element] = index;
+	}
+
+	@Override
+	public String toString() {
+		return "IndexedFloatHeap [size=" + size + ", capacity=" + heap.length + "]";
+	}
+
+}
@@ -0,0 +1,153 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
+import edu.kit.ifv.mobitopp.time.DayOfWeek;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Calculates the same attractivities as {@link AttractivityCalculatorCostNextPole}, but evaluates
+ * all possible destinations of a person at once. Values which only depend on the person and the
+ * activity are determined once per call instead of once per destination and mode. The impedances
+ * of all destinations are kept in a reusable array per thread instead of a sorted set per
+ * destination.
+ */
+public class AttractivityCalculatorCostNextPoleIndexed
+        extends AttractivityCalculatorCostNextPole {
+
+    private final ThreadLocal<float[]> impedances;
+
+    public AttractivityCalculatorCostNextPoleIndexed(
+            Map<ZoneId, Zone> zones,
+            ImpedanceIfc impedance,
+            String filename,
+            float poleSensitivity
+    ) {
+        super(zones, impedance, filename, poleSensitivity);
+        this.impedances = ThreadLocal.withInitial(() -> new float[zones.size()]);
+    }
+
+    @Override
+    public Map<Zone, Float> calculateAttractivities(
+            Person person,
+            ActivityIfc nextActivity,
+            Zone currentZone,
+            Collection<Zone> possibleTargetZones,
+            ActivityType activityType,
+            Set<Mode> choiceSetForModes
+    ) {
+        Map<Zone, Float> result = new LinkedHashMap<Zone, Float>();
+        if (possibleTargetZones.isEmpty()) {
+            return result;
+        }
+
+        ZoneId origin = currentZone.getId();
+        ZoneId[] destinations = new ZoneId[possibleTargetZones.size()];
+        int index = 0;
+        for (Zone possibleDestination : possibleTargetZones) {
+            destinations[index++] = possibleDestination.getId();
+        }
+
+        float[] impedance = calculateImpedances(person, nextActivity, origin, destinations,
+                choiceSetForModes);
+
+        index = 0;
+        for (Zone possibleDestination : possibleTargetZones) {
+            ZoneId destination = destinations[index];
+            float opportunity = 0.0f;
+
+            if (isReachable(origin, destination)) {
+                opportunity = getOpportunity(activityType, destination);
+            }
+
+            result.put(possibleDestination, opportunity / impedance[index]);
+            index++;
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates the impedance towards every destination. The impedance of a destination is the
+     * smallest impedance over all modes in the order of {@link Float#compare(float, float)}, as in
+     * {@link AttractivityCalculatorCostNextPole#calculateImpedance}.
+     *
+     * @return array containing the impedance of {@code destinations[i]} at index {@code i}. The
+     *         array is reused by later calls of the same thread.
+     */
+    private float[] calculateImpedances(
+            Person person,
+            ActivityIfc nextActivity,
+            ZoneId origin,
+            ZoneId[] destinations,
+            Set<Mode> choiceSetForModes
+    ) {
+        if (choiceSetForModes.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        ActivityIfc previousActivity = person.activitySchedule().prevActivity(nextActivity);
+
+        ActivityType activityType = nextActivity.activityType();
+        DayOfWeek weekday = nextActivity.startDate().weekDay();
+        ZoneId nextFixedDestination = person.nextFixedActivityZone(nextActivity).getId();
+
+        Time startDate = previousActivity.calculatePlannedEndDate();
+        int duration = nextActivity.duration();
+
+        boolean commutationTicket = person.hasCommuterTicket();
+        float income = person.getIncome();
+
+        assert income > 0.0;
+
+        float time_coeff = getParameterTime(activityType, weekday);
+        float cost_coeff = getParameterCost(activityType, weekday);
+
+        float[] impedance = impedancesFor(destinations.length);
+        boolean firstMode = true;
+
+        for (Mode mode : choiceSetForModes) {
+            for (int index = 0; index < destinations.length; index++) {
+                ZoneId destination = destinations[index];
+
+                float time_next = getTravelTime(mode, origin, destination, startDate);
+                float cost_next = getTravelCost(mode, origin, destination, startDate, commutationTicket)
+                        + getParkingCost(mode, destination, startDate, duration);
+
+                float time_pole = getTravelTime(mode, destination, nextFixedDestination, startDate);
+                float cost_pole = getTravelCost(mode, destination, nextFixedDestination, startDate,
+                        commutationTicket);
+
+                float cost = 2.0f * ((1.0f - this.poleSensitivity) * cost_next + this.poleSensitivity * cost_pole);
+                float time = 2.0f * ((1.0f - this.poleSensitivity) * time_next + this.poleSensitivity * time_pole);
+
+                double sum = +time_coeff * time + cost_coeff * 1000 / income * cost;
+
+                float modeImpedance = (float) Math.exp(sum);
+
+                if (firstMode || Float.compare(modeImpedance, impedance[index]) < 0) {
+                    impedance[index] = modeImpedance;
+                }
+            }
+            firstMode = false;
+        }
+
+        return impedance;
+    }
+
+    private float[] impedancesFor(int numberOfDestinations) {
+        float[] impedance = this.impedances.get();
+        if (impedance.length < numberOfDestinations) {
+            impedance = new float[numberOfDestinations];
+            this.impedances.set(impedance);
+        }
+        return impedance;
+    }
+
+}
@@ -0,0 +1,58 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import java.util.Map;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.configuration.DynamicParameters;
+
+/**
+ * Available implementations of the cost based attractivity calculation considering the next pole.
+ * Both kernels calculate identical attractivities. The kernel can be selected via the experimental
+ * parameter {@value #parameterName} of the simulation configuration.
+ */
+public enum AttractivityKernel {
+
+    perZone() {
+
+        @Override
+        public AttractivityCalculatorIfc createNextPole(
+                Map<ZoneId, Zone> zones, ImpedanceIfc impedance, String filename,
+                float poleSensitivity) {
+            return new AttractivityCalculatorCostNextPole(zones, impedance, filename, poleSensitivity);
+        }
+
+    },
+    zoneIndexed() {
+
+        @Override
+        public AttractivityCalculatorIfc createNextPole(
+                Map<ZoneId, Zone> zones, ImpedanceIfc impedance, String filename,
+                float poleSensitivity) {
+            return new AttractivityCalculatorCostNextPoleIndexed(zones, impedance, filename,
+                    poleSensitivity);
+        }
+
+    };
+
+    static final String parameterName = "attractivityKernel";
+
+    /**
+     * Creates a calculator like {@link AttractivityCalculatorCostNextPole}.
+     */
+    public abstract AttractivityCalculatorIfc createNextPole(
+            Map<ZoneId, Zone> zones, ImpedanceIfc impedance, String filename, float poleSensitivity);
+
+    /**
+     * Selects the kernel configured in the experimental parameters. Falls back to
+     * {@link #perZone} if no kernel is configured.
+     */
+    public static AttractivityKernel from(WrittenConfiguration configuration) {
+        DynamicParameters experimental = new DynamicParameters(configuration.getExperimental());
+        if (experimental.hasValue(parameterName)) {
+            return valueOf(experimental.value(parameterName));
+        }
+        return perZone;
+    }
+
+}
@@ -0,0 +1,192 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.kit.ifv.mobitopp.routing.CompactGraph;
+import edu.kit.ifv.mobitopp.routing.CompactPath;
+import edu.kit.ifv.mobitopp.routing.Path;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps selected routes per origin zone, destination zone and time slice of the day in memory, so
+ * trips between popular pairs of zones share a single route. Routes are stored as
+ * {@link CompactPath}s, i.e. as indices of the edges of the graph of the route choice.
+ *
+ * The size of the cache is limited by the number of links of all cached routes. When the limit is
+ * exceeded, the least recently used routes are evicted. Routes are selected outside of the lock of
+ * the cache, so several threads can select different routes at the same time.
+ */
+@Slf4j
+public class CachedRouteChoice implements ZoneBasedRouteChoice {
+
+	public static final long unlimited = Long.MAX_VALUE;
+	public static final RelativeTime defaultSliceLength = RelativeTime.ofHours(1);
+
+	private final ZoneBasedRouteChoice routeChoice;
+	private final CompactGraph graph;
+	private final long maximumLinks;
+	private final int sliceSeconds;
+	private final LinkedHashMap<Key, Path> routes;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+	private long cachedLinks;
+
+	public CachedRouteChoice(ZoneBasedRouteChoice routeChoice, CompactGraph graph) {
+		this(routeChoice, graph, unlimited, defaultSliceLength);
+	}
+
+	/**
+	 * @param graph
+	 *          graph containing all links of the routes selected by the given route choice
+	 * @param maximumLinks
+	 *          maximum number of links of all routes kept in memory
+	 * @param sliceLength
+	 *          routes selected within the same slice of the day are shared
+	 */
+	public CachedRouteChoice(
+			ZoneBasedRouteChoice routeChoice, CompactGraph graph, long maximumLinks,
+			RelativeTime sliceLength) {
+		super();
+		if (0 >= sliceLength.seconds()) {
+			throw warn(new IllegalArgumentException("Time slices must be positive: " + sliceLength),
+					log);
+		}
+		this.routeChoice = routeChoice;
+		this.graph = graph;
+		this.maximumLinks = maximumLinks;
+		this.sliceSeconds = sliceLength.seconds();
+		routes = new LinkedHashMap<>(16, 0.75f, true);
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+		evictions = new AtomicLong();
+		cachedLinks = 0;
+	}
+
+	@Override
+	public Path selectRoute(Time date, int sourceZoneId, int targetZoneId) {
+		Key key = new Key(sourceZoneId, targetZoneId, sliceOf(date));
+		synchronized (routes) {
+			Path route = routes.get(key);
+			if (null != route) {
+				hits.incrementAndGet();
+				return route;
+			}
+		}
+		misses.incrementAndGet();
+		Path route = routeChoice.selectRoute(date, sourceZoneId, targetZoneId);
+		return add(key, CompactPath.of(graph, route));
+	}
+
+	private int sliceOf(Time date) {
+		int secondOfDay = (date.getHour() * 60 + date.getMinute()) * 60 + date.getSecond();
+		return secondOfDay / sliceSeconds;
+	}
+
+	private Path add(Key key, Path route) {
+		synchronized (routes) {
+			if (routes.containsKey(key)) {
+				return routes.get(key);
+			}
+			routes.put(key, route);
+			cachedLinks += sizeOf(route);
+			evictLeastRecentlyUsed();
+			return route;
+		}
+	}
+
+	private void evictLeastRecentlyUsed() {
+		Iterator<Entry<Key, Path>> eldest = routes.entrySet().iterator();
+		while (cachedLinks > maximumLinks && 1 < routes.size()) {
+			Path evicted = eldest.next().getValue();
+			eldest.remove();
+			cachedLinks -= sizeOf(evicted);
+			evictions.incrementAndGet();
+		}
+	}
+
+	private static long sizeOf(Path route) {
+		return Math.max(1, route.size());
+	}
+
+	public long hits() {
+		return hits.get();
+	}
+
+	public long misses() {
+		return misses.get();
+	}
+
+	public long evictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return number of links of all routes currently kept in memory
+	 */
+	public long cachedLinks() {
+		synchronized (routes) {
+			return cachedLinks;
+		}
+	}
+
+	public int cachedRoutes() {
+		synchronized (routes) {
+			return routes.size();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CachedRouteChoice [routeChoice=" + routeChoice + ", hits=" + hits() + ", misses="
+				+ misses() + ", evictions=" + evictions() + ", links=" + cachedLinks() + "]";
+	}
+
+	private static class Key {
+
+		private final int source;
+		private final int target;
+		private final int slice;
+
+		private Key(int source, int target, int slice) {
+			super();
+			this.source = source;
+			this.target = target;
+			this.slice = slice;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + slice;
+			result = prime * result + source;
+			result = prime * result + target;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return slice == other.slice && source == other.source && target == other.target;
+		}
+
+	}
+
+}
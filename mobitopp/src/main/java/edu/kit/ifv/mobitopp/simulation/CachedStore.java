@@ -1,9 +1,10 @@
 package edu.kit.ifv.mobitopp.simulation;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.Profile;
@@ -11,16 +12,41 @@ import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.Store;
 import edu.kit.ifv.mobitopp.time.Time;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Keeps loaded profiles per target stop and hour in memory. The size of the cache is limited by
+ * the number of entries of all arrival time functions of the cached profiles. When the limit is
+ * exceeded, the least recently used profiles are evicted. Profiles are loaded outside of the lock
+ * of the cache, so several threads can load different profiles at the same time.
+ */
 @Slf4j
 public class CachedStore implements Store {
 
+	public static final long unlimited = Long.MAX_VALUE;
+
 	private final Store store;
-	private final Map<Key, Profile> profiles;
+	private final long maximumEntries;
+	private final LinkedHashMap<Key, Profile> profiles;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+	private long cachedEntries;
 
 	public CachedStore(Store store) {
+		this(store, unlimited);
+	}
+
+	/**
+	 * @param maximumEntries maximum number of arrival time function entries kept in memory
+	 */
+	public CachedStore(Store store, long maximumEntries) {
 		super();
 		this.store = store;
-		profiles = new HashMap<>();
+		this.maximumEntries = maximumEntries;
+		profiles = new LinkedHashMap<>(16, 0.75f, true);
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+		evictions = new AtomicLong();
+		cachedEntries = 0;
 	}
 
 	@Override
@@ -28,43 +54,109 @@ public class CachedStore implements Store {
 		store.save(profile);
 	}
 
+	@Override
+	public void remove(Stop target) {
+		store.remove(target);
+		synchronized (profiles) {
+			Iterator<Entry<Key, Profile>> entries = profiles.entrySet().iterator();
+			while (entries.hasNext()) {
+				Entry<Key, Profile> entry = entries.next();
+				if (target.equals(entry.getKey().stop)) {
+					cachedEntries -= sizeOf(entry.getValue());
+					entries.remove();
+				}
+			}
+		}
+	}
+
 	@Override
 	public Profile profileTo(Stop target, Time time) {
 		Key key = keyOf(target, time);
-		if (profiles.containsKey(key)) {
-			return profiles.get(key);
+		synchronized (profiles) {
+			if (profiles.containsKey(key)) {
+				hits.incrementAndGet();
+				return profiles.get(key);
+			}
 		}
+		misses.incrementAndGet();
 		Profile profile = store.profileTo(target, time);
-		profiles.put(key, profile);
-		return profile;
+		return add(key, profile);
 	}
 
-	public void cleanBefore(Time time) {
-		log.info("Clean profile cache");
-		clean(profilesBefore(time));
-		triggerGc();
+	private Profile add(Key key, Profile profile) {
+		synchronized (profiles) {
+			if (profiles.containsKey(key)) {
+				return profiles.get(key);
+			}
+			profiles.put(key, profile);
+			cachedEntries += sizeOf(profile);
+			evictLeastRecentlyUsed();
+			return profile;
+		}
 	}
 
-	private List<Key> profilesBefore(Time time) {
-		List<Key> remove = new LinkedList<>();
-		for (Key key : profiles.keySet()) {
-			if (key.isBefore(time)) {
-				remove.add(key);
-			}
+	private void evictLeastRecentlyUsed() {
+		Iterator<Entry<Key, Profile>> eldest = profiles.entrySet().iterator();
+		while (cachedEntries > maximumEntries && 1 < profiles.size()) {
+			Profile evicted = eldest.next().getValue();
+			eldest.remove();
+			cachedEntries -= sizeOf(evicted);
+			evictions.incrementAndGet();
 		}
-		return remove;
 	}
 
-	private void clean(List<Key> remove) {
-		for (Key key : remove) {
-			profiles.remove(key);
+	private static long sizeOf(Profile profile) {
+		if (null == profile) {
+			return 1;
 		}
+		return Math.max(1, profile.numberOfEntries());
+	}
+
+	public void cleanBefore(Time time) {
+		log.info("Clean profile cache: " + statistics());
+		synchronized (profiles) {
+			Iterator<Entry<Key, Profile>> entries = profiles.entrySet().iterator();
+			while (entries.hasNext()) {
+				Entry<Key, Profile> entry = entries.next();
+				if (entry.getKey().isBefore(time)) {
+					cachedEntries -= sizeOf(entry.getValue());
+					entries.remove();
+				}
+			}
+		}
+		triggerGc();
 	}
 
 	private void triggerGc() {
 		System.gc();
 	}
 
+	public long hits() {
+		return hits.get();
+	}
+
+	public long misses() {
+		return misses.get();
+	}
+
+	public long evictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return number of arrival time function entries currently kept in memory
+	 */
+	public long cachedEntries() {
+		synchronized (profiles) {
+			return cachedEntries;
+		}
+	}
+
+	private String statistics() {
+		return "hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions()
+				+ ", entries=" + cachedEntries();
+	}
+
 	private static Key keyOf(Stop target, Time time) {
 		int hour = time.getHour();
 		return new Key(target, hour);
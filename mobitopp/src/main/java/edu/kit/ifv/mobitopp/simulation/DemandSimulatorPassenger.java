@@ -6,16 +6,19 @@ import java.util.Set;
 import java.util.function.Consumer;
 
 import edu.kit.ifv.mobitopp.communication.JsonResource;
+import edu.kit.ifv.mobitopp.communication.RouteCacheData;
 import edu.kit.ifv.mobitopp.communication.SimulationProgressData;
 import edu.kit.ifv.mobitopp.data.PersonLoader;
 import edu.kit.ifv.mobitopp.data.ZoneRepository;
+import edu.kit.ifv.mobitopp.data.local.configuration.DynamicParameters;
 import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityPeriodFixer;
 import edu.kit.ifv.mobitopp.simulation.activityschedule.randomizer.ActivityStartAndDurationRandomizer;
 import edu.kit.ifv.mobitopp.simulation.car.PrivateCar;
 import edu.kit.ifv.mobitopp.simulation.destinationChoice.DestinationChoiceModel;
 import edu.kit.ifv.mobitopp.simulation.events.DemandSimulationEventIfc;
 import edu.kit.ifv.mobitopp.simulation.events.EventQueue;
-import edu.kit.ifv.mobitopp.simulation.events.SimpleEventQueue;
+import edu.kit.ifv.mobitopp.simulation.events.EventQueueType;
+import edu.kit.ifv.mobitopp.simulation.events.HouseholdPartitionedEventQueue;
 import edu.kit.ifv.mobitopp.simulation.person.PersonState;
 import edu.kit.ifv.mobitopp.simulation.person.PublicTransportBehaviour;
 import edu.kit.ifv.mobitopp.simulation.person.SimulationOptions;
@@ -34,6 +37,8 @@ import lombok.extern.slf4j.Slf4j;
 public class DemandSimulatorPassenger implements DemandSimulator, SimulationOptions {
 
     private static final int defaultMaxDifferenceInMinutes = 30;
+    private static final String parallelSimulation = "parallelSimulation";
+    private static final String eventQueue = "eventQueue";
 
     private final SimulationPersonFactory personFactory;
     private final SimulationContextWithRestServer context;
@@ -46,6 +51,7 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
     private final ZoneBasedRouteChoice routeChoice;
 
     private final EventQueue queue;
+    private final ParallelEventHandler parallelHandler;
     private final VehicleBehaviour vehicleBehaviour;
     protected final Set<Mode> modesInSimulation;
     protected final PersonState initialState;
@@ -79,7 +85,19 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
         this.activityDurationRandomizer = activityDurationRandomizer;
         this.tripFactory = tripFactory;
 
-        this.queue = new SimpleEventQueue();
+        WrittenConfiguration configuration = context.configuration();
+        EventQueueType queueType = eventQueueType(configuration);
+        int timeStepLength = configuration.getTimeStepLength();
+        if (isParallel(configuration)) {
+            HouseholdPartitionedEventQueue partitionedQueue = new HouseholdPartitionedEventQueue(
+                    configuration.getThreadCount(), () -> queueType.create(timeStepLength));
+            this.queue = partitionedQueue;
+            this.parallelHandler = new ParallelEventHandler(partitionedQueue,
+                    configuration.getThreadCount());
+        } else {
+            this.queue = queueType.create(timeStepLength);
+            this.parallelHandler = null;
+        }
 
         //Vehiclebehavior is defined in WrittenConfiguration.java. Default is NoVehicleBehaviour. And it means public transport vehicle behavior.
         this.vehicleBehaviour = context.vehicleBehaviour();
@@ -144,6 +162,34 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
         );
     }
 
+    /**
+     * Persons are simulated in parallel if the experimental parameter {@value #parallelSimulation}
+     * is set to true and more than one thread is configured. Persons of the same household are
+     * always simulated by the same thread.
+     */
+    private static boolean isParallel(WrittenConfiguration configuration) {
+        DynamicParameters experimental = new DynamicParameters(configuration.getExperimental());
+        return experimental.hasValue(parallelSimulation)
+                && experimental.valueAsBoolean(parallelSimulation)
+                && 1 < configuration.getThreadCount();
+    }
+
+    /**
+     * The {@link EventQueueType} can be selected via the experimental parameter
+     * {@value #eventQueue}. Defaults to {@link EventQueueType#simple}.
+     */
+    private static EventQueueType eventQueueType(WrittenConfiguration configuration) {
+        DynamicParameters experimental = new DynamicParameters(configuration.getExperimental());
+        if (experimental.hasValue(eventQueue)) {
+            return EventQueueType.valueOf(experimental.value(eventQueue));
+        }
+        return EventQueueType.simple;
+    }
+
+    private boolean isParallel() {
+        return null != parallelHandler;
+    }
+
     public DestinationChoiceModel destinationChoiceModel() {
         return this.destinationChoiceModel;
     }
@@ -220,14 +266,34 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
 
             JsonResource resource = new JsonResource(data, "/rest/simulation/progress");
             context().restServer().registerResource(resource);
+            registerRouteCacheResource();
         } else {
             System.err.println("Server is null");
         }
 
     }
 
+    private void registerRouteCacheResource() {
+        if (!(routeChoice instanceof CachedRouteChoice)) {
+            return;
+        }
+        CachedRouteChoice cache = (CachedRouteChoice) routeChoice;
+        RouteCacheData data = new RouteCacheData();
+
+        Hook update = time -> {
+            data.setHits(cache.hits());
+            data.setMisses(cache.misses());
+            data.setEvictions(cache.evictions());
+            data.setCached_routes(cache.cachedRoutes());
+        };
+        addBeforeTimeSliceHook(update);
+
+        JsonResource resource = new JsonResource(data, "/rest/simulation/routecache");
+        context().restServer().registerResource(resource);
+    }
+
     public void startSimulation() {
-        initFractionOfHouseholds(queue, this.vehicleBehaviour, context.seed(), listener(), modesInSimulation, initialState);
+        initFractionOfHouseholds(queue, boarder(), context.seed(), listener(), modesInSimulation, initialState);
 
         simulate();
     }
@@ -253,13 +319,27 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
             log.error("ABSTRACT METHOD ERROR:");
             log.error(e.getMessage(), e);
             log.error(e.getCause().toString());
+        } finally {
+            if (isParallel()) {
+                parallelHandler.shutdown();
+            }
         }
     }
 
     private PersonListener listener() {
+        if (isParallel()) {
+            return new SequencedPersonListener(context.personResults());
+        }
         return context.personResults();
     }
 
+    private PublicTransportBehaviour boarder() {
+        if (isParallel()) {
+            return new SequencedPublicTransportBehaviour(vehicleBehaviour);
+        }
+        return vehicleBehaviour;
+    }
+
     void handle(Time currentTime) {
         beforeTimeSlice.process(currentTime);
         handleEvents(currentTime);
@@ -321,9 +401,13 @@ public class DemandSimulatorPassenger implements DemandSimulator, SimulationOpti
         //This does nothing. Need to define in the overriding function.
         this.vehicleBehaviour.letVehiclesArriveAt(currentDate, queue);
 
-        while (this.queue.hasEventsUntil(currentDate)) {
-            DemandSimulationEventIfc simulationEvent = this.queue.nextEvent();
-            simulationEvent.getPerson().notify(this.queue, simulationEvent, currentDate);
+        if (isParallel()) {
+            parallelHandler.handleEventsUntil(currentDate);
+        } else {
+            while (this.queue.hasEventsUntil(currentDate)) {
+                DemandSimulationEventIfc simulationEvent = this.queue.nextEvent();
+                simulationEvent.getPerson().notify(this.queue, simulationEvent, currentDate);
+            }
         }
 
         //This does nothing. Need to define in the overriding function.
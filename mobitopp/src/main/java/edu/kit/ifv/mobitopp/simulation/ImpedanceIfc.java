@@ -1,5 +1,8 @@
 package edu.kit.ifv.mobitopp.simulation;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.data.ZoneId;
@@ -12,6 +15,25 @@ public interface ImpedanceIfc {
   Optional<PublicTransportRoute> getPublicTransportRoute(
       Location origin, Location destination, Mode mode, Time date);
 
+  /**
+   * Arrival times at each of the destinations when departing at the origin at the given date. The
+   * default implementation requests the route to each destination on its own.
+   *
+   * The models of the simulation do not use this yet. Destination choice takes public transport
+   * travel times from {@link #getTravelTime(ZoneId, ZoneId, Mode, Time)}, which reads the
+   * configured matrices and does not search routes.
+   *
+   * @return arrival times in the order of {@code destinations}
+   */
+  default List<Optional<Time>> getPublicTransportArrivals(
+      Location origin, List<Location> destinations, Mode mode, Time date) {
+    return destinations
+        .stream()
+        .map(destination -> getPublicTransportRoute(origin, destination, mode, date)
+            .map(PublicTransportRoute::arrival))
+        .collect(toList());
+  }
+
   float getTravelTime(ZoneId origin, ZoneId destination, Mode mode, Time date);
 
   float getTravelCost(ZoneId origin, ZoneId destination, Mode mode, Time date);
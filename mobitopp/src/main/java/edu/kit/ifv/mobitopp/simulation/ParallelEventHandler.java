@@ -0,0 +1,98 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.kit.ifv.mobitopp.simulation.events.DemandSimulationEventIfc;
+import edu.kit.ifv.mobitopp.simulation.events.EventQueue;
+import edu.kit.ifv.mobitopp.simulation.events.HouseholdPartitionedEventQueue;
+import edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processes the shards of a {@link HouseholdPartitionedEventQueue} concurrently. Each call to
+ * {@link #handleEventsUntil(Time)} returns after all shards have processed their events of the time
+ * slice, which makes the end of a time slice a barrier for all shards. Access to state shared
+ * between households is ordered by a {@link SharedStateSequencer}.
+ */
+@Slf4j
+public class ParallelEventHandler {
+
+	private final HouseholdPartitionedEventQueue queue;
+	private final SharedStateSequencer sequencer;
+	private final ExecutorService executor;
+
+	public ParallelEventHandler(HouseholdPartitionedEventQueue queue, int threadCount) {
+		super();
+		this.queue = queue;
+		this.sequencer = new SharedStateSequencer(queue.numberOfShards());
+		this.executor = Executors.newFixedThreadPool(threadCount);
+	}
+
+	public void handleEventsUntil(Time currentDate) {
+		List<Callable<Void>> tasks = new ArrayList<>(queue.numberOfShards());
+		for (int shard = 0; shard < queue.numberOfShards(); shard++) {
+			sequencer.prepare(shard, firstEventOf(shard, currentDate));
+			tasks.add(handleShard(shard, currentDate));
+		}
+		waitFor(invokeAll(tasks));
+	}
+
+	private Optional<DemandSimulationEventIfc> firstEventOf(int shard, Time currentDate) {
+		EventQueue events = queue.shard(shard);
+		return events.hasEventsUntil(currentDate) ? events.peek() : Optional.empty();
+	}
+
+	private Callable<Void> handleShard(int shard, Time currentDate) {
+		return () -> {
+			EventQueue events = queue.shard(shard);
+			sequencer.bind(shard);
+			try {
+				while (events.hasEventsUntil(currentDate)) {
+					DemandSimulationEventIfc simulationEvent = events.nextEvent();
+					sequencer.process(simulationEvent);
+					simulationEvent.getPerson().notify(events, simulationEvent, currentDate);
+				}
+			} finally {
+				sequencer.finish();
+			}
+			return null;
+		};
+	}
+
+	private List<Future<Void>> invokeAll(List<Callable<Void>> tasks) {
+		try {
+			return executor.invokeAll(tasks);
+		} catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw warn(new IllegalStateException("Interrupted while handling events.", cause), log);
+		}
+	}
+
+	private void waitFor(List<Future<Void>> results) {
+		for (Future<Void> result : results) {
+			try {
+				result.get();
+			} catch (InterruptedException cause) {
+				Thread.currentThread().interrupt();
+				throw warn(new IllegalStateException("Interrupted while handling events.", cause), log);
+			} catch (ExecutionException cause) {
+				throw warn(new IllegalStateException("Could not handle events.", cause.getCause()), log);
+			}
+		}
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+}
@@ -1,5 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation;
 
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,6 +11,7 @@ public class RideSharingOffers {
 
 
 	public void add(Trip trip, Person person) {
+		awaitTurn();
 
 		assert person.isCarDriver();
 
@@ -16,6 +19,7 @@ public class RideSharingOffers {
 	}
 
 	public void remove(Trip trip, Person person) {
+		awaitTurn();
 
 		assert offers.get(trip) != null;
 		assert offers.get(trip).person == person;
@@ -28,6 +32,7 @@ public class RideSharingOffers {
 		int max_minutes_early,
 		int max_minutes_late
 	) {
+		awaitTurn();
 
 		List<RideSharingOffer> matching = new ArrayList<RideSharingOffer>();
 
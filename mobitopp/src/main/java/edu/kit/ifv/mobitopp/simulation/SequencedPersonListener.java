@@ -0,0 +1,80 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.routing.Path;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
+import edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer;
+import edu.kit.ifv.mobitopp.simulation.person.FinishedTrip;
+import edu.kit.ifv.mobitopp.simulation.person.StartedTrip;
+import edu.kit.ifv.mobitopp.simulation.tour.Subtour;
+import edu.kit.ifv.mobitopp.simulation.tour.Tour;
+
+/**
+ * Forwards notifications in the order of a sequential simulation, see
+ * {@link SharedStateSequencer}.
+ */
+public class SequencedPersonListener implements PersonListener {
+
+	private final PersonListener other;
+
+	public SequencedPersonListener(PersonListener other) {
+		super();
+		this.other = other;
+	}
+
+	@Override
+	public void notifyEndTrip(Person person, FinishedTrip trip) {
+		awaitTurn();
+		other.notifyEndTrip(person, trip);
+	}
+
+	@Override
+	public void notifyStartTrip(Person person, StartedTrip trip) {
+		awaitTurn();
+		other.notifyStartTrip(person, trip);
+	}
+
+	@Override
+	public void notifyFinishCarTrip(Person person, Car car, FinishedTrip trip, ActivityIfc activity) {
+		awaitTurn();
+		other.notifyFinishCarTrip(person, car, trip, activity);
+	}
+
+	@Override
+	public void notifyStartActivity(Person person, ActivityIfc activity) {
+		awaitTurn();
+		other.notifyStartActivity(person, activity);
+	}
+
+	@Override
+	public void notifySelectCarRoute(Person person, Car car, TripData trip, Path route) {
+		awaitTurn();
+		other.notifySelectCarRoute(person, car, trip, route);
+	}
+
+	@Override
+	public void writeSubtourinfoToFile(Person person, Tour tour, Subtour subtour, Mode tourMode) {
+		awaitTurn();
+		other.writeSubtourinfoToFile(person, tour, subtour, tourMode);
+	}
+
+	@Override
+	public void writeTourinfoToFile(Person person, Tour tour, Zone tourDestination, Mode tourMode) {
+		awaitTurn();
+		other.writeTourinfoToFile(person, tour, tourDestination, tourMode);
+	}
+
+	@Override
+	public void notifyStateChanged(StateChange stateChange) {
+		awaitTurn();
+		other.notifyStateChanged(stateChange);
+	}
+
+	@Override
+	public void notifyFinishSimulation() {
+		other.notifyFinishSimulation();
+	}
+
+}
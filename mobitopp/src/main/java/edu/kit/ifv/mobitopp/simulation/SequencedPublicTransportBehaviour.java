@@ -0,0 +1,80 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer;
+import edu.kit.ifv.mobitopp.simulation.person.PublicTransportBehaviour;
+import edu.kit.ifv.mobitopp.simulation.person.PublicTransportLeg;
+import edu.kit.ifv.mobitopp.simulation.person.PublicTransportTrip;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.Time;
+
+/**
+ * Accesses public transport vehicles in the order of a sequential simulation, see
+ * {@link SharedStateSequencer}.
+ */
+public class SequencedPublicTransportBehaviour implements PublicTransportBehaviour {
+
+	private final PublicTransportBehaviour other;
+
+	public SequencedPublicTransportBehaviour(PublicTransportBehaviour other) {
+		super();
+		this.other = other;
+	}
+
+	@Override
+	public boolean hasVehicleDeparted(PublicTransportLeg leg) {
+		awaitTurn();
+		return other.hasVehicleDeparted(leg);
+	}
+
+	@Override
+	public boolean isVehicleAvailable(PublicTransportLeg leg) {
+		awaitTurn();
+		return other.isVehicleAvailable(leg);
+	}
+
+	@Override
+	public boolean hasPlaceInVehicle(PublicTransportLeg leg) {
+		awaitTurn();
+		return other.hasPlaceInVehicle(leg);
+	}
+
+	@Override
+	public void board(SimulationPerson person, Time time, PublicTransportLeg part, Trip trip) {
+		awaitTurn();
+		other.board(person, time, part, trip);
+	}
+
+	@Override
+	public void getOff(SimulationPerson person, Time time, PublicTransportLeg part, Trip trip) {
+		awaitTurn();
+		other.getOff(person, time, part, trip);
+	}
+
+	@Override
+	public Trip searchNewTrip(SimulationPerson person, Time someDate, PublicTransportTrip trip) {
+		awaitTurn();
+		return other.searchNewTrip(person, someDate, trip);
+	}
+
+	@Override
+	public void wait(SimulationPerson person, Time time, PublicTransportLeg part, Trip trip) {
+		awaitTurn();
+		other.wait(person, time, part, trip);
+	}
+
+	@Override
+	public void enterWaitingArea(SimulationPerson person, Stop stop) {
+		awaitTurn();
+		other.enterWaitingArea(person, stop);
+	}
+
+	@Override
+	public void leaveWaitingArea(SimulationPerson person, Stop stop) {
+		awaitTurn();
+		other.leaveWaitingArea(person, stop);
+	}
+
+}
@@ -64,7 +64,8 @@ public class SimulationConfiguration extends Simulation {
 				new SimpleRepeatedDestinationChoice(zoneRepository().zones(),
 						new DestinationChoiceForFlexibleActivity(modeAvailabilityModel,
 								new CarRangeReachableZonesFilter(impedance()),
-								new AttractivityCalculatorCostNextPole(zoneRepository().zones(), impedance(),
+								AttractivityKernel.from(context().configuration()).createNextPole(
+										zoneRepository().zones(), impedance(),
 										getDestinationChoiceFileFor("cost"), 0.5f)),
 						getDestinationChoiceFileFor("repetition")));
 	}
@@ -51,7 +51,8 @@ public class SimulationPublicTransport extends Simulation {
 				new SimpleRepeatedDestinationChoice(zoneRepository().zones(),
 						new DestinationChoiceForFlexibleActivity(modeAvailabilityModel,
 								new CarRangeReachableZonesFilter(impedance()),
-								new AttractivityCalculatorCostNextPole(zoneRepository().zones(), impedance(),
+								AttractivityKernel.from(context().configuration()).createNextPole(
+										zoneRepository().zones(), impedance(),
 										"./" + destinationChoiceFiles.get("cost"), 0.5f)),
 						"./" + destinationChoiceFiles.get("repetition")));
 
@@ -2,13 +2,11 @@ package edu.kit.ifv.mobitopp.simulation;
 
 import java.util.ArrayList;
 
+import edu.kit.ifv.mobitopp.routing.CompactDijkstra;
+import edu.kit.ifv.mobitopp.routing.CompactGraph;
 import edu.kit.ifv.mobitopp.routing.DefaultPath;
-import edu.kit.ifv.mobitopp.routing.Dijkstra;
-import edu.kit.ifv.mobitopp.routing.GraphFromVisumNetwork;
 import edu.kit.ifv.mobitopp.routing.Link;
-import edu.kit.ifv.mobitopp.routing.Node;
 import edu.kit.ifv.mobitopp.routing.Path;
-import edu.kit.ifv.mobitopp.routing.util.PriorityQueueBasedPQ;
 import edu.kit.ifv.mobitopp.time.Time;
 import edu.kit.ifv.mobitopp.visum.VisumRoadNetwork;
 import lombok.extern.slf4j.Slf4j;
@@ -17,12 +15,20 @@ import lombok.extern.slf4j.Slf4j;
 public class ZoneBasedDijkstraRouteChoice
 	implements ZoneBasedRouteChoice {
 
-	private final	GraphFromVisumNetwork graph;
-	private final Dijkstra dijkstra = new Dijkstra(new PriorityQueueBasedPQ<>());
+	private final CompactGraph graph;
+	private final ThreadLocal<CompactDijkstra> dijkstra;
 
 
 	public ZoneBasedDijkstraRouteChoice(VisumRoadNetwork network) {
-		this.graph = new GraphFromVisumNetwork(network);
+		this.graph = CompactGraph.from(network);
+		this.dijkstra = ThreadLocal.withInitial(() -> new CompactDijkstra(graph));
+	}
+
+	/**
+	 * @return graph containing all links of the selected routes, e.g. for a {@link CachedRouteChoice}
+	 */
+	public CompactGraph graph() {
+		return graph;
 	}
 
 
@@ -34,11 +40,11 @@ public class ZoneBasedDijkstraRouteChoice
 
 		if (sourceZoneId != targetZoneId) {
 
-			Node source = graph.getNodeForZone(sourceZoneId);
-			Node target = graph.getNodeForZone(targetZoneId);
+			int source = graph.nodeOfZone(sourceZoneId);
+			int target = graph.nodeOfZone(targetZoneId);
 	
-			log.info(source + "(" + sourceZoneId + ")" + " <-> " + target + "(" + targetZoneId + ")");
-			return dijkstra.shortestPath(graph, source,target);
+			log.debug(source + "(" + sourceZoneId + ")" + " <-> " + target + "(" + targetZoneId + ")");
+			return dijkstra.get().shortestPath(source, target);
 
 		} else {
 			return DefaultPath.makePath(new ArrayList<Link>());
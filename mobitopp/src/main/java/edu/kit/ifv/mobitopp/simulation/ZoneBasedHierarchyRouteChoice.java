@@ -0,0 +1,59 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import edu.kit.ifv.mobitopp.routing.CompactGraph;
+import edu.kit.ifv.mobitopp.routing.ContractionHierarchy;
+import edu.kit.ifv.mobitopp.routing.CustomisedHierarchy;
+import edu.kit.ifv.mobitopp.routing.DefaultPath;
+import edu.kit.ifv.mobitopp.routing.Link;
+import edu.kit.ifv.mobitopp.routing.Path;
+import edu.kit.ifv.mobitopp.time.Time;
+import edu.kit.ifv.mobitopp.visum.VisumRoadNetwork;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects shortest routes like {@link ZoneBasedDijkstraRouteChoice}, but answers the queries on a
+ * {@link ContractionHierarchy} of the car network. Routes never pass another zone. When a file is
+ * given, the hierarchy is loaded from this file or built and saved to it.
+ */
+@Slf4j
+public class ZoneBasedHierarchyRouteChoice implements ZoneBasedRouteChoice {
+
+	private final CompactGraph graph;
+	private final CustomisedHierarchy hierarchy;
+
+	public ZoneBasedHierarchyRouteChoice(VisumRoadNetwork network) {
+		this(ContractionHierarchy.of(CompactGraph.from(network)));
+	}
+
+	public ZoneBasedHierarchyRouteChoice(VisumRoadNetwork network, File hierarchyFile) {
+		this(ContractionHierarchy.in(hierarchyFile, CompactGraph.from(network)));
+	}
+
+	public ZoneBasedHierarchyRouteChoice(ContractionHierarchy hierarchy) {
+		super();
+		this.graph = hierarchy.graph();
+		this.hierarchy = hierarchy.customise();
+	}
+
+	/**
+	 * @return graph containing all links of the selected routes, e.g. for a {@link CachedRouteChoice}
+	 */
+	public CompactGraph graph() {
+		return graph;
+	}
+
+	@Override
+	public Path selectRoute(Time date, int sourceZoneId, int targetZoneId) {
+		if (sourceZoneId == targetZoneId) {
+			return DefaultPath.makePath(new ArrayList<Link>());
+		}
+		int source = graph.nodeOfZone(sourceZoneId);
+		int target = graph.nodeOfZone(targetZoneId);
+		log.debug(source + "(" + sourceZoneId + ")" + " <-> " + target + "(" + targetZoneId + ")");
+		return hierarchy.shortestPath(source, target);
+	}
+
+}
@@ -1,5 +1,6 @@
 package edu.kit.ifv.mobitopp.simulation.carsharing;
 
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 import static java.util.stream.Collectors.toList;
 
@@ -57,6 +58,7 @@ public class FreeFloatingCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public boolean isCarAvailable(Zone zone) {
+		awaitTurn();
 		if (!availableCars.containsKey(zone)) {
 			return false;
 		}
@@ -65,12 +67,14 @@ public class FreeFloatingCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public int availableCars(Zone zone) {
+		awaitTurn();
 		if (!availableCars.containsKey(zone)) { return 0; }
 
 		return availableCars.get(zone).size();
 	}
 
 	public CarSharingCar nextAvailableCar(Zone zone) {
+		awaitTurn();
 		assert availableCars.containsKey(zone);
 		assert !availableCars.get(zone).isEmpty();
 
@@ -78,6 +82,7 @@ public class FreeFloatingCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public CarSharingCar bookCar(Zone zone) {
+		awaitTurn();
 		assert availableCars.containsKey(zone);
 		assert !availableCars.get(zone).isEmpty();
 
@@ -113,6 +118,7 @@ public class FreeFloatingCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public void returnCar(CarSharingCar car, Zone zone) {
+		awaitTurn();
 
 		assert zone.carSharing().isFreeFloatingZone(car);
 
@@ -160,6 +166,7 @@ public class FreeFloatingCarSharingOrganization extends BaseCarSharingOrganizati
 
 	@Override
 	public void returnCarToOrigin(CarSharingCar car) {
+		awaitTurn();
 		Optional<FreeFloatingCar> freeFloatingCar = ownedCars.stream()
 															 .filter(floating -> floating.car.equals(car))
 															 .findAny();
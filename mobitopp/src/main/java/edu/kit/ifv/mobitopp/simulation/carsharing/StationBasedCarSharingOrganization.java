@@ -1,5 +1,6 @@
 package edu.kit.ifv.mobitopp.simulation.carsharing;
 
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
 import java.io.Serializable;
@@ -43,6 +44,7 @@ public class StationBasedCarSharingOrganization extends BaseCarSharingOrganizati
 
 
 	public boolean isCarAvailable(Zone zone) {
+		awaitTurn();
 
 		if (!availableCars.containsKey(zone)) { return false; }
 
@@ -50,12 +52,14 @@ public class StationBasedCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public int availableCars(Zone zone) {
+		awaitTurn();
 		if (!availableCars.containsKey(zone)) { return 0; }
 
 		return availableCars.get(zone).size();
 	}
 
 	public CarSharingCar nextAvailableCar(Zone zone) {
+		awaitTurn();
 		assert availableCars.containsKey(zone);
 		assert !availableCars.get(zone).isEmpty();
 
@@ -63,6 +67,7 @@ public class StationBasedCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public CarSharingCar bookCar(Zone zone) {
+		awaitTurn();
 		assert availableCars.containsKey(zone);
 		assert !availableCars.get(zone).isEmpty();
 
@@ -90,6 +95,7 @@ public class StationBasedCarSharingOrganization extends BaseCarSharingOrganizati
 	}
 
 	public void returnCar(CarSharingCar car, Zone zone) {
+		awaitTurn();
 		assert currentlyUsedCars.containsKey(zone);
 		assert !currentlyUsedCars.get(zone).isEmpty();
 		assert currentlyUsedCars.get(zone).contains(car);
@@ -149,6 +155,7 @@ public class StationBasedCarSharingOrganization extends BaseCarSharingOrganizati
 
 	@Override
 	public void returnCarToOrigin(CarSharingCar car) {
+		awaitTurn();
 		if (!ownedCars.contains(car)) {
 			throw warn(new IllegalArgumentException("Cannot return car " + car.id() + " as it is owned by" + this.toString()), log);
 		}
@@ -1,5 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation.emobility;
 
+import static edu.kit.ifv.mobitopp.simulation.events.SharedStateSequencer.awaitTurn;
+
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
@@ -48,6 +50,7 @@ public abstract class BaseChargingDataForZone implements ChargingDataForZone, Se
 
 	@Override
 	public int numberOfAvailableChargingPoints() {
+		awaitTurn();
 		return numberOfAvailableChargingPoints(chargingFacilities);
 	}
 
@@ -93,6 +96,7 @@ public abstract class BaseChargingDataForZone implements ChargingDataForZone, Se
 	public void startCharging(
 			ElectricCar withCar, Household household, ActivityIfc activity, Time currentTime,
 			float requestedElectricity_kWh) {
+		awaitTurn();
 		assert canElectricCarCharge(activity.activityType(), household);
 		ChargingFacility chargingFacility = chargingFacility(household, activity, currentTime,
 				requestedElectricity_kWh);
@@ -160,6 +164,7 @@ public abstract class BaseChargingDataForZone implements ChargingDataForZone, Se
 	
 	@Override
 	public float stopCharging(ElectricCar car, Time currentTime) {
+		awaitTurn();
 		assert this.usedChargingPoints.containsKey(car);
 		ChargingFacility chargingPoint = usedChargingPoints.remove(car);
 		return chargingPoint.stopCharging(car, currentTime);
@@ -0,0 +1,254 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EventQueue} based on time buckets (calendar queue). Each bucket covers a fixed number of
+ * seconds, e.g. one time step of the simulation. Adding an event appends it to its bucket. A bucket
+ * is sorted once when its first event is requested. Only events added to a bucket, whose events
+ * have already been requested, are inserted at their sorted position. Events which lie too far in
+ * the future to fit into the buckets are kept in an overflow queue and moved into the buckets when
+ * the simulation reaches them.
+ *
+ * Until the first event is removed, the buckets start at the earliest added event. Afterwards,
+ * events added before the current bucket are returned next.
+ *
+ * Events are returned in the same order as by {@link SimpleEventQueue}, see {@link EventOrder}.
+ */
+@Slf4j
+public class CalendarEventQueue implements EventQueue {
+
+	static final int defaultNumberOfBuckets = 7 * 24 * 60;
+
+	private static final Comparator<DemandSimulationEventIfc> descending = EventOrder.instance
+			.reversed();
+
+	private final int bucketWidth;
+	private final Bucket[] buckets;
+	private final PriorityQueue<DemandSimulationEventIfc> overflow;
+	private long currentBucket;
+	private int eventsInBuckets;
+	private boolean hasRemovedEvents;
+
+	public CalendarEventQueue(int bucketWidthInSeconds, int numberOfBuckets) {
+		super();
+		verify(bucketWidthInSeconds, numberOfBuckets);
+		this.bucketWidth = bucketWidthInSeconds;
+		this.buckets = new Bucket[numberOfBuckets];
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			buckets[bucket] = new Bucket();
+		}
+		this.overflow = new PriorityQueue<>(EventOrder.instance);
+		this.currentBucket = Long.MIN_VALUE;
+		this.eventsInBuckets = 0;
+		this.hasRemovedEvents = false;
+	}
+
+	public CalendarEventQueue(int bucketWidthInSeconds) {
+		this(bucketWidthInSeconds, defaultNumberOfBuckets);
+	}
+
+	private static void verify(int bucketWidth, int numberOfBuckets) {
+		if (1 > bucketWidth) {
+			throw warn(new IllegalArgumentException(
+					"Bucket width must be at least 1 second. Specified width: " + bucketWidth), log);
+		}
+		if (1 > numberOfBuckets) {
+			throw warn(new IllegalArgumentException(
+					"Number of buckets must be at least 1. Specified number: " + numberOfBuckets), log);
+		}
+	}
+
+	@Override
+	public void add(DemandSimulationEventIfc event) {
+		long bucket = bucketOf(event);
+		if (Long.MIN_VALUE == currentBucket) {
+			currentBucket = bucket;
+		}
+		if (bucket < currentBucket && !hasRemovedEvents) {
+			moveFirstBucketTo(bucket);
+		}
+		if (isBeyondBuckets(bucket)) {
+			overflow.add(event);
+			return;
+		}
+		addToBucket(Math.max(bucket, currentBucket), event);
+	}
+
+	/**
+	 * Moves the buckets back to start at the given bucket. Events of buckets, which no longer fit into
+	 * the buckets, are moved into the overflow queue.
+	 */
+	private void moveFirstBucketTo(long bucket) {
+		long shift = Math.min(currentBucket - bucket, buckets.length);
+		for (long moved = 1; moved <= shift; moved++) {
+			Bucket tooLate = bucketAt(currentBucket - moved);
+			eventsInBuckets -= tooLate.size();
+			tooLate.moveTo(overflow);
+		}
+		currentBucket = bucket;
+	}
+
+	private void addToBucket(long bucket, DemandSimulationEventIfc event) {
+		bucketAt(bucket).add(event);
+		eventsInBuckets++;
+	}
+
+	private long bucketOf(DemandSimulationEventIfc event) {
+		return Math.floorDiv(event.getSimulationDate().toSeconds(), bucketWidth);
+	}
+
+	private boolean isBeyondBuckets(long bucket) {
+		return bucket - currentBucket >= buckets.length;
+	}
+
+	private Bucket bucketAt(long bucket) {
+		return buckets[(int) Math.floorMod(bucket, (long) buckets.length)];
+	}
+
+	@Override
+	public boolean hasEventsUntil(Time date) {
+		return peek().map(event -> event.getSimulationDate().isBeforeOrEqualTo(date)).orElse(false);
+	}
+
+	@Override
+	public DemandSimulationEventIfc nextEvent() {
+		if (!moveToFirstEvent()) {
+			return null;
+		}
+		eventsInBuckets--;
+		hasRemovedEvents = true;
+		return bucketAt(currentBucket).poll();
+	}
+
+	@Override
+	public Optional<DemandSimulationEventIfc> peek() {
+		if (!moveToFirstEvent()) {
+			return Optional.empty();
+		}
+		return Optional.of(bucketAt(currentBucket).first());
+	}
+
+	private boolean moveToFirstEvent() {
+		while (0 < size()) {
+			if (0 == eventsInBuckets) {
+				currentBucket = bucketOf(overflow.peek());
+				fillFromOverflow();
+			}
+			if (!bucketAt(currentBucket).isEmpty()) {
+				return true;
+			}
+			currentBucket++;
+			fillFromOverflow();
+		}
+		return false;
+	}
+
+	private void fillFromOverflow() {
+		while (!overflow.isEmpty() && !isBeyondBuckets(bucketOf(overflow.peek()))) {
+			DemandSimulationEventIfc event = overflow.poll();
+			addToBucket(bucketOf(event), event);
+		}
+	}
+
+	@Override
+	public int size() {
+		return eventsInBuckets + overflow.size();
+	}
+
+	/**
+	 * Events of a single time bucket. The events are sorted in descending order, so the next event
+	 * can be removed from the end of the list.
+	 */
+	private static class Bucket {
+
+		private final List<DemandSimulationEventIfc> events;
+		private boolean sorted;
+		private boolean isDrained;
+
+		private Bucket() {
+			super();
+			this.events = new ArrayList<>();
+			this.sorted = true;
+			this.isDrained = false;
+		}
+
+		/**
+		 * Appends the event, unless events of this bucket have already been requested. In this case, the
+		 * event is inserted at its sorted position.
+		 */
+		void add(DemandSimulationEventIfc event) {
+			if (isDrained) {
+				int index = Collections.binarySearch(events, event, descending);
+				verifyDoesNotContain(event, index);
+				events.add(-index - 1, event);
+				return;
+			}
+			events.add(event);
+			sorted = 1 >= events.size();
+		}
+
+		private static void verifyDoesNotContain(DemandSimulationEventIfc event, int index) {
+			if (0 <= index) {
+				throw warn(new IllegalArgumentException("Event already in queue: " + event), log);
+			}
+		}
+
+		boolean isEmpty() {
+			return events.isEmpty();
+		}
+
+		int size() {
+			return events.size();
+		}
+
+		void moveTo(Collection<DemandSimulationEventIfc> other) {
+			other.addAll(events);
+			events.clear();
+			sorted = true;
+			isDrained = false;
+		}
+
+		DemandSimulationEventIfc first() {
+			sort();
+			return events.get(events.size() - 1);
+		}
+
+		DemandSimulationEventIfc poll() {
+			sort();
+			DemandSimulationEventIfc event = events.remove(events.size() - 1);
+			isDrained = !events.isEmpty();
+			return event;
+		}
+
+		private void sort() {
+			isDrained = true;
+			if (!sorted) {
+				events.sort(descending);
+				sorted = true;
+				verifyUnique();
+			}
+		}
+
+		private void verifyUnique() {
+			for (int index = 1; index < events.size(); index++) {
+				if (0 == descending.compare(events.get(index - 1), events.get(index))) {
+					throw warn(new IllegalArgumentException("Event already in queue: " + events.get(index)),
+							log);
+				}
+			}
+		}
+	}
+
+}
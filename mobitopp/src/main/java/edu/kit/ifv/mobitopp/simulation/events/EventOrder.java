@@ -0,0 +1,31 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import java.util.Comparator;
+
+/**
+ * Orders events the same way {@link DemandSimulationEvent#compareTo(DemandSimulationEvent)} does:
+ * by simulation date, priority, person and occupation. In contrast to the natural ordering it
+ * works on {@link DemandSimulationEventIfc} and can therefore be used by every {@link EventQueue}.
+ */
+public class EventOrder implements Comparator<DemandSimulationEventIfc> {
+
+	public static final EventOrder instance = new EventOrder();
+
+	@Override
+	public int compare(DemandSimulationEventIfc first, DemandSimulationEventIfc second) {
+		int byDate = first.getSimulationDate().compareTo(second.getSimulationDate());
+		if (0 != byDate) {
+			return byDate;
+		}
+		int byPriority = Integer.compare(first.getPriority(), second.getPriority());
+		if (0 != byPriority) {
+			return byPriority;
+		}
+		int byPerson = Integer.compare(first.getPerson().getOid(), second.getPerson().getOid());
+		if (0 != byPerson) {
+			return byPerson;
+		}
+		return Integer.compare(first.getOccupation().getOid(), second.getOccupation().getOid());
+	}
+
+}
@@ -1,5 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation.events;
 
+import java.util.Optional;
+
 import edu.kit.ifv.mobitopp.time.Time;
 
 public interface EventQueue {
@@ -10,6 +12,13 @@ public interface EventQueue {
 
 	DemandSimulationEventIfc nextEvent();
 
+	/**
+	 * Returns the next event without removing it from the queue.
+	 *
+	 * @return the next event or {@link Optional#empty()} if the queue is empty
+	 */
+	Optional<DemandSimulationEventIfc> peek();
+
 	int size();
 
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+/**
+ * Available {@link EventQueue} implementations. The type can be selected via the experimental
+ * parameter {@code eventQueue} of the simulation configuration.
+ */
+public enum EventQueueType {
+
+	simple() {
+
+		@Override
+		public EventQueue create(int timeStepLength) {
+			return new SimpleEventQueue();
+		}
+
+	},
+	calendar() {
+
+		@Override
+		public EventQueue create(int timeStepLength) {
+			return new CalendarEventQueue(timeStepLength);
+		}
+
+	};
+
+	/**
+	 * Creates a new queue.
+	 *
+	 * @param timeStepLength length of a simulation time step in seconds
+	 * @return a new and empty queue
+	 */
+	public abstract EventQueue create(int timeStepLength);
+
+}
@@ -0,0 +1,112 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EventQueue} which distributes the events over several shards. All persons of a household
+ * are assigned to the same shard, so each shard can be processed independently of the others within
+ * a time slice. Used as a plain {@link EventQueue}, the events of all shards are returned in the
+ * same order as by a {@link SimpleEventQueue}.
+ */
+@Slf4j
+public class HouseholdPartitionedEventQueue implements EventQueue {
+
+	private final List<EventQueue> shards;
+
+	public HouseholdPartitionedEventQueue(int numberOfShards, Supplier<EventQueue> shardFactory) {
+		super();
+		verify(numberOfShards);
+		List<EventQueue> shards = new ArrayList<>(numberOfShards);
+		for (int shard = 0; shard < numberOfShards; shard++) {
+			shards.add(shardFactory.get());
+		}
+		this.shards = Collections.unmodifiableList(shards);
+	}
+
+	public HouseholdPartitionedEventQueue(int numberOfShards) {
+		this(numberOfShards, SimpleEventQueue::new);
+	}
+
+	private static void verify(int numberOfShards) {
+		if (1 > numberOfShards) {
+			throw warn(new IllegalArgumentException(
+					"Number of shards must be at least 1. Specified number of shards: " + numberOfShards),
+					log);
+		}
+	}
+
+	public int numberOfShards() {
+		return shards.size();
+	}
+
+	public EventQueue shard(int shard) {
+		return shards.get(shard);
+	}
+
+	public int shardOf(DemandSimulationEventIfc event) {
+		int household = event.getPerson().household().getOid();
+		return Math.floorMod(household, shards.size());
+	}
+
+	@Override
+	public void add(DemandSimulationEventIfc event) {
+		shards.get(shardOf(event)).add(event);
+	}
+
+	@Override
+	public boolean hasEventsUntil(Time date) {
+		for (EventQueue shard : shards) {
+			if (shard.hasEventsUntil(date)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public DemandSimulationEventIfc nextEvent() {
+		EventQueue next = null;
+		DemandSimulationEventIfc first = null;
+		for (EventQueue shard : shards) {
+			Optional<DemandSimulationEventIfc> candidate = shard.peek();
+			if (candidate.isPresent()
+					&& (null == first || 0 > EventOrder.instance.compare(candidate.get(), first))) {
+				first = candidate.get();
+				next = shard;
+			}
+		}
+		return null == next ? null : next.nextEvent();
+	}
+
+	@Override
+	public Optional<DemandSimulationEventIfc> peek() {
+		Optional<DemandSimulationEventIfc> first = Optional.empty();
+		for (EventQueue shard : shards) {
+			Optional<DemandSimulationEventIfc> candidate = shard.peek();
+			if (candidate.isPresent()
+					&& (first.isEmpty() || 0 > EventOrder.instance.compare(candidate.get(), first.get()))) {
+				first = candidate;
+			}
+		}
+		return first;
+	}
+
+	@Override
+	public int size() {
+		int size = 0;
+		for (EventQueue shard : shards) {
+			size += shard.size();
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,144 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sync point for state shared between households, e.g. car sharing cars, ride sharing offers,
+ * charging points, public transport vehicles or result listeners, while the shards of a
+ * {@link HouseholdPartitionedEventQueue} are processed concurrently.
+ *
+ * Each shard announces the event it is currently processing. Before an event accesses shared state
+ * it has to call {@link #awaitTurn()}, which blocks until no other shard processes an earlier event
+ * (according to {@link EventOrder}). Shared state is therefore accessed in the same order as in a
+ * sequential simulation regardless of the number of shards. Computations which do not touch shared
+ * state, e.g. destination and mode choice, run concurrently.
+ *
+ * Outside of a parallel simulation {@link #awaitTurn()} does nothing.
+ */
+@Slf4j
+public class SharedStateSequencer {
+
+	private static final ThreadLocal<Slot> slots = new ThreadLocal<>();
+
+	private final DemandSimulationEventIfc[] current;
+	private final Lock lock;
+	private final Condition changed;
+
+	public SharedStateSequencer(int numberOfShards) {
+		super();
+		this.current = new DemandSimulationEventIfc[numberOfShards];
+		this.lock = new ReentrantLock();
+		this.changed = lock.newCondition();
+	}
+
+	/**
+	 * Announces the first event of the given shard before any shard starts to process the current
+	 * time slice. Must be called for all shards before the shards are processed concurrently.
+	 *
+	 * @param shard shard to prepare
+	 * @param firstEvent first event of the shard in the current time slice, if any
+	 */
+	public void prepare(int shard, Optional<DemandSimulationEventIfc> firstEvent) {
+		update(shard, firstEvent.orElse(null));
+	}
+
+	/**
+	 * Binds the calling thread to the given shard.
+	 *
+	 * @param shard shard processed by the calling thread
+	 */
+	public void bind(int shard) {
+		slots.set(new Slot(this, shard));
+	}
+
+	/**
+	 * Announces the event the calling thread processes next.
+	 *
+	 * @param event next event of the shard bound to the calling thread
+	 */
+	public void process(DemandSimulationEventIfc event) {
+		Slot slot = slots.get();
+		slot.granted = false;
+		update(slot.shard, event);
+	}
+
+	/**
+	 * Marks the shard bound to the calling thread as finished for the current time slice and unbinds
+	 * the thread.
+	 */
+	public void finish() {
+		Slot slot = slots.get();
+		slots.remove();
+		update(slot.shard, null);
+	}
+
+	private void update(int shard, DemandSimulationEventIfc event) {
+		lock.lock();
+		try {
+			current[shard] = event;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Blocks until all earlier events of other shards have been processed. Does nothing if the
+	 * calling thread does not process a shard.
+	 */
+	public static void awaitTurn() {
+		Slot slot = slots.get();
+		if (null == slot || slot.granted) {
+			return;
+		}
+		slot.sequencer.awaitTurnOf(slot.shard);
+		slot.granted = true;
+	}
+
+	private void awaitTurnOf(int shard) {
+		lock.lock();
+		try {
+			while (hasEarlierEventThan(shard)) {
+				changed.await();
+			}
+		} catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw warn(new IllegalStateException("Interrupted while waiting for shared state.", cause),
+					log);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean hasEarlierEventThan(int shard) {
+		DemandSimulationEventIfc event = current[shard];
+		for (int other = 0; other < current.length; other++) {
+			if (other != shard && null != current[other]
+					&& 0 > EventOrder.instance.compare(current[other], event)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class Slot {
+
+		private final SharedStateSequencer sequencer;
+		private final int shard;
+		private boolean granted;
+
+		private Slot(SharedStateSequencer sequencer, int shard) {
+			super();
+			this.sequencer = sequencer;
+			this.shard = shard;
+		}
+	}
+
+}
@@ -2,6 +2,7 @@ package edu.kit.ifv.mobitopp.simulation.events;
 
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
+import java.util.Optional;
 import java.util.TreeSet;
 
 import edu.kit.ifv.mobitopp.time.Time;
@@ -46,6 +47,11 @@ public class SimpleEventQueue implements EventQueue {
 		return events.pollFirst();
 	}
 
+	@Override
+	public Optional<DemandSimulationEventIfc> peek() {
+		return eventsAreAvailable() ? Optional.of(events.first()) : Optional.empty();
+	}
+
 	@Override
 	public int size() {
 		return events.size();
@@ -1,5 +1,6 @@
 package edu.kit.ifv.mobitopp.simulation.impedance;
 
+import java.util.List;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.data.ZoneId;
@@ -33,6 +34,12 @@ public class ImpedanceDecorator
 		return impedance.getPublicTransportRoute(start, end, mode, date);
 	}
 
+	@Override
+	public List<Optional<Time>> getPublicTransportArrivals(
+			Location origin, List<Location> destinations, Mode mode, Time date) {
+		return impedance.getPublicTransportArrivals(origin, destinations, mode, date);
+	}
+
   @Override
   public float getDistance(ZoneId origin, ZoneId destination) {
     return impedance.getDistance(origin, destination);
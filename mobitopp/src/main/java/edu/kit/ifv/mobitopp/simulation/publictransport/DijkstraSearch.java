@@ -127,6 +127,15 @@ class DijkstraSearch implements ShortestPathSearch {
 		return map(search, toTargets);
 	}
 
+	@Override
+	public Optional<String> accessNodeOf(Location location) {
+		Link link = graph.linkFor(location.roadAccessEdgeId);
+		if (link == null) {
+			return Optional.empty();
+		}
+		return Optional.of(link.from().id());
+	}
+
 	private Map<Node, Path> searchToTargets(Node start) {
 		return dijkstra().shortestPathToTargets(graph, travelTime(), start, startTime,
 				targetsToResolve);
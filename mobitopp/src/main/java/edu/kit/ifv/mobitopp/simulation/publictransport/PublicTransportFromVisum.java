@@ -27,6 +27,7 @@ import edu.kit.ifv.mobitopp.simulation.publictransport.model.JourneyTemplate;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.JourneyTemplates;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.ModifiableJourneys;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.PublicTransportFactory;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationAccessCache;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationFinder;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationFromVisum;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.Stations;
@@ -50,11 +51,13 @@ import edu.kit.ifv.mobitopp.visum.VisumTransportSystem;
 public class PublicTransportFromVisum extends BasePublicTransportConverter implements SearchFootpath {
 
 	private static final RelativeTime maximumDuration = RelativeTime.of(15, MINUTES);
+	public static final RelativeTime defaultMaximumWalkTime = maximumDuration;
 	private static final int targetsToResolve = 2;
 
 	private final List<VisumTransportSystem> walking;
 	private final VisumNetwork visumNetwork;
 	private final Map<JourneyKey, Journey> mapping;
+	private final StationAccessCache stationAccess;
 	private VisumPublicTransportFactory factory;
 
 	public PublicTransportFromVisum(Time date, VisumNetwork visumNetwork) {
@@ -74,9 +77,28 @@ public class PublicTransportFromVisum extends BasePublicTransportConverter imple
 	public PublicTransportFromVisum(final List<VisumTransportSystem> walking,
 		final List<Time> simulationDates, final TimetableVerifier timetableVerifier,
 		final VisumNetwork visumNetwork) {
+		this(walking, simulationDates, timetableVerifier, visumNetwork,
+			StationAccessCache.inMemory(defaultMaximumWalkTime));
+	}
+
+	/**
+	 * @param stationAccess caches the reachable stations per access node. Its maximum walking time
+	 *          limits the search for reachable stations.
+	 */
+	public PublicTransportFromVisum(final List<Time> simulationDates,
+		final TimetableVerifier timetableVerifier, final VisumNetwork visumNetwork,
+		final StationAccessCache stationAccess) {
+		this(defaultWalkingSystems(visumNetwork), simulationDates, timetableVerifier, visumNetwork,
+			stationAccess);
+	}
+
+	public PublicTransportFromVisum(final List<VisumTransportSystem> walking,
+		final List<Time> simulationDates, final TimetableVerifier timetableVerifier,
+		final VisumNetwork visumNetwork, final StationAccessCache stationAccess) {
 		super(simulationDates, timetableVerifier);
 		this.walking = walking;
 		this.visumNetwork = visumNetwork;
+		this.stationAccess = stationAccess;
 		mapping = new HashMap<>();
 	}
 
@@ -91,13 +113,17 @@ public class PublicTransportFromVisum extends BasePublicTransportConverter imple
 
 	@Override
 	public StationFinder createStationFinder(Stations stations) {
-		return stations.finder(this::search);
+		long network = WalkingNetworkFingerprint.of(visumNetwork, walking);
+		long fingerprint = StationAccessCache
+				.fingerprintOf(network, stationAccess.maximumWalkTime(), stations);
+		stationAccess.loadWith(stations, fingerprint);
+		return stations.finder(this::search, stationAccess);
 	}
 
 	private ShortestPathSearch search(Map<Node, Station> targetNodes) {
 		VisumLinkFactory walkLinkFactory = new VisumWalkLinkFactory();
-		return DijkstraSearch.from(visumNetwork, walkLinkFactory, maximumDuration, walking,
-				targetsToResolve, targetNodes.keySet());
+		return DijkstraSearch.from(visumNetwork, walkLinkFactory, stationAccess.maximumWalkTime(),
+				walking, targetsToResolve, targetNodes.keySet());
 	}
 
 	@Override
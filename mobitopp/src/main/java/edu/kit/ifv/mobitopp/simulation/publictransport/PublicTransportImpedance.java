@@ -1,5 +1,9 @@
 package edu.kit.ifv.mobitopp.simulation.publictransport;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.data.ZoneId;
@@ -43,6 +47,30 @@ public class PublicTransportImpedance implements ImpedanceIfc {
 		return impedance.getPublicTransportRoute(source, target, mode, atTime);
 	}
 	
+	/**
+	 * Searches the arrivals by public transport at all targets with one search of the route search.
+	 */
+	@Override
+	public List<Optional<Time>> getPublicTransportArrivals(
+			Location source, List<Location> targets, Mode mode, Time atTime) {
+		if (!StandardMode.PUBLICTRANSPORT.equals(mode)) {
+			return impedance.getPublicTransportArrivals(source, targets, mode, atTime);
+		}
+		StationPaths fromStart = stationResolver.findReachableStations(source);
+		List<StationPaths> toEnds = targets
+				.stream()
+				.map(stationResolver::findReachableStations)
+				.collect(toList());
+		List<Optional<Time>> arrivals = new ArrayList<>(
+				fromStart.findArrivals(toEnds, atTime, viaRouteSearch));
+		for (int index = 0; index < targets.size(); index++) {
+			if (source.equals(targets.get(index))) {
+				arrivals.set(index, Optional.empty());
+			}
+		}
+		return arrivals;
+	}
+
 	@Override
 	public Optional<PublicTransportRoute> getPublicTransportRoute(
 			Stop start, Stop end, Mode mode, Time atTime) {
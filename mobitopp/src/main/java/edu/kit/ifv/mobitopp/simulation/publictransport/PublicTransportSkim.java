@@ -0,0 +1,47 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import java.util.Optional;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+
+/**
+ * Public transport travel times in minutes and numbers of transfers between all zones for the
+ * departures within one hour of the day. Numbers of transfers are only available, if they have
+ * been skimmed.
+ */
+public class PublicTransportSkim {
+
+	private final int hour;
+	private final TravelTimeMatrix travelTimes;
+	private final FloatMatrix transfers;
+
+	public PublicTransportSkim(int hour, TravelTimeMatrix travelTimes, FloatMatrix transfers) {
+		super();
+		this.hour = hour;
+		this.travelTimes = travelTimes;
+		this.transfers = transfers;
+	}
+
+	public PublicTransportSkim(int hour, TravelTimeMatrix travelTimes) {
+		this(hour, travelTimes, null);
+	}
+
+	public int hour() {
+		return hour;
+	}
+
+	public TravelTimeMatrix travelTimes() {
+		return travelTimes;
+	}
+
+	public Optional<FloatMatrix> transfers() {
+		return Optional.ofNullable(transfers);
+	}
+
+	@Override
+	public String toString() {
+		return "PublicTransportSkim [hour=" + hour + "]";
+	}
+
+}
@@ -0,0 +1,63 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+import edu.kit.ifv.mobitopp.data.DayType;
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates public transport skims of all hours of a day into a folder and writes them with a
+ * {@link PublicTransportSkimWriter}. Skims are only generated, if the folder does not contain a skim
+ * configuration yet. Delete the configuration to generate the skims again, e.g. after the timetable
+ * has changed.
+ */
+@Slf4j
+public class PublicTransportSkimGeneration {
+
+	private static final TimeSpan wholeDay = TimeSpan.between(0, 23);
+
+	private final File folder;
+	private final Time day;
+	private final RelativeTime departureInterval;
+	private final int workers;
+	private final boolean countTransfers;
+
+	public PublicTransportSkimGeneration(
+			File folder, Time day, RelativeTime departureInterval, int workers,
+			boolean countTransfers) {
+		super();
+		this.folder = folder;
+		this.day = day;
+		this.departureInterval = departureInterval;
+		this.workers = workers;
+		this.countTransfers = countTransfers;
+	}
+
+	public void generate(PublicTransportTimetable timetable, Collection<Zone> zones) {
+		PublicTransportSkimWriter writer = new PublicTransportSkimWriter(folder);
+		if (writer.configuration().exists()) {
+			log.info("Public transport skims already exist: " + writer.configuration());
+			return;
+		}
+		folder.mkdirs();
+		log.info("Generating public transport skims into " + folder);
+		List<PublicTransportSkim> skims = timetable
+				.createSkims(departureInterval, workers, countTransfers)
+				.skim(zones, day, wholeDay);
+		writer.write(skims, DayType.from(day));
+	}
+
+	@Override
+	public String toString() {
+		return "PublicTransportSkimGeneration [folder=" + folder + ", day=" + day
+				+ ", departureInterval=" + departureInterval + ", workers=" + workers
+				+ ", countTransfers=" + countTransfers + "]";
+	}
+
+}
@@ -0,0 +1,86 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+
+import edu.kit.ifv.mobitopp.data.DayType;
+import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfigurationSerialiser;
+import edu.kit.ifv.mobitopp.data.local.configuration.StoredMatrices;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.data.local.configuration.TravelTimeMatrixType;
+import edu.kit.ifv.mobitopp.util.dataexport.MatrixPrinter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes public transport skims as Visum matrices into a folder. Next to the matrices, a matrix
+ * configuration is written, which lists the travel time matrices per hour relative to the folder.
+ * Together with this configuration, the {@link edu.kit.ifv.mobitopp.data.local.MatrixRepository}
+ * loads the skimmed travel times like matrices exported from Visum. Transfer matrices are written
+ * alongside, if they have been skimmed, but are not part of the configuration.
+ */
+@Slf4j
+public class PublicTransportSkimWriter {
+
+	public static final String configurationName = "publictransport-matrices.yaml";
+
+	private final File folder;
+	private final MatrixPrinter printer;
+
+	public PublicTransportSkimWriter(File folder, MatrixPrinter printer) {
+		super();
+		this.folder = folder;
+		this.printer = printer;
+	}
+
+	public PublicTransportSkimWriter(File folder) {
+		this(folder, new MatrixPrinter());
+	}
+
+	public void write(Collection<PublicTransportSkim> skims, DayType dayType) {
+		StoredMatrices matrices = new StoredMatrices();
+		for (PublicTransportSkim skim : skims) {
+			String hour = Integer.toString(skim.hour());
+			String travelTimeName = travelTimeFileFor(skim.hour());
+			printer.writeMatrixToFile(skim.travelTimes(), hour, hour, new File(folder, travelTimeName));
+			skim
+					.transfers()
+					.ifPresent(transfers -> printer
+							.writeMatrixToFile(transfers, hour, hour,
+									new File(folder, transferFileFor(skim.hour()))));
+			matrices
+					.add(TravelTimeMatrixType.publictransport, dayType, new TimeSpan(skim.hour()),
+							travelTimeName);
+		}
+		writeConfiguration(matrices);
+	}
+
+	private void writeConfiguration(StoredMatrices matrices) {
+		File configuration = configuration();
+		try {
+			String serialised = new MatrixConfigurationSerialiser().serialise(matrices);
+			Files.write(configuration.toPath(), serialised.getBytes(UTF_8));
+			log.info("Wrote public transport skim configuration to " + configuration);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not write skim configuration: " + configuration, e),
+					log);
+		}
+	}
+
+	public File configuration() {
+		return new File(folder, configurationName);
+	}
+
+	static String travelTimeFileFor(int hour) {
+		return "publictransport_" + hour + ".mtx";
+	}
+
+	static String transferFileFor(int hour) {
+		return "publictransport_transfers_" + hour + ".mtx";
+	}
+
+}
@@ -0,0 +1,287 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.ConnectionScan;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.PublicTransportRoute;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.SearchOrigin;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.FootJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationFinder;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Skims travel times and numbers of transfers of public transport between all zones from the
+ * timetable. The centroid of a zone represents all locations of the zone. Per hour, the routes are
+ * searched for departures in a fixed interval starting at the full hour and the values are averaged
+ * over all departures having a route. Pairs of zones without any route in an hour get
+ * {@link #unreachable}.
+ *
+ * Travel times alone only need arrival times. They are searched for several origins departing at
+ * the same time together, see {@link RouteSearch#findArrivals(List, List)}. Counting transfers
+ * needs the routes, so the routes from one origin to all destinations are searched together, see
+ * {@link RouteSearch#findRoutes(StopPaths, List, Time)}. Origins are skimmed in parallel on a fixed
+ * number of workers.
+ */
+@Slf4j
+public class PublicTransportSkims {
+
+	public static final float unreachable = 999999.0f;
+	public static final RelativeTime defaultDepartureInterval = RelativeTime.ofMinutes(10);
+	private static final int progressSteps = 10;
+	private static final float secondsPerMinute = 60.0f;
+
+	private final RouteSearch routeSearch;
+	private final StationFinder stationFinder;
+	private final RelativeTime departureInterval;
+	private final int workers;
+	private final boolean countTransfers;
+
+	public PublicTransportSkims(
+			RouteSearch routeSearch, StationFinder stationFinder, RelativeTime departureInterval,
+			int workers, boolean countTransfers) {
+		super();
+		if (1 > workers) {
+			throw warn(new IllegalArgumentException("At least one worker is needed: " + workers), log);
+		}
+		if (0 >= departureInterval.seconds()
+				|| RelativeTime.ofHours(1).seconds() < departureInterval.seconds()) {
+			throw warn(new IllegalArgumentException(
+					"Departure interval must be between one second and one hour: " + departureInterval),
+					log);
+		}
+		this.routeSearch = routeSearch;
+		this.stationFinder = stationFinder;
+		this.departureInterval = departureInterval;
+		this.workers = workers;
+		this.countTransfers = countTransfers;
+	}
+
+	public PublicTransportSkims(RouteSearch routeSearch, StationFinder stationFinder) {
+		this(routeSearch, stationFinder, defaultDepartureInterval,
+				Runtime.getRuntime().availableProcessors(), true);
+	}
+
+	public PublicTransportSkim skim(Collection<Zone> zones, Time day, int hour) {
+		return skim(zones, day, new TimeSpan(hour)).get(0);
+	}
+
+	/**
+	 * Skims every hour of the given time span on the given day.
+	 *
+	 * @return one skim per hour in the order of the hours
+	 */
+	public List<PublicTransportSkim> skim(Collection<Zone> zones, Time day, TimeSpan hours) {
+		List<Zone> sortedZones = zones
+				.stream()
+				.sorted(Comparator.comparingInt(zone -> zone.getId().getMatrixColumn()))
+				.collect(toList());
+		List<ZoneId> ids = sortedZones.stream().map(Zone::getId).collect(toList());
+		List<StopPaths> paths = pathsOf(sortedZones);
+		List<PublicTransportSkim> skims = hours
+				.hours()
+				.map(hour -> newSkim(hour.getFrom(), ids))
+				.collect(toList());
+		Time startOfDay = day.startOfDay();
+		skimInParallel(ids, paths, skims, startOfDay);
+		return skims;
+	}
+
+	private PublicTransportSkim newSkim(int hour, List<ZoneId> ids) {
+		TravelTimeMatrix travelTimes = new TravelTimeMatrix(ids, unreachable);
+		if (countTransfers) {
+			return new PublicTransportSkim(hour, travelTimes, new FloatMatrix(ids, unreachable));
+		}
+		return new PublicTransportSkim(hour, travelTimes);
+	}
+
+	private List<StopPaths> pathsOf(List<Zone> zones) {
+		return zones
+				.parallelStream()
+				.map(zone -> stationFinder.findReachableStations(zone.centroidLocation()).pathsToStops())
+				.collect(toList());
+	}
+
+	private void skimInParallel(
+			List<ZoneId> ids, List<StopPaths> paths, List<PublicTransportSkim> skims, Time startOfDay) {
+		AtomicInteger skimmed = new AtomicInteger();
+		int logEvery = Math.max(1, ids.size() / progressSteps);
+		int originsPerTask = originsPerTask(ids.size());
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int first = 0; first < ids.size(); first += originsPerTask) {
+				int from = first;
+				int to = Math.min(ids.size(), first + originsPerTask);
+				tasks.add(executor.submit(() -> {
+					for (PublicTransportSkim skim : skims) {
+						skimRows(ids, paths, from, to, skim, startOfDay.plusHours(skim.hour()));
+					}
+					logProgress(skimmed.addAndGet(to - from), to - from, ids.size(), logEvery);
+				}));
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw warn(new RuntimeException("Skimming public transport has been interrupted.", e), log);
+		} catch (ExecutionException e) {
+			throw warn(new RuntimeException("Could not skim public transport.", e.getCause()), log);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Routes are searched per origin. Arrivals are searched for as many origins at once as one sweep
+	 * of the {@link ConnectionScan} handles, but leaving every worker something to do.
+	 */
+	private int originsPerTask(int origins) {
+		if (countTransfers) {
+			return 1;
+		}
+		int perWorker = (origins + workers - 1) / workers;
+		return Math.max(1, Math.min(ConnectionScan.maximumOriginsPerSweep, perWorker));
+	}
+
+	private void skimRows(
+			List<ZoneId> ids, List<StopPaths> paths, int first, int last, PublicTransportSkim skim,
+			Time hour) {
+		List<SkimRow> rows = new ArrayList<>(last - first);
+		for (int origin = first; origin < last; origin++) {
+			rows.add(new SkimRow(ids.size()));
+		}
+		Time nextHour = hour.plusHours(1);
+		for (Time departure = hour; departure.isBefore(nextHour); departure = departure
+				.plus(departureInterval)) {
+			if (countTransfers) {
+				searchRoutes(paths, first, rows, departure);
+			} else {
+				searchArrivals(paths, first, rows, departure);
+			}
+		}
+		for (int origin = first; origin < last; origin++) {
+			rows.get(origin - first).writeTo(skim, ids, ids.get(origin).getMatrixColumn());
+		}
+	}
+
+	private void searchRoutes(
+			List<StopPaths> paths, int first, List<SkimRow> rows, Time departure) {
+		for (int origin = 0; origin < rows.size(); origin++) {
+			List<Optional<PublicTransportRoute>> found = routeSearch
+					.findRoutes(paths.get(first + origin), paths, departure);
+			SkimRow row = rows.get(origin);
+			for (int destination = 0; destination < found.size(); destination++) {
+				if (found.get(destination).isPresent()) {
+					PublicTransportRoute route = found.get(destination).get();
+					row.add(destination, minutesBetween(departure, route.arrival()), transfersOf(route));
+				}
+			}
+		}
+	}
+
+	private void searchArrivals(
+			List<StopPaths> paths, int first, List<SkimRow> rows, Time departure) {
+		List<SearchOrigin> origins = paths
+				.subList(first, first + rows.size())
+				.stream()
+				.map(startStops -> SearchOrigin.from(startStops, departure))
+				.collect(toList());
+		List<List<Optional<Time>>> found = routeSearch.findArrivals(origins, paths);
+		for (int origin = 0; origin < rows.size(); origin++) {
+			List<Optional<Time>> arrivals = found.get(origin);
+			SkimRow row = rows.get(origin);
+			for (int destination = 0; destination < arrivals.size(); destination++) {
+				if (arrivals.get(destination).isPresent()) {
+					row.add(destination, minutesBetween(departure, arrivals.get(destination).get()), 0);
+				}
+			}
+		}
+	}
+
+	private static float minutesBetween(Time departure, Time arrival) {
+		return arrival.differenceTo(departure).seconds() / secondsPerMinute;
+	}
+
+	/**
+	 * Counts changes between vehicles. Walking between stops is not counted as an own leg.
+	 */
+	static int transfersOf(PublicTransportRoute route) {
+		int vehicles = 0;
+		Journey current = null;
+		for (Connection connection : route.connections()) {
+			Journey journey = connection.journey();
+			if (!FootJourney.footJourney.equals(journey) && !journey.equals(current)) {
+				vehicles++;
+				current = journey;
+			}
+		}
+		return Math.max(0, vehicles - 1);
+	}
+
+	private static void logProgress(int skimmed, int origins, int total, int logEvery) {
+		if (skimmed / logEvery != (skimmed - origins) / logEvery || skimmed == total) {
+			log.info("Skimmed public transport from origins: " + skimmed + " of " + total);
+		}
+	}
+
+	/**
+	 * Sums of travel times and transfers from one origin to all destinations over all departures
+	 * having a route.
+	 */
+	private static class SkimRow {
+
+		private final float[] minutes;
+		private final int[] transfers;
+		private final int[] routes;
+
+		SkimRow(int destinations) {
+			super();
+			minutes = new float[destinations];
+			transfers = new int[destinations];
+			routes = new int[destinations];
+		}
+
+		void add(int destination, float minutes, int transfers) {
+			this.minutes[destination] += minutes;
+			this.transfers[destination] += transfers;
+			this.routes[destination]++;
+		}
+
+		void writeTo(PublicTransportSkim skim, List<ZoneId> ids, int row) {
+			for (int destination = 0; destination < routes.length; destination++) {
+				if (0 < routes[destination]) {
+					int column = ids.get(destination).getMatrixColumn();
+					int found = routes[destination];
+					skim.travelTimes().setFloat(row, column, minutes[destination] / found);
+					float averageTransfers = (float) transfers[destination] / found;
+					skim.transfers().ifPresent(matrix -> matrix.setFloat(row, column, averageTransfers));
+				}
+			}
+		}
+	}
+
+}
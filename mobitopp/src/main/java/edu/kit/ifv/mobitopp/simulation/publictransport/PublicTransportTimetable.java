@@ -1,5 +1,6 @@
 package edu.kit.ifv.mobitopp.simulation.publictransport;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -11,6 +12,8 @@ import edu.kit.ifv.mobitopp.publictransport.model.ConnectionId;
 import edu.kit.ifv.mobitopp.publictransport.model.Connections;
 import edu.kit.ifv.mobitopp.publictransport.model.Station;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.raptor.Raptor;
+import edu.kit.ifv.mobitopp.publictransport.raptor.RaptorNetwork;
 import edu.kit.ifv.mobitopp.publictransport.serializer.JourneyProvider;
 import edu.kit.ifv.mobitopp.publictransport.serializer.Serializer;
 import edu.kit.ifv.mobitopp.simulation.Location;
@@ -22,7 +25,9 @@ import edu.kit.ifv.mobitopp.simulation.publictransport.model.StopPoints;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.Vehicles;
 import edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumStopResolver;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.ProfileConnectionScan;
+import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.ProfilePrecomputation;
 import edu.kit.ifv.mobitopp.simulation.publictransport.profilescan.Store;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
 
 public class PublicTransportTimetable implements StationFinder, Timetable {
 
@@ -66,12 +71,44 @@ public class PublicTransportTimetable implements StationFinder, Timetable {
 		return new ConnectionScan(transitNetwork);
 	}
 
+	/**
+	 * Creates a round based route search, which finds routes with at most the given number of
+	 * transfers.
+	 */
+	public Raptor createRaptor(int maximumTransfers) {
+		Collection<Stop> stops = stopPoints.stops();
+		RaptorNetwork network = RaptorNetwork.createOf(stops, connections);
+		return new Raptor(network, maximumTransfers);
+	}
+
+	/**
+	 * Creates a skim generator searching routes with the connection scan on this timetable.
+	 */
+	public PublicTransportSkims createSkims(
+			RelativeTime departureInterval, int workers, boolean countTransfers) {
+		return new PublicTransportSkims(createRouteScan(), this, departureInterval, workers,
+				countTransfers);
+	}
+
 	public RouteSearch createProfileScan(Store store) {
 		Collection<Stop> stops = stopPoints.stops();
 		Collection<Connection> prepared = connections.asCollection();
 		return ProfileConnectionScan.from(prepared, stops, store);
 	}
 
+	public RouteSearch createProfileScan(Store store, int workers, File checkpoint) {
+		Collection<Stop> stops = stopPoints.stops();
+		Collection<Connection> prepared = connections.asCollection();
+		return ProfileConnectionScan.from(prepared, stops, store, workers, checkpoint);
+	}
+
+	/**
+	 * @see ProfilePrecomputation#fingerprintOf(Collection, Collection)
+	 */
+	public long profileFingerprint() {
+		return ProfilePrecomputation.fingerprintOf(connections.asCollection(), stopPoints.stops());
+	}
+
 	public RouteSearch loadProfileScan(Store store) {
 		return new ProfileConnectionScan(store);
 	}
@@ -1,6 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation.publictransport;
 
 import java.util.Collection;
+import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.network.Node;
 import edu.kit.ifv.mobitopp.simulation.Location;
@@ -11,4 +12,14 @@ public interface ShortestPathSearch {
 
 	ShortestPathsToStations search(Location location, Collection<Node> targets);
 
+	/**
+	 * Identifies the node of the network at which searches from the given location start. Searches
+	 * from locations with the same access node have the same result.
+	 *
+	 * @return id of the access node or nothing, if the result depends on the location itself
+	 */
+	default Optional<String> accessNodeOf(Location location) {
+		return Optional.empty();
+	}
+
 }
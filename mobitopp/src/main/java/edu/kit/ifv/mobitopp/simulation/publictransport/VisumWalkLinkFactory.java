@@ -14,7 +14,7 @@ class VisumWalkLinkFactory implements VisumLinkFactory {
 		return new LinkFromVisumLink(link, from, to, link.length, travelTime);
 	}
 	
-	private int maxSpeed(VisumOrientedLink link) {
+	static int maxSpeed(VisumOrientedLink link) {
 		return link.attributes.walkSpeed != 0 ? link.attributes.walkSpeed
 				: link.linkType.attributes.walkSpeed;
 	}
@@ -0,0 +1,123 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static java.util.Comparator.comparing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.kit.ifv.mobitopp.visum.VisumConnector;
+import edu.kit.ifv.mobitopp.visum.VisumLink;
+import edu.kit.ifv.mobitopp.visum.VisumNetwork;
+import edu.kit.ifv.mobitopp.visum.VisumOrientedLink;
+import edu.kit.ifv.mobitopp.visum.VisumTransportSystem;
+import edu.kit.ifv.mobitopp.visum.VisumTransportSystemSet;
+
+/**
+ * Calculates the fingerprint of the parts of a network the search for reachable stations walks on.
+ * Links and connectors which cannot be used by any of the walking systems are left out, because
+ * the search does not use them either.
+ */
+class WalkingNetworkFingerprint {
+
+	private final List<VisumTransportSystem> walking;
+	private long fingerprint;
+
+	private WalkingNetworkFingerprint(List<VisumTransportSystem> walking) {
+		super();
+		this.walking = walking;
+		fingerprint = 17;
+	}
+
+	/**
+	 * The fingerprint covers the codes of the walking systems, the ids of all nodes, the id, nodes,
+	 * length, walking speed and walking systems of all walkable links and the zone, node, direction,
+	 * length, travel time and walking systems of all walkable connectors.
+	 */
+	static long of(VisumNetwork network, List<VisumTransportSystem> walking) {
+		WalkingNetworkFingerprint fingerprint = new WalkingNetworkFingerprint(walking);
+		fingerprint.addWalkingSystems();
+		fingerprint.addNodes(network.nodes.keySet());
+		fingerprint.addLinks(network.links.links);
+		fingerprint.addConnectors(network.connectors);
+		return fingerprint.fingerprint;
+	}
+
+	private void addWalkingSystems() {
+		List<String> codes = new ArrayList<>();
+		walking.forEach(system -> codes.add(system.code));
+		addAll(codes);
+	}
+
+	private void addNodes(Collection<Integer> nodeIds) {
+		List<Integer> sorted = new ArrayList<>(nodeIds);
+		Collections.sort(sorted);
+		sorted.forEach(this::add);
+	}
+
+	private void addLinks(Map<Integer, VisumLink> links) {
+		for (VisumLink link : new TreeMap<>(links).values()) {
+			add(link.linkA);
+			add(link.linkB);
+		}
+	}
+
+	private void add(VisumOrientedLink link) {
+		List<String> systems = walkingSystemsIn(link.transportSystems);
+		if (systems.isEmpty()) {
+			return;
+		}
+		add(link.id.hashCode());
+		add(link.from.id());
+		add(link.to.id());
+		add(Float.floatToIntBits(link.length));
+		add(VisumWalkLinkFactory.maxSpeed(link));
+		addAll(systems);
+	}
+
+	private void addConnectors(Map<Integer, List<VisumConnector>> connectors) {
+		for (List<VisumConnector> ofZone : new TreeMap<>(connectors).values()) {
+			List<VisumConnector> sorted = new ArrayList<>(ofZone);
+			sorted.sort(comparing(connector -> connector.id));
+			sorted.forEach(this::add);
+		}
+	}
+
+	private void add(VisumConnector connector) {
+		List<String> systems = walkingSystemsIn(connector.transportSystems);
+		if (systems.isEmpty()) {
+			return;
+		}
+		add(connector.zone.id);
+		add(connector.node.id());
+		add(connector.direction.ordinal());
+		add(Float.floatToIntBits(connector.length));
+		add(connector.travelTimeInSeconds);
+		addAll(systems);
+	}
+
+	private List<String> walkingSystemsIn(VisumTransportSystemSet transportSystems) {
+		List<String> codes = new ArrayList<>();
+		for (VisumTransportSystem system : walking) {
+			if (transportSystems.contains(system)) {
+				codes.add(system.code);
+			}
+		}
+		return codes;
+	}
+
+	private void addAll(List<String> codes) {
+		List<String> sorted = new ArrayList<>(codes);
+		Collections.sort(sorted);
+		add(sorted.size());
+		sorted.forEach(code -> add(code.hashCode()));
+	}
+
+	private void add(long value) {
+		fingerprint = 31 * fingerprint + value;
+	}
+
+}
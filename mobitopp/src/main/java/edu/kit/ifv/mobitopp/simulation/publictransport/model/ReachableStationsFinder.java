@@ -12,18 +12,38 @@ class ReachableStationsFinder implements StationFinder {
 
 	private final ShortestPathSearch search;
 	private final HashMap<Node, Station> stations;
+	private final StationAccessCache cache;
 
 	/**
 	 * Reachability of stations has to be configured in the implementation of {@link ShortestPathSearch}.
 	 */
 	ReachableStationsFinder(ShortestPathSearch search, HashMap<Node, Station> nodeToStation) {
+		this(search, nodeToStation, null);
+	}
+
+	/**
+	 * Results of locations with the same access node are taken from the given cache.
+	 */
+	ReachableStationsFinder(
+			ShortestPathSearch search, HashMap<Node, Station> nodeToStation, StationAccessCache cache) {
 		super();
 		this.search = search;
 		stations = nodeToStation;
+		this.cache = cache;
 	}
 
 	@Override
 	public StationPaths findReachableStations(Location location) {
+		if (null == cache) {
+			return searchFrom(location);
+		}
+		return search
+				.accessNodeOf(location)
+				.map(node -> cache.pathsFrom(node, () -> searchFrom(location)))
+				.orElseGet(() -> searchFrom(location));
+	}
+
+	private StationPaths searchFrom(Location location) {
 		ShortestPathsToStations result = search.search(location, stations.keySet());
 
 		return result.mapPathsToStations(stations);
@@ -0,0 +1,241 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.model;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Station;
+import edu.kit.ifv.mobitopp.publictransport.serializer.StationResolver;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the walking paths to reachable stations per access node of the network. Locations which
+ * are snapped to the same node share the result of a single shortest path search. When a file is
+ * given, the cache is loaded from and saved to this file, so later runs skip the searches of
+ * earlier runs. A saved cache is only used, when it has been built with the same maximum walking
+ * time and the same network and stations, see {@link #fingerprintOf(long, RelativeTime, Iterable)}.
+ * Otherwise, the paths are searched again and the file is replaced on the next save.
+ *
+ * <pre>
+ * int magic, int version, int maximum walking time in seconds, long fingerprint
+ * int number of nodes
+ * per node: UTF node id, int number of paths, per path: int station id, int seconds
+ * </pre>
+ */
+@Slf4j
+public class StationAccessCache {
+
+	private static final int magic = 0x4d505341;
+	private static final int version = 2;
+
+	private final RelativeTime maximumWalkTime;
+	private final Optional<File> file;
+	private final Map<String, StationPaths> paths;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private long fingerprint;
+
+	private StationAccessCache(RelativeTime maximumWalkTime, Optional<File> file) {
+		super();
+		this.maximumWalkTime = maximumWalkTime;
+		this.file = file;
+		paths = new ConcurrentHashMap<>();
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+		fingerprint = 0L;
+	}
+
+	public static StationAccessCache inMemory(RelativeTime maximumWalkTime) {
+		return new StationAccessCache(maximumWalkTime, Optional.empty());
+	}
+
+	public static StationAccessCache in(File file, RelativeTime maximumWalkTime) {
+		return new StationAccessCache(maximumWalkTime, Optional.of(file));
+	}
+
+	public boolean isPersistent() {
+		return file.isPresent();
+	}
+
+	/**
+	 * Calculates the fingerprint of the walking network, the maximum walking time and the stations a
+	 * cache has been built for. It covers the given fingerprint of the walking network, the maximum
+	 * walking time and the ids of all stations and their stops.
+	 *
+	 * @param network
+	 *          fingerprint of everything the search for reachable stations reads from the network
+	 */
+	public static long fingerprintOf(
+			long network, RelativeTime maximumWalkTime, Iterable<Station> stations) {
+		long fingerprint = 17;
+		fingerprint = 31 * fingerprint + network;
+		fingerprint = 31 * fingerprint + maximumWalkTime.seconds();
+		Map<Integer, Station> stationsById = new TreeMap<>();
+		stations.forEach(station -> stationsById.put(station.id(), station));
+		for (Station station : stationsById.values()) {
+			fingerprint = 31 * fingerprint + station.id();
+			List<Integer> stops = new ArrayList<>();
+			station.forEach(stop -> stops.add(stop.id()));
+			for (int stop : sorted(stops)) {
+				fingerprint = 31 * fingerprint + stop;
+			}
+		}
+		return fingerprint;
+	}
+
+	private static List<Integer> sorted(Collection<Integer> ids) {
+		List<Integer> sorted = new ArrayList<>(ids);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Loads the paths saved in the file of the cache. Nothing is loaded, when the file does not exist
+	 * or the paths have been built with another maximum walking time or for another network or other
+	 * stations. The given fingerprint is saved together with the paths.
+	 *
+	 * @param fingerprint
+	 *          see {@link #fingerprintOf(long, RelativeTime, Iterable)}
+	 */
+	public void loadWith(StationResolver stations, long fingerprint) {
+		this.fingerprint = fingerprint;
+		if (!file.isPresent() || !file.get().exists()) {
+			return;
+		}
+		File source = file.get();
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(source)))) {
+			if (magic != input.readInt() || version != input.readInt()) {
+				log.warn("Rebuild station access cache of unsupported format: " + source);
+				return;
+			}
+			int savedWalkTime = input.readInt();
+			if (savedWalkTime != maximumWalkTime.seconds()) {
+				log.warn("Ignore station access cache built with another maximum walking time: " + source);
+				return;
+			}
+			if (fingerprint != input.readLong()) {
+				log.warn("Rebuild station access cache built for another network or other stations: "
+						+ source);
+				return;
+			}
+			Map<String, StationPaths> loaded = read(input, stations);
+			if (null == loaded) {
+				log.warn("Rebuild station access cache containing unknown stations: " + source);
+				return;
+			}
+			paths.putAll(loaded);
+			log.info("Loaded station access of " + paths.size() + " nodes from " + source);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not read station access cache: " + source, e), log);
+		}
+	}
+
+	/**
+	 * @return the saved paths or {@code null}, if a station can not be resolved
+	 */
+	private Map<String, StationPaths> read(DataInputStream input, StationResolver stations)
+			throws IOException {
+		int numberOfNodes = input.readInt();
+		Map<String, StationPaths> loaded = new HashMap<>();
+		for (int node = 0; node < numberOfNodes; node++) {
+			String id = input.readUTF();
+			int numberOfPaths = input.readInt();
+			List<StationPath> toStations = new ArrayList<>(numberOfPaths);
+			for (int path = 0; path < numberOfPaths; path++) {
+				Station station = stations.getStation(input.readInt());
+				RelativeTime duration = RelativeTime.ofSeconds(input.readInt());
+				if (null == station) {
+					return null;
+				}
+				toStations.add(new StationPath(station, duration));
+			}
+			loaded.put(id, new StationPaths(toStations));
+		}
+		return loaded;
+	}
+
+	/**
+	 * Saves all cached paths to the file of the cache, if there is one.
+	 */
+	public void save() {
+		if (!file.isPresent()) {
+			return;
+		}
+		File target = file.get();
+		target.getAbsoluteFile().getParentFile().mkdirs();
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(target)))) {
+			output.writeInt(magic);
+			output.writeInt(version);
+			output.writeInt(maximumWalkTime.seconds());
+			output.writeLong(fingerprint);
+			Map<String, StationPaths> saved = Map.copyOf(paths);
+			output.writeInt(saved.size());
+			for (Map.Entry<String, StationPaths> entry : saved.entrySet()) {
+				output.writeUTF(entry.getKey());
+				List<StationPath> toStations = entry.getValue().paths();
+				output.writeInt(toStations.size());
+				for (StationPath path : toStations) {
+					output.writeInt(path.station().id());
+					output.writeInt(path.duration().seconds());
+				}
+			}
+			log.info("Saved station access of " + saved.size() + " nodes to " + target);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not write station access cache: " + target, e), log);
+		}
+	}
+
+	/**
+	 * Returns the cached paths from the access node, if available. Otherwise, the paths are searched
+	 * and cached.
+	 */
+	StationPaths pathsFrom(String accessNode, Supplier<StationPaths> search) {
+		StationPaths cached = paths.get(accessNode);
+		if (null != cached) {
+			hits.incrementAndGet();
+			return cached;
+		}
+		misses.incrementAndGet();
+		StationPaths searched = search.get();
+		StationPaths previous = paths.putIfAbsent(accessNode, searched);
+		return null == previous ? searched : previous;
+	}
+
+	public RelativeTime maximumWalkTime() {
+		return maximumWalkTime;
+	}
+
+	public int size() {
+		return paths.size();
+	}
+
+	public long hits() {
+		return hits.get();
+	}
+
+	public long misses() {
+		return misses.get();
+	}
+
+}
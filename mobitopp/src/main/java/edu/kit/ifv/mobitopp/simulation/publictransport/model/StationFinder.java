@@ -1,9 +1,19 @@
 package edu.kit.ifv.mobitopp.simulation.publictransport.model;
 
+import java.util.Collection;
+
 import edu.kit.ifv.mobitopp.simulation.Location;
 
 public interface StationFinder {
 
 	StationPaths findReachableStations(Location location);
 
+	/**
+	 * Finds the reachable stations of all given locations in advance, so finders caching their
+	 * results do not search them again later on.
+	 */
+	default void precompute(Collection<Location> locations) {
+		locations.parallelStream().forEach(this::findReachableStations);
+	}
+
 }
@@ -19,6 +19,14 @@ public class StationPath {
 		this.duration = duration;
 	}
 
+	Station station() {
+		return station;
+	}
+
+	RelativeTime duration() {
+		return duration;
+	}
+
 	Collection<StopPath> pathsToStops() {
 		ArrayList<StopPath> stops = new ArrayList<>();
 		station.forEach(stop -> stops.add(distanceTo(stop)));
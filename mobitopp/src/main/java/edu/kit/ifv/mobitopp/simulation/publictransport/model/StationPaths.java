@@ -2,6 +2,7 @@ package edu.kit.ifv.mobitopp.simulation.publictransport.model;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,7 +29,40 @@ public class StationPaths {
 		return Optional.empty();
 	}
 
-	private StopPaths pathsToStops() {
+	/**
+	 * Searches the arrival at each of the given ends with a single call of the route search.
+	 *
+	 * @return arrival times in the order of {@code toEnds}
+	 */
+	public List<Optional<Time>> findArrivals(
+			List<StationPaths> toEnds, Time atTime, RouteSearch routeSearch) {
+		List<Optional<Time>> arrivals = new ArrayList<>(toEnds.size());
+		List<StopPaths> reachableEnds = new ArrayList<>();
+		for (StationPaths toEnd : toEnds) {
+			arrivals.add(Optional.empty());
+			if (!toEnd.distances.isEmpty()) {
+				reachableEnds.add(toEnd.pathsToStops());
+			}
+		}
+		if (distances.isEmpty() || reachableEnds.isEmpty()) {
+			return arrivals;
+		}
+		List<Optional<Time>> reachableArrivals = routeSearch
+				.findArrivals(pathsToStops(), reachableEnds, atTime);
+		int reachable = 0;
+		for (int index = 0; index < toEnds.size(); index++) {
+			if (!toEnds.get(index).distances.isEmpty()) {
+				arrivals.set(index, reachableArrivals.get(reachable++));
+			}
+		}
+		return arrivals;
+	}
+
+	List<StationPath> paths() {
+		return distances;
+	}
+
+	public StopPaths pathsToStops() {
 		List<StopPath> paths = distances
 				.stream()
 				.flatMap(station -> station.pathsToStops().stream())
@@ -42,12 +42,27 @@ public class Stations implements StationResolver, Iterable<Station> {
 	}
 
 	public StationFinder finder(Function<Map<Node, Station>, ShortestPathSearch> factory) {
+		HashMap<Node, Station> inNodeToStation = nodeToStation();
+		return new ReachableStationsFinder(factory.apply(inNodeToStation), inNodeToStation);
+	}
+
+	/**
+	 * Creates a finder which searches stations only once per access node and keeps the result in
+	 * the given cache.
+	 */
+	public StationFinder finder(
+			Function<Map<Node, Station>, ShortestPathSearch> factory, StationAccessCache cache) {
+		HashMap<Node, Station> inNodeToStation = nodeToStation();
+		return new ReachableStationsFinder(factory.apply(inNodeToStation), inNodeToStation, cache);
+	}
+
+	private HashMap<Node, Station> nodeToStation() {
 		HashMap<Node, Station> inNodeToStation = new HashMap<>();
 		for (Station station : stations.values()) {
 			Consumer<Node> consumer = linkTo(station, inNodeToStation);
 			station.forEachNode(consumer);
 		}
-		return new ReachableStationsFinder(factory.apply(inNodeToStation), inNodeToStation);
+		return inNodeToStation;
 	}
 
 	private Consumer<Node> linkTo(Station station, HashMap<Node, Station> nodeToStation) {
@@ -6,119 +6,139 @@ import java.util.Optional;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Connection;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
 import edu.kit.ifv.mobitopp.time.Time;
 
+/**
+ * Arrival at the target per departure at a start stop. Entries are kept ordered by departure in
+ * {@link FunctionEntries}, so arrivals and connections are found by binary search.
+ */
 public class ArrivalTimeFunction {
 
-	private final List<FunctionEntry> entries;
+	private final FunctionEntries entries;
 
 	public ArrivalTimeFunction() {
-		super();
-		entries = new ArrayList<>();
+		this(new FunctionEntries());
+	}
+
+	/**
+	 * @param expectedSize number of entries to reserve space for, e.g. when reading a function
+	 */
+	ArrivalTimeFunction(int expectedSize) {
+		this(new FunctionEntries(expectedSize));
 	}
 
-	private FunctionEntry earliestEntry() {
-		return entries.get(0);
+	private ArrivalTimeFunction(FunctionEntries entries) {
+		super();
+		this.entries = entries;
 	}
 
 	public boolean update(FunctionEntry newEntry) {
+		int departure = seconds(newEntry.departure());
+		int arrival = seconds(newEntry.arrivalAtTarget());
 		if (entries.isEmpty()) {
-			addAsEarliest(newEntry);
+			entries.addFirst(departure, arrival, newEntry.connection());
 			return true;
 		}
-		if (willImprove(newEntry)) {
-			updateEarliestEntry(newEntry);
+		if (willImprove(departure, arrival)) {
+			updateEarliestEntry(departure, arrival, newEntry.connection());
 			return true;
 		}
 		return false;
 	}
 
-	private boolean willImprove(FunctionEntry newEntry) {
-		return hasLaterArrivalThan(newEntry.arrivalAtTarget()) || hasEarlierDepartureThan(newEntry);
+	private boolean willImprove(int departure, int arrival) {
+		return arrival < entries.arrival(0) || entries.departure(0) < departure;
 	}
 
 	boolean hasLaterArrivalThan(Time arrivalAtTarget) {
 		if (entries.isEmpty()) {
 			return true;
 		}
-		return arrivalAtTarget.isBefore(earliestEntry().arrivalAtTarget());
+		return seconds(arrivalAtTarget) < entries.arrival(0);
 	}
 
-	private boolean hasEarlierDepartureThan(FunctionEntry newEntry) {
-		return earliestEntry().departure().isBefore(newEntry.departure());
-	}
-
-	private void updateEarliestEntry(FunctionEntry newEntry) {
-		if (newEntry.departure().equals(earliestEntry().departure())) {
-			setAsEarliestEntry(newEntry);
+	private void updateEarliestEntry(int departure, int arrival, Connection connection) {
+		if (departure == entries.departure(0)) {
+			entries.set(0, departure, arrival, connection);
 			return;
 		}
-		addAsEarliest(newEntry);
-	}
-
-	private void setAsEarliestEntry(FunctionEntry newEntry) {
-		entries.set(0, newEntry);
-	}
-
-	private void addAsEarliest(FunctionEntry newEntry) {
-		entries.add(0, newEntry);
+		entries.addFirst(departure, arrival, connection);
 	}
 
 	public Optional<Time> arrivalFor(Time departure) {
-		if (noEntryMatches(departure)) {
+		int index = findEntryFor(departure);
+		if (noEntryMatches(index)) {
 			return Optional.empty();
 		}
-		FunctionEntry entry = findEntryFor(departure);
-		return Optional.of(entry.arrivalAtTarget());
-	}
-
-	private boolean noEntryMatches(Time departure) {
-		return entries.isEmpty() || departure.isAfter(latestEntry().departure());
+		return Optional.of(timeOf(entries.arrival(index)));
 	}
 
-	private FunctionEntry latestEntry() {
-		return entries.get(entries.size() - 1);
+	private boolean noEntryMatches(int index) {
+		return entries.size() == index;
 	}
 
-	private FunctionEntry findEntryFor(Time departure) {
-		for (FunctionEntry profileEntry : entries) {
-			if (departure.isBeforeOrEqualTo(profileEntry.departure())) {
-				return profileEntry;
-			}
-		}
-		return latestEntry();
+	private int findEntryFor(Time departure) {
+		return entries.indexOfEarliestDepartureFrom(seconds(departure));
 	}
 
 	ArrivalTimeFunction removeChangeTimeAt(Stop start) {
-		ArrivalTimeFunction clearedChangeTimes = new ArrivalTimeFunction();
-		for (FunctionEntry entry : entries) {
-			FunctionEntry entryWithoutChangeTime = entry.clearChangeTimeAt(start);
-			clearedChangeTimes.entries.add(entryWithoutChangeTime);
+		FunctionEntries clearedChangeTimes = new FunctionEntries(entries.size());
+		for (int index = 0; index < entries.size(); index++) {
+			Time withoutChangeTime = start.addChangeTimeTo(timeOf(entries.departure(index)));
+			clearedChangeTimes
+					.addLast(seconds(withoutChangeTime), entries.arrival(index), entries.connection(index));
 		}
-		return clearedChangeTimes;
+		return new ArrivalTimeFunction(clearedChangeTimes);
 	}
 
 	public Optional<Connection> connectionFor(Time departure) {
-		if (noEntryMatches(departure)) {
+		int index = findEntryFor(departure);
+		if (noEntryMatches(index)) {
 			return Optional.empty();
 		}
-		return Optional.of(findEntryFor(departure).connection());
+		return Optional.of(entries.connection(index));
 	}
 
 	public void forEach(ProfileWriter writer) {
-		for (FunctionEntry entry : entries) {
-			writer.write(entry);
+		for (int index = 0; index < entries.size(); index++) {
+			writer.write(entryAt(index));
 		}
 	}
 
+	private FunctionEntry entryAt(int index) {
+		return new FunctionEntry(timeOf(entries.departure(index)), timeOf(entries.arrival(index)),
+				entries.connection(index));
+	}
+
+	int departureAt(int index) {
+		return entries.departure(index);
+	}
+
+	int arrivalAt(int index) {
+		return entries.arrival(index);
+	}
+
+	Connection connectionAt(int index) {
+		return entries.connection(index);
+	}
+
 	public int size() {
 		return entries.size();
 	}
-	
+
 	public void addDeserialized(FunctionEntry entry) {
-		entries.add(entry);
+		addDeserialized(seconds(entry.departure()), seconds(entry.arrivalAtTarget()),
+				entry.connection());
+	}
+
+	/**
+	 * Appends an entry after the latest one. Entries must be added ordered by departure.
+	 */
+	void addDeserialized(int departure, int arrival, Connection connection) {
+		entries.addLast(departure, arrival, connection);
 	}
-	
+
 	public List<ArrivalTimeFunction> split(EntrySplitter splitter) {
 		List<ArrivalTimeFunction> parts = new ArrayList<>();
 		for (EntryAcceptor entryAcceptor : splitter.parts()) {
@@ -129,19 +149,28 @@ public class ArrivalTimeFunction {
 
 	private ArrivalTimeFunction functionFor(EntryAcceptor acceptor) {
 		ArrivalTimeFunction part = new ArrivalTimeFunction();
-		for (FunctionEntry entry : entries) {
+		for (int index = 0; index < entries.size(); index++) {
+			FunctionEntry entry = entryAt(index);
 			if (acceptor.isTooLate(entry)) {
-				part.entries.add(entry);
+				part.addDeserialized(entry);
 				break;
 			}
 			boolean accept = acceptor.accept(entry);
 			if (accept) {
-				part.entries.add(entry);
+				part.addDeserialized(entry);
 			}
 		}
 		return part;
 	}
-	
+
+	private static int seconds(Time time) {
+		return time.toSeconds();
+	}
+
+	private static Time timeOf(int seconds) {
+		return SimpleTime.ofSeconds(seconds);
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -174,7 +203,11 @@ public class ArrivalTimeFunction {
 
 	@Override
 	public String toString() {
-		return "Profile [entries=" + entries + "]";
+		List<FunctionEntry> printed = new ArrayList<>();
+		for (int index = 0; index < entries.size(); index++) {
+			printed.add(entryAt(index));
+		}
+		return "Profile [entries=" + printed + "]";
 	}
 
 }
@@ -0,0 +1,148 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import java.util.Arrays;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+
+/**
+ * Entries of an {@link ArrivalTimeFunction} ordered by departure. Departures and arrivals are kept
+ * in seconds in parallel arrays, so no objects are allocated per entry. The profile builder adds
+ * entries in front of the earliest entry and readers append entries after the latest one, so the
+ * arrays have free space at both ends.
+ */
+class FunctionEntries {
+
+	private static final int initialCapacity = 4;
+
+	private int[] departures;
+	private int[] arrivals;
+	private Connection[] connections;
+	private int first;
+	private int size;
+
+	FunctionEntries() {
+		this(0);
+	}
+
+	FunctionEntries(int capacity) {
+		super();
+		departures = new int[capacity];
+		arrivals = new int[capacity];
+		connections = new Connection[capacity];
+		first = 0;
+		size = 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return 0 == size;
+	}
+
+	int departure(int index) {
+		return departures[first + index];
+	}
+
+	int arrival(int index) {
+		return arrivals[first + index];
+	}
+
+	Connection connection(int index) {
+		return connections[first + index];
+	}
+
+	void set(int index, int departure, int arrival, Connection connection) {
+		departures[first + index] = departure;
+		arrivals[first + index] = arrival;
+		connections[first + index] = connection;
+	}
+
+	void addFirst(int departure, int arrival, Connection connection) {
+		if (0 == first) {
+			grow(true);
+		}
+		first--;
+		size++;
+		set(0, departure, arrival, connection);
+	}
+
+	void addLast(int departure, int arrival, Connection connection) {
+		if (first + size == departures.length) {
+			grow(false);
+		}
+		size++;
+		set(size - 1, departure, arrival, connection);
+	}
+
+	private void grow(boolean atFront) {
+		int capacity = Math.max(initialCapacity, 2 * size);
+		int newFirst = atFront ? capacity - size : 0;
+		departures = copy(departures, capacity, newFirst);
+		arrivals = copy(arrivals, capacity, newFirst);
+		Connection[] newConnections = new Connection[capacity];
+		System.arraycopy(connections, first, newConnections, newFirst, size);
+		connections = newConnections;
+		first = newFirst;
+	}
+
+	private int[] copy(int[] values, int capacity, int newFirst) {
+		int[] copy = new int[capacity];
+		System.arraycopy(values, first, copy, newFirst, size);
+		return copy;
+	}
+
+	/**
+	 * @return index of the earliest entry departing at or after the given departure or
+	 *         {@link #size()} if there is none
+	 */
+	int indexOfEarliestDepartureFrom(int departure) {
+		int low = first;
+		int high = first + size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (departures[middle] < departure) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low - first;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int index = first; index < first + size; index++) {
+			result = 31 * result + departures[index];
+			result = 31 * result + arrivals[index];
+		}
+		return result;
+	}
+
+	/**
+	 * Entries are equal, when their departures and arrivals are equal. The used connections are not
+	 * compared.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		FunctionEntries other = (FunctionEntries) obj;
+		return Arrays
+				.equals(departures, first, first + size, other.departures, other.first,
+						other.first + other.size)
+				&& Arrays
+						.equals(arrivals, first, first + size, other.arrivals, other.first,
+								other.first + other.size);
+	}
+
+}
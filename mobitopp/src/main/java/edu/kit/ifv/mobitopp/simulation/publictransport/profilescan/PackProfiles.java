@@ -0,0 +1,154 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static java.util.Comparator.comparing;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Packs a profile folder written by {@link StoreIn} into a single {@link ProfileArchive}. The
+ * profiles are copied byte by byte, so no timetable is needed for packing. The fingerprint of the
+ * archive is calculated from the checkpoint of the folder, if present. The archive is replaced
+ * atomically, so an interrupted run does not leave an incomplete archive.
+ */
+@Slf4j
+public class PackProfiles {
+
+	private static final Pattern profileFile = Pattern.compile("(\\d+)\\.bin");
+	private static final int headerSize = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+	private final File folder;
+
+	public PackProfiles(File folder) {
+		super();
+		this.folder = folder;
+	}
+
+	public void to(File archive) throws IOException {
+		List<String> validities = validities();
+		List<Entry> entries = entries(validities);
+		byte[] index = index(validities, entries);
+		File parent = archive.getAbsoluteFile().getParentFile();
+		parent.mkdirs();
+		Path temporary = Files.createTempFile(parent.toPath(), archive.getName(), ".tmp");
+		try {
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temporary.toFile())))) {
+				output.writeInt(ProfileArchive.magic);
+				output.writeInt(ProfileArchive.version);
+				output.writeLong(fingerprint());
+				output.writeLong(headerSize + index.length);
+				output.write(index);
+				for (Entry entry : entries) {
+					Files.copy(entry.file.toPath(), output);
+				}
+			}
+			Files.move(temporary, archive.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+		log.info("Packed " + entries.size() + " profiles into " + archive);
+	}
+
+	private long fingerprint() {
+		File checkpoint = new File(folder, ProfilePrecomputation.checkpointName);
+		if (checkpoint.exists()) {
+			return ProfileCheckpoint.fingerprintOf(checkpoint);
+		}
+		log.warn("No profile checkpoint in " + folder + ". The archive can not be checked against "
+				+ "the timetable.");
+		return ProfileArchive.unknownFingerprint;
+	}
+
+	private List<String> validities() {
+		File[] folders = folder.listFiles(File::isDirectory);
+		List<String> validities = new ArrayList<>();
+		if (null != folders) {
+			Arrays.stream(folders).map(File::getName).sorted().forEach(validities::add);
+		}
+		return validities;
+	}
+
+	private List<Entry> entries(List<String> validities) {
+		List<Entry> entries = new ArrayList<>();
+		for (int validity = 0; validity < validities.size(); validity++) {
+			File[] files = new File(folder, validities.get(validity)).listFiles(File::isFile);
+			if (null == files) {
+				continue;
+			}
+			for (File file : files) {
+				Matcher matcher = profileFile.matcher(file.getName());
+				if (matcher.matches()) {
+					int stop = Integer.parseInt(matcher.group(1));
+					entries.add(new Entry(ProfileArchive.keyOf(validity, stop), validity, stop, file));
+				}
+			}
+		}
+		entries.sort(comparing(entry -> entry.key));
+		return entries;
+	}
+
+	private static byte[] index(List<String> validities, List<Entry> entries) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream index = new DataOutputStream(bytes)) {
+			index.writeInt(validities.size());
+			for (String validity : validities) {
+				index.writeUTF(validity);
+			}
+			index.writeInt(entries.size());
+			long offset = 0;
+			for (Entry entry : entries) {
+				int length = Math.toIntExact(entry.file.length());
+				index.writeInt(entry.validity);
+				index.writeInt(entry.stop);
+				index.writeLong(offset);
+				index.writeInt(length);
+				offset += length;
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (1 > args.length || 2 < args.length) {
+			log.error("Usage: ... <profile folder> [<archive>]");
+			System.exit(1);
+		}
+		File folder = new File(args[0]);
+		File archive = 2 == args.length ? new File(args[1]) : new File(folder, ProfileArchive.fileName);
+		new PackProfiles(folder).to(archive);
+	}
+
+	private static class Entry {
+
+		private final long key;
+		private final int validity;
+		private final int stop;
+		private final File file;
+
+		private Entry(long key, int validity, int stop, File file) {
+			super();
+			this.key = key;
+			this.validity = validity;
+			this.stop = stop;
+			this.file = file;
+		}
+
+	}
+
+}
@@ -68,6 +68,17 @@ public class Profile {
 		return functions.size();
 	}
 
+	/**
+	 * @return number of entries of all arrival time functions of this profile
+	 */
+	public int numberOfEntries() {
+		int entries = 0;
+		for (ArrivalTimeFunction function : functions.values()) {
+			entries += function.size();
+		}
+		return entries;
+	}
+
 	public void saveTo(ProfileWriter writer) {
 		functions.forEach(writer::write);
 	}
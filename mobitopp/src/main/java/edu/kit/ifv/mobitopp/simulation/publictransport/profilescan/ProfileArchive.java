@@ -0,0 +1,229 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.simulation.publictransport.Timetable;
+import edu.kit.ifv.mobitopp.time.Time;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read only store of all profiles packed into a single file. The file starts with an index of all
+ * profiles by validity and target stop followed by the profiles in the format of
+ * {@link WriteBinary}. The profiles are read from memory mapped buffers, so the operating system
+ * keeps the used parts of the file in memory.
+ *
+ * Archives are created from profile folders written by {@link StoreIn} with {@link PackProfiles}.
+ * The fingerprint of the archive is taken from the checkpoint of the folder, see
+ * {@link ProfilePrecomputation#fingerprintOf}. It is {@link #unknownFingerprint}, if the folder
+ * has no checkpoint.
+ *
+ * <pre>
+ * int magic, int version, long fingerprint, long start of first profile
+ * int number of validities, per validity: UTF name
+ * int number of profiles, per profile: int validity, int stop, long offset, int length
+ * profiles sorted by validity and stop, offsets are relative to the first profile
+ * </pre>
+ */
+@Slf4j
+public class ProfileArchive implements Store {
+
+	public static final String fileName = "profiles.archive";
+	public static final long unknownFingerprint = 0L;
+	static final int magic = 0x4d505041;
+	static final int version = 2;
+	private static final int maximumSegmentSize = Integer.MAX_VALUE;
+
+	private final long fingerprint;
+	private final Timetable timetable;
+	private final EntrySplitter splitter;
+	private final Map<String, Integer> validities;
+	private final long[] keys;
+	private final int[] segmentOfProfile;
+	private final int[] positions;
+	private final int[] lengths;
+	private final ByteBuffer[] segments;
+
+	private ProfileArchive(
+			long fingerprint, Timetable timetable, EntrySplitter splitter,
+			Map<String, Integer> validities, long[] keys, int[] segmentOfProfile, int[] positions,
+			int[] lengths, ByteBuffer[] segments) {
+		super();
+		this.fingerprint = fingerprint;
+		this.timetable = timetable;
+		this.splitter = splitter;
+		this.validities = validities;
+		this.keys = keys;
+		this.segmentOfProfile = segmentOfProfile;
+		this.positions = positions;
+		this.lengths = lengths;
+		this.segments = segments;
+	}
+
+	public static ProfileArchive open(File archive, Timetable timetable, EntrySplitter splitter) {
+		return open(archive, timetable, splitter, maximumSegmentSize);
+	}
+
+	/**
+	 * @param segmentSize maximum size of a single memory mapped part of the archive
+	 */
+	static ProfileArchive open(
+			File archive, Timetable timetable, EntrySplitter splitter, int segmentSize) {
+		try {
+			return read(archive, timetable, splitter, segmentSize);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not open profile archive: " + archive, e), log);
+		}
+	}
+
+	/**
+	 * Reads only the fingerprint of the given archive.
+	 */
+	public static long fingerprintOf(File archive) {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(archive)))) {
+			return readFingerprint(input, archive);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not open profile archive: " + archive, e), log);
+		}
+	}
+
+	private static long readFingerprint(DataInputStream input, File archive) throws IOException {
+		if (magic != input.readInt() || version != input.readInt()) {
+			throw new IOException("Unsupported format of profile archive: " + archive);
+		}
+		return input.readLong();
+	}
+
+	private static ProfileArchive read(
+			File archive, Timetable timetable, EntrySplitter splitter, int segmentSize)
+			throws IOException {
+		Map<String, Integer> validities = new HashMap<>();
+		long[] keys;
+		long[] offsets;
+		int[] lengths;
+		long fingerprint;
+		long dataStart;
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(archive)))) {
+			fingerprint = readFingerprint(input, archive);
+			dataStart = input.readLong();
+			int numberOfValidities = input.readInt();
+			for (int validity = 0; validity < numberOfValidities; validity++) {
+				validities.put(input.readUTF(), validity);
+			}
+			int numberOfProfiles = input.readInt();
+			keys = new long[numberOfProfiles];
+			offsets = new long[numberOfProfiles];
+			lengths = new int[numberOfProfiles];
+			for (int profile = 0; profile < numberOfProfiles; profile++) {
+				int validity = input.readInt();
+				int stop = input.readInt();
+				keys[profile] = keyOf(validity, stop);
+				offsets[profile] = input.readLong();
+				lengths[profile] = input.readInt();
+			}
+		}
+		int[] segmentOfProfile = new int[keys.length];
+		int[] positions = new int[keys.length];
+		List<ByteBuffer> segments = new ArrayList<>();
+		try (RandomAccessFile file = new RandomAccessFile(archive, "r");
+				FileChannel channel = file.getChannel()) {
+			long segmentStart = 0;
+			long segmentEnd = 0;
+			for (int profile = 0; profile < keys.length; profile++) {
+				if (lengths[profile] > segmentSize) {
+					throw new IOException("Profile is larger than a segment: " + lengths[profile]);
+				}
+				if (offsets[profile] + lengths[profile] - segmentStart > segmentSize) {
+					segments.add(map(channel, dataStart + segmentStart, segmentEnd - segmentStart));
+					segmentStart = offsets[profile];
+				}
+				segmentEnd = Math.max(segmentEnd, offsets[profile] + lengths[profile]);
+				segmentOfProfile[profile] = segments.size();
+				positions[profile] = Math.toIntExact(offsets[profile] - segmentStart);
+			}
+			segments.add(map(channel, dataStart + segmentStart, segmentEnd - segmentStart));
+		}
+		return new ProfileArchive(fingerprint, timetable, splitter, validities, keys, segmentOfProfile,
+				positions, lengths, segments.toArray(new ByteBuffer[0]));
+	}
+
+	private static MappedByteBuffer map(FileChannel channel, long position, long size)
+			throws IOException {
+		return channel.map(MapMode.READ_ONLY, position, size);
+	}
+
+	static long keyOf(int validity, int stop) {
+		return ((long) validity << Integer.SIZE) | (stop & 0xffffffffL);
+	}
+
+	/**
+	 * The archive is read only. Profiles are saved with {@link StoreIn} and packed afterwards.
+	 */
+	@Override
+	public void save(Profile profile) {
+		throw warn(new UnsupportedOperationException("Profile archives can not be modified."), log);
+	}
+
+	@Override
+	public void remove(Stop target) {
+		throw warn(new UnsupportedOperationException("Profile archives can not be modified."), log);
+	}
+
+	@Override
+	public Profile profileTo(Stop target, Time time) {
+		Validity validity = splitter.validity(time);
+		Profile profile = new Profile(target, validity);
+		try (ProfileReader reader = from(target, validity)) {
+			profile.loadFrom(reader);
+		} catch (IOException e) {
+			warn(e, log);
+		}
+		return profile;
+	}
+
+	ProfileReader from(Stop target, Validity validity) {
+		Integer validityIndex = validities.get(validity.asFileName());
+		if (null == validityIndex) {
+			return ProfileReader.emptyReader();
+		}
+		int profile = Arrays.binarySearch(keys, keyOf(validityIndex, target.id()));
+		if (0 > profile) {
+			return ProfileReader.emptyReader();
+		}
+		ByteBuffer buffer = segments[segmentOfProfile[profile]].duplicate();
+		buffer.position(positions[profile]);
+		buffer.limit(positions[profile] + lengths[profile]);
+		return new ReadMapped(buffer, timetable);
+	}
+
+	public long fingerprint() {
+		return fingerprint;
+	}
+
+	int numberOfProfiles() {
+		return keys.length;
+	}
+
+	int numberOfSegments() {
+		return segments.length;
+	}
+
+}
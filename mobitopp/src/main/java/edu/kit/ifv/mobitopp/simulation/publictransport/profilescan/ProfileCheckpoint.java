@@ -0,0 +1,152 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers the fingerprints of all completely saved profiles. Each line of the checkpoint file
+ * contains the id of the target stop and the fingerprint of its profile. A line is written after
+ * the profile has been saved, so an interrupted precomputation knows which profiles are complete.
+ * Unreadable lines, e.g. a line cut off by an interruption, are ignored and the corresponding
+ * profile is built again. The file is replaced atomically when it is rewritten, so the progress of
+ * earlier runs is not lost, if the rewrite is interrupted.
+ */
+@Slf4j
+class ProfileCheckpoint implements AutoCloseable {
+
+	private static final String separator = ";";
+
+	private final Map<Integer, Long> saved;
+	private final Writer writer;
+
+	private ProfileCheckpoint(Map<Integer, Long> saved, Writer writer) {
+		super();
+		this.saved = saved;
+		this.writer = writer;
+	}
+
+	static ProfileCheckpoint none() {
+		return new ProfileCheckpoint(new HashMap<>(), null);
+	}
+
+	/**
+	 * Reads the profiles saved before and rewrites the file with the profiles still matching the
+	 * given fingerprints.
+	 */
+	static ProfileCheckpoint in(File file, Map<Stop, Long> fingerprints) {
+		try {
+			Map<Integer, Long> previous = read(file);
+			Map<Integer, Long> saved = new HashMap<>();
+			for (Map.Entry<Stop, Long> fingerprint : fingerprints.entrySet()) {
+				int stop = fingerprint.getKey().id();
+				if (fingerprint.getValue().equals(previous.get(stop))) {
+					saved.put(stop, fingerprint.getValue());
+				}
+			}
+			rewrite(file, saved);
+			Writer writer = new BufferedWriter(
+					new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+			return new ProfileCheckpoint(saved, writer);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not use profile checkpoint: " + file, e), log);
+		}
+	}
+
+	/**
+	 * @return fingerprint of all profiles saved according to the given checkpoint file, see
+	 *         {@link ProfileFingerprints#ofProfiles(Map)}
+	 */
+	static long fingerprintOf(File file) {
+		try {
+			return ProfileFingerprints.ofProfiles(read(file));
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not read profile checkpoint: " + file, e), log);
+		}
+	}
+
+	private static Map<Integer, Long> read(File file) throws IOException {
+		Map<Integer, Long> saved = new HashMap<>();
+		if (!file.exists()) {
+			return saved;
+		}
+		List<String> lines = Files.readAllLines(file.toPath(), UTF_8);
+		for (String line : lines) {
+			String[] parts = line.split(separator);
+			if (2 != parts.length) {
+				continue;
+			}
+			try {
+				saved.put(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+			} catch (NumberFormatException e) {
+				log.debug("Ignore line of profile checkpoint: " + line);
+			}
+		}
+		return saved;
+	}
+
+	private static void rewrite(File file, Map<Integer, Long> saved) throws IOException {
+		File folder = file.getAbsoluteFile().getParentFile();
+		folder.mkdirs();
+		Path temporary = Files.createTempFile(folder.toPath(), file.getName(), ".tmp");
+		try {
+			try (Writer writer = Files.newBufferedWriter(temporary, UTF_8)) {
+				for (Map.Entry<Integer, Long> entry : saved.entrySet()) {
+					writeLine(writer, entry.getKey(), entry.getValue());
+				}
+			}
+			Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private static void writeLine(Writer writer, int stop, long fingerprint) throws IOException {
+		writer.write(stop + separator + fingerprint);
+		writer.write(System.lineSeparator());
+	}
+
+	boolean isSaved(Stop target) {
+		return saved.containsKey(target.id());
+	}
+
+	int numberOfSaved() {
+		return saved.size();
+	}
+
+	synchronized void saved(Stop target, long fingerprint) {
+		if (null == writer) {
+			return;
+		}
+		try {
+			writeLine(writer, target.id(), fingerprint);
+			writer.flush();
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not write profile checkpoint.", e), log);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (null != writer) {
+			writer.close();
+		}
+	}
+
+}
@@ -3,6 +3,7 @@ package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 import static java.util.Collections.emptyList;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -29,8 +30,20 @@ public class ProfileConnectionScan implements RouteSearch {
 
 	public static ProfileConnectionScan from(
 			Collection<Connection> connections, Collection<Stop> stops, Store store) {
-		ProfileBuilder builder = ProfileBuilder.from(connections);
-		stops.parallelStream().map(builder::buildUpTo).forEach(store::save);
+		new ProfilePrecomputation(connections, store, ProfilePrecomputation.defaultWorkers())
+				.buildUpTo(stops);
+		return new ProfileConnectionScan(store);
+	}
+
+	/**
+	 * Builds only profiles missing or outdated according to the given checkpoint file.
+	 *
+	 * @see ProfilePrecomputation
+	 */
+	public static ProfileConnectionScan from(
+			Collection<Connection> connections, Collection<Stop> stops, Store store, int workers,
+			File checkpoint) {
+		new ProfilePrecomputation(connections, store, workers).buildUpTo(stops, checkpoint);
 		return new ProfileConnectionScan(store);
 	}
 
@@ -0,0 +1,230 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+
+/**
+ * Hashes of the parts of the timetable a profile depends on. The profile to a target only depends
+ * on connections and footpaths leading to stops from which the target can be reached. The
+ * fingerprint of a target sums up hashes of these connections, footpaths and stops. Changes of the
+ * timetable elsewhere do not change the fingerprint, so only affected profiles have to be built
+ * again.
+ *
+ * Stops of the same strongly connected component reach the same stops, so the fingerprint is
+ * calculated only once per component. Fingerprints are independent of the order of connections
+ * and stable between runs.
+ */
+class ProfileFingerprints {
+
+	private final Map<Stop, Integer> indices;
+	private final long[] stopHashes;
+	private final int[][] predecessors;
+	private final int[] components;
+	private final Map<Integer, Long> fingerprintOfComponent;
+	private final long timetable;
+
+	private ProfileFingerprints(
+			Map<Stop, Integer> indices, long[] stopHashes, int[][] predecessors, int[] components) {
+		super();
+		this.indices = indices;
+		this.stopHashes = stopHashes;
+		this.predecessors = predecessors;
+		this.components = components;
+		this.fingerprintOfComponent = new HashMap<>();
+		this.timetable = sumOf(stopHashes);
+	}
+
+	static ProfileFingerprints from(Collection<Connection> connections, Collection<Stop> stops) {
+		Map<Stop, Integer> indices = new HashMap<>();
+		for (Stop stop : stops) {
+			indices.putIfAbsent(stop, indices.size());
+		}
+		long[] stopHashes = new long[indices.size()];
+		List<Set<Integer>> predecessors = new ArrayList<>();
+		for (int stop = 0; stop < indices.size(); stop++) {
+			predecessors.add(new LinkedHashSet<>());
+		}
+		for (Map.Entry<Stop, Integer> entry : indices.entrySet()) {
+			Stop stop = entry.getKey();
+			stopHashes[entry.getValue()] += mix(stop.id(), stop.changeTime().seconds());
+			for (Stop neighbour : stop.neighbours()) {
+				Integer end = indices.get(neighbour);
+				if (null == end) {
+					continue;
+				}
+				int walkTime = stop.neighbours().walkTimeTo(neighbour).get().seconds();
+				stopHashes[end] += mix(stop.id(), neighbour.id(), walkTime);
+				predecessors.get(end).add(entry.getValue());
+			}
+		}
+		for (Connection connection : connections) {
+			Integer start = indices.get(connection.start());
+			Integer end = indices.get(connection.end());
+			if (null == start || null == end) {
+				continue;
+			}
+			stopHashes[end] += hashOf(connection);
+			predecessors.get(end).add(start);
+		}
+		int[][] predecessorArrays = new int[predecessors.size()][];
+		for (int stop = 0; stop < predecessorArrays.length; stop++) {
+			predecessorArrays[stop] = predecessors.get(stop).stream().mapToInt(Integer::intValue).toArray();
+		}
+		int[] components = componentsOf(predecessorArrays);
+		return new ProfileFingerprints(indices, stopHashes, predecessorArrays, components);
+	}
+
+	/**
+	 * Calculates the strongly connected components with an iterative version of Tarjan's
+	 * algorithm.
+	 *
+	 * @return component per node
+	 */
+	static int[] componentsOf(int[][] edges) {
+		int size = edges.length;
+		int[] order = new int[size];
+		int[] lowLink = new int[size];
+		int[] components = new int[size];
+		boolean[] onStack = new boolean[size];
+		int[] nextEdge = new int[size];
+		Arrays.fill(order, -1);
+		Deque<Integer> stack = new ArrayDeque<>();
+		Deque<Integer> path = new ArrayDeque<>();
+		int counter = 0;
+		int numberOfComponents = 0;
+		for (int root = 0; root < size; root++) {
+			if (-1 != order[root]) {
+				continue;
+			}
+			path.push(root);
+			while (!path.isEmpty()) {
+				int node = path.peek();
+				if (-1 == order[node]) {
+					order[node] = counter;
+					lowLink[node] = counter;
+					counter++;
+					stack.push(node);
+					onStack[node] = true;
+				}
+				if (nextEdge[node] < edges[node].length) {
+					int successor = edges[node][nextEdge[node]++];
+					if (-1 == order[successor]) {
+						path.push(successor);
+					} else if (onStack[successor]) {
+						lowLink[node] = Math.min(lowLink[node], order[successor]);
+					}
+					continue;
+				}
+				path.pop();
+				if (!path.isEmpty()) {
+					int parent = path.peek();
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+				}
+				if (lowLink[node] == order[node]) {
+					int member;
+					do {
+						member = stack.pop();
+						onStack[member] = false;
+						components[member] = numberOfComponents;
+					} while (member != node);
+					numberOfComponents++;
+				}
+			}
+		}
+		return components;
+	}
+
+	private static long hashOf(Connection connection) {
+		return mix(connection.id().asInteger(), connection.start().id(), connection.end().id(),
+				connection.departure().toSeconds(), connection.arrival().toSeconds(),
+				connection.journey().id());
+	}
+
+	private static long mix(long... values) {
+		long hash = 0x9e3779b97f4a7c15L;
+		for (long value : values) {
+			hash = scramble(hash ^ value);
+		}
+		return hash;
+	}
+
+	private static long scramble(long value) {
+		long z = value + 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long sumOf(long[] hashes) {
+		long sum = hashes.length;
+		for (long hash : hashes) {
+			sum += hash;
+		}
+		return scramble(sum);
+	}
+
+	/**
+	 * Combines the fingerprints of several profiles into one. The result does not depend on the
+	 * order of the profiles.
+	 *
+	 * @param fingerprintOfStop fingerprint of each profile by id of its target stop
+	 */
+	static long ofProfiles(Map<Integer, Long> fingerprintOfStop) {
+		long sum = fingerprintOfStop.size();
+		for (Map.Entry<Integer, Long> profile : fingerprintOfStop.entrySet()) {
+			sum += mix(profile.getKey(), profile.getValue());
+		}
+		return scramble(sum);
+	}
+
+	/**
+	 * @return fingerprint of the whole timetable
+	 */
+	long timetable() {
+		return timetable;
+	}
+
+	/**
+	 * Calculates the fingerprint of the profile to the given target. Not thread safe.
+	 */
+	long of(Stop target) {
+		Integer index = indices.get(target);
+		if (null == index) {
+			return mix(target.id());
+		}
+		return fingerprintOfComponent
+				.computeIfAbsent(components[index], component -> reachingStopsOf(index));
+	}
+
+	private long reachingStopsOf(int target) {
+		boolean[] visited = new boolean[stopHashes.length];
+		Deque<Integer> open = new ArrayDeque<>();
+		open.add(target);
+		visited[target] = true;
+		long[] reached = new long[stopHashes.length];
+		int numberOfReached = 0;
+		while (!open.isEmpty()) {
+			int stop = open.poll();
+			reached[numberOfReached++] = stopHashes[stop];
+			for (int predecessor : predecessors[stop]) {
+				if (!visited[predecessor]) {
+					visited[predecessor] = true;
+					open.add(predecessor);
+				}
+			}
+		}
+		return sumOf(Arrays.copyOf(reached, numberOfReached));
+	}
+
+}
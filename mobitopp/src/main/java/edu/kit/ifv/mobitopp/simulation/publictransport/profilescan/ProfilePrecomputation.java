@@ -0,0 +1,135 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds and saves the profiles to all target stops on a fixed number of workers. Each worker saves
+ * its profile before building the next one, so at most one profile per worker is kept in memory.
+ *
+ * When a checkpoint file is given, only profiles not saved before or depending on changed parts of
+ * the timetable are built. This resumes interrupted runs and rebuilds only the affected profiles
+ * after a change of the timetable. See {@link ProfileFingerprints}.
+ */
+@Slf4j
+public class ProfilePrecomputation {
+
+	public static final String checkpointName = "profiles.checkpoint";
+	private static final int progressSteps = 100;
+
+	private final Collection<Connection> connections;
+	private final Store store;
+	private final int workers;
+
+	public ProfilePrecomputation(Collection<Connection> connections, Store store, int workers) {
+		super();
+		if (1 > workers) {
+			throw warn(new IllegalArgumentException("At least one worker is needed: " + workers), log);
+		}
+		this.connections = connections;
+		this.store = store;
+		this.workers = workers;
+	}
+
+	public static int defaultWorkers() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	public void buildUpTo(Collection<Stop> targets) {
+		build(targets, ProfileCheckpoint.none(), new HashMap<>());
+	}
+
+	/**
+	 * Builds all profiles which are missing or outdated according to the given checkpoint file.
+	 */
+	public void buildUpTo(Collection<Stop> targets, File checkpointFile) {
+		Map<Stop, Long> fingerprintOfTarget = fingerprintsOf(connections, targets);
+		try (ProfileCheckpoint checkpoint = ProfileCheckpoint.in(checkpointFile, fingerprintOfTarget)) {
+			log.info("Profiles up to date: " + checkpoint.numberOfSaved() + " of " + targets.size());
+			build(targets, checkpoint, fingerprintOfTarget);
+		} catch (IOException e) {
+			throw warn(new RuntimeException("Could not close profile checkpoint.", e), log);
+		}
+	}
+
+	/**
+	 * Fingerprint of the profiles to all given targets. A {@link ProfileArchive} packed after these
+	 * profiles have been built with a checkpoint file has the same fingerprint.
+	 */
+	public static long fingerprintOf(Collection<Connection> connections, Collection<Stop> targets) {
+		Map<Integer, Long> fingerprintOfStop = new HashMap<>();
+		for (Map.Entry<Stop, Long> target : fingerprintsOf(connections, targets).entrySet()) {
+			fingerprintOfStop.put(target.getKey().id(), target.getValue());
+		}
+		return ProfileFingerprints.ofProfiles(fingerprintOfStop);
+	}
+
+	private static Map<Stop, Long> fingerprintsOf(
+			Collection<Connection> connections, Collection<Stop> targets) {
+		ProfileFingerprints fingerprints = ProfileFingerprints.from(connections, targets);
+		Map<Stop, Long> fingerprintOfTarget = new HashMap<>();
+		for (Stop target : targets) {
+			fingerprintOfTarget.put(target, fingerprints.of(target));
+		}
+		return fingerprintOfTarget;
+	}
+
+	private void build(
+			Collection<Stop> targets, ProfileCheckpoint checkpoint, Map<Stop, Long> fingerprints) {
+		List<Stop> missing = new ArrayList<>();
+		for (Stop target : targets) {
+			if (!checkpoint.isSaved(target)) {
+				missing.add(target);
+			}
+		}
+		ProfileBuilder builder = ProfileBuilder.from(connections);
+		AtomicInteger built = new AtomicInteger();
+		int logEvery = Math.max(1, missing.size() / progressSteps);
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (Stop target : missing) {
+				tasks.add(executor.submit(() -> {
+					Profile profile = builder.buildUpTo(target);
+					store.remove(target);
+					store.save(profile);
+					checkpoint.saved(target, fingerprints.getOrDefault(target, 0L));
+					logProgress(built.incrementAndGet(), missing.size(), logEvery);
+				}));
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw warn(new RuntimeException("Building profiles has been interrupted.", e), log);
+		} catch (ExecutionException e) {
+			throw warn(new RuntimeException("Could not build profile.", e.getCause()), log);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void logProgress(int built, int total, int logEvery) {
+		if (0 == built % logEvery || built == total) {
+			log.info("Built profiles: " + built + " of " + total);
+		}
+	}
+
+}
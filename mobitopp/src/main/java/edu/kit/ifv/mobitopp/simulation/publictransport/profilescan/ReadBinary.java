@@ -1,5 +1,6 @@
 package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -10,8 +11,6 @@ import edu.kit.ifv.mobitopp.publictransport.model.Connection;
 import edu.kit.ifv.mobitopp.publictransport.model.ConnectionId;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.simulation.publictransport.Timetable;
-import edu.kit.ifv.mobitopp.time.SimpleTime;
-import edu.kit.ifv.mobitopp.time.Time;
 
 public class ReadBinary implements ProfileReader {
 
@@ -25,7 +24,7 @@ public class ReadBinary implements ProfileReader {
 	}
 
 	public static ProfileReader from(File file, Timetable timetable) throws FileNotFoundException {
-		return new ReadBinary(new DataInputStream(new FileInputStream(file)), timetable);
+		return new ReadBinary(new DataInputStream(new BufferedInputStream(new FileInputStream(file))), timetable);
 	}
 
 	@Override
@@ -44,14 +43,13 @@ public class ReadBinary implements ProfileReader {
 
 	@Override
 	public ArrivalTimeFunction readFunction() throws IOException {
-		ArrivalTimeFunction arrivalFunction = newFunction();
 		int numberOfEntries = input.readInt();
+		ArrivalTimeFunction arrivalFunction = newFunction(numberOfEntries);
 		for (int current = 0; current < numberOfEntries; current++) {
-			Time departure = nextTime();
-			Time arrival = nextTime();
+			int departure = input.readInt();
+			int arrival = input.readInt();
 			Connection connection = nextConnection();
-			FunctionEntry entry = new FunctionEntry(departure, arrival, connection);
-			arrivalFunction.addDeserialized(entry);
+			arrivalFunction.addDeserialized(departure, arrival, connection);
 		}
 		return arrivalFunction;
 	}
@@ -60,12 +58,8 @@ public class ReadBinary implements ProfileReader {
 		return timetable.connectionFor(ConnectionId.of(input.readInt()));
 	}
 
-	private Time nextTime() throws IOException {
-		return SimpleTime.ofSeconds(input.readInt());
-	}
-
-	ArrivalTimeFunction newFunction() {
-		return new ArrivalTimeFunction();
+	ArrivalTimeFunction newFunction(int numberOfEntries) {
+		return new ArrivalTimeFunction(numberOfEntries);
 	}
 
 	@Override
@@ -0,0 +1,56 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import java.nio.ByteBuffer;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.ConnectionId;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.simulation.publictransport.Timetable;
+
+/**
+ * Reads a profile in the format of {@link WriteBinary} from a buffer, e.g. a part of a memory
+ * mapped {@link ProfileArchive}. The buffer is read from its position to its limit.
+ */
+public class ReadMapped implements ProfileReader {
+
+	private final Timetable timetable;
+	private final ByteBuffer input;
+
+	public ReadMapped(ByteBuffer input, Timetable timetable) {
+		super();
+		this.input = input;
+		this.timetable = timetable;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public Stop readStop() {
+		return timetable.stopFor(input.getInt());
+	}
+
+	@Override
+	public ArrivalTimeFunction readFunction() {
+		int numberOfEntries = input.getInt();
+		ArrivalTimeFunction arrivalFunction = new ArrivalTimeFunction(numberOfEntries);
+		for (int current = 0; current < numberOfEntries; current++) {
+			int departure = input.getInt();
+			int arrival = input.getInt();
+			Connection connection = nextConnection();
+			arrivalFunction.addDeserialized(departure, arrival, connection);
+		}
+		return arrivalFunction;
+	}
+
+	private Connection nextConnection() {
+		return timetable.connectionFor(ConnectionId.of(input.getInt()));
+	}
+
+	@Override
+	public boolean next() {
+		return input.hasRemaining();
+	}
+
+}
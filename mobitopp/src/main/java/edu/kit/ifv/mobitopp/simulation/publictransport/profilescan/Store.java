@@ -21,4 +21,10 @@ public interface Store {
 
 	Profile profileTo(Stop target, Time time);
 
+	/**
+	 * Removes all saved parts of the profile to the given target, before the profile is replaced.
+	 */
+	default void remove(Stop target) {
+	}
+
 }
@@ -6,6 +6,7 @@ import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,14 +44,29 @@ public class StoreIn implements Store {
 			saveSingle(part);
 		}
 		int profiles = savedProfiles.incrementAndGet();
-		log.info(LocalDateTime.now() + "Profiles: " + profiles);
+		log.debug(LocalDateTime.now() + "Profiles: " + profiles);
+	}
+
+	@Override
+	public void remove(Stop target) {
+		File[] validities = output.listFiles(File::isDirectory);
+		if (null == validities) {
+			return;
+		}
+		for (File validity : validities) {
+			File file = new File(validity, target.id() + ".bin");
+			if (file.exists() && !file.delete()) {
+				log.warn("Could not delete outdated profile: " + file);
+			}
+		}
 	}
 
 	private void saveSingle(Profile profile) {
 		try (ProfileWriter stream = to(profile)) {
 			profile.saveTo(stream);
 		} catch (IOException e) {
-			warn(e, log);
+			throw warn(new UncheckedIOException("Could not save profile to: " + profile.target(), e),
+					log);
 		}
 	}
 
@@ -2,6 +2,7 @@ package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
 
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -22,7 +23,7 @@ public class WriteBinary implements ProfileWriter {
 	}
 
 	public static ProfileWriter to(File file) throws IOException {
-		return new WriteBinary(new DataOutputStream(new FileOutputStream(file)));
+		return new WriteBinary(new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))));
 	}
 
 	@Override
@@ -35,7 +36,11 @@ public class WriteBinary implements ProfileWriter {
 		try {
 			output.writeInt(stop.id());
 			output.writeInt(function.size());
-			function.forEach(this);
+			for (int index = 0; index < function.size(); index++) {
+				output.writeInt(function.departureAt(index));
+				output.writeInt(function.arrivalAt(index));
+				output.writeInt(function.connectionAt(index).id().asInteger());
+			}
 		} catch (IOException e) {
 			throw warn(new RuntimeException(e), log);
 		}
@@ -12,7 +12,7 @@ import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
 import edu.kit.ifv.mobitopp.simulation.Mode;
 import edu.kit.ifv.mobitopp.simulation.Person;
 import edu.kit.ifv.mobitopp.simulation.StandardChoiceSet;
-import edu.kit.ifv.mobitopp.util.logit.LinearUtilityFunction;
+import edu.kit.ifv.mobitopp.util.logit.CoefficientMatrix;
 
 public class DefaultTourModeChoiceUtilityFunction
 	implements TourModeChoiceUtilityFunction
@@ -22,10 +22,14 @@ public class DefaultTourModeChoiceUtilityFunction
 
 	private final ImpedanceIfc impedance;
 
-	private final Map<Mode,LinearUtilityFunction> modeUtilityFunctions;
+	private final CoefficientMatrix<Mode> coefficients;
 
 	private final Collection<Mode> modes;
 
+	private final int numberOfAttributes;
+
+	private final ThreadLocal<double[][]> attributeBuffer;
+
 	public DefaultTourModeChoiceUtilityFunction(
 		TourModeChoiceParameter modeChoiceParameter, 
 		ImpedanceIfc impedance
@@ -36,25 +40,35 @@ public class DefaultTourModeChoiceUtilityFunction
 
 		this.modes = Collections.unmodifiableCollection(StandardChoiceSet.CHOICE_SET_FULL);
 
-		this.modeUtilityFunctions = Collections.unmodifiableMap(makeUtilityFunctions(this.parameter));
+		this.coefficients = makeCoefficients(this.parameter);
+		this.numberOfAttributes = this.parameter.attributeNames().size();
+		this.attributeBuffer = ThreadLocal.withInitial(() -> new double[modes.size()][numberOfAttributes]);
 	}
 
 
 	
-	private Map<Mode,LinearUtilityFunction> makeUtilityFunctions(
+	private CoefficientMatrix<Mode> makeCoefficients(
 		TourModeChoiceParameter parameter
 	) {
 
-		Map<Mode,LinearUtilityFunction> utilityFunctions = new LinkedHashMap<Mode,LinearUtilityFunction>();
+		Map<Mode,Map<String,Double>> parameters = new LinkedHashMap<Mode,Map<String,Double>>();
 
 		for (Mode mode : modes) {
 
-			utilityFunctions.put(mode,	new LinearUtilityFunction(parameter.parameterForMode(mode)));
+			parameters.put(mode,	parameter.parameterForMode(mode));
 		}
 
-		return utilityFunctions;
+		return CoefficientMatrix.compile(parameters, parameter.attributeNames());
 	}
 
+	private double[][] attributeBuffer(int numberOfModes) {
+		double[][] attributes = attributeBuffer.get();
+		if (attributes.length < numberOfModes) {
+			attributes = new double[numberOfModes][numberOfAttributes];
+			attributeBuffer.set(attributes);
+		}
+		return attributes;
+	}
 
 
 
@@ -71,22 +85,16 @@ public class DefaultTourModeChoiceUtilityFunction
 
 		Map<Mode,Double> utilities = new LinkedHashMap<Mode, Double>(); 
 
-		Map<Mode,Map<String,Double>> attributes = this.parameter.gatherAttributes(
-																						modes, tour, person, preferences, impedance
-																		);
-		
-		assert attributes != null : modes;
+		double[][] attributes = attributeBuffer(modes.size());
+		this.parameter.extractAttributes(modes, tour, person, preferences, impedance, attributes);
 
+		int row = 0;
 		for (Mode mode : modes) {
 
-			assert modeUtilityFunctions.containsKey(mode);
-			assert attributes.containsKey(mode);
-
-			LinearUtilityFunction utilityFunction = modeUtilityFunctions.get(mode);
-
-			Double u = utilityFunction.calculateUtility(attributes.get(mode));
+			double u = coefficients.utility(mode, attributes[row]);
 
 			utilities.put(mode, u);
+			row++;
 		}
 		// System.out.println(utilities);
 
@@ -0,0 +1,72 @@
+package edu.kit.ifv.mobitopp.simulation.tour;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
+import edu.kit.ifv.mobitopp.simulation.Mode;
+import edu.kit.ifv.mobitopp.simulation.Person;
+
+/**
+ * Extracts the attributes of a tour for the mode choice. Each attribute has a fixed index given by
+ * its position in {@link #attributeNames()}. The attributes of a mode are written into a
+ * {@code double} array at these indices, so no maps have to be built per tour.
+ */
+public interface ModeChoiceAttributeExtractor {
+
+	/**
+	 * Names of all extracted attributes. The position of a name is the index of the attribute.
+	 */
+	List<String> attributeNames();
+
+	/**
+	 * Writes the attributes of every mode into {@code attributes}. The attributes of the i-th mode in
+	 * iteration order of {@code modes} are written into {@code attributes[i]}. Attributes without a
+	 * value, e.g. the preference of a mode missing in {@code preferences}, are written as
+	 * {@link Double#NaN}.
+	 *
+	 * @param attributes buffer with at least one row per mode. Each row must have at least as many
+	 *                   elements as there are {@link #attributeNames() attributes}.
+	 */
+	void extractAttributes(
+		Set<Mode> modes,
+		Tour tour,
+		Person person,
+		Map<Mode, Double> preferences,
+		ImpedanceIfc impedance,
+		double[][] attributes
+	);
+
+	/**
+	 * Collects the attributes of every mode by name. Attributes without a value are {@code null}.
+	 *
+	 * @see #extractAttributes(Set, Tour, Person, Map, ImpedanceIfc, double[][])
+	 */
+	default Map<Mode, Map<String, Double>> gatherAttributes(
+		Set<Mode> modes,
+		Tour tour,
+		Person person,
+		Map<Mode, Double> preferences,
+		ImpedanceIfc impedance
+	) {
+		List<String> names = attributeNames();
+		double[][] attributes = new double[modes.size()][names.size()];
+		extractAttributes(modes, tour, person, preferences, impedance, attributes);
+
+		Map<Mode, Map<String, Double>> modeAttributes = new LinkedHashMap<Mode, Map<String, Double>>();
+		int row = 0;
+		for (Mode mode : modes) {
+			Map<String, Double> values = new LinkedHashMap<String, Double>();
+			for (int index = 0; index < names.size(); index++) {
+				double value = attributes[row][index];
+				values.put(names.get(index), Double.isNaN(value) ? null : value);
+			}
+			modeAttributes.put(mode, values);
+			row++;
+		}
+		return modeAttributes;
+	}
+
+}
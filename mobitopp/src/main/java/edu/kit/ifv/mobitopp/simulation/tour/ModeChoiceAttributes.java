@@ -1,7 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation.tour;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,313 +20,519 @@ import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
 import edu.kit.ifv.mobitopp.time.DayOfWeek;
 import edu.kit.ifv.mobitopp.time.Time;
 
-public class ModeChoiceAttributes {
+public class ModeChoiceAttributes implements ModeChoiceAttributeExtractor {
 
-	protected final List<String> compound =  Arrays.asList(new String[] {
+	private static final String[] compound = {
 		//																					"TIME", "SQRT_TIME", "COST", "SQRT_COST"
 																							"TIME", "COST"
-			});
+			};
+
+	private static final String[] employmentNames = {
+			"EMPLOYMENT_EDUCATION",
+			"EMPLOYMENT_FULLTIME",
+			"EMPLOYMENT_INFANT",
+			"EMPLOYMENT_UNEMPLOYED",
+			"EMPLOYMENT_NONE",
+			"EMPLOYMENT_HOMEKEEPER",
+			"EMPLOYMENT_PARTTIME",
+			"EMPLOYMENT_MARGINAL",
+			"EMPLOYMENT_RETIRED",
+			"EMPLOYMENT_STUDENT_PRIMARY",
+			"EMPLOYMENT_STUDENT_SECONDARY",
+			"EMPLOYMENT_STUDENT_TERTIARY"
+	};
+	private static final Employment[] employments = {
+			Employment.EDUCATION,
+			Employment.FULLTIME,
+			Employment.INFANT,
+			Employment.UNEMPLOYED,
+			Employment.NONE,
+			Employment.HOMEKEEPER,
+			Employment.PARTTIME,
+			Employment.MARGINAL,
+			Employment.RETIRED,
+			Employment.STUDENT_PRIMARY,
+			Employment.STUDENT_SECONDARY,
+			Employment.STUDENT_TERTIARY
+	};
+
+	private static final String[] ageNames = {
+			"AGE_0TO9",
+			"AGE_10TO17",
+			"AGE_18TO25",
+			"AGE_26TO35",
+			"AGE_36TO50",
+			"AGE_51TO60",
+			"AGE_61TO70",
+			"AGE_71PLUS"
+	};
+
+	private static final String[] hhtypeNames = {
+			"HHTYPE_SINGLE",
+			"HHTYPE_COUPLE",
+			"HHTYPE_KIDS0TO7",
+			"HHTYPE_KIDS8TO12",
+			"HHTYPE_KIDS13PLUS",
+			"HHTYPE_MULTIADULT"
+	};
+	private static final HouseholdType[] hhtypes = {
+			HouseholdType.SINGLE,
+			HouseholdType.COUPLE,
+			HouseholdType.KIDS0TO7,
+			HouseholdType.KIDS8TO12,
+			HouseholdType.KIDS13PLUS,
+			HouseholdType.MULTIADULT
+	};
+
+	private static final String[][] compoundEmploymentNames = compoundNames(employmentNames);
+	private static final String[][] compoundAgeNames = compoundNames(ageNames);
+	private static final String[][] compoundHhtypeNames = compoundNames(hhtypeNames);
+
+	private static final List<String> attributeNames = collectAttributeNames();
+	private static final int numberOfTourAttributes = countTourAttributes();
 
 	public ModeChoiceAttributes() {
 		super();
 	}
 
-	public Map<Mode, Map<String, Double>> gatherAttributes(
-		Set<Mode> modes, 
-		Tour tour, 
-		Person person, 
-		Map<Mode, Double> preferences, 
-		ImpedanceIfc impedance
+	private static String[][] compoundNames(String[] names) {
+		String[][] compoundNames = new String[names.length][compound.length];
+		for (int name = 0; name < names.length; name++) {
+			for (int pre = 0; pre < compound.length; pre++) {
+				compoundNames[name][pre] = compound[pre] + ":" + names[name];
+			}
+		}
+		return compoundNames;
+	}
+
+	private static List<String> collectAttributeNames() {
+		List<String> names = new ArrayList<>();
+		AttributeSink sink = (name, value) -> names.add(name);
+		writeTourAttributes(sink, TourValues.names);
+		writeModeAttributes(sink, ModeValues.names);
+		return Collections.unmodifiableList(names);
+	}
+
+	private static int countTourAttributes() {
+		int[] count = new int[1];
+		writeTourAttributes((name, value) -> count[0]++, TourValues.names);
+		return count[0];
+	}
+
+	@Override
+	public List<String> attributeNames() {
+		return attributeNames;
+	}
+
+	@Override
+	public void extractAttributes(
+		Set<Mode> modes,
+		Tour tour,
+		Person person,
+		Map<Mode, Double> preferences,
+		ImpedanceIfc impedance,
+		double[][] attributes
 	) {
-		
-//		System.out.println(preferences);
-	
+		if (modes.isEmpty()) {
+			return;
+		}
+
+		TourValues tourValues = new TourValues(tour, person, impedance);
+		ArraySink sink = new ArraySink();
+		sink.values = attributes[0];
+		writeTourAttributes(sink, tourValues);
+
+		ModeValues modeValues = new ModeValues();
+		int row = 0;
+		for (Mode mode : modes) {
+
+			if (0 < row) {
+				System.arraycopy(attributes[0], 0, attributes[row], 0, numberOfTourAttributes);
+			}
+			modeValues.update(mode, tourValues, person, preferences, impedance);
+			sink.values = attributes[row];
+			sink.index = numberOfTourAttributes;
+			writeModeAttributes(sink, modeValues);
+			row++;
+		}
+	}
+
+	/**
+	 * Writes all attributes which are the same for every mode in the order of their indices.
+	 */
+	private static void writeTourAttributes(AttributeSink attributes, TourValues values) {
+
+		attributes.put("CONST", 	1.0);
+		attributes.put("INTRAZONAL", 	values.intrazonal);
+		// attributes.put("DIST_KM", new Double(distance));
+		attributes.put("COMMUTING_TICKET", values.commuting_ticket);
+		attributes.put("NO_DRIVING_LICENCE", values.no_driving_licence);
+		attributes.put("HAS_BICYCLE", values.has_bicycle);
+
+		attributes.put("NUM_ACTIVITIES", values.num_activities);
+		attributes.put("TOUR_CONTAINS_SERVICE", values.contains_service);
+		attributes.put("TOUR_CONTAINS_STROLLING", values.contains_strolling);
+		attributes.put("TOUR_CONTAINS_BUSINESS", values.contains_business);
+		attributes.put("TOUR_CONTAINS_LEISURE", values.contains_leisure);
+		attributes.put("TOUR_CONTAINS_PRIVATE_BUSINESS", values.contains_private_business);
+		attributes.put("TOUR_CONTAINS_SHOPPING", values.contains_shopping);
+		attributes.put("TOUR_CONTAINS_VISIT", values.contains_visit);
+
+
+		attributes.put("FEMALE", values.female);
+		attributes.put("DAY_SA",  values.day_SA);
+		attributes.put("DAY_SU",  values.day_SU);
+		attributes.put("INITIAL_TOUR",  values.initialTour);
+
+		attributes.put("SHARE_MODE_WALK",  values.shares_walking);
+		attributes.put("SHARE_MODE_BIKE",  values.shares_cycling);
+		attributes.put("SHARE_MODE_CAR",  values.shares_cardriver);
+		attributes.put("SHARE_MODE_PASSENGER",  values.shares_carpassenger);
+		attributes.put("SHARE_MODE_PT",  values.shares_publictransport);
+
+		for (int emp = 0; emp < employmentNames.length; emp++) {
+			double emp_value = values.employment == employments[emp] ? 1 : 0;
+
+			attributes.put(employmentNames[emp], emp_value);
+
+			for (String name : compoundEmploymentNames[emp]) {
+				attributes.put(name, emp_value);
+			}
+		}
+
+		for (int ag = 0; ag < ageNames.length; ag++) {
+			double ag_value = values.ageGroup == ag ? 1 : 0;
+
+			attributes.put(ageNames[ag], ag_value);
+
+			for (String name : compoundAgeNames[ag]) {
+				attributes.put(name, ag_value);
+			}
+		}
+
+		for (int hht = 0; hht < hhtypeNames.length; hht++) {
+			double hht_value = values.hhtype == hhtypes[hht] ? 1 : 0;
+
+			attributes.put(hhtypeNames[hht], hht_value);
+
+			for (String name : compoundHhtypeNames[hht]) {
+				attributes.put(name, hht_value);
+			}
+		}
+
+		attributes.put("TIME:FEMALE", values.female);
+		attributes.put("COST:FEMALE", values.female);
+
+
+		attributes.put("PURPOSE_WORK",  						values.purpose_WORK);
+		attributes.put("PURPOSE_BUSINESS",  				values.purpose_BUSINESS);
+		attributes.put("PURPOSE_EDUCATION",  				values.purpose_EDUCATION);
+		attributes.put("PURPOSE_HOME",  						values.purpose_HOME);
+		attributes.put("PURPOSE_LEISURE_INDOOR",  	values.purpose_LEISURE_INDOOR);
+		attributes.put("PURPOSE_LEISURE_OUTDOOR",  	values.purpose_LEISURE_OUTDOOR);
+		attributes.put("PURPOSE_LEISURE_OTHER",  		values.purpose_LEISURE_OTHER);
+		attributes.put("PURPOSE_LEISURE_WALK",  		values.purpose_LEISURE_WALK);
+		attributes.put("PURPOSE_OTHER",  						values.purpose_OTHER);
+		attributes.put("PURPOSE_PRIVATE_BUSINESS",  values.purpose_PRIVATE_BUSINESS);
+		attributes.put("PURPOSE_PRIVATE_VISIT",  		values.purpose_PRIVATE_VISIT);
+		attributes.put("PURPOSE_SERVICE",  					values.purpose_SERVICE);
+		attributes.put("PURPOSE_SHOPPING_DAILY",  	values.purpose_SHOPPING_DAILY);
+		attributes.put("PURPOSE_SHOPPING_OTHER",  	values.purpose_SHOPPING_OTHER);
+	}
+
+	/**
+	 * Writes all attributes which depend on the mode in the order of their indices.
+	 */
+	private static void writeModeAttributes(AttributeSink attrib, ModeValues values) {
+
+		attrib.put("DISTANCE_KM", values.distance);
+		attrib.put("TIME", values.time);
+		// attrib.put("SQRT_TIME", Math.sqrt(time));
+		attrib.put("COST", values.cost);
+		// attrib.put("SQRT_COST", Math.sqrt(cost));
+
+		attrib.put("ISTOURMODE", values.isTourMode);
+
+		attrib.put("SAME_MODE_AS_BEFORE", values.sameModeAsBefore);
+
+		attrib.put("PREVIOUS_MODE_WALK", values.previousModeWalk);
+		attrib.put("PREVIOUS_MODE_BIKE", values.previousModeBike);
+		attrib.put("PREVIOUS_MODE_CAR", values.previousModeCar);
+		attrib.put("PREVIOUS_MODE_PASSENGER", values.previousModePassenger);
+		attrib.put("PREVIOUS_MODE_PT", values.previousModePt);
+
+		attrib.put("SHARES_AS_PREFERENCE", values.sharesAsPreference);
+		attrib.put("NUM_USED_BEFORE", values.numUsedBefore);
+		attrib.put("USED_BEFORE", values.usedBefore);
+
+		attrib.put("PREFERENCE", values.preference);
+	}
+
+	@FunctionalInterface
+	private interface AttributeSink {
+
+		void put(String name, double value);
+	}
+
+	/**
+	 * Writes attributes one after another into an array. The names are only used to collect the
+	 * {@link ModeChoiceAttributes#attributeNames() attribute names}.
+	 */
+	private static class ArraySink implements AttributeSink {
+
+		private double[] values;
+		private int index;
+
+		@Override
+		public void put(String name, double value) {
+			values[index++] = value;
+		}
+	}
+
+	/**
+	 * Attributes of a tour which are the same for every mode.
+	 */
+	private static class TourValues {
+
+		static final TourValues names = new TourValues();
+
+		ZoneId origin;
+		ZoneId destination;
+		Time date;
+		double distance;
+		Mode tourMode;
+		Mode previousMode;
+		Map<Mode, Double> sharesAsPreferences;
+		Map<Mode, Integer> usedModes;
+
+		double intrazonal;
+		double commuting_ticket;
+		double no_driving_licence;
+		double has_bicycle;
+		double num_activities;
+		double contains_service;
+		double contains_strolling;
+		double contains_business;
+		double contains_leisure;
+		double contains_private_business;
+		double contains_shopping;
+		double contains_visit;
+		double female;
+		double day_SA;
+		double day_SU;
+		double initialTour;
+		double shares_walking;
+		double shares_cycling;
+		double shares_cardriver;
+		double shares_carpassenger;
+		double shares_publictransport;
+		Employment employment;
+		int ageGroup;
+		HouseholdType hhtype;
+		double purpose_WORK;
+		double purpose_BUSINESS;
+		double purpose_EDUCATION;
+		double purpose_HOME;
+		double purpose_LEISURE_INDOOR;
+		double purpose_LEISURE_OUTDOOR;
+		double purpose_LEISURE_OTHER;
+		double purpose_LEISURE_WALK;
+		double purpose_OTHER;
+		double purpose_SERVICE;
+		double purpose_SHOPPING_DAILY;
+		double purpose_SHOPPING_OTHER;
+		double purpose_PRIVATE_BUSINESS;
+		double purpose_PRIVATE_VISIT;
+
+		private TourValues() {
+			super();
+		}
+
+		TourValues(Tour tour, Person person, ImpedanceIfc impedance) {
+			super();
+
 			ActivityIfc mainActivity = tour.mainActivity();
-	
-			ZoneId origin = person.homeZone().getId();
-			
+
+			origin = person.homeZone().getId();
+
 			assert tour.mainActivity().isLocationSet() || tour instanceof Subtour;
 			assert tour.mainActivity().isLocationSet() || tour.firstActivity().isLocationSet();
-			
-			ZoneId destination = tour.mainActivity().zone().getId();
-	
-			Time date = tour.mainActivity().startDate();
+
+			destination = tour.mainActivity().zone().getId();
+
+			date = tour.mainActivity().startDate();
 			Household hh = person.household();
-	
-			double distance 		= Math.max(0.1, impedance.getDistance(origin, destination)/1000.0);
-	
+
+			distance 		= Math.max(0.1, impedance.getDistance(origin, destination)/1000.0);
+
 			assert !Double.isNaN(distance);
 			assert distance > 0.0f;
-			
-			Map<Mode, Double> sharesAsPreferences = person.modeChoicePrefsSurvey().asMap();
-	
-	/*
-			double time_km 	= impedance.getTravelTime(source, target, mode, date)/distance;
-	
-			double cost_km 	= (mode==Mode.PUBLICTRANSPORT && person.hasCommuterTicket()) ? 0.0
-													: impedance.getTravelCost(source, target, mode, date)/distance;
-	*/
-	
+
+			sharesAsPreferences = person.modeChoicePrefsSurvey().asMap();
+
 			// double intrazonal = source == target || distance <= 1.7f ? 1 : 0;
-			double intrazonal = origin == destination || distance <= 1.0f ? 1 : 0;
+			intrazonal = origin == destination || distance <= 1.0f ? 1 : 0;
 			// double intrazonal = source == target ? 1 : 0;
-	
-			double commuting_ticket = person.hasCommuterTicket() ? 1 : 0;
-	
-			double no_driving_licence = !person.hasPersonalCar() && !person.hasAccessToCar()  ? 1 : 0;  
-			
-			double has_bicycle = person.hasBike() ? 1 : 0;
-			
-			double num_activities = tour.numberOfTrips() - 1;
+
+			commuting_ticket = person.hasCommuterTicket() ? 1 : 0;
+
+			no_driving_licence = !person.hasPersonalCar() && !person.hasAccessToCar()  ? 1 : 0;
+
+			has_bicycle = person.hasBike() ? 1 : 0;
+
+			num_activities = tour.numberOfTrips() - 1;
 			assert num_activities >= 0 : tour;
-			
-			Mode tourMode = tour.firstActivity().mode();
-			
-			double contains_service = tour.containsActivityOf(ActivityType.SERVICE) ? 1 : 0;
-			double contains_strolling = tour.containsActivityOf(ActivityType.LEISURE_WALK) ? 1 : 0;
-			double contains_business = tour.containsActivityOf(ActivityType.BUSINESS) ? 1 : 0;
-			double contains_leisure = tour.containsActivityOf(ActivityType.LEISURE)  ||
+
+			tourMode = tour.firstActivity().mode();
+
+			contains_service = tour.containsActivityOf(ActivityType.SERVICE) ? 1 : 0;
+			contains_strolling = tour.containsActivityOf(ActivityType.LEISURE_WALK) ? 1 : 0;
+			contains_business = tour.containsActivityOf(ActivityType.BUSINESS) ? 1 : 0;
+			contains_leisure = tour.containsActivityOf(ActivityType.LEISURE)  ||
 																tour.containsActivityOf(ActivityType.LEISURE_INDOOR) ||
 																tour.containsActivityOf(ActivityType.LEISURE_OUTDOOR) ||
 																tour.containsActivityOf(ActivityType.LEISURE_OTHER) 		? 1 : 0;
-			double contains_private_business = tour.containsActivityOf(ActivityType.PRIVATE_BUSINESS) ? 1 : 0;
-			double contains_shopping = tour.containsActivityOf(ActivityType.SHOPPING)  ||
+			contains_private_business = tour.containsActivityOf(ActivityType.PRIVATE_BUSINESS) ? 1 : 0;
+			contains_shopping = tour.containsActivityOf(ActivityType.SHOPPING)  ||
 																tour.containsActivityOf(ActivityType.SHOPPING_DAILY) ||
 																tour.containsActivityOf(ActivityType.SHOPPING_OTHER) 		? 1 : 0;
-			double contains_visit = tour.containsActivityOf(ActivityType.PRIVATE_VISIT) ? 1 : 0;
-			
-	
-			double female = person.gender() == Gender.FEMALE ? 1 : 0;
-	
-			double day_SA 		= date.weekDay() == DayOfWeek.SATURDAY ? 1 : 0;
-			double day_SU 		= date.weekDay() == DayOfWeek.SUNDAY ? 1 : 0;
-	
-			double employment_EDUCATION 				= person.employment() == Employment.EDUCATION ? 1 : 0;
-			double employment_INFANT 		  			= person.employment() == Employment.INFANT ? 1 : 0;
-			double employment_UNEMPLOYED 	  		= person.employment() == Employment.UNEMPLOYED ? 1 : 0;
-			double employment_NONE 							= person.employment() == Employment.NONE ? 1 : 0;
-			double employment_HOMEKEEPER  			= person.employment() == Employment.HOMEKEEPER ? 1 : 0;
-			double employment_PARTTIME 					= person.employment() == Employment.PARTTIME ? 1 : 0;
-			double employment_MARGINAL 					= person.employment() == Employment.MARGINAL ? 1 : 0;
-			double employment_FULLTIME 					= person.employment() == Employment.FULLTIME ? 1 : 0;
-			double employment_RETIRED 					= person.employment() == Employment.RETIRED ? 1 : 0;
-			double employment_STUDENT_PRIMARY 	= person.employment() == Employment.STUDENT_PRIMARY ? 1 : 0;
-			double employment_STUDENT_SECONDARY	= person.employment() == Employment.STUDENT_SECONDARY ? 1 : 0;
-			double employment_STUDENT_TERTIARY 	= person.employment() == Employment.STUDENT_TERTIARY ? 1 : 0;
-	
-	
-			double purpose_WORK 		 		 = mainActivity.activityType().isWorkActivity() ? 1 : 0; // reference case
-			double purpose_BUSINESS 		 = mainActivity.activityType().isBusinessActivity() ? 1 : 0;
-			double purpose_EDUCATION 	 = mainActivity.activityType() == ActivityType.EDUCATION_PRIMARY
-															|| mainActivity.activityType() == ActivityType.EDUCATION_SECONDARY
-															|| mainActivity.activityType() == ActivityType.EDUCATION_TERTIARY
-															|| mainActivity.activityType() == ActivityType.EDUCATION_OCCUP
-															|| mainActivity.activityType() == ActivityType.EDUCATION ? 1 : 0;
-	
-			double purpose_HOME 				 			= mainActivity.activityType().isHomeActivity() ? 1 : 0;
-			double purpose_LEISURE_INDOOR 		= mainActivity.activityType() == ActivityType.LEISURE_INDOOR ? 1 : 0;
-			double purpose_LEISURE_OUTDOOR 	= mainActivity.activityType() == ActivityType.LEISURE_OUTDOOR ? 1 : 0;
-			double purpose_LEISURE_OTHER 		= mainActivity.activityType() == ActivityType.LEISURE_OTHER ? 1 : 0;
-			double purpose_LEISURE_WALK 			= mainActivity.activityType() == ActivityType.LEISURE_WALK ? 1 : 0;
-			double purpose_OTHER 			 			= mainActivity.activityType() == ActivityType.UNDEFINED ? 1 : 0;
-			double purpose_SERVICE 		 			= mainActivity.activityType() == ActivityType.SERVICE ? 1 : 0;
-			double purpose_SHOPPING_DAILY 		= mainActivity.activityType() == ActivityType.SHOPPING_DAILY ? 1 : 0;
-			double purpose_SHOPPING_OTHER 		= mainActivity.activityType() == ActivityType.SHOPPING_OTHER ? 1 : 0;
-			double purpose_PRIVATE_BUSINESS 	= mainActivity.activityType() == ActivityType.PRIVATE_BUSINESS ? 1 : 0;
-			double purpose_PRIVATE_VISIT 		= mainActivity.activityType() == ActivityType.PRIVATE_VISIT ? 1 : 0;
-	
-			double age_0to9 						=                           person.age() <=  9 ? 1 : 0;
-			double age_10to17 					= person.age() >= 10  && person.age() <= 17 ? 1 : 0;
-			double age_18to25 					= person.age() >= 18  && person.age() <= 25 ? 1 : 0;
-			double age_26to35 					= person.age() >= 26  && person.age() <= 35 ? 1 : 0;
-			double age_36to50 					= person.age() >= 36  && person.age() <= 50 ? 1 : 0;
-			double age_51to60 					= person.age() >= 51  && person.age() <= 60 ? 1 : 0;
-			double age_61to70 					= person.age() >= 61  && person.age() <= 70 ? 1 : 0;
-			double age_71plus 					= person.age() >= 71                           ? 1 : 0;
-		
+			contains_visit = tour.containsActivityOf(ActivityType.PRIVATE_VISIT) ? 1 : 0;
+
+			female = person.gender() == Gender.FEMALE ? 1 : 0;
+
+			day_SA 		= date.weekDay() == DayOfWeek.SATURDAY ? 1 : 0;
+			day_SU 		= date.weekDay() == DayOfWeek.SUNDAY ? 1 : 0;
+
+			employment = person.employment();
+
+			ActivityType purpose = mainActivity.activityType();
+
+			purpose_WORK 		 		 = purpose.isWorkActivity() ? 1 : 0; // reference case
+			purpose_BUSINESS 		 = purpose.isBusinessActivity() ? 1 : 0;
+			purpose_EDUCATION 	 = purpose == ActivityType.EDUCATION_PRIMARY
+															|| purpose == ActivityType.EDUCATION_SECONDARY
+															|| purpose == ActivityType.EDUCATION_TERTIARY
+															|| purpose == ActivityType.EDUCATION_OCCUP
+															|| purpose == ActivityType.EDUCATION ? 1 : 0;
+
+			purpose_HOME 				 			= purpose.isHomeActivity() ? 1 : 0;
+			purpose_LEISURE_INDOOR 		= purpose == ActivityType.LEISURE_INDOOR ? 1 : 0;
+			purpose_LEISURE_OUTDOOR 	= purpose == ActivityType.LEISURE_OUTDOOR ? 1 : 0;
+			purpose_LEISURE_OTHER 		= purpose == ActivityType.LEISURE_OTHER ? 1 : 0;
+			purpose_LEISURE_WALK 			= purpose == ActivityType.LEISURE_WALK ? 1 : 0;
+			purpose_OTHER 			 			= purpose == ActivityType.UNDEFINED ? 1 : 0;
+			purpose_SERVICE 		 			= purpose == ActivityType.SERVICE ? 1 : 0;
+			purpose_SHOPPING_DAILY 		= purpose == ActivityType.SHOPPING_DAILY ? 1 : 0;
+			purpose_SHOPPING_OTHER 		= purpose == ActivityType.SHOPPING_OTHER ? 1 : 0;
+			purpose_PRIVATE_BUSINESS 	= purpose == ActivityType.PRIVATE_BUSINESS ? 1 : 0;
+			purpose_PRIVATE_VISIT 		= purpose == ActivityType.PRIVATE_VISIT ? 1 : 0;
+
+			ageGroup = ageGroupOf(person.age());
+
 			// TODO: methode type nach Household verschieben!
-			double hhtype_single					=	HouseholdType.type(hh) == HouseholdType.SINGLE 			? 1 : 0;
-			double hhtype_couple					= HouseholdType.type(hh) == HouseholdType.COUPLE 			? 1 : 0;
-			double hhtype_kids_0to7				= HouseholdType.type(hh) == HouseholdType.KIDS0TO7 		? 1 : 0;
-			double hhtype_kids_8to12			= HouseholdType.type(hh) == HouseholdType.KIDS8TO12 	? 1 : 0;
-			double hhtype_kids_13to18			= HouseholdType.type(hh) == HouseholdType.KIDS13PLUS 	? 1 : 0;
-			double hhtype_multiadult			= HouseholdType.type(hh) == HouseholdType.MULTIADULT 	? 1 : 0;
-			
-			Mode previousMode = tour.hasPreviousTour() ? tour.previousTour().mode() : StandardMode.UNDEFINED;
-			double initialTour = tour.hasPreviousTour() ? 0.0 : 1.0;
-			
-			double shares_walking = sharesAsPreferences.get(StandardMode.PEDESTRIAN);
-			double shares_cycling = sharesAsPreferences.get(StandardMode.BIKE);
-			double shares_cardriver = sharesAsPreferences.get(StandardMode.CAR);
-			double shares_carpassenger = sharesAsPreferences.get(StandardMode.PASSENGER);
-			double shares_publictransport = sharesAsPreferences.get(StandardMode.PUBLICTRANSPORT);
-			
+			hhtype = HouseholdType.type(hh);
+
+			previousMode = tour.hasPreviousTour() ? tour.previousTour().mode() : StandardMode.UNDEFINED;
+			initialTour = tour.hasPreviousTour() ? 0.0 : 1.0;
+
+			shares_walking = sharesAsPreferences.get(StandardMode.PEDESTRIAN);
+			shares_cycling = sharesAsPreferences.get(StandardMode.BIKE);
+			shares_cardriver = sharesAsPreferences.get(StandardMode.CAR);
+			shares_carpassenger = sharesAsPreferences.get(StandardMode.PASSENGER);
+			shares_publictransport = sharesAsPreferences.get(StandardMode.PUBLICTRANSPORT);
+
 			TourAwareActivitySchedule schedule = (TourAwareActivitySchedule) person.activitySchedule();
-			
-			Map<Mode,Integer> usedModes = schedule.alreadyUsedTourmodes(mainActivity);
-	
-		
-			Map<String,Double> employment = new LinkedHashMap<String,Double>();	
-			Map<String,Double> age = new LinkedHashMap<String,Double>();	
-			Map<String,Double> hhtype = new LinkedHashMap<String,Double>();	
-			Map<String,Double> attributes = new LinkedHashMap<String,Double>();	
-			
-	
-			attributes.put("CONST", 	1.0);
-			attributes.put("INTRAZONAL", 	intrazonal);
-			// attributes.put("DIST_KM", new Double(distance));
-			attributes.put("COMMUTING_TICKET", commuting_ticket);
-			attributes.put("NO_DRIVING_LICENCE", no_driving_licence);
-			attributes.put("HAS_BICYCLE", has_bicycle);
-			
-			attributes.put("NUM_ACTIVITIES", num_activities);
-			attributes.put("TOUR_CONTAINS_SERVICE", contains_service);
-			attributes.put("TOUR_CONTAINS_STROLLING", contains_strolling);
-			attributes.put("TOUR_CONTAINS_BUSINESS", contains_business);
-			attributes.put("TOUR_CONTAINS_LEISURE", contains_leisure);
-			attributes.put("TOUR_CONTAINS_PRIVATE_BUSINESS", contains_private_business);
-			attributes.put("TOUR_CONTAINS_SHOPPING", contains_shopping);
-			attributes.put("TOUR_CONTAINS_VISIT", contains_visit);
-			
-			
-			attributes.put("FEMALE", female);
-			attributes.put("DAY_SA",  day_SA);
-			attributes.put("DAY_SU",  day_SU);
-			attributes.put("INITIAL_TOUR",  initialTour);
-			
-			attributes.put("SHARE_MODE_WALK",  shares_walking);
-			attributes.put("SHARE_MODE_BIKE",  shares_cycling);
-			attributes.put("SHARE_MODE_CAR",  shares_cardriver);
-			attributes.put("SHARE_MODE_PASSENGER",  shares_carpassenger);
-			attributes.put("SHARE_MODE_PT",  shares_publictransport);
-	
-			employment.put("EMPLOYMENT_EDUCATION",  				employment_EDUCATION);
-			employment.put("EMPLOYMENT_FULLTIME",  					employment_FULLTIME);
-			employment.put("EMPLOYMENT_INFANT",  						employment_INFANT);
-			employment.put("EMPLOYMENT_UNEMPLOYED",  				employment_UNEMPLOYED);
-			employment.put("EMPLOYMENT_NONE",  							employment_NONE);
-			employment.put("EMPLOYMENT_HOMEKEEPER",  			  employment_HOMEKEEPER);
-			employment.put("EMPLOYMENT_PARTTIME",  					employment_PARTTIME);
-			employment.put("EMPLOYMENT_MARGINAL",  					employment_MARGINAL);
-			employment.put("EMPLOYMENT_RETIRED",  					employment_RETIRED);
-			employment.put("EMPLOYMENT_STUDENT_PRIMARY",  	employment_STUDENT_PRIMARY);
-			employment.put("EMPLOYMENT_STUDENT_SECONDARY", 	employment_STUDENT_SECONDARY);
-			employment.put("EMPLOYMENT_STUDENT_TERTIARY", 	employment_STUDENT_TERTIARY);
-			
-			for(String emp : employment.keySet()) {
-				Double emp_value = employment.get(emp);
-				
-				attributes.put(emp, emp_value);
-				
-				for (String pre : this.compound) {
-					
-					attributes.put(pre + ":" + emp, emp_value);
-				}
+
+			usedModes = schedule.alreadyUsedTourmodes(mainActivity);
+		}
+
+		/**
+		 * @return index of the age group in {@link ModeChoiceAttributes#ageNames}
+		 */
+		private static int ageGroupOf(int age) {
+			if (age <= 9) {
+				return 0;
+			}
+			if (age <= 17) {
+				return 1;
+			}
+			if (age <= 25) {
+				return 2;
+			}
+			if (age <= 35) {
+				return 3;
 			}
-			
-			age.put("AGE_0TO9",  	age_0to9);
-			age.put("AGE_10TO17",  age_10to17);
-			age.put("AGE_18TO25",  age_18to25);
-			age.put("AGE_26TO35",  age_26to35);
-			age.put("AGE_36TO50",  age_36to50);
-			age.put("AGE_51TO60",  age_51to60);
-			age.put("AGE_61TO70",  age_61to70);
-			age.put("AGE_71PLUS",  age_71plus);
-			
-			for(String ag : age.keySet()) {
-				Double ag_value = age.get(ag);
-				
-				attributes.put(ag, ag_value);
-				
-				for (String pre : this.compound) {
-					
-					attributes.put(pre + ":" + ag, ag_value);
-				}
+			if (age <= 50) {
+				return 4;
 			}
-		
-			hhtype.put("HHTYPE_SINGLE",  			hhtype_single);
-			hhtype.put("HHTYPE_COUPLE",  			hhtype_couple);
-			hhtype.put("HHTYPE_KIDS0TO7",  		hhtype_kids_0to7);
-			hhtype.put("HHTYPE_KIDS8TO12",  	hhtype_kids_8to12);
-			hhtype.put("HHTYPE_KIDS13PLUS",  	hhtype_kids_13to18);
-			hhtype.put("HHTYPE_MULTIADULT",  	hhtype_multiadult);
-			
-			for(String hht : hhtype.keySet()) {
-				Double hht_value = hhtype.get(hht);
-				
-				attributes.put(hht, hht_value);
-				
-				for (String pre : this.compound) {
-					
-					attributes.put(pre + ":" + hht, hht_value);
-				}
+			if (age <= 60) {
+				return 5;
 			}
-			
-			
-			
-			attributes.put("TIME:FEMALE", female);
-			attributes.put("COST:FEMALE", female);
-	
-	
-			attributes.put("PURPOSE_WORK",  						purpose_WORK);
-			attributes.put("PURPOSE_BUSINESS",  				purpose_BUSINESS);
-			attributes.put("PURPOSE_EDUCATION",  				purpose_EDUCATION);
-			attributes.put("PURPOSE_HOME",  						purpose_HOME);
-			attributes.put("PURPOSE_LEISURE_INDOOR",  	purpose_LEISURE_INDOOR);
-			attributes.put("PURPOSE_LEISURE_OUTDOOR",  	purpose_LEISURE_OUTDOOR);
-			attributes.put("PURPOSE_LEISURE_OTHER",  		purpose_LEISURE_OTHER);
-			attributes.put("PURPOSE_LEISURE_WALK",  		purpose_LEISURE_WALK);
-			attributes.put("PURPOSE_OTHER",  						purpose_OTHER);
-			attributes.put("PURPOSE_PRIVATE_BUSINESS",  purpose_PRIVATE_BUSINESS);
-			attributes.put("PURPOSE_PRIVATE_VISIT",  		purpose_PRIVATE_VISIT);
-			attributes.put("PURPOSE_SERVICE",  					purpose_SERVICE);
-			attributes.put("PURPOSE_SHOPPING_DAILY",  	purpose_SHOPPING_DAILY);
-			attributes.put("PURPOSE_SHOPPING_OTHER",  	purpose_SHOPPING_OTHER);
-			attributes.put("PURPOSE_BUSINESS",  				purpose_BUSINESS);
-			
-			Map<Mode,Map<String,Double>> modeAttributes = new LinkedHashMap<Mode,Map<String,Double>>();
-	
-			for (Mode mode : modes) {
-	
-				Map<String,Double> attrib = new LinkedHashMap<String,Double>(attributes);
-	
-				double time 	= impedance.getTravelTime(origin, destination, mode, date);
-	
-				double cost 	= (mode==StandardMode.PUBLICTRANSPORT && person.hasCommuterTicket()) ? 0.0
-													: impedance.getTravelCost(origin, destination, mode, date);
-	
-	
-				attrib.put("DISTANCE_KM", distance);
-			 	attrib.put("TIME", time);
-			 	// attrib.put("SQRT_TIME", Math.sqrt(time));
-				attrib.put("COST", cost);
-				// attrib.put("SQRT_COST", Math.sqrt(cost));
-				
-			//	System.out.println(mode + " " + attrib);
-				
-				attrib.put("ISTOURMODE", mode == tourMode ? 1.0 : 0.0);
-				
-				attrib.put("SAME_MODE_AS_BEFORE", mode == previousMode ? 1.0 : 0.0);
-				
-				attrib.put("PREVIOUS_MODE_WALK", previousMode == StandardMode.PEDESTRIAN ? 1.0 : 0.0);
-				attrib.put("PREVIOUS_MODE_BIKE", previousMode == StandardMode.BIKE ? 1.0 : 0.0);
-				attrib.put("PREVIOUS_MODE_CAR", previousMode == StandardMode.CAR ? 1.0 : 0.0);
-				attrib.put("PREVIOUS_MODE_PASSENGER", previousMode == StandardMode.PASSENGER ? 1.0 : 0.0);
-				attrib.put("PREVIOUS_MODE_PT", previousMode == StandardMode.PUBLICTRANSPORT ? 1.0 : 0.0);
-				
-				assert preferences.containsKey(mode);
-				assert sharesAsPreferences.containsKey(mode);
-				
-				attrib.put("SHARES_AS_PREFERENCE", sharesAsPreferences.get(mode));
-				attrib.put("NUM_USED_BEFORE", (double) usedModes.getOrDefault(mode, 0));
-				attrib.put("USED_BEFORE", usedModes.getOrDefault(mode, 0) > 0 ? 1.0 : 0.0);
-				
-				attrib.put("PREFERENCE", preferences.get(mode));
-	
-				modeAttributes.put(mode, attrib);
+			if (age <= 70) {
+				return 6;
 			}
-	
-			return  modeAttributes;
+			return 7;
 		}
+	}
+
+	/**
+	 * Attributes of a tour which depend on the mode.
+	 */
+	private static class ModeValues {
+
+		static final ModeValues names = new ModeValues();
+
+		double distance;
+		double time;
+		double cost;
+		double isTourMode;
+		double sameModeAsBefore;
+		double previousModeWalk;
+		double previousModeBike;
+		double previousModeCar;
+		double previousModePassenger;
+		double previousModePt;
+		double sharesAsPreference;
+		double numUsedBefore;
+		double usedBefore;
+		double preference;
+
+		void update(
+			Mode mode, TourValues tour, Person person, Map<Mode, Double> preferences,
+			ImpedanceIfc impedance) {
+
+			distance = tour.distance;
+
+			time 	= impedance.getTravelTime(tour.origin, tour.destination, mode, tour.date);
+
+			cost 	= (mode==StandardMode.PUBLICTRANSPORT && person.hasCommuterTicket()) ? 0.0
+												: impedance.getTravelCost(tour.origin, tour.destination, mode, tour.date);
+
+			isTourMode = mode == tour.tourMode ? 1.0 : 0.0;
+
+			sameModeAsBefore = mode == tour.previousMode ? 1.0 : 0.0;
+
+			previousModeWalk = tour.previousMode == StandardMode.PEDESTRIAN ? 1.0 : 0.0;
+			previousModeBike = tour.previousMode == StandardMode.BIKE ? 1.0 : 0.0;
+			previousModeCar = tour.previousMode == StandardMode.CAR ? 1.0 : 0.0;
+			previousModePassenger = tour.previousMode == StandardMode.PASSENGER ? 1.0 : 0.0;
+			previousModePt = tour.previousMode == StandardMode.PUBLICTRANSPORT ? 1.0 : 0.0;
+
+			sharesAsPreference = valueOf(tour.sharesAsPreferences.get(mode));
+			int used = tour.usedModes.getOrDefault(mode, 0);
+			numUsedBefore = used;
+			usedBefore = used > 0 ? 1.0 : 0.0;
+
+			preference = valueOf(preferences.get(mode));
+		}
+
+		/**
+		 * Missing values are written as {@link Double#NaN}, so they only fail, if a coefficient uses
+		 * them.
+		 */
+		private static double valueOf(Double value) {
+			return null == value ? Double.NaN : value;
+		}
+	}
 
-}
\ No newline at end of file
+}
@@ -8,6 +8,8 @@ import edu.kit.ifv.mobitopp.data.Zone;
 import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
 import edu.kit.ifv.mobitopp.simulation.Mode;
 import edu.kit.ifv.mobitopp.simulation.Person;
+import edu.kit.ifv.mobitopp.simulation.PersonListener;
+import edu.kit.ifv.mobitopp.simulation.SequencedPersonListener;
 import edu.kit.ifv.mobitopp.simulation.SimulationContext;
 import edu.kit.ifv.mobitopp.simulation.StandardChoiceSet;
 import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
@@ -24,8 +26,11 @@ public class TourModeChoiceModelWithTimeRestrictions
 	
 	private final FeasibleModesModel feasibleModesModel;
 	
-	private final SimulationContext context;
+	private final PersonListener results;
 
+	/**
+	 * Writes the subtour info to the person results of the given context.
+	 */
 	public TourModeChoiceModelWithTimeRestrictions(
 		TourOnlyModeChoiceModel tourModeChoiceModel, 
 		WithinTourModeChoiceModel withinTourModeChoiceModel, 
@@ -33,6 +38,23 @@ public class TourModeChoiceModelWithTimeRestrictions
 		FeasibleModesModel feasibleModesModel,
 		ImpedanceIfc impedance, 
 		SimulationContext context
+	) {
+		this(tourModeChoiceModel, withinTourModeChoiceModel, subtourModeChoiceModel,
+				feasibleModesModel, impedance, context.personResults());
+	}
+
+	/**
+	 * @param results
+	 *          receives the subtour info. Writes are ordered like in a sequential simulation, see
+	 *          {@link SequencedPersonListener}.
+	 */
+	public TourModeChoiceModelWithTimeRestrictions(
+		TourOnlyModeChoiceModel tourModeChoiceModel, 
+		WithinTourModeChoiceModel withinTourModeChoiceModel, 
+		SubtourModeChoiceModel subtourModeChoiceModel,
+		FeasibleModesModel feasibleModesModel,
+		ImpedanceIfc impedance, 
+		PersonListener results
 	) {
 		this.tourModeChoiceModel = tourModeChoiceModel;
 		
@@ -42,7 +64,7 @@ public class TourModeChoiceModelWithTimeRestrictions
 		this.withinTourModeChoiceModel = withinTourModeChoiceModel;
 		this.subtourModeChoiceModel = subtourModeChoiceModel;
 		
-		this.context = context;
+		this.results = new SequencedPersonListener(results);
 	}
 	
 
@@ -72,7 +94,7 @@ public class TourModeChoiceModelWithTimeRestrictions
 				
 				Subtour subtour = tour.correspondingSubtour(previousActivity).get();
 				
-				context.personResults().writeSubtourinfoToFile(person, tour, subtour, tourMode);
+				results.writeSubtourinfoToFile(person, tour, subtour, tourMode);
 			
 				if (!tourMode.isFlexible()) {
 					currentChoiceSet = Set.of(tourMode);
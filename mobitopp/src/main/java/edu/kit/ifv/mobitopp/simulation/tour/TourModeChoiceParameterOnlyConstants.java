@@ -1,6 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation.tour;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -14,6 +15,8 @@ import edu.kit.ifv.mobitopp.time.Time;
 public class TourModeChoiceParameterOnlyConstants 
 	implements TourModeChoiceParameter {
 
+	private static final List<String> attributeNames = List.of("CONST", "DAY_FR", "DAY_SA", "DAY_SU");
+
 	protected final Map<String,Double> parameterWalk = new LinkedHashMap<String,Double>();
 	protected final Map<String,Double> parameterBike = new LinkedHashMap<String,Double>();
 	protected final Map<String,Double> parameterCar = new LinkedHashMap<String,Double>();
@@ -116,7 +119,15 @@ Likelihood ratio test : chisq = 1770 (p.value = <2e-16)
 	}
 
 	@Override
-	public Map<Mode, Map<String, Double>> gatherAttributes(Set<Mode> modes, Tour tour, Person person, Map<Mode, Double> preferences, ImpedanceIfc impedance) {
+	public List<String> attributeNames() {
+		return attributeNames;
+	}
+
+	@Override
+	public void extractAttributes(
+		Set<Mode> modes, Tour tour, Person person, Map<Mode, Double> preferences, ImpedanceIfc impedance,
+		double[][] attributes
+	) {
 	
 			Time date = tour.mainActivity().startDate();
 		
@@ -124,24 +135,15 @@ Likelihood ratio test : chisq = 1770 (p.value = <2e-16)
 			double day_SA 		= date.weekDay() == DayOfWeek.SATURDAY ? 1 : 0;
 			double day_SU 		= date.weekDay() == DayOfWeek.SUNDAY ? 1 : 0;
 
-			
-			Map<String,Double> attributes = new LinkedHashMap<String,Double>();	
+			for (int row = 0; row < modes.size(); row++) {
 	
-			attributes.put("CONST", 	1.0);
-			attributes.put("DAY_FR",  day_FR);
-			attributes.put("DAY_SA",  day_SA);
-			attributes.put("DAY_SU",  day_SU);
-			
-			Map<Mode,Map<String,Double>> modeAttributes = new LinkedHashMap<Mode,Map<String,Double>>();
+				double[] attrib = attributes[row];
 	
-			for (Mode mode : modes) {
-	
-				Map<String,Double> attrib = new LinkedHashMap<String,Double>(attributes);
-	
-				modeAttributes.put(mode, attrib);
+				attrib[0] = 1.0;
+				attrib[1] = day_FR;
+				attrib[2] = day_SA;
+				attrib[3] = day_SU;
 			}
-	
-			return  modeAttributes;
 		}
 
 	public Map<String, Double> parameterForMode(Mode mode) {
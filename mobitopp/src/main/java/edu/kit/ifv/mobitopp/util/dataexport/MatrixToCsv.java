@@ -36,7 +36,7 @@ public class MatrixToCsv {
 		csv.newLine("Zeit");
 		for (ZoneId origin : ids()) {
 			for (ZoneId destination : ids()) {
-				float traveltime = matrix.get(origin, destination);
+				float traveltime = matrix.getFloat(origin, destination);
 				csv.append(origin.getExternalId());
 				csv.append(destination.getExternalId());
 				csv.newLine(traveltime);
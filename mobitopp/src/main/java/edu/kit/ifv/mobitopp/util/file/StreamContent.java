@@ -8,21 +8,46 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 
 public class StreamContent {
 
 	public static final String bzipExtension = "bz2";
+	public static final String gzipExtension = "gz";
+	public static final String zipExtension = "zip";
 
 	public static InputStream of(File file) throws IOException {
 		FileInputStream fileInput = new FileInputStream(file);
 		if (file.getName().endsWith(bzipExtension)) {
 			return uncompressBZip2From(fileInput);
 		}
+		if (file.getName().endsWith(gzipExtension)) {
+			return new GZIPInputStream(new BufferedInputStream(fileInput));
+		}
+		if (file.getName().endsWith(zipExtension)) {
+			return firstEntryOf(file, fileInput);
+		}
 		return fileInput;
 	}
 
+	/**
+	 * Zip archives are read as stream. Only the first entry of the archive is returned.
+	 */
+	private static InputStream firstEntryOf(File file, FileInputStream fileInput)
+			throws IOException {
+		ZipInputStream zipInput = new ZipInputStream(new BufferedInputStream(fileInput));
+		ZipEntry entry = zipInput.getNextEntry();
+		if (null == entry) {
+			zipInput.close();
+			throw new IOException("Zip archive does not contain any entry: " + file);
+		}
+		return zipInput;
+	}
+
 	/**
 	 * {@link BZip2CompressorInputStream} can not be directly put into {@link InputStreamReader}.
 	 * Therefore the content is uncompressed into memory.
@@ -42,6 +67,10 @@ public class StreamContent {
     if (file.getName().endsWith(bzipExtension)) {
       return uncompressBytes(fileInput);
     }
+    if (file.getName().endsWith(gzipExtension) || file.getName().endsWith(zipExtension)) {
+      fileInput.close();
+      return readBytes(of(file));
+    }
     return readBytes(fileInput);
 	}
 
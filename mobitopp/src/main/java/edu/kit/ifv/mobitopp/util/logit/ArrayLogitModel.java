@@ -0,0 +1,150 @@
+package edu.kit.ifv.mobitopp.util.logit;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multinomial logit model working on alternatives identified by their index. Utilities are passed
+ * as {@code double} array and probabilities are written into an array supplied by the caller, so
+ * no objects are created per alternative.
+ *
+ * Probabilities are calculated by exponentiating the scaled utilities directly, in the same order
+ * of operations as the former map based logit model. So the probabilities and therefore the
+ * selected alternatives for a given random number stay the same. Only if the sum of the
+ * exponentiated utilities overflows or underflows to zero, the largest scaled utility is
+ * subtracted before exponentiating (log-sum-exp formulation).
+ *
+ * Instances do not have any state and can be shared between threads.
+ */
+@Slf4j
+public class ArrayLogitModel {
+
+	private static final double maximumExponent = 709.0;
+	private static final double minimumExponent = -708.0;
+
+	/**
+	 * Calculates {@code log(sum(exp(beta * utilities[i])))} over the first {@code size} utilities.
+	 */
+	public double logSumExp(double beta, double[] utilities, int size) {
+		double maximum = maximum(beta, utilities, size);
+		double total = 0.0;
+		for (int index = 0; index < size; index++) {
+			total += Math.exp(beta * utilities[index] - maximum);
+		}
+		return maximum + Math.log(total);
+	}
+
+	/**
+	 * Calculates the choice probabilities of the first {@code size} alternatives.
+	 *
+	 * @param probabilities buffer receiving the probability of alternative {@code i} at index
+	 *                      {@code i}, must have at least {@code size} elements. It may be the same
+	 *                      array as {@code utilities}.
+	 */
+	public void calculateProbabilities(
+			double beta, double[] utilities, int size, double[] probabilities) {
+		double maximum = maximum(beta, utilities, size);
+		double offset = exponentiatesSafely(beta, utilities, size, maximum) ? 0.0 : maximum;
+		double total = 0.0;
+		for (int index = 0; index < size; index++) {
+			double expUtility = Math.exp(beta * utilities[index] - offset);
+			probabilities[index] = expUtility;
+			total += expUtility;
+		}
+		for (int index = 0; index < size; index++) {
+			probabilities[index] = probabilities[index] / total;
+		}
+	}
+
+	/**
+	 * Checks whether the sum of the exponentiated scaled utilities is positive and finite without
+	 * subtracting the maximum. The sum is only calculated, if the maximum is too close to the limits
+	 * of {@code double} to decide it by the maximum alone.
+	 */
+	private static boolean exponentiatesSafely(
+			double beta, double[] utilities, int size, double maximum) {
+		if (minimumExponent < maximum && maximum + Math.log(size) < maximumExponent) {
+			return true;
+		}
+		double total = 0.0;
+		for (int index = 0; index < size; index++) {
+			total += Math.exp(beta * utilities[index]);
+		}
+		return 0.0 < total && !Double.isInfinite(total);
+	}
+
+	/**
+	 * Calculates the choice probabilities of the first {@code size} alternatives and selects one of
+	 * them.
+	 *
+	 * @see #calculateProbabilities(double, double[], int, double[])
+	 * @see #select(double[], int, double)
+	 */
+	public int select(
+			double beta, double[] utilities, int size, double[] probabilities, double randomNumber) {
+		calculateProbabilities(beta, utilities, size, probabilities);
+		return select(probabilities, size, randomNumber);
+	}
+
+	/**
+	 * Selects an alternative according to the given probabilities. The alternatives are ordered by
+	 * their index and the selected alternative is the first one whose cumulative probability is
+	 * greater than the random number. Alternatives with a probability of zero are never selected.
+	 * This is the same selection as done by
+	 * {@link edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable} for the same
+	 * probabilities in the same order.
+	 *
+	 * @return index of the selected alternative
+	 */
+	public int select(double[] probabilities, int size, double randomNumber) {
+		assert randomNumber >= 0.0 : randomNumber;
+		assert randomNumber <= 1.0 : randomNumber;
+		checkSize(size);
+		double total = 0.0;
+		for (int index = 0; index < size; index++) {
+			total += probabilities[index];
+		}
+		assert total > 0.0 : total;
+		assert !Double.isInfinite(total) : total;
+
+		double current = 0.0;
+		int selected = -1;
+		for (int index = 0; index < size; index++) {
+			double increment = probabilities[index] / total;
+			if (current + increment > current) {
+				current += increment;
+				selected = index;
+				if (current > randomNumber) {
+					return index;
+				}
+			}
+		}
+		assert selected >= 0;
+		return selected;
+	}
+
+	private static double maximum(double beta, double[] utilities, int size) {
+		checkSize(size);
+		double maximum = Double.NEGATIVE_INFINITY;
+		for (int index = 0; index < size; index++) {
+			double scaled = beta * utilities[index];
+			assert !Double.isNaN(scaled) : utilities[index];
+			assert !(Double.isInfinite(scaled) && scaled > 0.0) : utilities[index];
+			maximum = Math.max(maximum, scaled);
+		}
+		if (Double.isInfinite(maximum)) {
+			throw warn(new IllegalArgumentException(
+					"At least one alternative must have a finite utility."), log);
+		}
+		return maximum;
+	}
+
+	private static void checkSize(int size) {
+		if (0 >= size) {
+			throw warn(new IllegalArgumentException("At least one element is required to select from."),
+					log);
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package edu.kit.ifv.mobitopp.util.logit;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Linear utility functions of several alternatives compiled against a fixed attribute layout. The
+ * attributes of an alternative are passed as {@code double} array indexed by the position of the
+ * attribute name in the layout, so no maps have to be looked up per evaluation.
+ *
+ * Every row keeps the coefficients in the iteration order of its parameters. Therefore, utilities
+ * are summed up in the same order as in {@link LinearUtilityFunction} and give identical results.
+ *
+ * Attributes without a value are passed as {@link Double#NaN}. Like a missing attribute in
+ * {@link LinearUtilityFunction}, they only fail the evaluation, if the alternative has a
+ * coefficient for them.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+@Slf4j
+public class CoefficientMatrix<T> {
+
+	private final Object[] alternatives;
+	private final int[][] attributeIndices;
+	private final double[][] coefficients;
+	private final List<String> attributeNames;
+
+	private CoefficientMatrix(
+			Object[] alternatives, int[][] attributeIndices, double[][] coefficients,
+			List<String> attributeNames) {
+		super();
+		this.alternatives = alternatives;
+		this.attributeIndices = attributeIndices;
+		this.coefficients = coefficients;
+		this.attributeNames = attributeNames;
+	}
+
+	/**
+	 * Compiles the parameters of every alternative against the given attribute layout.
+	 *
+	 * @throws IllegalArgumentException if a parameter refers to an attribute not contained in
+	 *                                  {@code attributeNames} or has no value
+	 */
+	public static <T> CoefficientMatrix<T> compile(
+			Map<T, Map<String, Double>> parametersByAlternative, List<String> attributeNames) {
+		Map<String, Integer> indexOfAttribute = new HashMap<>();
+		for (int index = 0; index < attributeNames.size(); index++) {
+			indexOfAttribute.putIfAbsent(attributeNames.get(index), index);
+		}
+		int size = parametersByAlternative.size();
+		Object[] alternatives = new Object[size];
+		int[][] attributeIndices = new int[size][];
+		double[][] coefficients = new double[size][];
+		int row = 0;
+		for (Map.Entry<T, Map<String, Double>> entry : parametersByAlternative.entrySet()) {
+			Map<String, Double> parameters = entry.getValue();
+			alternatives[row] = entry.getKey();
+			attributeIndices[row] = new int[parameters.size()];
+			coefficients[row] = new double[parameters.size()];
+			int column = 0;
+			for (Map.Entry<String, Double> parameter : parameters.entrySet()) {
+				Integer index = indexOfAttribute.get(parameter.getKey());
+				if (null == index) {
+					throw warn(new IllegalArgumentException(String
+							.format("Attribute %s of alternative %s is not available. Available attributes: %s",
+									parameter.getKey(), entry.getKey(), attributeNames)),
+							log);
+				}
+				if (null == parameter.getValue()) {
+					throw warn(new IllegalArgumentException(String
+							.format("Parameter %s of alternative %s has no value.", parameter.getKey(),
+									entry.getKey())),
+							log);
+				}
+				attributeIndices[row][column] = index;
+				coefficients[row][column] = parameter.getValue();
+				column++;
+			}
+			row++;
+		}
+		return new CoefficientMatrix<>(alternatives, attributeIndices, coefficients,
+				List.copyOf(attributeNames));
+	}
+
+	/**
+	 * @return index of the alternative or {@code -1} if the alternative is unknown
+	 */
+	public int indexOf(T alternative) {
+		for (int index = 0; index < alternatives.length; index++) {
+			if (alternatives[index].equals(alternative)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Calculates the utility of the alternative at the given index.
+	 *
+	 * @throws IllegalStateException if an attribute with a coefficient has no value
+	 */
+	public double utility(int alternative, double[] attributes) {
+		int[] indices = attributeIndices[alternative];
+		double[] row = coefficients[alternative];
+		double result = 0.0;
+		for (int column = 0; column < indices.length; column++) {
+			double attribute = attributes[indices[column]];
+			if (Double.isNaN(attribute)) {
+				throw warn(new IllegalStateException(String
+						.format("Attribute %s of alternative %s has no value.",
+								attributeNames.get(indices[column]), alternatives[alternative])),
+						log);
+			}
+			result += row[column] * attribute;
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the utility of the given alternative.
+	 *
+	 * @throws IllegalArgumentException if the alternative is unknown
+	 */
+	public double utility(T alternative, double[] attributes) {
+		int index = indexOf(alternative);
+		if (0 > index) {
+			throw warn(new IllegalArgumentException("Unknown alternative: " + alternative), log);
+		}
+		return utility(index, attributes);
+	}
+
+}
@@ -1,16 +1,20 @@
 package edu.kit.ifv.mobitopp.util.logit;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable;
-
 
+/**
+ * {@link LogitModel} on maps of alternatives. The utilities of the alternatives in the choice set
+ * are copied into arrays in the iteration order of the utilities and evaluated by an
+ * {@link ArrayLogitModel}.
+ */
 public class DefaultLogitModel<T>
         implements LogitModel<T> {
 
+    private final ArrayLogitModel arrayModel = new ArrayLogitModel();
+
 
     public Map<T, Double> calculateProbabilities(
             Map<T, Double> utilities
@@ -34,90 +38,21 @@ public class DefaultLogitModel<T>
             Collection<T> choiceSet
     ) {
 
-        Map<T, Double> utilities = new LinkedHashMap<>(utils);
-
-        utilities.keySet().retainAll(choiceSet);
-
-        assert !utilities.isEmpty() : (choiceSet + " - " + utils);
-
-        Map<T, Double> expUtilities = calculateExpUtilities(beta, utilities, 0.0);
-
-        Double total = sum(expUtilities);
-
-        if (total == 0.0) {
-            Double maxVal = Collections.max(utilities.values());
-
-            assert !maxVal.isNaN();
-            assert maxVal < 0.0;
-
-            expUtilities = calculateExpUtilities(beta, utilities, maxVal);
-            total = sum(expUtilities);
-        }
-
-        assert total > 0.0 : ("sum(expUtilities)=" + total + "\n"
-                + "choiceSet:\n" + choiceSet + "\n"
-                + "utilities:\n" + utilities);
-        assert !total.isNaN();
-        assert !total.isInfinite();
-
-        Map<T, Double> probabilities = new LinkedHashMap<T, Double>();
-
-        for (T choice : expUtilities.keySet()) {
-
-            Double expVal = expUtilities.get(choice);
-
-            Double probability = expVal / total;
-
-            probabilities.put(choice, probability);
-        }
-
-        return probabilities;
-    }
-
-
-    private Map<T, Double> calculateExpUtilities(
-            double beta,
-            Map<T, Double> utilities,
-            double offset
-    ) {
-
-        Map<T, Double> expUtilities = new LinkedHashMap<T, Double>();
-
-        for (T choice : utilities.keySet()) {
-
-            assert utilities.containsKey(choice);
-
-            Double val = utilities.get(choice) + offset;
-
-            assert !(val.isInfinite() && val > 0.0);
-
-            Double expVal = Math.exp(beta * val);
-
-            expUtilities.put(choice, expVal);
-        }
-
-        if (sum(expUtilities).isInfinite()) {
-            return calculateExpUtilities(beta / 2.0, utilities, offset);
-        }
-
-        if (sum(expUtilities) == 0.0) {
-            return calculateExpUtilities(beta / 2.0, utilities, offset);
-        }
-
+        Alternatives<T> alternatives = new Alternatives<>(utils, choiceSet);
 
-        return expUtilities;
-    }
-
-    private Double sum(Map<T, Double> data) {
+        assert alternatives.size > 0 : (choiceSet + " - " + utils);
 
-        Double total = 0.0;
+        double[] probabilities = alternatives.utilities;
+        arrayModel.calculateProbabilities(beta, alternatives.utilities, alternatives.size,
+                probabilities);
 
-        for (Double val : data.values()) {
+        Map<T, Double> result = new LinkedHashMap<T, Double>();
 
-            total += val;
+        for (int index = 0; index < alternatives.size; index++) {
+            result.put(alternatives.choice(index), probabilities[index]);
         }
 
-        return total;
+        return result;
     }
 
 
@@ -129,11 +64,12 @@ public class DefaultLogitModel<T>
 
         assert !utilities.isEmpty();
 
-        Map<T, Double> probabilities = calculateProbabilities(utilities, choiceSet);
+        Alternatives<T> alternatives = new Alternatives<>(utilities, choiceSet);
 
-        DiscreteRandomVariable<T> distribution = new DiscreteRandomVariable<T>(probabilities);
+        int selected = arrayModel.select(1.0, alternatives.utilities, alternatives.size,
+                alternatives.utilities, randomNumber);
 
-        return distribution.realization(randomNumber);
+        return alternatives.choice(selected);
     }
 
     public T select(
@@ -145,5 +81,34 @@ public class DefaultLogitModel<T>
     }
 
 
-}
+    /**
+     * Utilities of all alternatives contained in the choice set in the iteration order of the
+     * utilities.
+     */
+    private static class Alternatives<T> {
+
+        private final Object[] choices;
+        private final double[] utilities;
+        private int size;
+
+        Alternatives(Map<T, Double> utilities, Collection<T> choiceSet) {
+            super();
+            this.choices = new Object[utilities.size()];
+            this.utilities = new double[utilities.size()];
+            this.size = 0;
+            for (Map.Entry<T, Double> entry : utilities.entrySet()) {
+                if (choiceSet.contains(entry.getKey())) {
+                    this.choices[size] = entry.getKey();
+                    this.utilities[size] = entry.getValue();
+                    size++;
+                }
+            }
+        }
 
+        @SuppressWarnings("unchecked")
+        T choice(int index) {
+            return (T) choices[index];
+        }
+    }
+
+}
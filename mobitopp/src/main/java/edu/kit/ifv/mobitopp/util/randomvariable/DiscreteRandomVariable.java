@@ -2,100 +2,105 @@ package edu.kit.ifv.mobitopp.util.randomvariable;
 
 import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Discrete random variable based on the cumulative distribution of its values. The cumulative
+ * distribution is stored in a sorted array and a realization is found via binary search. A
+ * realization returns the first value whose cumulative probability is greater than the given random
+ * number.
+ */
 @Slf4j
 public class DiscreteRandomVariable<T> {
 
-	private final NavigableMap<Double,T> cumulativeDistribution;
+	private double[] cumulativeProbabilities;
+	private Object[] values;
+	private int size;
 
 
 	public DiscreteRandomVariable(Map<T,? extends Number> distribution) {
 
-		this.cumulativeDistribution = cumulativeDistribution(distribution);
+		cumulativeDistribution(distribution);
 	}
 
 	public DiscreteRandomVariable(Collection<T> distribution) {
 
-		this.cumulativeDistribution = cumulativeUniformDistribution(distribution);
+		cumulativeUniformDistribution(distribution);
 	}
 
-	protected NavigableMap<Double,T> cumulativeDistribution(Map<T,? extends Number> distribution) {
+	private void cumulativeDistribution(Map<T,? extends Number> distribution) {
 		if (0 >= distribution.size()) {
 			throw warn(new IllegalArgumentException("At least one element is required to select from."), log);
 		}
 
-		NavigableMap<Double,T> cumul = new TreeMap<Double,T>();
-
-		Double total = 0.0;
+		double total = 0.0;
 
 		for (Number val :  distribution.values()) {
 			total += val.doubleValue();
 		}
 
-		if (total == 0.0) return cumulativeUniformDistribution(distribution.keySet());
+		if (total == 0.0) {
+			cumulativeUniformDistribution(distribution.keySet());
+			return;
+		}
 
 		assert total > 0.0 : distribution;
 
-		if (total.isInfinite()) {
+		if (Double.isInfinite(total)) {
 
 			Set<T> infinite = infiniteValues(distribution);
 
-			return cumulativeUniformDistribution(infinite);
+			cumulativeUniformDistribution(infinite);
+			return;
 		}
 
-		assert !total.isInfinite();
+		initialiseArrays(distribution.size());
 
-		Double current = 0.0;
+		double current = 0.0;
 
-		for (T t: distribution.keySet()) {
-			Number num = distribution.get(t);
-			double val = num.doubleValue();
+		for (Map.Entry<T,? extends Number> entry : distribution.entrySet()) {
+			double val = entry.getValue().doubleValue();
 
-			double increment = val/total;	
+			double increment = val/total;
 
 			if (current + increment > current) {
 				current += increment;
 
-				cumul.put(current,t);
+				append(current, entry.getKey());
 			}
 		}
 
-		assert cumul.size() > 0 : distribution;
-
-		return cumul;
+		assert size > 0 : distribution;
 	}
 
-	protected Set<T> infiniteValues(Map<T,? extends Number> distribution) {
+	private Set<T> infiniteValues(Map<T,? extends Number> distribution) {
 
 		Set<T> result = new LinkedHashSet<T>();
 
-		for (T key: distribution.keySet()) {
+		for (Map.Entry<T,? extends Number> entry : distribution.entrySet()) {
 
-			Double value = distribution.get(key).doubleValue();
-
-			if (value.isInfinite()) {
-				result.add(key);
+			if (Double.isInfinite(entry.getValue().doubleValue())) {
+				result.add(entry.getKey());
 			}
 		}
 
 		return result;
 	}
 
-	protected NavigableMap<Double,T> cumulativeUniformDistribution(Collection<T> distribution) {
+	private void cumulativeUniformDistribution(Collection<T> distribution) {
 
 		assert distribution.size() > 0;
 
-		NavigableMap<Double,T> cumul = new TreeMap<Double,T>();
+		initialiseArrays(distribution.size());
 
-		Double current = 0.0;
+		double current = 0.0;
 
 		double increment = 1.0/distribution.size();
 
@@ -103,33 +108,78 @@ public class DiscreteRandomVariable<T> {
 
 			current += increment;
 
-			cumul.put(current,t);
+			append(current, t);
 		}
 
+		assert size > 0;
+	}
 
-		assert cumul.size() > 0;
+	private void initialiseArrays(int capacity) {
+		this.cumulativeProbabilities = new double[capacity];
+		this.values = new Object[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Adds the value with the given cumulative probability. Equal cumulative probabilities keep the
+	 * last value only.
+	 */
+	private void append(double cumulativeProbability, T value) {
+		if (0 < size && cumulativeProbabilities[size - 1] == cumulativeProbability) {
+			values[size - 1] = value;
+			return;
+		}
+		cumulativeProbabilities[size] = cumulativeProbability;
+		values[size] = value;
+		size++;
+	}
+
+	int size() {
+		return size;
+	}
 
-		return cumul;
+	double cumulativeProbability(int index) {
+		return cumulativeProbabilities[index];
 	}
 
+	@SuppressWarnings("unchecked")
+	T value(int index) {
+		return (T) values[index];
+	}
 
 	public T realization(double rnd) {
 
 		assert rnd >= 0.0;
 		assert rnd <= 1.0;
 
-		Map.Entry<Double,T> entry = cumulativeDistribution.higherEntry(rnd);
+		return value(higherIndex(rnd));
+	}
 
-		return entry != null ? entry.getValue() :  cumulativeDistribution.lastEntry().getValue();
+	/**
+	 * Finds the first index whose cumulative probability is greater than the given random number.
+	 * Returns the last index, if there is no such index.
+	 */
+	private int higherIndex(double rnd) {
+		int low = 0;
+		int high = size - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (cumulativeProbabilities[middle] > rnd) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
 	}
-	
+
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result
-				+ ((cumulativeDistribution == null) ? 0 : cumulativeDistribution.hashCode());
-		return result;
+		int result = 0;
+		for (int index = 0; index < size; index++) {
+			result += Double.hashCode(cumulativeProbabilities[index]) ^ Objects.hashCode(values[index]);
+		}
+		return 31 + result;
 	}
 
 	@Override
@@ -142,17 +192,20 @@ public class DiscreteRandomVariable<T> {
 			return false;
 		@SuppressWarnings("rawtypes")
 		DiscreteRandomVariable other = (DiscreteRandomVariable) obj;
-		if (cumulativeDistribution == null) {
-			if (other.cumulativeDistribution != null)
-				return false;
-		} else if (!cumulativeDistribution.equals(other.cumulativeDistribution))
-			return false;
-		return true;
+		return Arrays.equals(cumulativeProbabilities, 0, size, other.cumulativeProbabilities, 0,
+				other.size)
+				&& Arrays.equals(values, 0, size, other.values, 0, other.size);
 	}
 
 	public String toString() {
-		return this.cumulativeDistribution.toString();
+		StringBuilder result = new StringBuilder("{");
+		for (int index = 0; index < size; index++) {
+			if (0 < index) {
+				result.append(", ");
+			}
+			result.append(cumulativeProbabilities[index]).append('=').append(values[index]);
+		}
+		return result.append('}').toString();
 	}
 
 }
-
@@ -0,0 +1,93 @@
+package edu.kit.ifv.mobitopp.util.randomvariable;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Discrete random variable for distributions which are sampled many times. Next to the cumulative
+ * distribution, a guide table stores for each of {@code size} equally sized intervals of the random
+ * number the first value which may be selected in it. A realization starts at this value and
+ * searches linearly, which takes constant time on average.
+ *
+ * A realization returns exactly the same value as {@link DiscreteRandomVariable} for the same
+ * distribution and random number, so both can replace each other without changing the results of
+ * a seeded simulation. An alias table would be constant time in the worst case, but maps random
+ * numbers to values differently.
+ */
+public class IndexedRandomVariable<T> {
+
+	private final double[] cumulativeProbabilities;
+	private final Object[] values;
+	private final int[] guide;
+
+	public IndexedRandomVariable(Map<T, ? extends Number> distribution) {
+		this(new DiscreteRandomVariable<>(distribution));
+	}
+
+	public IndexedRandomVariable(Collection<T> distribution) {
+		this(new DiscreteRandomVariable<>(distribution));
+	}
+
+	private IndexedRandomVariable(DiscreteRandomVariable<T> distribution) {
+		super();
+		int size = distribution.size();
+		this.cumulativeProbabilities = new double[size];
+		this.values = new Object[size];
+		for (int index = 0; index < size; index++) {
+			cumulativeProbabilities[index] = distribution.cumulativeProbability(index);
+			values[index] = distribution.value(index);
+		}
+		this.guide = buildGuide();
+	}
+
+	/**
+	 * The guide of an interval is the first value whose cumulative probability falls into this or a
+	 * later interval. All values before it have a smaller cumulative probability than any random
+	 * number of the interval and are never selected for them.
+	 */
+	private int[] buildGuide() {
+		int size = values.length;
+		int[] guide = new int[size];
+		int index = 0;
+		for (int interval = 0; interval < size; interval++) {
+			while (index < size - 1 && intervalOf(cumulativeProbabilities[index]) < interval) {
+				index++;
+			}
+			guide[interval] = index;
+		}
+		return guide;
+	}
+
+	private int intervalOf(double rnd) {
+		return Math.min((int) (rnd * values.length), values.length - 1);
+	}
+
+	/**
+	 * Returns the first value whose cumulative probability is greater than the given random number
+	 * or the last value, if there is no such value.
+	 */
+	@SuppressWarnings("unchecked")
+	public T realization(double rnd) {
+
+		assert rnd >= 0.0;
+		assert rnd <= 1.0;
+
+		int index = guide[intervalOf(rnd)];
+		while (index < values.length - 1 && cumulativeProbabilities[index] <= rnd) {
+			index++;
+		}
+		return (T) values[index];
+	}
+
+	public String toString() {
+		StringBuilder result = new StringBuilder("{");
+		for (int index = 0; index < values.length; index++) {
+			if (0 < index) {
+				result.append(", ");
+			}
+			result.append(values[index]).append('=').append(cumulativeProbabilities[index]);
+		}
+		return result.append('}').toString();
+	}
+
+}
@@ -0,0 +1,362 @@
+package edu.kit.ifv.mobitopp.visum;
+
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
+import static edu.kit.ifv.mobitopp.visum.TableDescriptionReader.emptyDescription;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.kit.ifv.mobitopp.util.dataimport.Row;
+import edu.kit.ifv.mobitopp.visum.reader.VisumFileReader;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the tables of a Visum file directly from their position in the file. On first access, the
+ * file is scanned once and the byte offsets of all tables are recorded. Afterwards, a table is read
+ * from a read only memory mapping of its section, so neither the content of the file is kept on the
+ * heap nor the lines in front of the table are read again.
+ *
+ * The lines of a table are converted into {@link Row}s in batches. The lines of a batch are decoded
+ * and split in parallel, the rows are returned in the order of the file.
+ *
+ * Sections are mapped in windows ending at line breaks, because a single mapping is limited to 2
+ * GB.
+ */
+@Slf4j
+public final class IndexedVisumReader extends VisumFileReader {
+
+    private static final int defaultBatchSize = 4096;
+    private static final long defaultWindowSize = 1L << 30;
+    private static final byte newLine = '\n';
+    private static final byte carriageReturn = '\r';
+    private static final byte startOfTable = '$';
+    private static final String tableNameSeparator = ":";
+
+    private final int batchSize;
+    private final long windowSize;
+    private File file;
+    private Map<String, Section> sections;
+
+    IndexedVisumReader(String attributeSeparator, Charset charset, int batchSize, long windowSize) {
+        super(attributeSeparator, charset);
+        this.batchSize = batchSize;
+        this.windowSize = windowSize;
+    }
+
+    public IndexedVisumReader(String attributeSeparator, Charset charset) {
+        this(attributeSeparator, charset, defaultBatchSize, defaultWindowSize);
+    }
+
+    public IndexedVisumReader() {
+        super();
+        this.batchSize = defaultBatchSize;
+        this.windowSize = defaultWindowSize;
+    }
+
+    @Override
+    public Stream<Row> read(File file, String tableName) {
+        try {
+            Section section = sectionOf(file, tableName);
+            if (null == section) {
+                return Stream.empty();
+            }
+            Iterator<Row> rows = new Rows(map(file, section), section.description);
+            return StreamSupport
+                    .stream(Spliterators
+                            .spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL),
+                            false);
+        } catch (IOException cause) {
+            throw warn(new UncheckedIOException(cause), log);
+        }
+    }
+
+    /**
+     * The returned description addresses the lines of the table like
+     * {@link TableDescriptionReader}.
+     */
+    @Override
+    protected TableDescription getTableDescription(File file, Charset charset, String tableName)
+            throws IOException {
+        Section section = sectionOf(file, tableName);
+        return null == section ? emptyDescription : section.description;
+    }
+
+    @Override
+    protected BufferedReader createReader(File file, Charset charset) throws IOException {
+        return Files.newBufferedReader(file.toPath(), charset);
+    }
+
+    private synchronized Section sectionOf(File file, String tableName) throws IOException {
+        if (null == this.file || !this.file.equals(file)) {
+            sections = scan(file);
+            this.file = file;
+        }
+        Section section = sections.get(tableName);
+        if (null == section) {
+            warn(tableName, "table description", emptyDescription, log);
+        }
+        return section;
+    }
+
+    private Map<String, Section> scan(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            Scan scan = new Scan(size);
+            for (long position = 0; position < size; position += windowSize) {
+                scan.process(channel.map(MapMode.READ_ONLY, position,
+                        Math.min(windowSize, size - position)), position);
+            }
+            return scan.finish();
+        }
+    }
+
+    /**
+     * Maps the given section in windows, which end behind a line break.
+     */
+    private List<ByteBuffer> map(File file, Section section) throws IOException {
+        List<ByteBuffer> windows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long position = section.start;
+            while (position < section.end) {
+                long size = Math.min(windowSize, section.end - position);
+                ByteBuffer window = channel.map(MapMode.READ_ONLY, position, size);
+                if (position + size < section.end) {
+                    window.limit(endOfLastLine(window));
+                }
+                if (0 == window.limit()) {
+                    throw warn(new IOException(
+                            "Line is longer than " + windowSize + " bytes in file: " + file), log);
+                }
+                windows.add(window);
+                position += window.limit();
+            }
+        }
+        return windows;
+    }
+
+    private static int endOfLastLine(ByteBuffer window) {
+        for (int index = window.limit() - 1; index >= 0; index--) {
+            if (newLine == window.get(index)) {
+                return index + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Position of a table in the file. The section starts behind the line naming the table and ends
+     * in front of the first empty line or the first line starting with {@code $}.
+     */
+    private static class Section {
+
+        private final TableDescription description;
+        private final long start;
+        private final long end;
+
+        private Section(TableDescription description, long start, long end) {
+            super();
+            this.description = description;
+            this.start = start;
+            this.end = end;
+        }
+
+    }
+
+    /**
+     * Collects the sections of all tables while the file is processed window by window. Only lines
+     * starting with {@code $} are decoded.
+     */
+    private class Scan {
+
+        private final long size;
+        private final Map<String, Section> sections;
+        private final ByteArrayOutputStream header;
+        private int lineNumber;
+        private long startOfLine;
+        private long length;
+        private byte first;
+        private String table;
+        private List<String> attributes;
+        private int firstLineOfTable;
+        private long startOfContent;
+
+        private Scan(long size) {
+            super();
+            this.size = size;
+            this.sections = new HashMap<>();
+            this.header = new ByteArrayOutputStream();
+        }
+
+        private void process(ByteBuffer window, long offset) {
+            for (int index = 0; index < window.limit(); index++) {
+                byte value = window.get(index);
+                if (newLine == value) {
+                    finishLine(offset + index + 1);
+                    continue;
+                }
+                if (0 == length) {
+                    first = value;
+                }
+                if (startOfTable == first) {
+                    header.write(value);
+                }
+                length++;
+            }
+        }
+
+        private void finishLine(long startOfNextLine) {
+            lineNumber++;
+            boolean isEmpty = 0 == length || 1 == length && carriageReturn == first;
+            if (null != table && (isEmpty || startOfTable == first)) {
+                finishTable(startOfLine, lineNumber - 1);
+            }
+            if (!isEmpty && startOfTable == first) {
+                String line = withoutCarriageReturn(new String(header.toByteArray(), charset()));
+                if (line.contains(tableNameSeparator)) {
+                    startTable(line, Math.min(startOfNextLine, size));
+                }
+            }
+            startOfLine = startOfNextLine;
+            length = 0;
+            first = 0;
+            header.reset();
+        }
+
+        private String withoutCarriageReturn(String line) {
+            return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        }
+
+        private void startTable(String line, long startOfContent) {
+            String[] fields = line.split(tableNameSeparator);
+            table = fields[0].substring(1);
+            attributes = Arrays.asList(fields[1].split(attributeSeparator));
+            firstLineOfTable = lineNumber;
+            this.startOfContent = startOfContent;
+        }
+
+        private void finishTable(long endOfContent, int lastLineOfTable) {
+            TableDescription description = new TableDescription(firstLineOfTable, lastLineOfTable,
+                    attributes, attributeSeparator);
+            sections.put(table, new Section(description, startOfContent, endOfContent));
+            table = null;
+        }
+
+        private Map<String, Section> finish() {
+            if (0 < length) {
+                finishLine(size);
+            }
+            if (null != table) {
+                finishTable(size, lineNumber);
+            }
+            return sections;
+        }
+
+    }
+
+    /**
+     * Converts the lines of a section in batches.
+     */
+    private class Rows implements Iterator<Row> {
+
+        private final Iterator<ByteBuffer> windows;
+        private final TableDescription description;
+        private final ByteBuffer[] lineWindows;
+        private final int[] starts;
+        private final int[] ends;
+        private final Row[] batch;
+        private ByteBuffer window;
+        private int size;
+        private int next;
+
+        private Rows(List<ByteBuffer> windows, TableDescription description) {
+            super();
+            this.windows = windows.iterator();
+            this.description = description;
+            this.lineWindows = new ByteBuffer[batchSize];
+            this.starts = new int[batchSize];
+            this.ends = new int[batchSize];
+            this.batch = new Row[batchSize];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == size) {
+                readBatch();
+            }
+            return next < size;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = batch[next];
+            batch[next++] = null;
+            return row;
+        }
+
+        private void readBatch() {
+            size = 0;
+            next = 0;
+            while (size < batchSize && nextWindow()) {
+                int start = window.position();
+                int end = start;
+                while (end < window.limit() && newLine != window.get(end)) {
+                    end++;
+                }
+                window.position(Math.min(end + 1, window.limit()));
+                if (start < end && carriageReturn == window.get(end - 1)) {
+                    end--;
+                }
+                lineWindows[size] = window;
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+            IntStream.range(0, size).parallel().forEach(line -> batch[line] = convert(line));
+        }
+
+        private boolean nextWindow() {
+            while (null == window || !window.hasRemaining()) {
+                if (!windows.hasNext()) {
+                    return false;
+                }
+                window = windows.next();
+            }
+            return true;
+        }
+
+        private Row convert(int line) {
+            ByteBuffer content = lineWindows[line].duplicate();
+            content.position(starts[line]);
+            content.limit(ends[line]);
+            byte[] bytes = new byte[content.remaining()];
+            content.get(bytes);
+            return description.rowOf(new String(bytes, charset()));
+        }
+
+    }
+
+}
@@ -27,8 +27,14 @@ public class TableDescription {
     return lines
         .skip(startOfTable)
         .limit(endOfTable - startOfTable)
-        .map(line -> parseLine(line, attributes.size()))
-        .map(line -> Row.createRow(line, attributes));
+        .map(this::rowOf);
+  }
+
+  /**
+   * Converts a single line of the table. Missing values at the end of the line are empty.
+   */
+  public Row rowOf(String line) {
+    return Row.createRow(parseLine(line, attributes.size()), attributes);
   }
 
   private List<String> parseLine(String line, int numFields) {
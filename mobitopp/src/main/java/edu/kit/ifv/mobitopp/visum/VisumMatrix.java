@@ -67,7 +67,7 @@ public class VisumMatrix implements Matrix<Float> {
 		VisumMatrix matrix = new VisumMatrix(internal.ids());
 		for (ZoneId source : internal.ids()) {
 			for (ZoneId destination : internal.ids()) {
-				float value = internal.get(source, destination);
+				float value = internal.getFloat(source, destination);
 				matrix.internal.set(source, destination, factor * value);
 			}
 		}
@@ -84,7 +84,7 @@ public class VisumMatrix implements Matrix<Float> {
 		VisumMatrix matrix = new VisumMatrix(internal.ids());
 		for (ZoneId source : internal.ids()) {
 			for (ZoneId destination : internal.ids()) {
-				float value = internal.get(source, destination);
+				float value = internal.getFloat(source, destination);
 				float increment = other.get(source, destination);
 				matrix.internal.set(source, destination, value + increment);
 			}
@@ -102,7 +102,7 @@ public class VisumMatrix implements Matrix<Float> {
 		VisumMatrix matrix = new VisumMatrix(internal.ids());
 		for (ZoneId source : internal.ids()) {
 			for (ZoneId destination : internal.ids()) {
-				float value = internal.get(source, destination);
+				float value = internal.getFloat(source, destination);
 				float newValue = value + increment;
 				matrix.internal.set(source, destination, newValue);
 			}
@@ -121,7 +121,7 @@ public class VisumMatrix implements Matrix<Float> {
 		VisumMatrix matrix = new VisumMatrix(internal.ids());
 		for (ZoneId source : internal.ids()) {
 			for (ZoneId destination : internal.ids()) {
-				float value = internal.get(source, destination);
+				float value = internal.getFloat(source, destination);
 				float increment = other.get(source, destination);
 				float newValue = Math.min(value, increment);
 				matrix.internal.set(source, destination, newValue);
@@ -139,7 +139,7 @@ public class VisumMatrix implements Matrix<Float> {
 		float sum = 0.0f;
 		for (ZoneId source : internal.ids()) {
 			for (ZoneId destination : internal.ids()) {
-				sum += internal.get(source, destination);
+				sum += internal.getFloat(source, destination);
 			}
 		}
 		return sum;
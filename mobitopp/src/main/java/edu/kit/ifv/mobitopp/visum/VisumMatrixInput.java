@@ -0,0 +1,181 @@
+package edu.kit.ifv.mobitopp.visum;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the content of a Visum matrix directly from bytes. Header lines are returned as
+ * {@link String}, cell values are parsed into a float array without creating objects per cell.
+ *
+ * Decimal values whose digits form an integer of at most 2^24 and which have at most 10 decimal
+ * places are converted with a single float division. Both operands are exact floats, so the result
+ * is rounded exactly as by {@link Float#parseFloat(String)}. All other values are delegated to
+ * {@link Float#parseFloat(String)}.
+ */
+class VisumMatrixInput implements Closeable {
+
+	private static final int bufferSize = 1 << 16;
+	private static final int endOfStream = -1;
+	private static final long maximumExactMantissa = 1 << 24;
+	private static final float[] powersOfTen = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f,
+			1e8f, 1e9f, 1e10f };
+
+	private final InputStream input;
+	private final byte[] buffer;
+	private byte[] token;
+	private int position;
+	private int limit;
+
+	VisumMatrixInput(InputStream input) {
+		super();
+		this.input = input;
+		this.buffer = new byte[bufferSize];
+		this.token = new byte[32];
+		this.position = 0;
+		this.limit = 0;
+	}
+
+	private int peek() throws IOException {
+		if (position == limit && !fill()) {
+			return endOfStream;
+		}
+		return buffer[position] & 0xff;
+	}
+
+	private int read() throws IOException {
+		int next = peek();
+		if (endOfStream != next) {
+			position++;
+		}
+		return next;
+	}
+
+	private boolean fill() throws IOException {
+		int read = input.read(buffer, 0, buffer.length);
+		while (0 == read) {
+			read = input.read(buffer, 0, buffer.length);
+		}
+		position = 0;
+		limit = Math.max(0, read);
+		return 0 < read;
+	}
+
+	boolean hasMore() throws IOException {
+		return endOfStream != peek();
+	}
+
+	/**
+	 * Reads the next line without line terminator.
+	 *
+	 * @return next line or {@code null} at the end of the input
+	 */
+	String readLine() throws IOException {
+		if (!hasMore()) {
+			return null;
+		}
+		int length = 0;
+		int next = read();
+		while (endOfStream != next && '\n' != next) {
+			length = append(length, next);
+			next = read();
+		}
+		if (0 < length && '\r' == token[length - 1]) {
+			length--;
+		}
+		return new String(token, 0, length, Charset.defaultCharset());
+	}
+
+	/**
+	 * Checks whether the next line starts with the given character without consuming it.
+	 */
+	boolean nextLineStartsWith(char character) throws IOException {
+		return character == peek();
+	}
+
+	/**
+	 * Parses all values of the next line into the given array starting at the given index.
+	 *
+	 * @return index after the last parsed value
+	 * @throws IndexOutOfBoundsException if the values do not fit into the array
+	 */
+	int readValues(float[] values, int index) throws IOException {
+		int next = read();
+		while (endOfStream != next && '\n' != next) {
+			if (isWhitespace(next)) {
+				next = read();
+				continue;
+			}
+			int length = 0;
+			while (endOfStream != next && '\n' != next && !isWhitespace(next)) {
+				length = append(length, next);
+				next = read();
+			}
+			values[index++] = valueOf(length);
+		}
+		return index;
+	}
+
+	private static boolean isWhitespace(int character) {
+		return ' ' == character || '\t' == character || '\r' == character || '\f' == character
+				|| 0x0b == character;
+	}
+
+	private int append(int length, int character) {
+		if (length == token.length) {
+			byte[] larger = new byte[2 * token.length];
+			System.arraycopy(token, 0, larger, 0, length);
+			token = larger;
+		}
+		token[length] = (byte) character;
+		return length + 1;
+	}
+
+	private float valueOf(int length) {
+		int index = 0;
+		boolean negative = false;
+		if ('-' == token[0] || '+' == token[0]) {
+			negative = '-' == token[0];
+			index++;
+		}
+		long mantissa = 0;
+		int decimals = 0;
+		boolean hasDigits = false;
+		boolean hasPoint = false;
+		for (; index < length; index++) {
+			byte character = token[index];
+			if ('0' <= character && '9' >= character) {
+				mantissa = 10 * mantissa + (character - '0');
+				hasDigits = true;
+				if (hasPoint) {
+					decimals++;
+				}
+				if (maximumExactMantissa < mantissa || powersOfTen.length <= decimals) {
+					return parseFloat(length);
+				}
+			} else if ('.' == character && !hasPoint) {
+				hasPoint = true;
+			} else {
+				return parseFloat(length);
+			}
+		}
+		if (!hasDigits) {
+			return parseFloat(length);
+		}
+		float value = (float) mantissa / powersOfTen[decimals];
+		return negative ? -value : value;
+	}
+
+	private float parseFloat(int length) {
+		return Float.parseFloat(new String(token, 0, length, ISO_8859_1));
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+}
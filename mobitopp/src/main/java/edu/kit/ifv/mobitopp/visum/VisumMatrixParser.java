@@ -1,36 +1,41 @@
 package edu.kit.ifv.mobitopp.visum;
 
-import static java.util.Arrays.asList;
+import static edu.kit.ifv.mobitopp.util.collections.StreamUtils.warn;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
+import edu.kit.ifv.mobitopp.data.ArrayFloatStorage;
 import edu.kit.ifv.mobitopp.data.CostMatrix;
 import edu.kit.ifv.mobitopp.data.FixedDistributionMatrix;
 import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.FloatStorage;
 import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
 import edu.kit.ifv.mobitopp.data.ZoneId;
 import edu.kit.ifv.mobitopp.data.local.MatrixParser;
 import edu.kit.ifv.mobitopp.util.file.StreamContent;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Parses matrices in Visum $V format. The cell values are streamed directly into the float array
+ * of the resulting matrix. Compressed files are supported via {@link StreamContent}.
+ */
+@Slf4j
 public class VisumMatrixParser implements MatrixParser {
 
-    private final BufferedReader reader;
+    private final VisumMatrixInput input;
     private final List<ZoneId> zoneIds;
-    private final List<Float> data;
     private String currentLine;
 
     private VisumMatrixParser(InputStream input) {
         super();
-        reader = new BufferedReader(new InputStreamReader(input));
+        this.input = new VisumMatrixInput(input);
         zoneIds = new ArrayList<>();
-        data = new ArrayList<>();
         currentLine = "";
     }
 
@@ -154,12 +159,14 @@ public class VisumMatrixParser implements MatrixParser {
         return parse(TravelTimeMatrix::new);
     }
 
-    private <T extends FloatMatrix> T parse(Function<List<ZoneId>, T> creator)
+    private <T extends FloatMatrix> T parse(BiFunction<List<ZoneId>, FloatStorage, T> creator)
             throws IOException {
-        skipHeader();
-        readZones();
-        readCellValues();
-        return build(creator);
+        try (input) {
+            skipHeader();
+            readZones();
+            float[] values = readCellValues();
+            return creator.apply(zoneIds, new ArrayFloatStorage(values));
+        }
     }
 
     private void skipHeader() throws IOException {
@@ -180,59 +187,46 @@ public class VisumMatrixParser implements MatrixParser {
         }
     }
 
-    private <T extends FloatMatrix> T build(Function<List<ZoneId>, T> creator) {
-        T matrix = createMatrix(creator);
-        for (int index = 0; index < data.size(); index++) {
-            int size = zoneIds.size();
-            int row = index / size;
-            int column = index % size;
-            float value = data.get(index);
-            matrix.set(row, column, value);
-        }
-        return matrix;
-    }
-
-    private <T extends FloatMatrix> T createMatrix(Function<List<ZoneId>, T> creator) {
-        return creator.apply(zoneIds);
-    }
-
     private boolean isReady() throws IOException {
-        return reader.ready();
+        return input.hasMore();
     }
 
     private boolean startOfCellSection() {
         return currentLine.equals("* Anzahl Netzobjekte");
     }
 
-    private void readCellValues() throws IOException {
-        while (isReady() && isNotFooter()) {
-            readLine();
-            if (lineContainsData()) {
-                parseCurrentValues();
+    private float[] readCellValues() throws IOException {
+        float[] values = new float[FloatMatrix.numberOfCells(zoneIds)];
+        Arrays.fill(values, Float.NaN);
+        int parsedValues = 0;
+        while (isReady()) {
+            if (input.nextLineStartsWith('*')) {
+                readLine();
+                if (isFooter()) {
+                    break;
+                }
+                continue;
             }
+            parsedValues = readValuesOfLine(values, parsedValues);
         }
+        return values;
     }
 
-    private void parseCurrentValues() {
-        for (String token : parseLine()) {
-            data.add(valueOf(token));
+    private int readValuesOfLine(float[] values, int parsedValues) throws IOException {
+        try {
+            return input.readValues(values, parsedValues);
+        } catch (IndexOutOfBoundsException cause) {
+            throw warn(new IllegalArgumentException(
+                    "Matrix contains more values than " + values.length + " cells.", cause), log);
         }
     }
 
-    private float valueOf(String token) {
-        return Float.parseFloat(token);
-    }
-
-    private boolean lineContainsData() {
-        return !currentLine.startsWith("*") && !currentLine.isEmpty();
-    }
-
-    private boolean isNotFooter() {
-        return !currentLine.startsWith("* Netzobjektnamen");
+    private boolean isFooter() {
+        return currentLine.startsWith("* Netzobjektnamen");
     }
 
     private void readLine() throws IOException {
-        currentLine = reader.readLine();
+        currentLine = input.readLine();
     }
 
     private void parseCurrentZones() {
@@ -247,7 +241,7 @@ public class VisumMatrixParser implements MatrixParser {
 
     private List<String> parseLine() {
         String[] tokens = currentLine.trim().split("\\s+");
-        return asList(tokens);
+        return Arrays.asList(tokens);
     }
 
 }
@@ -31,6 +31,10 @@ public abstract class VisumFileReader {
 		this(TableDescriptionReader.defaultAttributeSeparator, defaultCharset);
 	}
 
+	protected Charset charset() {
+		return charset;
+	}
+
 	public Stream<Row> read(File routesFile, String tableName) {
 		try {
 			return doRead(routesFile, tableName);
@@ -15,7 +15,7 @@ import java.util.stream.Stream;
 
 import edu.kit.ifv.mobitopp.util.StopWatch;
 import edu.kit.ifv.mobitopp.util.dataimport.Row;
-import edu.kit.ifv.mobitopp.visum.CachedVisumReader;
+import edu.kit.ifv.mobitopp.visum.IndexedVisumReader;
 import edu.kit.ifv.mobitopp.visum.NetfileLanguage;
 import edu.kit.ifv.mobitopp.visum.POICategories;
 import edu.kit.ifv.mobitopp.visum.StandardAttributes;
@@ -83,7 +83,9 @@ public class VisumNetworkReader extends VisumBaseReader {
         stopWatch.start();
         this.file = file;
         this.ptSystemCode = ptSystemCode;
-        visumReader = new CachedVisumReader();
+        if (null == visumReader) {
+            visumReader = new IndexedVisumReader();
+        }
 
         log.info("reading tables...");
         VisumTransportSystems transportSystems = readTransportSystems();
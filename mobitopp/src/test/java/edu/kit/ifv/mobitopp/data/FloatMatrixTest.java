@@ -6,7 +6,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -76,4 +81,54 @@ public class FloatMatrixTest {
 		assertEquals(41.0f, matrix.get(3, 0), withMargin);
 	}
 
+	@Test
+	public void setFloat() {
+		matrix.setFloat(1, 2, 12.0f);
+
+		assertEquals(12.0f, matrix.getFloat(1, 2), withMargin);
+		assertEquals(12.0f, matrix.getFloat(newZoneId(1), newZoneId(2)), withMargin);
+		assertEquals(12.0f, matrix.values().get(1 * ids.size() + 2), withMargin);
+		assertEquals(DEFAULT_VALUE, matrix.getFloat(2, 1), withMargin);
+	}
+
+	@Test
+	public void usesGivenStorage() {
+		FloatStorage storage = OffHeapFloatStorage.allocate(ids.size() * ids.size(), DEFAULT_VALUE);
+		FloatMatrix offHeap = new FloatMatrix(ids, storage);
+
+		offHeap.set(3, 0, 41.0f);
+
+		assertEquals(41.0f, storage.get(3 * ids.size()), withMargin);
+		assertEquals(DEFAULT_VALUE, offHeap.get(0, 3), withMargin);
+	}
+
+	@Test
+	public void serialisesCells() throws Exception {
+		FloatStorage storage = OffHeapFloatStorage.allocate(ids.size() * ids.size(), DEFAULT_VALUE);
+		FloatMatrix offHeap = new FloatMatrix(ids, storage);
+		offHeap.set(1, 2, 5.0f);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(offHeap);
+		}
+		FloatMatrix deserialised;
+		try (ObjectInputStream input = new ObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()))) {
+			deserialised = (FloatMatrix) input.readObject();
+		}
+
+		assertEquals(ids, deserialised.ids());
+		assertTrue(deserialised.values() instanceof ArrayFloatStorage);
+		assertEquals(5.0f, deserialised.getFloat(1, 2), withMargin);
+		assertEquals(DEFAULT_VALUE, deserialised.getFloat(2, 1), withMargin);
+	}
+
+	@Test
+	public void failsOnStorageWithWrongSize() {
+		FloatStorage storage = new ArrayFloatStorage(ids.size(), DEFAULT_VALUE);
+
+		assertThrows(IllegalArgumentException.class, () -> new FloatMatrix(ids, storage));
+	}
+
 }
@@ -0,0 +1,98 @@
+package edu.kit.ifv.mobitopp.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OffHeapFloatStorageTest {
+
+	private static final int size = 4;
+	private static final float defaultValue = 1.0f;
+
+	@TempDir
+	public File temporaryFolder;
+
+	@Test
+	void allocatesWithDefaultValue() {
+		OffHeapFloatStorage storage = OffHeapFloatStorage.allocate(size, defaultValue);
+
+		storage.set(2, 3.0f);
+
+		assertThat(storage.size(), is(size));
+		assertThat(storage.get(0), is(defaultValue));
+		assertThat(storage.get(2), is(3.0f));
+	}
+
+	@Test
+	void mapsFileWithOffset() throws IOException {
+		File file = new File(temporaryFolder, "values.bin");
+		int headerLength = 8;
+		ByteBuffer content = ByteBuffer
+				.allocate(headerLength + size * Float.BYTES)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		content.position(headerLength);
+		for (int index = 0; index < size; index++) {
+			content.putFloat(index);
+		}
+		Files.write(file.toPath(), content.array());
+
+		OffHeapFloatStorage storage = OffHeapFloatStorage.mapReadOnly(file, headerLength, size);
+
+		for (int index = 0; index < size; index++) {
+			assertThat(storage.get(index), is((float) index));
+		}
+	}
+
+	@Test
+	void writesThroughReadWriteMapping() throws IOException {
+		File file = new File(temporaryFolder, "values.bin");
+
+		OffHeapFloatStorage written = OffHeapFloatStorage.mapReadWrite(file, 0, size);
+		written.set(3, 42.0f);
+		OffHeapFloatStorage read = OffHeapFloatStorage.mapReadOnly(file, 0, size);
+
+		assertThat(read.get(3), is(42.0f));
+	}
+
+	@Test
+	void failsOnTooShortFile() throws IOException {
+		File file = new File(temporaryFolder, "values.bin");
+		Files.write(file.toPath(), new byte[size]);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> OffHeapFloatStorage.mapReadOnly(file, 0, size));
+	}
+
+	@Test
+	void serialisesIntoArrayStorage() throws Exception {
+		OffHeapFloatStorage storage = OffHeapFloatStorage.allocate(size, defaultValue);
+		storage.set(1, 2.0f);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(storage);
+		}
+		Object copy;
+		try (ObjectInputStream input = new ObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = input.readObject();
+		}
+
+		assertThat(copy, is(instanceOf(ArrayFloatStorage.class)));
+		assertThat(((FloatStorage) copy).get(1), is(2.0f));
+	}
+}
@@ -0,0 +1,97 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresent;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.data.CostMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+
+public class BinaryMatrixFileTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private File source;
+	private BinaryMatrixFile binaryFile;
+	private CostMatrix matrix;
+	private List<ZoneId> zoneIds;
+
+	@BeforeEach
+	public void initialise() throws IOException {
+		source = new File(temporaryFolder, "matrix.mtx");
+		Files.write(source.toPath(), "some content".getBytes());
+		binaryFile = new BinaryMatrixFile(source);
+		zoneIds = List.of(new ZoneId("1", 0), new ZoneId("Zone ä", 1));
+		matrix = new CostMatrix(zoneIds);
+		matrix.setFloat(0, 0, 1.0f);
+		matrix.setFloat(0, 1, 2.0f);
+		matrix.setFloat(1, 0, 3.0f);
+		matrix.setFloat(1, 1, 4.0f);
+	}
+
+	@Test
+	void writesFileNextToSource() throws IOException {
+		binaryFile.write(matrix);
+
+		assertThat(binaryFile.file(), is(new File(temporaryFolder, "matrix.mtx.matrixcache")));
+		assertThat(binaryFile.file().exists(), is(true));
+		assertThat(temporaryFolder.list().length, is(2));
+	}
+
+	@Test
+	void mapsWrittenMatrix() throws IOException {
+		binaryFile.write(matrix);
+
+		CostMatrix mapped = binaryFile.map(CostMatrix::new).get();
+
+		assertThat(mapped.ids(), contains(zoneIds.toArray()));
+		assertThat(mapped.ids().get(1).getExternalId(), is("Zone ä"));
+		assertThat(mapped.getFloat(0, 0), is(1.0f));
+		assertThat(mapped.getFloat(0, 1), is(2.0f));
+		assertThat(mapped.getFloat(1, 0), is(3.0f));
+		assertThat(mapped.getFloat(1, 1), is(4.0f));
+	}
+
+	@Test
+	void mapsNothingWithoutBinaryFile() throws IOException {
+		assertThat(binaryFile.map(CostMatrix::new), isEmpty());
+	}
+
+	@Test
+	void isOutdatedWhenSourceChanges() throws IOException {
+		binaryFile.write(matrix);
+		Files.write(source.toPath(), "other content".getBytes());
+
+		assertThat(binaryFile.map(CostMatrix::new), isEmpty());
+	}
+
+	@Test
+	void isValidWhenOnlyModificationTimeChanges() throws IOException {
+		binaryFile.write(matrix);
+		source.setLastModified(source.lastModified() - 10_000L);
+
+		assertThat(binaryFile.map(CostMatrix::new), isPresent());
+	}
+
+	@Test
+	void isOutdatedWhenContentWithSameLengthChanges() throws IOException {
+		binaryFile.write(matrix);
+		long lastModified = source.lastModified();
+		Files.write(source.toPath(), "same length!".getBytes());
+		source.setLastModified(lastModified - 10_000L);
+
+		assertThat(binaryFile.map(CostMatrix::new), isEmpty());
+	}
+}
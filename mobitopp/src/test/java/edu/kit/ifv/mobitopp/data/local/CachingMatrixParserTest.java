@@ -0,0 +1,67 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.data.OffHeapFloatStorage;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+
+public class CachingMatrixParserTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private File source;
+	private MatrixParser sourceParser;
+	private TravelTimeMatrix matrix;
+
+	@BeforeEach
+	public void initialise() throws IOException {
+		source = new File(temporaryFolder, "matrix.mtx");
+		Files.write(source.toPath(), "some content".getBytes());
+		sourceParser = mock(MatrixParser.class);
+		matrix = new TravelTimeMatrix(List.of(new ZoneId("1", 0)), 1.0f);
+	}
+
+	@Test
+	void parsesSourceAndWritesBinaryFile() throws IOException {
+		when(sourceParser.parseTravelTimeMatrix()).thenReturn(matrix);
+
+		TravelTimeMatrix parsed = newParser().parseTravelTimeMatrix();
+
+		assertThat(parsed, is(sameInstance(matrix)));
+		assertThat(new BinaryMatrixFile(source).file().exists(), is(true));
+		verify(sourceParser).parseTravelTimeMatrix();
+	}
+
+	@Test
+	void mapsBinaryFileOnLaterLoads() throws IOException {
+		new BinaryMatrixFile(source).write(matrix);
+
+		TravelTimeMatrix mapped = newParser().parseTravelTimeMatrix();
+
+		assertThat(mapped.values(), is(instanceOf(OffHeapFloatStorage.class)));
+		assertThat(mapped.getFloat(0, 0), is(1.0f));
+		verifyZeroInteractions(sourceParser);
+	}
+
+	private CachingMatrixParser newParser() {
+		return new CachingMatrixParser(source, () -> sourceParser);
+	}
+}
@@ -6,7 +6,13 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.Before;
@@ -46,6 +52,39 @@ public class MatrixCacheTest {
 		assertThat(another, is(equalTo(matrix)));
 	}
 
+	@Test
+	public void loadsMatrixOnlyOnceWhenAccessedConcurrently() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		MatrixCache<Object, Object> countingCache = new MatrixCache<Object, Object>(notUsed) {
+
+			@Override
+			protected Stream<Object> split(Object id) {
+				return Stream.empty();
+			}
+
+			@Override
+			protected Object loadMatrixBy(Object id) throws IOException {
+				loads.incrementAndGet();
+				return matrix;
+			}
+		};
+		int numberOfThreads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int task = 0; task < numberOfThreads; task++) {
+			tasks.add(() -> countingCache.matrixFor(id));
+		}
+
+		try {
+			for (Future<Object> loaded : executor.invokeAll(tasks)) {
+				assertThat(loaded.get(), is(equalTo(matrix)));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(loads.get(), is(1));
+	}
+
 	private MatrixCache<Object, Object> newCache() {
 		return new MatrixCache<Object, Object>(notUsed) {
 
@@ -0,0 +1,106 @@
+package edu.kit.ifv.mobitopp.data.local;
+
+import static edu.kit.ifv.mobitopp.data.DayType.weekdays;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.data.CostMatrix;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.MatrixPreloader.PreloadedMatrix;
+import edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixId;
+import edu.kit.ifv.mobitopp.data.local.configuration.CostMatrixType;
+import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfiguration;
+import edu.kit.ifv.mobitopp.data.local.configuration.TaggedCostMatrix;
+import edu.kit.ifv.mobitopp.data.local.configuration.TaggedTravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.data.local.configuration.TravelTimeMatrixId;
+import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.simulation.StandardMode;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class MatrixPreloaderTest {
+
+	private static final Time date = Data.someTime();
+	private static final TimeSpan wholeDay = TimeSpan.between(0, 23);
+
+	private MatrixConfiguration configuration;
+	private TravelTimeMatrixCache travelTimeCache;
+	private CostMatrixCache costCache;
+	private TravelTimeMatrixId travelTimeId;
+	private CostMatrixId costId;
+	private TravelTimeMatrix travelTimeMatrix;
+	private CostMatrix costMatrix;
+
+	@BeforeEach
+	public void initialise() throws IOException {
+		configuration = mock(MatrixConfiguration.class);
+		travelTimeCache = new TravelTimeMatrixCache(configuration);
+		costCache = new CostMatrixCache(configuration);
+		List<ZoneId> zones = List.of(new ZoneId("1", 0), new ZoneId("2", 1));
+		travelTimeMatrix = new TravelTimeMatrix(zones);
+		costMatrix = new CostMatrix(zones);
+		travelTimeId = new TravelTimeMatrixId(StandardMode.CAR, weekdays, wholeDay);
+		costId = new CostMatrixId(CostMatrixType.car, weekdays, wholeDay);
+		when(configuration.travelTimeMatrixIds()).thenReturn(Stream.of(travelTimeId));
+		when(configuration.costMatrixIds()).thenReturn(Stream.of(costId));
+		when(configuration.travelTimeMatrixFor(travelTimeId))
+				.thenReturn(new TaggedTravelTimeMatrix(travelTimeId, travelTimeMatrix));
+		when(configuration.costMatrixFor(costId)).thenReturn(new TaggedCostMatrix(costId, costMatrix));
+	}
+
+	@Test
+	void loadsAllConfiguredMatrices() throws IOException {
+		List<PreloadedMatrix> loaded = newPreloader().preload(2);
+
+		assertThat(loaded.stream().map(PreloadedMatrix::getId).collect(toList()),
+				containsInAnyOrder(travelTimeId, costId));
+		assertThat(loaded.get(0).getBytes(), is(4L * Float.BYTES));
+		verify(configuration).travelTimeMatrixFor(travelTimeId);
+		verify(configuration).costMatrixFor(costId);
+	}
+
+	@Test
+	void usesPreloadedMatricesDuringSimulation() throws IOException {
+		TravelTimeMatrixId hourlyId = new TravelTimeMatrixId(StandardMode.CAR, weekdays,
+				new TimeSpan(date.getHour()));
+		when(configuration.idOf(StandardMode.CAR, date)).thenReturn(hourlyId);
+		newPreloader().preload(1);
+
+		TravelTimeMatrix matrix = travelTimeCache.matrixFor(StandardMode.CAR, date);
+
+		assertThat(matrix, is(sameInstance(travelTimeMatrix)));
+		verify(configuration, times(1)).travelTimeMatrixFor(travelTimeId);
+	}
+
+	@Test
+	void failsWithoutThreads() {
+		assertThrows(IllegalArgumentException.class, () -> newPreloader().preload(0));
+	}
+
+	@Test
+	void failsWhenMatrixCanNotBeLoaded() throws IOException {
+		when(configuration.costMatrixFor(costId)).thenThrow(new IOException());
+
+		assertThrows(IllegalStateException.class, () -> newPreloader().preload(1));
+	}
+
+	private MatrixPreloader newPreloader() {
+		return new MatrixPreloader(configuration, travelTimeCache, costCache);
+	}
+}
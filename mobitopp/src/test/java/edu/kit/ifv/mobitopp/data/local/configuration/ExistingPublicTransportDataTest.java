@@ -0,0 +1,40 @@
+package edu.kit.ifv.mobitopp.data.local.configuration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.ZoneRepository;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportSkimGeneration;
+import edu.kit.ifv.mobitopp.simulation.publictransport.PublicTransportTimetable;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationAccessCache;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+
+public class ExistingPublicTransportDataTest {
+
+	@Test
+	void generatesSkimsOfAllZones() throws Exception {
+		PublicTransportTimetable timetable = mock(PublicTransportTimetable.class);
+		PublicTransportSkimGeneration skims = mock(PublicTransportSkimGeneration.class);
+		ZoneRepository zoneRepository = mock(ZoneRepository.class);
+		Map<ZoneId, Zone> zones = Map.of(new ZoneId("1", 0), mock(Zone.class));
+		when(zoneRepository.zones()).thenReturn(zones);
+		ExistingPublicTransportData data = new ExistingPublicTransportData(timetable,
+				Capacity.unlimited, mock(RouteSearch.class),
+				StationAccessCache.inMemory(RelativeTime.ofMinutes(10)), Optional.of(skims));
+
+		data.impedance(mock(ImpedanceIfc.class), zoneRepository);
+
+		verify(skims).generate(timetable, zones.values());
+	}
+
+}
@@ -2,6 +2,10 @@ package edu.kit.ifv.mobitopp.data.local.configuration;
 
 import static edu.kit.ifv.mobitopp.simulation.ActivityType.WORK;
 import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -9,12 +13,14 @@ import static org.mockito.Mockito.verify;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import edu.kit.ifv.mobitopp.data.DayType;
 import edu.kit.ifv.mobitopp.data.local.DynamicTypeMapping;
 import edu.kit.ifv.mobitopp.data.local.MatrixParser;
 import edu.kit.ifv.mobitopp.data.local.TypeMapping;
@@ -96,6 +102,24 @@ public class FileMatrixConfigurationTest {
 		verify(parser).parseTravelTimeMatrix();
 	}
 
+	@Test
+	public void providesIdsOfAllCostMatrices() {
+		CostMatrixId[] expectedIds = Arrays
+				.stream(CostMatrixType.values())
+				.map(type -> new CostMatrixId(type, DayType.weekdays, TimeSpan.between(0, 23)))
+				.toArray(CostMatrixId[]::new);
+
+		assertThat(configuration.costMatrixIds().collect(toList()), containsInAnyOrder(expectedIds));
+	}
+
+	@Test
+	public void providesIdsOfTravelTimeMatricesForMappedModes() {
+		TravelTimeMatrixId expectedId = new TravelTimeMatrixId(travelTimeMode, DayType.weekdays,
+				TimeSpan.between(0, 23));
+
+		assertThat(configuration.travelTimeMatrixIds().collect(toList()), contains(expectedId));
+	}
+
 	@Test
 	public void validateExistingMatrices() {
 		configuration.validate();
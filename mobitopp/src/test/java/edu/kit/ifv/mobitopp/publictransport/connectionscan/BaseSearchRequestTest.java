@@ -68,7 +68,7 @@ public class BaseSearchRequestTest {
 		return new BaseSearchRequest(times, usedConnections, usedJourneys) {
 			
 			@Override
-			public boolean departsAfterArrivalAtEnd(Connection connection) {
+			public boolean departsAfterArrivalAtEnd(int departure) {
 				throw new RuntimeException("Not necessary for this test");
 			}
 			
@@ -3,15 +3,22 @@ package edu.kit.ifv.mobitopp.publictransport.connectionscan;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.hasValue;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresent;
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.fromSomeToAnother;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.laterFromAnotherToOther;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.oneMinuteLater;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
+import static edu.kit.ifv.mobitopp.publictransport.model.JourneyBuilder.journey;
+import static edu.kit.ifv.mobitopp.publictransport.model.StopBuilder.stop;
 import static java.util.Arrays.asList;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -19,9 +26,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +41,7 @@ import org.junit.Test;
 import edu.kit.ifv.mobitopp.publictransport.model.Connection;
 import edu.kit.ifv.mobitopp.publictransport.model.Connections;
 import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
 import edu.kit.ifv.mobitopp.publictransport.model.Stop;
 import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
 import edu.kit.ifv.mobitopp.time.RelativeTime;
@@ -65,7 +78,8 @@ public class ConnectionScanTest {
 		return new ConnectionScan(timetable) {
 
 			@Override
-			PreparedSearchRequest newSearchRequest(StopPaths fromStarts, StopPaths toEnds, Time atTime) {
+			PreparedSearchRequest newSearchRequest(
+					StopPaths fromStarts, StopPaths toEnds, Time atTime, SearchState state) {
 				return searchRequest;
 			}
 		};
@@ -165,6 +179,198 @@ public class ConnectionScanTest {
 		assertThat(route, hasValue(routeViaOtherStop()));
 	}
 
+	@Test
+	public void forgetsArrivalsOfPreviousSearch() {
+		ConnectionScan connectionScan = new ConnectionScan(simpleNetwork());
+		Optional<PublicTransportRoute> earlyRoute = connectionScan.findRoute(someStop(), otherStop(),
+				searchTime);
+
+		Optional<PublicTransportRoute> tooLateRoute = connectionScan.findRoute(someStop(), otherStop(),
+				oneMinuteLater());
+
+		assertThat(earlyRoute, isPresent());
+		assertThat(tooLateRoute, isEmpty());
+	}
+
+	@Test
+	public void searchesConcurrently() throws Exception {
+		ConnectionScan connectionScan = new ConnectionScan(simpleNetwork());
+		Optional<PublicTransportRoute> expectedRoute = connectionScan.findRoute(someStop(), otherStop(),
+				searchTime);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Optional<PublicTransportRoute>>> routes = new ArrayList<>();
+			for (int search = 0; search < 100; search++) {
+				routes.add(executor.submit(() -> connectionScan.findRoute(someStop(), otherStop(), searchTime)));
+			}
+			for (Future<Optional<PublicTransportRoute>> route : routes) {
+				assertThat(route.get(), is(equalTo(expectedRoute)));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void findsArrivalsAtSeveralEnds() {
+		ConnectionScan connectionScan = new ConnectionScan(simpleNetwork());
+		StopPaths fromStart = DefaultStopPaths.from(asList(originPath()));
+		StopPaths viaOtherStop = DefaultStopPaths.from(asList(longPath(), shortPath()));
+		StopPaths atAnotherStop = DefaultStopPaths.from(asList(longPath()));
+
+		List<Optional<Time>> arrivals = connectionScan
+				.findArrivals(fromStart, asList(viaOtherStop, atAnotherStop, fromStart), searchTime);
+
+		assertThat(arrivals, contains(of(routeViaOtherStop().arrival()),
+				of(fromSomeToAnother().arrival().plus(RelativeTime.ofMinutes(10))), Optional.empty()));
+	}
+
+	@Test
+	public void findsSameArrivalsAsSearchOfSingleRoutes() {
+		Random random = new Random(42);
+		List<Stop> stops = randomStops(random);
+		ConnectionScan connectionScan = new ConnectionScan(randomNetwork(random, stops));
+		List<SearchOrigin> origins = new ArrayList<>();
+		for (int origin = 0; origin < 80; origin++) {
+			Time departure = searchTime.plus(RelativeTime.ofSeconds(random.nextInt(300)));
+			origins.add(SearchOrigin.from(randomPaths(random, stops), departure));
+		}
+		origins.add(origins.get(0));
+		List<StopPaths> ends = new ArrayList<>();
+		for (int end = 0; end < 20; end++) {
+			ends.add(randomPaths(random, stops));
+		}
+
+		List<List<Optional<Time>>> arrivals = connectionScan.findArrivals(origins, ends);
+
+		for (int origin = 0; origin < origins.size(); origin++) {
+			SearchOrigin searchOrigin = origins.get(origin);
+			for (int end = 0; end < ends.size(); end++) {
+				Optional<Time> expected = connectionScan
+						.findRoute(searchOrigin.startStops(), ends.get(end), searchOrigin.time())
+						.map(PublicTransportRoute::arrival);
+				assertThat(arrivals.get(origin).get(end), is(equalTo(expected)));
+			}
+		}
+	}
+
+	@Test
+	public void findsSameRoutesAsSearchOfSingleRoutes() {
+		Random random = new Random(42);
+		List<Stop> stops = randomStops(random);
+		ConnectionScan connectionScan = new ConnectionScan(randomNetwork(random, stops));
+		List<StopPaths> ends = new ArrayList<>();
+		for (int end = 0; end < 20; end++) {
+			ends.add(randomPaths(random, stops));
+		}
+		int found = 0;
+
+		for (int origin = 0; origin < 40; origin++) {
+			Time departure = searchTime.plus(RelativeTime.ofSeconds(random.nextInt(300)));
+			StopPaths starts = randomPaths(random, stops);
+
+			List<Optional<PublicTransportRoute>> routes = connectionScan
+					.findRoutes(starts, ends, departure);
+
+			for (int end = 0; end < ends.size(); end++) {
+				Optional<PublicTransportRoute> expected = connectionScan
+						.findRoute(starts, ends.get(end), departure);
+				assertThat(routes.get(end), is(equalTo(expected)));
+				found += expected.isPresent() ? 1 : 0;
+			}
+		}
+		assertThat(found, is(greaterThan(0)));
+	}
+
+	@Test
+	public void createsRouteToEarliestReachedEnd() {
+		Random random = new Random(42);
+		List<Stop> stops = randomStops(random);
+		TransitNetwork network = randomNetwork(random, stops);
+		ConnectionScan connectionScan = new ConnectionScan(network);
+		List<StopPaths> ends = new ArrayList<>();
+		for (int end = 0; end < 5; end++) {
+			ends.add(randomPaths(random, stops));
+		}
+		int found = 0;
+
+		for (int origin = 0; origin < 40; origin++) {
+			Time departure = searchTime.plus(RelativeTime.ofSeconds(random.nextInt(300)));
+			StopPaths starts = randomPaths(random, stops);
+			SearchState state = new SearchState(stops.size());
+			state.acquire();
+			RoutesSearchRequest request = RoutesSearchRequest.from(starts, ends, departure, state);
+			network.connections().sweepRoutes(request);
+
+			Optional<PublicTransportRoute> route = request.createRoute();
+
+			Optional<Time> earliest = connectionScan
+					.findRoutes(starts, ends, departure)
+					.stream()
+					.flatMap(Optional::stream)
+					.map(PublicTransportRoute::arrival)
+					.min(Time::compareTo);
+			assertThat(route.map(PublicTransportRoute::arrival), is(equalTo(earliest)));
+			found += route.isPresent() ? 1 : 0;
+		}
+		assertThat(found, is(greaterThan(0)));
+	}
+
+	private List<Stop> randomStops(Random random) {
+		List<Stop> stops = new ArrayList<>();
+		for (int id = 0; id < 30; id++) {
+			stops
+					.add(stop()
+							.withId(id)
+							.withExternalId(id)
+							.minimumChangeTime(RelativeTime.ofSeconds(random.nextInt(120)))
+							.build());
+		}
+		for (int neighbour = 0; neighbour < 20; neighbour++) {
+			Stop stop = stops.get(random.nextInt(stops.size()));
+			Stop other = stops.get(random.nextInt(stops.size()));
+			stop.addNeighbour(other, RelativeTime.ofSeconds(30 + random.nextInt(300)));
+		}
+		return stops;
+	}
+
+	private TransitNetwork randomNetwork(Random random, List<Stop> stops) {
+		Connections connections = new Connections();
+		int id = 0;
+		for (int journeyId = 0; journeyId < 60; journeyId++) {
+			Journey journey = journey().withId(journeyId).build();
+			Time departure = searchTime.plus(RelativeTime.ofSeconds(random.nextInt(3600)));
+			Stop start = stops.get(random.nextInt(stops.size()));
+			for (int connection = 0; connection < 6; connection++) {
+				Stop end = stops.get(random.nextInt(stops.size()));
+				Time arrival = departure.plus(RelativeTime.ofSeconds(60 + random.nextInt(240)));
+				connections
+						.add(connection()
+								.withId(id++)
+								.startsAt(start)
+								.endsAt(end)
+								.departsAt(departure)
+								.arrivesAt(arrival)
+								.partOf(journey)
+								.build());
+				start = end;
+				departure = arrival;
+			}
+		}
+		return TransitNetwork.createOf(stops, connections);
+	}
+
+	private StopPaths randomPaths(Random random, List<Stop> stops) {
+		List<StopPath> paths = new ArrayList<>();
+		for (int path = 0; path < 1 + random.nextInt(3); path++) {
+			Stop stop = stops.get(random.nextInt(stops.size()));
+			if (paths.stream().noneMatch(existing -> existing.stop().equals(stop))) {
+				paths.add(new StopPath(stop, RelativeTime.ofSeconds(random.nextInt(600))));
+			}
+		}
+		return DefaultStopPaths.from(paths);
+	}
+
 	protected TransitNetwork simpleNetwork() {
 		Collection<Stop> stops = asList(someStop(), anotherStop(), otherStop());
 		Connections connections = new Connections();
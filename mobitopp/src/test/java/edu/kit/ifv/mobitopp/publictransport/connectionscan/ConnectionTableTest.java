@@ -0,0 +1,78 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.fromAnotherToOther;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.fromAnotherToOtherByOtherJourney;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.fromSomeToAnother;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.laterFromAnotherToOther;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.oneMinuteLater;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.threeMinutesLater;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.twoMinutesLater;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+
+public class ConnectionTableTest {
+
+	private Connection first;
+	private Connection second;
+	private Connection third;
+	private ConnectionTable table;
+
+	@Before
+	public void initialise() {
+		first = fromSomeToAnother();
+		second = fromAnotherToOtherByOtherJourney();
+		third = laterFromAnotherToOther();
+		table = ConnectionTable.from(asList(first, second, third));
+	}
+
+	@Test
+	public void storesConnectionsAsArrays() throws Exception {
+		assertThat(table.size(), is(3));
+		assertThat(table.connection(1), is(equalTo(second)));
+		assertThat(table.departure(1), is(second.departure().toSeconds()));
+		assertThat(table.arrival(1), is(second.arrival().toSeconds()));
+		assertThat(table.start(1), is(second.start().id()));
+		assertThat(table.end(1), is(second.end().id()));
+		assertThat(table.changeTimeAtStart(1), is(second.start().changeTime().seconds()));
+	}
+
+	@Test
+	public void indexesJourneys() throws Exception {
+		ConnectionTable table = ConnectionTable
+				.from(asList(first, second, fromAnotherToOther(), third));
+
+		assertThat(table.numberOfJourneys(), is(2));
+		assertThat(table.journey(0), is(table.journey(2)));
+		assertThat(table.journey(0), is(table.journey(3)));
+		assertThat(table.journey(0), is(not(table.journey(1))));
+	}
+
+	@Test
+	public void findsFirstDepartureAtOrAfterTime() throws Exception {
+		assertThat(table.firstDepartureAtOrAfter(someTime().toSeconds()), is(0));
+		assertThat(table.firstDepartureAtOrAfter(someTime().toSeconds() + 1), is(1));
+		assertThat(table.firstDepartureAtOrAfter(oneMinuteLater().toSeconds()), is(1));
+		assertThat(table.firstDepartureAtOrAfter(twoMinutesLater().toSeconds()), is(2));
+		assertThat(table.firstDepartureAtOrAfter(threeMinutesLater().toSeconds()), is(3));
+	}
+
+	@Test
+	public void isDepartedBeforeLatestDeparture() throws Exception {
+		assertFalse(table.departedBefore(twoMinutesLater().toSeconds()));
+		assertTrue(table.departedBefore(threeMinutesLater().toSeconds()));
+		assertTrue(ConnectionTable.from(emptyList()).departedBefore(someTime().toSeconds()));
+	}
+
+}
@@ -14,12 +14,16 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.hamcrest.Description;
@@ -27,6 +31,7 @@ import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import edu.kit.ifv.mobitopp.publictransport.model.Connection;
 import edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder;
@@ -43,58 +48,54 @@ public class DefaultConnectionSweeperTest {
 	public void initialise() throws Exception {
 		someRoute = of(mock(PublicTransportRoute.class));
 		searchRequest = mock(PreparedSearchRequest.class);
-		when(searchRequest.departsAfterArrivalAtEnd(any())).thenReturn(false);
+		when(searchRequest.departsAfterArrivalAtEnd(anyInt())).thenReturn(false);
 	}
 
 	@Test
 	public void findRouteWithOneAvailableConnection() {
 		departAt(someTime());
-		when(searchRequest.departsAfterArrivalAtEnd(from1To2())).thenReturn(false);
+		when(searchRequest.departsAfterArrivalAtEnd(departureOf(from1To2()))).thenReturn(false);
 		when(searchRequest.createRoute()).thenReturn(someRoute);
 		DefaultConnectionSweeper connections = connections(from1To2());
 
 		Optional<PublicTransportRoute> startToStop = connections.sweep(searchRequest);
 
 		assertThat(startToStop, is(equalTo(someRoute)));
-		verify(searchRequest).departsAfterArrivalAtEnd(from1To2());
-		verify(searchRequest).updateArrival(from1To2());
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from1To2()));
+		verifyArrivalUpdatedBy(from1To2());
 		verify(searchRequest).createRoute();
 	}
 
 	@Test
 	public void findRouteInConnectionsWithDifferentArrivalTimes() {
 		departAt(someTime());
-		when(searchRequest.departsAfterArrivalAtEnd(from1To2())).thenReturn(false);
-		when(searchRequest.departsAfterArrivalAtEnd(from1To2Long())).thenReturn(false);
+		when(searchRequest.departsAfterArrivalAtEnd(departureOf(from1To2()))).thenReturn(false);
+		when(searchRequest.departsAfterArrivalAtEnd(departureOf(from1To2Long()))).thenReturn(false);
 		when(searchRequest.createRoute()).thenReturn(someRoute);
 		DefaultConnectionSweeper connections = alwaysCancelConnections(from1To2(), from1To2Long());
 
 		Optional<PublicTransportRoute> startToStop = connections.sweep(searchRequest);
 
 		assertThat(startToStop, is(equalTo(someRoute)));
-		verify(searchRequest).departsAfterArrivalAtEnd(from1To2());
-		verify(searchRequest).departsAfterArrivalAtEnd(from1To2Long());
-		verify(searchRequest).updateArrival(from1To2());
-		verify(searchRequest).updateArrival(from1To2Long());
+		verify(searchRequest, times(2)).departsAfterArrivalAtEnd(departureOf(from1To2()));
+		verifyArrivalUpdatedBy(from1To2(), from1To2Long());
 		verify(searchRequest).createRoute();
 	}
 
 	@Test
 	public void findRouteInSeveralConnections() {
 		departAt(someTime());
-		when(searchRequest.departsAfterArrivalAtEnd(any())).thenReturn(false);
+		when(searchRequest.departsAfterArrivalAtEnd(anyInt())).thenReturn(false);
 		when(searchRequest.createRoute()).thenReturn(someRoute);
 		DefaultConnectionSweeper connections = alwaysCancelConnections(from1To2(), from2To3(), from3To4());
 
 		Optional<PublicTransportRoute> startToStop = connections.sweep(searchRequest);
 
 		assertThat(startToStop, is(equalTo(someRoute)));
-		verify(searchRequest).departsAfterArrivalAtEnd(from1To2());
-		verify(searchRequest).departsAfterArrivalAtEnd(from2To3());
-		verify(searchRequest).departsAfterArrivalAtEnd(from3To4());
-		verify(searchRequest).updateArrival(from1To2());
-		verify(searchRequest).updateArrival(from2To3());
-		verify(searchRequest).updateArrival(from3To4());
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from1To2()));
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from2To3()));
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from3To4()));
+		verifyArrivalUpdatedBy(from1To2(), from2To3(), from3To4());
 		verify(searchRequest).createRoute();
 	}
 
@@ -117,18 +118,34 @@ public class DefaultConnectionSweeperTest {
 			throws Exception {
 		DefaultConnectionSweeper connections = alwaysCancelConnections(from1To2(), from2To3());
 		when(searchRequest.startTime()).thenReturn(someTime());
-		when(searchRequest.departsAfterArrivalAtEnd(from2To3())).thenReturn(true);
+		when(searchRequest.departsAfterArrivalAtEnd(departureOf(from2To3()))).thenReturn(true);
 
 		connections.sweep(searchRequest);
 
 		verify(searchRequest).startTime();
-		verify(searchRequest).departsAfterArrivalAtEnd(from1To2());
-		verify(searchRequest).departsAfterArrivalAtEnd(from2To3());
-		verify(searchRequest).updateArrival(from1To2());
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from1To2()));
+		verify(searchRequest).departsAfterArrivalAtEnd(departureOf(from2To3()));
+		verifyArrivalUpdatedBy(from1To2());
 		verify(searchRequest).createRoute();
 		verifyNoMoreInteractions(searchRequest);
 	}
 
+	private void verifyArrivalUpdatedBy(Connection... connections) {
+		ArgumentCaptor<ConnectionTable> tables = ArgumentCaptor.forClass(ConnectionTable.class);
+		ArgumentCaptor<Integer> indices = ArgumentCaptor.forClass(Integer.class);
+		verify(searchRequest, times(connections.length))
+				.updateArrival(tables.capture(), indices.capture());
+		List<Connection> updated = new ArrayList<>();
+		for (int call = 0; call < connections.length; call++) {
+			updated.add(tables.getAllValues().get(call).connection(indices.getAllValues().get(call)));
+		}
+		assertThat(updated, contains(connections));
+	}
+
+	private static int departureOf(Connection connection) {
+		return connection.departure().toSeconds();
+	}
+
 	private void departAt(Time time) {
 		when(searchRequest.startTime()).thenReturn(time);
 	}
@@ -1,7 +1,9 @@
 package edu.kit.ifv.mobitopp.publictransport.connectionscan;
 
 import static edu.kit.ifv.mobitopp.publictransport.model.JourneyBuilder.journey;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -31,6 +33,16 @@ public class DefaultUsedJourneysTest {
 		assertThat(scannedJourneys, notUsed(journey));
 	}
 
+	@Test
+	public void tracksJourneysByIndex() throws Exception {
+		DefaultUsedJourneys scannedJourneys = scannedJourneys();
+		scannedJourneys.use(3);
+
+		assertTrue(scannedJourneys.used(3));
+		assertFalse(scannedJourneys.used(2));
+		assertFalse(scannedJourneys.used(1000));
+	}
+
 	private DefaultUsedJourneys scannedJourneys() {
 		return new DefaultUsedJourneys();
 	}
@@ -75,6 +75,7 @@ public class MultipleSearchRequestTest {
 
 	private void arrivingAt(Stop stop, Time atArrival) {
 		when(times.get(stop)).thenReturn(atArrival);
+		when(times.get(stop.id())).thenReturn(atArrival.toSeconds());
 	}
 
 	private Connection departing(Time departure) {
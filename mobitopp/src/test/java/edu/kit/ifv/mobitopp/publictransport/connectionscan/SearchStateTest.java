@@ -0,0 +1,115 @@
+package edu.kit.ifv.mobitopp.publictransport.connectionscan;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.fromSomeToAnother;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class SearchStateTest {
+
+	private static final int numberOfStops = 3;
+	private SearchState state;
+
+	@Before
+	public void initialise() {
+		state = new SearchState(numberOfStops);
+	}
+
+	@Test
+	public void isNotReachedInitially() throws Exception {
+		for (int stop = 0; stop < numberOfStops; stop++) {
+			assertThat(state.time(stop), is(Time.future.toSeconds()));
+			assertThat(state.connection(stop), is(nullValue()));
+		}
+		assertFalse(state.isUsed(0));
+	}
+
+	@Test
+	public void storesValuesOfCurrentSearch() throws Exception {
+		Connection connection = fromSomeToAnother();
+		state.acquire();
+
+		state.setTime(1, 42);
+		state.setConnection(2, connection);
+		state.use(5);
+
+		assertThat(state.time(1), is(42));
+		assertThat(state.connection(2), is(connection));
+		assertTrue(state.isUsed(5));
+		assertFalse(state.isUsed(4));
+	}
+
+	@Test
+	public void forgetsValuesOfPreviousSearch() throws Exception {
+		state.acquire();
+		state.setTime(1, 42);
+		state.setConnection(2, fromSomeToAnother());
+		state.use(5);
+		state.release();
+
+		state.acquire();
+
+		assertThat(state.time(1), is(Time.future.toSeconds()));
+		assertThat(state.connection(2), is(nullValue()));
+		assertFalse(state.isUsed(5));
+	}
+
+	@Test
+	public void storesValuesOfOriginsOfCurrentSearch() throws Exception {
+		state.acquire();
+		state.searchOrigins(2);
+
+		state.setArrival(1, 1, 42);
+		state.addStartingOrigins(0, 1L);
+		state.addReachedOrigins(1, 2L);
+		state.addUsingOrigins(5, 2L);
+
+		assertThat(state.arrival(1, 0), is(Time.future.toSeconds()));
+		assertThat(state.arrival(1, 1), is(42));
+		assertThat(state.startingOrigins(0), is(1L));
+		assertThat(state.reachedOrigins(1), is(2L));
+		assertThat(state.usingOrigins(5), is(2L));
+		assertThat(state.usingOrigins(4), is(0L));
+	}
+
+	@Test
+	public void forgetsValuesOfOriginsOfPreviousSearch() throws Exception {
+		state.acquire();
+		state.searchOrigins(2);
+		state.setArrival(1, 1, 42);
+		state.addStartingOrigins(1, 1L);
+		state.addReachedOrigins(1, 2L);
+		state.addUsingOrigins(5, 2L);
+		state.release();
+
+		state.acquire();
+		state.searchOrigins(3);
+		state.setArrival(1, 0, 21);
+
+		assertThat(state.arrival(1, 0), is(21));
+		assertThat(state.arrival(1, 1), is(Time.future.toSeconds()));
+		assertThat(state.arrival(1, 2), is(Time.future.toSeconds()));
+		assertThat(state.startingOrigins(1), is(0L));
+		assertThat(state.reachedOrigins(1), is(0L));
+		assertThat(state.usingOrigins(5), is(0L));
+	}
+
+	@Test
+	public void canBeAcquiredOnlyOnceAtATime() throws Exception {
+		assertTrue(state.acquire());
+		assertFalse(state.acquire());
+
+		state.release();
+
+		assertTrue(state.acquire());
+	}
+
+}
@@ -0,0 +1,105 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.JourneyBuilder.journey;
+import static edu.kit.ifv.mobitopp.publictransport.model.StopBuilder.stop;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connections;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class RaptorNetworkTest {
+
+	private Stop someStop;
+	private Stop otherStop;
+	private Connections connections;
+	private int connectionId;
+
+	@BeforeEach
+	public void initialise() {
+		someStop = stop().withId(0).withName("some").build();
+		otherStop = stop().withId(1).withName("other").build();
+		connections = new Connections();
+	}
+
+	private void trip(int id, int departure, int arrival) {
+		Journey journey = journey().withId(id).build();
+		connections
+				.add(connection()
+						.withId(connectionId++)
+						.startsAt(someStop)
+						.endsAt(otherStop)
+						.departsAt(Time.start.plusMinutes(departure))
+						.arrivesAt(Time.start.plusMinutes(arrival))
+						.partOf(journey)
+						.build());
+	}
+
+	private RaptorNetwork network() {
+		return RaptorNetwork.createOf(List.of(someStop, otherStop), connections);
+	}
+
+	@Test
+	void groupsTripsWithSameHopsIntoPattern() throws Exception {
+		trip(1, 10, 20);
+		trip(2, 0, 5);
+
+		RaptorNetwork network = network();
+
+		assertThat(network.numberOfPatterns(), is(1));
+		assertThat(network.numberOfTrips(), is(2));
+		assertThat(network.departureOf(network.firstTripOf(0), 0), is(0));
+		assertThat(network.departureOf(network.firstTripOf(0) + 1, 0), is(600));
+	}
+
+	@Test
+	void separatesOvertakingTrips() throws Exception {
+		trip(1, 0, 30);
+		trip(2, 10, 20);
+
+		assertThat(network().numberOfPatterns(), is(2));
+	}
+
+	@Test
+	void findsEarliestTripDepartingAtOrAfterTime() throws Exception {
+		trip(1, 0, 5);
+		trip(2, 10, 15);
+		RaptorNetwork network = network();
+
+		assertThat(network.earliestTripOf(0, 0, 0), is(0));
+		assertThat(network.earliestTripOf(0, 0, 1), is(1));
+		assertThat(network.earliestTripOf(0, 0, 601), is(network.endOfTripsOf(0)));
+	}
+
+	@Test
+	void storesFootpathsAndChangeTimes() throws Exception {
+		Stop stop = stop().withId(0).minimumChangeTime(RelativeTime.ofMinutes(1)).build();
+		stop.addNeighbour(otherStop, RelativeTime.ofMinutes(2));
+
+		RaptorNetwork network = RaptorNetwork.createOf(List.of(stop, otherStop), connections);
+
+		assertThat(network.changeTimeAt(0), is(60));
+		assertThat(network.endOfFootpathsAt(0) - network.firstFootpathAt(0), is(1));
+		assertThat(network.footpathTarget(network.firstFootpathAt(0)), is(1));
+		assertThat(network.footpathDuration(network.firstFootpathAt(0)), is(120));
+	}
+
+	@Test
+	void rejectsNonConsecutiveStopIds() throws Exception {
+		Stop stop = stop().withId(2).build();
+
+		assertThrows(IllegalArgumentException.class,
+				() -> RaptorNetwork.createOf(List.of(someStop, stop), connections));
+	}
+
+}
@@ -0,0 +1,317 @@
+package edu.kit.ifv.mobitopp.publictransport.raptor;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.JourneyBuilder.journey;
+import static edu.kit.ifv.mobitopp.publictransport.model.StopBuilder.stop;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.ConnectionScan;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.DefaultStopPaths;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.PublicTransportRoute;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.TransitNetwork;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Connections;
+import edu.kit.ifv.mobitopp.publictransport.model.FootJourney;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.publictransport.model.StopPath;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class RaptorTest {
+
+	private Time day;
+	private Stop someStop;
+	private Stop anotherStop;
+	private Stop otherStop;
+	private List<Stop> stops;
+	private Connections connections;
+	private int connectionId;
+	private int journeyId;
+
+	@BeforeEach
+	public void initialise() {
+		day = Time.start.plusHours(8);
+		someStop = stop().withId(0).withName("some").build();
+		anotherStop = stop()
+				.withId(1)
+				.withName("another")
+				.minimumChangeTime(RelativeTime.ofMinutes(2))
+				.build();
+		otherStop = stop().withId(2).withName("other").build();
+		stops = List.of(someStop, anotherStop, otherStop);
+		connections = new Connections();
+	}
+
+	private Time at(int minutes) {
+		return day.plusMinutes(minutes);
+	}
+
+	private Journey trip(Stop start, int departure, Object... hops) {
+		Journey journey = journey().withId(journeyId++).build();
+		Stop from = start;
+		Time time = at(departure);
+		for (int hop = 0; hop < hops.length; hop += 2) {
+			Stop to = (Stop) hops[hop];
+			Time arrival = at((int) hops[hop + 1]);
+			connections
+					.add(connection()
+							.withId(connectionId++)
+							.startsAt(from)
+							.endsAt(to)
+							.departsAt(time)
+							.arrivesAt(arrival)
+							.partOf(journey)
+							.build());
+			from = to;
+			time = arrival;
+		}
+		return journey;
+	}
+
+	private Raptor raptor() {
+		return new Raptor(RaptorNetwork.createOf(stops, connections));
+	}
+
+	private static StopPaths pathsTo(Stop stop) {
+		return DefaultStopPaths.from(List.of(new StopPath(stop, RelativeTime.ZERO)));
+	}
+
+	@Test
+	void findsParetoRoutesOfArrivalAndTransfers() throws Exception {
+		trip(someStop, 0, otherStop, 60);
+		trip(someStop, 0, anotherStop, 10);
+		trip(anotherStop, 15, otherStop, 25);
+
+		List<RaptorRoute> routes = raptor()
+				.findParetoRoutes(pathsTo(someStop), pathsTo(otherStop), at(0));
+
+		assertThat(routes.stream().map(RaptorRoute::transfers).collect(toList()), contains(0, 1));
+		assertThat(routes.stream().map(RaptorRoute::arrival).collect(toList()),
+				contains(at(60), at(25)));
+	}
+
+	@Test
+	void findsEarliestArrival() throws Exception {
+		trip(someStop, 0, otherStop, 60);
+		trip(someStop, 0, anotherStop, 10);
+		trip(anotherStop, 15, otherStop, 25);
+
+		Optional<PublicTransportRoute> route = raptor().findRoute(someStop, otherStop, at(0));
+
+		assertThat(route.map(PublicTransportRoute::arrival), is(Optional.of(at(25))));
+	}
+
+	@Test
+	void respectsChangeTime() throws Exception {
+		trip(someStop, 0, anotherStop, 10);
+		trip(anotherStop, 11, otherStop, 20);
+		trip(anotherStop, 12, otherStop, 30);
+
+		Optional<PublicTransportRoute> route = raptor().findRoute(someStop, otherStop, at(0));
+
+		assertThat(route.map(PublicTransportRoute::arrival), is(Optional.of(at(30))));
+	}
+
+	@Test
+	void staysSeatedWithoutChangeTime() throws Exception {
+		trip(someStop, 0, anotherStop, 10, otherStop, 11);
+
+		List<RaptorRoute> routes = raptor()
+				.findParetoRoutes(pathsTo(someStop), pathsTo(otherStop), at(0));
+
+		assertThat(routes.stream().map(RaptorRoute::transfers).collect(toList()), contains(0));
+		assertThat(routes.get(0).connections().size(), is(2));
+	}
+
+	@Test
+	void walksToNeighbouringStops() throws Exception {
+		someStop.addNeighbour(anotherStop, RelativeTime.ofMinutes(3));
+		trip(anotherStop, 5, otherStop, 10);
+
+		Optional<PublicTransportRoute> route = raptor().findRoute(someStop, otherStop, at(0));
+
+		assertThat(route.map(PublicTransportRoute::arrival), is(Optional.of(at(10))));
+		assertThat(route.get().connections().get(0).journey(), is(FootJourney.footJourney));
+	}
+
+	@Test
+	void limitsNumberOfTransfers() throws Exception {
+		trip(someStop, 0, anotherStop, 10);
+		trip(anotherStop, 15, otherStop, 25);
+		Raptor raptor = new Raptor(RaptorNetwork.createOf(stops, connections), 0);
+
+		Optional<PublicTransportRoute> route = raptor.findRoute(someStop, otherStop, at(0));
+
+		assertThat(route, is(Optional.empty()));
+	}
+
+	@Test
+	void findsRoutesForEveryUsefulDepartureInRange() throws Exception {
+		trip(someStop, 0, otherStop, 30);
+		trip(someStop, 10, otherStop, 20);
+		trip(someStop, 20, otherStop, 40);
+		trip(someStop, 30, otherStop, 35);
+
+		List<RaptorRoute> routes = raptor()
+				.findRangeRoutes(pathsTo(someStop), pathsTo(otherStop), at(0), at(30));
+
+		assertThat(routes.stream().map(RaptorRoute::departure).collect(toList()),
+				contains(at(10), at(30)));
+		assertThat(routes.stream().map(RaptorRoute::arrival).collect(toList()),
+				contains(at(20), at(35)));
+	}
+
+	@Test
+	void searchesOnlyDeparturesWithinRange() throws Exception {
+		trip(someStop, 0, otherStop, 5);
+		trip(someStop, 10, otherStop, 15);
+		trip(someStop, 20, otherStop, 25);
+
+		List<RaptorRoute> routes = raptor()
+				.findRangeRoutes(pathsTo(someStop), pathsTo(otherStop), at(5), at(15));
+
+		assertThat(routes.stream().map(RaptorRoute::departure).collect(toList()), contains(at(10)));
+	}
+
+	@Test
+	void findsNoRouteToUnknownStop() throws Exception {
+		trip(someStop, 0, otherStop, 5);
+		Stop unknown = stop().withId(3).withName("unknown").build();
+
+		List<RaptorRoute> routes = raptor()
+				.findParetoRoutes(pathsTo(someStop), pathsTo(unknown), at(0));
+
+		assertThat(routes, is(empty()));
+	}
+
+	@Test
+	void rejectsNegativeNumberOfTransfers() throws Exception {
+		RaptorNetwork network = RaptorNetwork.createOf(stops, connections);
+
+		assertThrows(IllegalArgumentException.class, () -> new Raptor(network, -1));
+	}
+
+	@Test
+	void arrivesNotLaterThanConnectionScan() throws Exception {
+		Random random = new Random(42);
+		List<Stop> randomStops = randomStops(random);
+		Connections randomConnections = randomConnections(random, randomStops);
+		ConnectionScan connectionScan = new ConnectionScan(
+				TransitNetwork.createOf(randomStops, randomConnections));
+		Raptor raptor = new Raptor(RaptorNetwork.createOf(randomStops, randomConnections), 20);
+		int same = 0;
+		int found = 0;
+
+		for (int query = 0; query < 200; query++) {
+			Time departure = day.plusSeconds(random.nextInt(1800));
+			StopPaths starts = randomPaths(random, randomStops);
+			StopPaths ends = randomPaths(random, randomStops);
+
+			Optional<PublicTransportRoute> expected = connectionScan
+					.findRoute(starts, ends, departure)
+					.filter(RaptorTest::usesVehicle);
+			Optional<PublicTransportRoute> route = raptor.findRoute(starts, ends, departure);
+
+			if (expected.isPresent()) {
+				found++;
+				assertThat(route.get().arrival(), is(lessThanOrEqualTo(expected.get().arrival())));
+				same += route.get().arrival().equals(expected.get().arrival()) ? 1 : 0;
+			}
+			route.ifPresent(RaptorTest::assertConsistent);
+		}
+		assertThat(found, is(greaterThan(0)));
+		assertThat(2 * same, is(greaterThan(found)));
+	}
+
+	private static boolean usesVehicle(PublicTransportRoute route) {
+		return route
+				.connections()
+				.stream()
+				.anyMatch(connection -> !FootJourney.footJourney.equals(connection.journey()));
+	}
+
+	private static void assertConsistent(PublicTransportRoute route) {
+		List<Connection> used = route.connections();
+		for (int index = 1; index < used.size(); index++) {
+			Connection previous = used.get(index - 1);
+			Connection next = used.get(index);
+			assertThat(previous.end(), is(next.start()));
+			assertThat(previous.arrival(), is(lessThanOrEqualTo(next.departure())));
+		}
+	}
+
+	private List<Stop> randomStops(Random random) {
+		List<Stop> randomStops = new ArrayList<>();
+		for (int id = 0; id < 30; id++) {
+			randomStops
+					.add(stop()
+							.withId(id)
+							.withExternalId(id)
+							.minimumChangeTime(RelativeTime.ofSeconds(random.nextInt(120)))
+							.build());
+		}
+		for (int neighbour = 0; neighbour < 20; neighbour++) {
+			Stop stop = randomStops.get(random.nextInt(randomStops.size()));
+			Stop other = randomStops.get(random.nextInt(randomStops.size()));
+			if (!stop.equals(other)) {
+				stop.addNeighbour(other, RelativeTime.ofSeconds(30 + random.nextInt(300)));
+			}
+		}
+		return randomStops;
+	}
+
+	private Connections randomConnections(Random random, List<Stop> randomStops) {
+		Connections randomConnections = new Connections();
+		int id = 0;
+		for (int journey = 0; journey < 80; journey++) {
+			Journey randomJourney = journey().withId(journey).build();
+			Time departure = day.plusSeconds(random.nextInt(3600));
+			Stop start = randomStops.get(random.nextInt(randomStops.size()));
+			for (int hop = 0; hop < 6; hop++) {
+				Stop end = randomStops.get(random.nextInt(randomStops.size()));
+				Time arrival = departure.plusSeconds(60 + random.nextInt(240));
+				randomConnections
+						.add(connection()
+								.withId(id++)
+								.startsAt(start)
+								.endsAt(end)
+								.departsAt(departure)
+								.arrivesAt(arrival)
+								.partOf(randomJourney)
+								.build());
+				start = end;
+				departure = arrival;
+			}
+		}
+		return randomConnections;
+	}
+
+	private StopPaths randomPaths(Random random, List<Stop> randomStops) {
+		List<StopPath> paths = new ArrayList<>();
+		for (int path = 0; path < 1 + random.nextInt(3); path++) {
+			Stop stop = randomStops.get(random.nextInt(randomStops.size()));
+			if (paths.stream().noneMatch(existing -> existing.stop().equals(stop))) {
+				paths.add(new StopPath(stop, RelativeTime.ofSeconds(random.nextInt(600))));
+			}
+		}
+		return DefaultStopPaths.from(paths);
+	}
+
+}
@@ -0,0 +1,143 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ifv.mobitopp.routing.util.SimplePQ;
+
+public class CompactDijkstraTest {
+
+	private static final float delta = 1e-3f;
+
+	private ExampleNetwork network;
+	private CompactDijkstra dijkstra;
+
+	@Before
+	public void initialise() {
+		network = ExampleNetwork.createDefault();
+		dijkstra = new CompactDijkstra(CompactGraph.of(network.graph));
+	}
+
+	@Test
+	public void findsShortestPath() {
+		Path path = dijkstra.shortestPath(network.node1, network.node5);
+
+		assertThat(path.size(), is(4));
+		assertThat(path.first(), is(network.link12));
+		assertThat(path.next(path.first()), is(network.link23));
+		assertThat((double) path.length(), is(closeTo(5.0, delta)));
+	}
+
+	@Test
+	public void findsEmptyPathToItself() {
+		Path path = dijkstra.shortestPath(network.node1, network.node1);
+
+		assertThat(path, is(DefaultPath.emptyPath));
+	}
+
+	@Test
+	public void findsNoPathAgainstDirection() {
+		Path path = dijkstra.shortestPath(network.node5, network.node1);
+
+		assertThat(path, is(DefaultPath.invalidPath));
+	}
+
+	@Test
+	public void reusesLabelsOfPreviousSearch() {
+		dijkstra.shortestPath(network.node1, network.node5);
+
+		Path path = dijkstra.shortestPath(network.node2, network.node4);
+
+		assertThat((double) path.length(), is(closeTo(2.0, delta)));
+		assertThat(path.first(), is(network.link23));
+	}
+
+	@Test
+	public void searchesArrivalTimes() {
+		TravelTime travelTime = (edge, currentTime) -> ((DefaultLink) edge).travelTime() + 1.0f;
+
+		Path path = dijkstra.shortestPath(travelTime, network.node1, network.node3, 10.0f);
+
+		assertThat(path.size(), is(2));
+		assertThat(path.travelTime(), is(equalTo(5.0f)));
+	}
+
+	@Test
+	public void searchesDistancesToAllNodes() {
+		CompactGraph graph = dijkstra.graph();
+
+		dijkstra.searchFrom(graph.indexOf(network.node2));
+
+		assertThat(dijkstra.reached(graph.indexOf(network.node1)), is(false));
+		assertThat(dijkstra.distanceTo(graph.indexOf(network.node5)), is(equalTo(3.0f)));
+		assertThat(dijkstra.linksTo(graph.indexOf(network.node3)), contains(network.link23));
+	}
+
+	@Test
+	public void findsSameDistancesAsDijkstra() {
+		Random random = new Random(42);
+		DefaultGraph graph = ExampleNetwork.createRandom(random, 200, 800, 0);
+		Dijkstra reference = new Dijkstra(new SimplePQ<>());
+		CompactDijkstra compact = new CompactDijkstra(CompactGraph.of(graph));
+
+		for (int query = 0; query < 100; query++) {
+			Node source = graph.nodes()[random.nextInt(graph.nodes().length)];
+			Node target = graph.nodes()[random.nextInt(graph.nodes().length)];
+
+			Path expected = reference.shortestPath(graph, source, target);
+			Path path = compact.shortestPath(source, target);
+
+			assertThat(path.isValid(), is(expected.isValid()));
+			if (expected.isValid()) {
+				assertThat((double) lengthOf(graph, path), is(closeTo(lengthOf(graph, expected), delta)));
+			}
+		}
+	}
+
+	@Test
+	public void findsSameArrivalsAsTimeAwareDijkstra() {
+		Random random = new Random(42);
+		DefaultGraph graph = ExampleNetwork.createRandom(random, 200, 800, 0);
+		TravelTime travelTime = (edge, currentTime) -> ((DefaultLink) edge).travelTime()
+				* (1.0f + (currentTime % 60.0f) / 120.0f);
+		CompactDijkstra compact = new CompactDijkstra(CompactGraph.of(graph));
+
+		for (int query = 0; query < 50; query++) {
+			Node source = graph.nodes()[random.nextInt(graph.nodes().length)];
+			float startTime = random.nextInt(100);
+			compact.searchFrom(compact.graph().indexOf(source), travelTime, startTime);
+
+			for (int target = 0; target < 10; target++) {
+				Node node = graph.nodes()[random.nextInt(graph.nodes().length)];
+				if (node == source) {
+					continue;
+				}
+				Path expected = new TimeAwareForwardDijkstra(new SimplePQ<>())
+						.shortestPath(graph, travelTime, source, node, startTime);
+				int index = compact.graph().indexOf(node);
+
+				assertThat(compact.reached(index), is(expected.isValid()));
+				if (expected.isValid()) {
+					assertThat((double) compact.travelTimeTo(index),
+							is(closeTo(expected.travelTime(), delta)));
+				}
+			}
+		}
+	}
+
+	private static float lengthOf(Graph graph, Path path) {
+		float length = 0.0f;
+		for (int index = 0; index < path.size(); index++) {
+			length += graph.cost(path.get(index));
+		}
+		return length;
+	}
+}
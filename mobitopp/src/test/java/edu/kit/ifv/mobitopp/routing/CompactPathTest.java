@@ -0,0 +1,62 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactPathTest {
+
+	private static final double delta = 1e-3;
+
+	private ExampleNetwork network;
+	private CompactGraph graph;
+	private Path path;
+
+	@Before
+	public void initialise() {
+		network = ExampleNetwork.createDefault();
+		graph = CompactGraph.of(network.graph);
+		path = new CompactDijkstra(graph).shortestPath(network.node1, network.node5);
+	}
+
+	@Test
+	public void keepsLinksOfPath() {
+		Path compact = CompactPath.of(graph, path);
+
+		assertThat(compact.size(), is(path.size()));
+		assertThat(compact.from(), is(network.node1));
+		assertThat(compact.to(), is(network.node5));
+		assertThat(compact.first(), is(network.link12));
+		assertThat(compact.next(network.link12), is(network.link23));
+		for (int index = 0; index < path.size(); index++) {
+			assertThat(compact.get(index), is(path.get(index)));
+		}
+		assertThat((double) compact.length(), is(closeTo(path.length(), delta)));
+		assertThat(compact.travelTime(), is(path.travelTime()));
+		assertThat(compact, is(equalTo(CompactPath.of(graph, path))));
+	}
+
+	@Test
+	public void keepsInvalidPath() {
+		assertThat(CompactPath.of(graph, DefaultPath.invalidPath),
+				is(sameInstance(DefaultPath.invalidPath)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsLinksOfOtherGraph() {
+		ExampleNetwork other = ExampleNetwork.createDefault();
+		List<Link> links = new ArrayList<>();
+		links.add(other.link12);
+
+		CompactPath.of(graph, DefaultPath.makePath(links));
+	}
+
+}
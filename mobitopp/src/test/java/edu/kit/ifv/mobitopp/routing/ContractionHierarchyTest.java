@@ -0,0 +1,142 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContractionHierarchyTest {
+
+	private static final double delta = 1e-3;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ExampleNetwork network;
+	private CompactGraph graph;
+
+	@Before
+	public void initialise() {
+		network = ExampleNetwork.createDefault();
+		graph = CompactGraph.of(network.graph);
+	}
+
+	@Test
+	public void findsShortestPath() {
+		CustomisedHierarchy hierarchy = ContractionHierarchy.of(graph).customise();
+
+		Path path = hierarchy.shortestPath(network.node1, network.node5);
+
+		assertThat(path.size(), is(4));
+		assertThat(path.first(), is(network.link12));
+		assertThat(path.next(path.first()), is(network.link23));
+		assertThat((double) path.length(), is(closeTo(5.0, delta)));
+	}
+
+	@Test
+	public void findsNoPathAgainstDirection() {
+		CustomisedHierarchy hierarchy = ContractionHierarchy.of(graph).customise();
+
+		assertThat(hierarchy.shortestPath(network.node5, network.node1),
+				is(sameInstance(DefaultPath.invalidPath)));
+		assertThat(hierarchy.shortestPath(network.node1, network.node1),
+				is(sameInstance(DefaultPath.emptyPath)));
+	}
+
+	@Test
+	public void customisesOtherCosts() {
+		ContractionHierarchy hierarchy = ContractionHierarchy.of(graph);
+		float[] costs = new float[graph.numberOfEdges()];
+		for (int edge = 0; edge < costs.length; edge++) {
+			costs[edge] = graph.edge(edge) == network.link23 ? 10.0f : graph.cost(edge);
+		}
+
+		CustomisedHierarchy customised = hierarchy.customise(costs);
+
+		int node1 = graph.indexOf(network.node1);
+		int node3 = graph.indexOf(network.node3);
+		assertThat((double) customised.distance(node1, node3), is(closeTo(6.0, delta)));
+		assertThat((double) hierarchy.customise().distance(node1, node3), is(closeTo(3.0, delta)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsCostsOfOtherGraph() {
+		ContractionHierarchy.of(graph).customise(new float[graph.numberOfEdges() + 1]);
+	}
+
+	@Test
+	public void findsSamePathsAsDijkstra() {
+		Random random = new Random(42);
+		CompactGraph randomGraph = CompactGraph.of(ExampleNetwork.createRandom(random, 300, 900, 30));
+		CompactDijkstra dijkstra = new CompactDijkstra(randomGraph);
+		CustomisedHierarchy hierarchy = ContractionHierarchy.of(randomGraph).customise();
+
+		for (int query = 0; query < 300; query++) {
+			int source = random.nextInt(randomGraph.numberOfNodes());
+			int target = random.nextInt(randomGraph.numberOfNodes());
+
+			dijkstra.searchFrom(source);
+			Path path = hierarchy.shortestPath(source, target);
+
+			assertThat(path.isValid(), is(dijkstra.reached(target)));
+			if (dijkstra.reached(target) && source != target) {
+				double expected = dijkstra.distanceTo(target);
+				assertThat((double) hierarchy.distance(source, target), is(closeTo(expected, delta)));
+				assertThat((double) costOf(randomGraph, path), is(closeTo(expected, delta)));
+				assertConnected(randomGraph, path, source, target);
+			}
+		}
+	}
+
+	@Test
+	public void savesAndLoadsHierarchy() throws Exception {
+		File file = new File(folder.getRoot(), "hierarchy.bin");
+		ContractionHierarchy built = ContractionHierarchy.in(file, graph);
+
+		ContractionHierarchy loaded = ContractionHierarchy.load(file, graph);
+
+		assertThat(file.exists(), is(true));
+		assertThat(loaded, is(not(sameInstance(built))));
+		assertThat(loaded.numberOfArcs(), is(equalTo(built.numberOfArcs())));
+		assertThat(loaded.customise().shortestPath(network.node1, network.node5),
+				is(equalTo(built.customise().shortestPath(network.node1, network.node5))));
+	}
+
+	@Test
+	public void ignoresHierarchyOfOtherGraph() throws Exception {
+		File file = new File(folder.getRoot(), "hierarchy.bin");
+		ContractionHierarchy.of(graph).save(file);
+		CompactGraph otherGraph = CompactGraph.of(ExampleNetwork.createRandom(new Random(1), 5, 8, 0));
+
+		assertThat(ContractionHierarchy.load(file, otherGraph), is((ContractionHierarchy) null));
+		assertThat(ContractionHierarchy.in(file, otherGraph).graph(), is(sameInstance(otherGraph)));
+	}
+
+	private static float costOf(CompactGraph graph, Path path) {
+		float cost = 0.0f;
+		for (int index = 0; index < path.size(); index++) {
+			Edge edge = path.get(index);
+			cost += ((DefaultLink) edge).distance();
+		}
+		return cost;
+	}
+
+	private static void assertConnected(CompactGraph graph, Path path, int source, int target) {
+		assertThat(path.get(0).from(), is(graph.node(source)));
+		for (int index = 1; index < path.size(); index++) {
+			assertThat(path.get(index).from(), is(path.get(index - 1).to()));
+			assertThat(graph.isSink(graph.indexOf(path.get(index).from())), is(false));
+		}
+		assertThat(path.get(path.size() - 1).to(), is(graph.node(target)));
+	}
+}
@@ -4,6 +4,10 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 public class ExampleNetwork {
 
@@ -62,4 +66,45 @@ public class ExampleNetwork {
 
 		return new ExampleNetwork(graph, node1, node2, node3, node4, node5, link12, link23);
 	}
+
+	/**
+	 * Creates a graph with randomly connected nodes. The first nodes are sinks.
+	 */
+	public static DefaultGraph createRandom(
+			Random random, int numberOfNodes, int numberOfLinks, int numberOfSinks) {
+		List<DefaultNode> nodes = new ArrayList<>();
+		Map<DefaultNode, List<Link>> outgoing = new HashMap<>();
+		Map<DefaultNode, List<Link>> incoming = new HashMap<>();
+		for (int index = 0; index < numberOfNodes; index++) {
+			DefaultNode node = index < numberOfSinks ? sink("s" + index) : new DefaultNode("n" + index);
+			nodes.add(node);
+			outgoing.put(node, new ArrayList<>());
+			incoming.put(node, new ArrayList<>());
+		}
+		List<DefaultLink> links = new ArrayList<>();
+		for (int index = 0; index < numberOfLinks; index++) {
+			DefaultNode from = nodes.get(random.nextInt(numberOfNodes));
+			DefaultNode to = nodes.get(random.nextInt(numberOfNodes));
+			float cost = 1.0f + random.nextInt(20);
+			DefaultLink link = new DefaultLink("l" + index, from, to, cost, cost);
+			links.add(link);
+			outgoing.get(from).add(link);
+			incoming.get(to).add(link);
+		}
+		for (DefaultNode node : nodes) {
+			node.setOutgoingLinks(outgoing.get(node));
+			node.setIncomingLinks(incoming.get(node));
+		}
+		return new DefaultGraph(nodes, links);
+	}
+
+	private static DefaultNode sink(String id) {
+		return new DefaultNode(id) {
+
+			@Override
+			public boolean isSink() {
+				return true;
+			}
+		};
+	}
 }
@@ -0,0 +1,125 @@
+package edu.kit.ifv.mobitopp.routing;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+
+public class ZoneSkimsTest {
+
+	private static final int numberOfZones = 20;
+	private static final float unreachable = Float.POSITIVE_INFINITY;
+	private static final double delta = 1e-3;
+
+	private CompactGraph graph;
+	private List<ZoneId> ids;
+	private int[] columns;
+
+	@Before
+	public void initialise() {
+		DefaultGraph randomGraph = ExampleNetwork.createRandom(new Random(7), 200, 700, numberOfZones);
+		Map<Integer, Node> zones = new HashMap<>();
+		for (Node node : randomGraph.nodes()) {
+			if (node.isSink()) {
+				zones.put(zones.size(), node);
+			}
+		}
+		graph = CompactGraph.of(randomGraph, zones);
+		ids = new ArrayList<>();
+		columns = new int[numberOfZones];
+		for (int zone = 0; zone < numberOfZones; zone++) {
+			int column = numberOfZones - 1 - zone;
+			columns[zone] = column;
+			ids.add(new ZoneId(String.valueOf(column), column));
+		}
+	}
+
+	@Test
+	public void skimsEveryTimeSlice() {
+		float[] doubledCosts = new float[graph.numberOfEdges()];
+		for (int edge = 0; edge < graph.numberOfEdges(); edge++) {
+			doubledCosts[edge] = 2.0f * graph.cost(edge);
+		}
+		FloatMatrix first = new FloatMatrix(ids, unreachable);
+		FloatMatrix second = new FloatMatrix(ids, unreachable);
+
+		new ZoneSkims(graph, 3)
+				.skim(asList(costsOfGraph(), doubledCosts), asList(first, second), columns);
+
+		CompactDijkstra dijkstra = new CompactDijkstra(graph);
+		int reachable = 0;
+		for (int origin = 0; origin < numberOfZones; origin++) {
+			dijkstra.searchFrom(graph.zoneNode(origin));
+			for (int destination = 0; destination < numberOfZones; destination++) {
+				float expected = dijkstra.distanceTo(graph.zoneNode(destination));
+				float firstValue = first.getFloat(columns[origin], columns[destination]);
+				float secondValue = second.getFloat(columns[origin], columns[destination]);
+				if (Float.isInfinite(expected)) {
+					assertThat(Float.isInfinite(firstValue), is(true));
+					assertThat(Float.isInfinite(secondValue), is(true));
+				} else {
+					reachable++;
+					assertThat((double) firstValue, is(closeTo(expected, delta)));
+					assertThat((double) secondValue, is(closeTo(2.0 * expected, delta)));
+				}
+			}
+		}
+		assertThat(reachable, is(greaterThan(0)));
+	}
+
+	@Test
+	public void skimsZeroWithinZone() {
+		FloatMatrix matrix = new FloatMatrix(ids, unreachable);
+
+		new ZoneSkims(graph, 2).skim(asList(costsOfGraph()), asList(matrix), columns);
+
+		for (int zone = 0; zone < numberOfZones; zone++) {
+			assertThat(matrix.getFloat(columns[zone], columns[zone]), is(0.0f));
+		}
+	}
+
+	@Test
+	public void skipsZonesWithoutColumn() {
+		columns[0] = -1;
+		FloatMatrix matrix = new FloatMatrix(ids, unreachable);
+
+		new ZoneSkims(graph, 2).skim(asList(costsOfGraph()), asList(matrix), columns);
+
+		for (int column = 0; column < numberOfZones; column++) {
+			assertThat(Float.isInfinite(matrix.getFloat(numberOfZones - 1, column)), is(true));
+			assertThat(Float.isInfinite(matrix.getFloat(column, numberOfZones - 1)), is(true));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMissingMatrix() {
+		new ZoneSkims(graph, 1).skim(asList(costsOfGraph()), asList(), columns);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsCostsOfOtherGraph() {
+		new CompactDijkstra(graph).searchFrom(0, new float[graph.numberOfEdges() + 1]);
+	}
+
+	private float[] costsOfGraph() {
+		float[] costs = new float[graph.numberOfEdges()];
+		for (int edge = 0; edge < graph.numberOfEdges(); edge++) {
+			costs[edge] = graph.cost(edge);
+		}
+		return costs;
+	}
+
+}
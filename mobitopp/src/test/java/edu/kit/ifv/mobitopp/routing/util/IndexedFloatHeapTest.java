@@ -0,0 +1,110 @@
+package edu.kit.ifv.mobitopp.routing.util;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexedFloatHeapTest {
+
+	private IndexedFloatHeap heap;
+
+	@Before
+	public void initialise() {
+		heap = new IndexedFloatHeap(5);
+	}
+
+	@Test
+	public void isEmptyAfterCreation() {
+		assertThat(heap.isEmpty(), is(true));
+		assertThat(heap.size(), is(0));
+		assertThat(heap.capacity(), is(5));
+	}
+
+	@Test
+	public void deletesElementsByPriority() {
+		heap.add(3, 3.0f);
+		heap.add(1, 1.0f);
+		heap.add(4, 0.5f);
+		heap.add(0, 2.0f);
+
+		assertThat(heap.minPriority(), is(0.5f));
+		assertThat(deleteAll(), contains(4, 1, 0, 3));
+	}
+
+	@Test
+	public void decreasesKey() {
+		heap.add(0, 1.0f);
+		heap.add(1, 2.0f);
+		heap.add(2, 3.0f);
+
+		heap.decreaseKey(2, 0.0f);
+
+		assertThat(heap.minElement(), is(2));
+		assertThat(deleteAll(), contains(2, 0, 1));
+	}
+
+	@Test
+	public void containsOnlyElementsInHeap() {
+		heap.add(2, 1.0f);
+		heap.add(3, 2.0f);
+
+		heap.deleteMin();
+
+		assertThat(heap.contains(2), is(false));
+		assertThat(heap.contains(3), is(true));
+		assertThat(heap.contains(4), is(false));
+	}
+
+	@Test
+	public void clearsRemainingElements() {
+		heap.add(2, 1.0f);
+		heap.add(3, 2.0f);
+
+		heap.clear();
+
+		assertThat(heap.isEmpty(), is(true));
+		assertThat(heap.contains(2), is(false));
+		assertThat(heap.contains(3), is(false));
+	}
+
+	@Test
+	public void sortsRandomPriorities() {
+		Random random = new Random(42);
+		int size = 1000;
+		IndexedFloatHeap heap = new IndexedFloatHeap(size);
+		float[] priorities = new float[size];
+		for (int element = 0; element < size; element++) {
+			priorities[element] = random.nextFloat();
+			heap.add(element, priorities[element]);
+		}
+		for (int element = 0; element < size; element += 3) {
+			priorities[element] = priorities[element] / 2;
+			heap.decreaseKey(element, priorities[element]);
+		}
+
+		float[] sorted = new float[size];
+		for (int index = 0; index < size; index++) {
+			sorted[index] = priorities[heap.deleteMin()];
+		}
+
+		float[] expected = priorities.clone();
+		Arrays.sort(expected);
+		assertThat(Arrays.equals(sorted, expected), is(true));
+	}
+
+	private List<Integer> deleteAll() {
+		List<Integer> elements = new ArrayList<>();
+		while (!heap.isEmpty()) {
+			elements.add(heap.deleteMin());
+		}
+		return elements;
+	}
+}
@@ -0,0 +1,177 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import edu.kit.ifv.mobitopp.data.Attractivities;
+import edu.kit.ifv.mobitopp.data.ExampleZones;
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityScheduleWithState;
+import edu.kit.ifv.mobitopp.time.Time;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AttractivityCalculatorCostNextPoleIndexedTest {
+
+	private static final int numberOfZones = 6;
+	private static final float poleSensitivity = 0.5f;
+	private static final Time startDate = Time.start.plusHours(8);
+
+	@TempDir
+	public File temporaryFolder;
+
+	@Mock
+	private ImpedanceIfc impedance;
+	@Mock
+	private Person person;
+	@Mock
+	private ActivityScheduleWithState schedule;
+	@Mock
+	private ActivityIfc previousActivity;
+	@Mock
+	private ActivityIfc nextActivity;
+
+	private Map<ZoneId, Zone> zones;
+	private List<Zone> targets;
+	private String parameterFile;
+
+	@BeforeEach
+	public void initialise() throws IOException {
+		zones = new LinkedHashMap<>();
+		for (int oid = 0; oid < numberOfZones; oid++) {
+			Attractivities attractivities = new Attractivities();
+			attractivities.addAttractivity(ActivityType.LEISURE, 10 * (oid + 1));
+			Zone zone = ExampleZones.zoneWithAttractivities(String.valueOf(oid + 1), oid, attractivities);
+			zones.put(zone.getId(), zone);
+		}
+		targets = new ArrayList<>(zones.values());
+		Collections.reverse(targets);
+		File file = new File(temporaryFolder, "cost.csv");
+		Files.writeString(file.toPath(), "4;0.8;-0.05;-0.2\n5;0.9;-0.04;-0.3\n");
+		parameterFile = file.getAbsolutePath();
+
+		when(impedance.getTravelTime(any(), any(), any(), any()))
+				.thenAnswer(invocation -> valueOf(invocation.getArgument(0), invocation.getArgument(1),
+						invocation.getArgument(2), 7.0f));
+		when(impedance.getTravelCost(any(), any(), any(), any()))
+				.thenAnswer(invocation -> valueOf(invocation.getArgument(0), invocation.getArgument(1),
+						invocation.getArgument(2), 0.3f));
+		when(impedance.getParkingCost(any(), any())).thenReturn(0.05f);
+		when(impedance.getDistance(any(), any()))
+				.thenAnswer(invocation -> 3 == ((ZoneId) invocation.getArgument(1)).getMatrixColumn()
+						? 1000000.0f
+						: 5.0f);
+
+		when(person.activitySchedule()).thenReturn(schedule);
+		when(schedule.prevActivity(nextActivity)).thenReturn(previousActivity);
+		when(person.nextFixedActivityZone(nextActivity)).thenReturn(targets.get(1));
+		when(person.getIncome()).thenReturn(2000);
+		when(previousActivity.calculatePlannedEndDate()).thenReturn(startDate);
+		when(nextActivity.activityType()).thenReturn(ActivityType.LEISURE);
+		when(nextActivity.startDate()).thenReturn(startDate.plusMinutes(30));
+		when(nextActivity.duration()).thenReturn(120);
+	}
+
+	private static float valueOf(ZoneId origin, ZoneId destination, Mode mode, float scale) {
+		int modeFactor = ((StandardMode) mode).ordinal() + 1;
+		return scale * (1 + origin.getMatrixColumn() * 3 + destination.getMatrixColumn() * modeFactor
+				+ modeFactor);
+	}
+
+	@Test
+	void calculatesSameAttractivitiesAsPerZoneCalculation() throws Exception {
+		Set<Mode> modes = new LinkedHashSet<>(List.of(StandardMode.CAR, StandardMode.PUBLICTRANSPORT,
+				StandardMode.PEDESTRIAN, StandardMode.BIKE));
+		for (boolean commuterTicket : List.of(false, true)) {
+			when(person.hasCommuterTicket()).thenReturn(commuterTicket);
+
+			Map<Zone, Float> expected = reference()
+					.calculateAttractivities(person, nextActivity, targets.get(2), targets,
+							ActivityType.LEISURE, modes);
+			Map<Zone, Float> actual = indexed()
+					.calculateAttractivities(person, nextActivity, targets.get(2), targets,
+							ActivityType.LEISURE, modes);
+
+			assertThat(actual, equalTo(expected));
+			assertThat(new ArrayList<>(actual.keySet()), contains(targets.toArray()));
+		}
+	}
+
+	@Test
+	void reusesBufferForDifferentNumberOfTargets() throws Exception {
+		Set<Mode> modes = Set.of(StandardMode.CAR);
+		AttractivityCalculatorIfc calculator = indexed();
+		List<Zone> someTargets = targets.subList(1, 4);
+
+		Map<Zone, Float> few = calculator
+				.calculateAttractivities(person, nextActivity, targets.get(0), someTargets,
+						ActivityType.LEISURE, modes);
+		calculator
+				.calculateAttractivities(person, nextActivity, targets.get(0), targets,
+						ActivityType.LEISURE, modes);
+
+		assertThat(few, equalTo(reference()
+				.calculateAttractivities(person, nextActivity, targets.get(0), someTargets,
+						ActivityType.LEISURE, modes)));
+	}
+
+	@Test
+	void failsWithoutModes() throws Exception {
+		assertThrows(NoSuchElementException.class, () -> indexed()
+				.calculateAttractivities(person, nextActivity, targets.get(0), targets,
+						ActivityType.LEISURE, Set.of()));
+	}
+
+	@Test
+	void selectsKernelFromExperimentalParameters() throws Exception {
+		WrittenConfiguration configuration = new WrittenConfiguration();
+
+		assertThat(AttractivityKernel.from(configuration), equalTo(AttractivityKernel.perZone));
+
+		configuration.setExperimental(Map.of("attractivityKernel", "zoneIndexed"));
+
+		AttractivityKernel kernel = AttractivityKernel.from(configuration);
+		assertThat(kernel, equalTo(AttractivityKernel.zoneIndexed));
+		assertThat(kernel.createNextPole(zones, impedance, parameterFile, poleSensitivity),
+				instanceOf(AttractivityCalculatorCostNextPoleIndexed.class));
+	}
+
+	private AttractivityCalculatorIfc reference() {
+		return new AttractivityCalculatorCostNextPole(zones, impedance, parameterFile,
+				poleSensitivity);
+	}
+
+	private AttractivityCalculatorIfc indexed() {
+		return new AttractivityCalculatorCostNextPoleIndexed(zones, impedance, parameterFile,
+				poleSensitivity);
+	}
+
+}
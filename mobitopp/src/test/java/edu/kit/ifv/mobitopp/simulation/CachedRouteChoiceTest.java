@@ -0,0 +1,131 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.kit.ifv.mobitopp.routing.CompactGraph;
+import edu.kit.ifv.mobitopp.routing.DefaultPath;
+import edu.kit.ifv.mobitopp.routing.ExampleNetwork;
+import edu.kit.ifv.mobitopp.routing.Link;
+import edu.kit.ifv.mobitopp.routing.Path;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class CachedRouteChoiceTest {
+
+	private static final int source = 1;
+	private static final int target = 2;
+
+	private ExampleNetwork network;
+	private ZoneBasedRouteChoice routeChoice;
+	private Path route;
+	private Time time;
+	private Time inSameHour;
+	private CachedRouteChoice cache;
+
+	@Before
+	public void initialise() {
+		network = ExampleNetwork.createDefault();
+		routeChoice = mock(ZoneBasedRouteChoice.class);
+		List<Link> links = new ArrayList<>();
+		links.add(network.link12);
+		links.add(network.link23);
+		route = DefaultPath.makePath(links);
+		time = SimpleTime.of(1, 8, 0, 0);
+		inSameHour = time.plus(RelativeTime.ofMinutes(59));
+		when(routeChoice.selectRoute(any(), anyInt(), anyInt())).thenReturn(route);
+
+		cache = new CachedRouteChoice(routeChoice, CompactGraph.of(network.graph));
+	}
+
+	@Test
+	public void selectsRouteOncePerTimeSlice() {
+		Path first = cache.selectRoute(time, source, target);
+		Path second = cache.selectRoute(inSameHour, source, target);
+
+		assertThat(second, is(sameInstance(first)));
+		assertThat(first.size(), is(2));
+		assertThat(first.get(0), is(network.link12));
+		assertThat(first.get(1), is(network.link23));
+		verify(routeChoice).selectRoute(time, source, target);
+		assertThat(cache.hits(), is(1L));
+		assertThat(cache.misses(), is(1L));
+	}
+
+	@Test
+	public void sharesRoutesOfSameTimeOnOtherDays() {
+		cache.selectRoute(time, source, target);
+		cache.selectRoute(time.plusDays(1), source, target);
+
+		verify(routeChoice, times(1)).selectRoute(any(), anyInt(), anyInt());
+	}
+
+	@Test
+	public void selectsRouteAgainInOtherTimeSlice() {
+		cache.selectRoute(time, source, target);
+		cache.selectRoute(time.plusHours(1), source, target);
+		cache.selectRoute(time, target, source);
+
+		verify(routeChoice, times(3)).selectRoute(any(), anyInt(), anyInt());
+		assertThat(cache.misses(), is(3L));
+		assertThat(cache.cachedRoutes(), is(3));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedRoutes() {
+		cache = new CachedRouteChoice(routeChoice, CompactGraph.of(network.graph), 4,
+				RelativeTime.ofHours(1));
+
+		cache.selectRoute(time, source, target);
+		cache.selectRoute(time, target, source);
+		cache.selectRoute(time, source, target);
+		cache.selectRoute(time, 3, source);
+		cache.selectRoute(time, source, target);
+
+		assertThat(cache.evictions(), is(1L));
+		assertThat(cache.cachedLinks(), is(4L));
+		assertThat(cache.hits(), is(2L));
+	}
+
+	@Test
+	public void keepsInvalidRoutes() {
+		when(routeChoice.selectRoute(any(), anyInt(), anyInt())).thenReturn(DefaultPath.invalidPath);
+
+		cache.selectRoute(time, source, target);
+		Path cached = cache.selectRoute(time, source, target);
+
+		assertThat(cached.isValid(), is(false));
+		assertThat(cache.hits(), is(1L));
+	}
+
+	@Test
+	public void copiesEmptyRoutes() {
+		when(routeChoice.selectRoute(any(), anyInt(), anyInt()))
+				.thenReturn(DefaultPath.makePath(new ArrayList<>()));
+
+		Path cached = cache.selectRoute(time, source, source);
+
+		assertThat(cached.isEmpty(), is(true));
+		assertThat(cached.isValid(), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyTimeSlices() {
+		new CachedRouteChoice(routeChoice, CompactGraph.of(network.graph), 1, RelativeTime.ZERO);
+	}
+
+}
@@ -1,6 +1,7 @@
 package edu.kit.ifv.mobitopp.simulation;
 
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
 import static java.time.temporal.ChronoUnit.HOURS;
@@ -13,6 +14,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,6 +60,19 @@ public class CachedStoreTest {
 		verify(store).save(profile);
 	}
 
+	@Test
+	public void removesProfileFromGivenStoreAndCache() throws Exception {
+		loadSomeProfile();
+		cache.profileTo(stop, time);
+
+		cache.remove(stop);
+		cache.profileTo(stop, time);
+
+		verify(store).remove(stop);
+		verify(store, times(2)).profileTo(stop, time);
+		assertThat(cache.misses(), is(2L));
+	}
+
 	@Test
 	public void loadsFromGivenStore() throws Exception {
 		loadSomeProfile();
@@ -126,6 +146,89 @@ public class CachedStoreTest {
 		verify(store).profileTo(stop, time);
 	}
 
+	@Test
+	public void countsHitsAndMisses() throws Exception {
+		loadSomeProfile();
+
+		cache.profileTo(stop, time);
+		cache.profileTo(stop, time);
+		cache.profileTo(stop, inSameHour);
+
+		assertThat(cache.misses(), is(1L));
+		assertThat(cache.hits(), is(2L));
+		assertThat(cache.evictions(), is(0L));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedProfileWhenLimitIsExceeded() throws Exception {
+		Stop otherStop = otherStop();
+		Profile otherProfile = mock(Profile.class);
+		loadSomeProfile();
+		loadAnotherProfile();
+		when(store.profileTo(otherStop, time)).thenReturn(otherProfile);
+		when(profile.numberOfEntries()).thenReturn(2);
+		when(anotherProfile.numberOfEntries()).thenReturn(2);
+		when(otherProfile.numberOfEntries()).thenReturn(2);
+		CachedStore limited = new CachedStore(store, 4);
+
+		limited.profileTo(stop, time);
+		limited.profileTo(anotherStop, time);
+		limited.profileTo(stop, time);
+		limited.profileTo(otherStop, time);
+		limited.profileTo(stop, time);
+		limited.profileTo(anotherStop, time);
+
+		verify(store).profileTo(stop, time);
+		verify(store, times(2)).profileTo(anotherStop, time);
+		assertThat(limited.evictions(), is(2L));
+		assertThat(limited.cachedEntries(), is(4L));
+	}
+
+	@Test
+	public void keepsSingleProfileLargerThanLimit() throws Exception {
+		loadSomeProfile();
+		when(profile.numberOfEntries()).thenReturn(10);
+		CachedStore limited = new CachedStore(store, 4);
+
+		limited.profileTo(stop, time);
+		Profile fromCache = limited.profileTo(stop, time);
+
+		assertThat(fromCache, is(equalTo(profile)));
+		verify(store).profileTo(stop, time);
+	}
+
+	@Test
+	public void releasesEntriesOfCleanedProfiles() throws Exception {
+		loadSomeProfile();
+		when(profile.numberOfEntries()).thenReturn(3);
+
+		cache.profileTo(stop, time);
+		cache.cleanBefore(oneHourLater());
+
+		assertThat(cache.cachedEntries(), is(0L));
+	}
+
+	@Test
+	public void loadsProfilesConcurrently() throws Exception {
+		loadSomeProfile();
+		loadAnotherProfile();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Profile>> loaded = new ArrayList<>();
+			for (int load = 0; load < 100; load++) {
+				Stop target = 0 == load % 2 ? stop : anotherStop;
+				loaded.add(executor.submit(() -> cache.profileTo(target, time)));
+			}
+			for (int load = 0; load < loaded.size(); load++) {
+				Profile expected = 0 == load % 2 ? profile : anotherProfile;
+				assertThat(loaded.get(load).get(), is(equalTo(expected)));
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(cache.hits() + cache.misses(), is(100L));
+	}
+
 	private void loadSomeProfile() {
 		when(store.profileTo(stop, time)).thenReturn(profile);
 	}
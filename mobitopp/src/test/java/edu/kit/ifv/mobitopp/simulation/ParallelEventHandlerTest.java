@@ -0,0 +1,154 @@
+package edu.kit.ifv.mobitopp.simulation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.OccupationIfc;
+import edu.kit.ifv.mobitopp.simulation.events.DemandSimulationEvent;
+import edu.kit.ifv.mobitopp.simulation.events.DemandSimulationEventIfc;
+import edu.kit.ifv.mobitopp.simulation.events.EventQueue;
+import edu.kit.ifv.mobitopp.simulation.events.HouseholdPartitionedEventQueue;
+import edu.kit.ifv.mobitopp.simulation.events.SimpleEventQueue;
+import edu.kit.ifv.mobitopp.simulation.person.PublicTransportBehaviour;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class ParallelEventHandlerTest {
+
+	private static final int priority = 0;
+	private static final int numberOfPersons = 12;
+	private static final int personsPerHousehold = 2;
+	private static final int eventsPerPerson = 4;
+	private static final int seats = 7;
+	private static final int timeSlices = 15;
+	private static final Time start = Data.someTime();
+
+	private List<String> output;
+	private int freeSeats;
+
+	@BeforeEach
+	public void initialise() {
+		output = Collections.synchronizedList(new ArrayList<>());
+		freeSeats = seats;
+	}
+
+	@Test
+	public void writesSameOutputAsSequentialRunForAnyNumberOfShards() {
+		List<String> sequential = simulateSequentially();
+
+		assertThat(sequential, hasSize(numberOfPersons * eventsPerPerson + seats));
+		assertThat(simulateInParallel(1), is(sequential));
+		assertThat(simulateInParallel(2), is(sequential));
+		assertThat(simulateInParallel(4), is(sequential));
+	}
+
+	private List<String> simulateSequentially() {
+		initialise();
+		EventQueue queue = new SimpleEventQueue();
+		addFirstEvents(queue, listener(), vehicles());
+		for (int slice = 0; slice < timeSlices; slice++) {
+			Time currentDate = start.plusMinutes(slice);
+			while (queue.hasEventsUntil(currentDate)) {
+				DemandSimulationEventIfc event = queue.nextEvent();
+				event.getPerson().notify(queue, event, currentDate);
+			}
+		}
+		return new ArrayList<>(output);
+	}
+
+	private List<String> simulateInParallel(int numberOfShards) {
+		initialise();
+		HouseholdPartitionedEventQueue queue = new HouseholdPartitionedEventQueue(numberOfShards);
+		ParallelEventHandler handler = new ParallelEventHandler(queue, numberOfShards);
+		addFirstEvents(queue, new SequencedPersonListener(listener()),
+				new SequencedPublicTransportBehaviour(vehicles()));
+		try {
+			for (int slice = 0; slice < timeSlices; slice++) {
+				handler.handleEventsUntil(start.plusMinutes(slice));
+			}
+		} finally {
+			handler.shutdown();
+		}
+		return new ArrayList<>(output);
+	}
+
+	private void addFirstEvents(
+			EventQueue queue, PersonListener listener, PublicTransportBehaviour vehicles) {
+		OccupationIfc occupation = mock(OccupationIfc.class);
+		for (int oid = 0; oid < numberOfPersons; oid++) {
+			SimulationPerson person = person(oid, listener, vehicles, occupation);
+			queue.add(new DemandSimulationEvent(priority, person, occupation, start));
+		}
+	}
+
+	/**
+	 * Every event boards a vehicle while seats are left, starts an activity and schedules the next
+	 * event of the person. Persons with different oids wait for different durations, so events of
+	 * several households share a time slice and some share a date.
+	 */
+	private SimulationPerson person(
+			int oid, PersonListener listener, PublicTransportBehaviour vehicles,
+			OccupationIfc occupation) {
+		SimulationPerson person = mock(SimulationPerson.class);
+		Household household = mock(Household.class);
+		ActivityIfc activity = mock(ActivityIfc.class);
+		when(person.getOid()).thenReturn(oid);
+		when(person.household()).thenReturn(household);
+		when(household.getOid()).thenReturn(oid / personsPerHousehold);
+		int[] handledEvents = { 0 };
+		doAnswer(invocation -> {
+			EventQueue queue = invocation.getArgument(0);
+			DemandSimulationEventIfc event = invocation.getArgument(1);
+			Time date = event.getSimulationDate();
+			if (vehicles.hasPlaceInVehicle(null)) {
+				vehicles.board(person, date, null, null);
+			}
+			listener.notifyStartActivity(person, activity);
+			handledEvents[0]++;
+			if (eventsPerPerson > handledEvents[0]) {
+				queue.add(new DemandSimulationEvent(priority, person, occupation,
+						date.plusMinutes(1 + oid % 3)));
+			}
+			return null;
+		}).when(person).notify(any(), any(), any());
+		return person;
+	}
+
+	private PersonListener listener() {
+		PersonListener listener = mock(PersonListener.class);
+		doAnswer(invocation -> {
+			Person person = invocation.getArgument(0);
+			output.add("person " + person.getOid() + " starts activity");
+			return null;
+		}).when(listener).notifyStartActivity(any(), any());
+		return listener;
+	}
+
+	private PublicTransportBehaviour vehicles() {
+		PublicTransportBehaviour vehicles = mock(PublicTransportBehaviour.class);
+		doAnswer(invocation -> 0 < freeSeats).when(vehicles).hasPlaceInVehicle(any());
+		doAnswer(invocation -> {
+			SimulationPerson person = invocation.getArgument(0);
+			Time date = invocation.getArgument(1);
+			freeSeats--;
+			output.add("person " + person.getOid() + " boards at " + date);
+			return null;
+		}).when(vehicles).board(any(), any(), any(), any());
+		return vehicles;
+	}
+
+}
@@ -0,0 +1,176 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.OccupationIfc;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class CalendarEventQueueTest {
+
+	private static final int bucketWidth = 60;
+	private static final int numberOfBuckets = 10;
+	private static final int priority = 0;
+	private static final Time early = Data.someTime();
+	private static final Time late = early.plusHours(1);
+
+	private SimulationPerson person;
+	private OccupationIfc occupation;
+	private EventQueue queue;
+	private DemandSimulationEventIfc firstEvent;
+	private DemandSimulationEventIfc secondEvent;
+
+	@BeforeEach
+	public void initialise() {
+		person = person(1);
+		occupation = mock(OccupationIfc.class);
+		firstEvent = new DemandSimulationEvent(priority, person, occupation, early);
+		secondEvent = new DemandSimulationEvent(priority, person, occupation, late);
+		queue = new CalendarEventQueue(bucketWidth, numberOfBuckets);
+	}
+
+	private static SimulationPerson person(int oid) {
+		SimulationPerson person = mock(SimulationPerson.class);
+		when(person.getOid()).thenReturn(oid);
+		return person;
+	}
+
+	@Test
+	public void processEachElementOneTime() {
+		queue.add(firstEvent);
+		queue.add(secondEvent);
+
+		assertThat(queue.size(), is(2));
+		assertThat(queue.hasEventsUntil(late), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+		assertThat(queue.hasEventsUntil(late), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(secondEvent)));
+		assertThat(queue.hasEventsUntil(late), is(false));
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test
+	public void processElementsOrderedPerTimeslot() {
+		queue.add(secondEvent);
+		queue.add(firstEvent);
+
+		assertThat(queue.size(), is(2));
+		assertThat(queue.hasEventsUntil(early), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+		assertThat(queue.hasEventsUntil(early), is(false));
+		assertThat(queue.hasEventsUntil(late), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(secondEvent)));
+		assertThat(queue.hasEventsUntil(late), is(false));
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test
+	public void keepsEventsAddedBeforeCurrentBucket() {
+		queue.add(secondEvent);
+		queue.peek();
+		queue.add(firstEvent);
+
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+		assertThat(queue.nextEvent(), is(sameInstance(secondEvent)));
+	}
+
+	@Test
+	public void keepsEventsAddedBeforeCurrentBucketAfterRemovingEvents() {
+		DemandSimulationEventIfc thirdEvent = new DemandSimulationEvent(priority, person(2),
+				occupation, late.plusMinutes(1));
+		queue.add(firstEvent);
+		queue.add(thirdEvent);
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+
+		queue.add(secondEvent);
+		queue.add(firstEvent);
+
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+		assertThat(queue.nextEvent(), is(sameInstance(secondEvent)));
+		assertThat(queue.nextEvent(), is(sameInstance(thirdEvent)));
+	}
+
+	@Test
+	public void addSameEventTwice() {
+		queue.add(firstEvent);
+		queue.add(firstEvent);
+
+		assertThrows(IllegalArgumentException.class, () -> queue.nextEvent());
+	}
+
+	@Test
+	public void addSameEventTwiceToRequestedBucket() {
+		queue.add(firstEvent);
+		queue.peek();
+
+		assertThrows(IllegalArgumentException.class, () -> queue.add(firstEvent));
+	}
+
+	@Test
+	public void processesEventsAddedInDescendingOrder() {
+		EventQueue simpleQueue = new SimpleEventQueue();
+		int numberOfEvents = 3 * numberOfBuckets;
+		for (int index = numberOfEvents; index > 0; index--) {
+			DemandSimulationEventIfc event = new DemandSimulationEvent(priority, person(index),
+					occupation, SimpleTime.ofSeconds(index * bucketWidth / 2));
+			queue.add(event);
+			simpleQueue.add(event);
+		}
+
+		assertThat(queue.size(), is(numberOfEvents));
+		while (0 < simpleQueue.size()) {
+			assertThat(queue.nextEvent(), is(sameInstance(simpleQueue.nextEvent())));
+		}
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test
+	public void processesEventsInSameOrderAsSimpleEventQueue() {
+		EventQueue simpleQueue = new SimpleEventQueue();
+		Random random = new Random(42);
+		List<SimulationPerson> persons = new ArrayList<>();
+		for (int oid = 0; oid < 20; oid++) {
+			persons.add(person(oid));
+		}
+		for (int index = 0; index < 500; index++) {
+			SimulationPerson somePerson = persons.get(index % persons.size());
+			OccupationIfc someOccupation = mock(OccupationIfc.class);
+			when(someOccupation.getOid()).thenReturn(index);
+			Time date = SimpleTime.ofSeconds(random.nextInt(2 * numberOfBuckets * bucketWidth));
+			DemandSimulationEventIfc event = new DemandSimulationEvent(random.nextInt(3), somePerson,
+					someOccupation, date);
+			queue.add(event);
+			simpleQueue.add(event);
+		}
+
+		Time end = SimpleTime.ofSeconds(2 * numberOfBuckets * bucketWidth);
+		for (Time current = SimpleTime.ofSeconds(0); current.isBeforeOrEqualTo(end); current = current
+				.plusSeconds(bucketWidth)) {
+			assertThat(queue.hasEventsUntil(current), is(simpleQueue.hasEventsUntil(current)));
+			while (simpleQueue.hasEventsUntil(current)) {
+				assertThat(queue.nextEvent(), is(sameInstance(simpleQueue.nextEvent())));
+			}
+		}
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test
+	public void failsWithInvalidBuckets() {
+		assertThrows(IllegalArgumentException.class, () -> new CalendarEventQueue(0, numberOfBuckets));
+		assertThrows(IllegalArgumentException.class, () -> new CalendarEventQueue(bucketWidth, 0));
+	}
+}
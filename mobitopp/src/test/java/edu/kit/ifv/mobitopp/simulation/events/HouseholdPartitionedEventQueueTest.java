@@ -0,0 +1,83 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.simulation.Household;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.OccupationIfc;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class HouseholdPartitionedEventQueueTest {
+
+	private static final int priority = 0;
+	private static final Time early = Data.someTime();
+	private static final Time late = early.plusHours(1);
+
+	private HouseholdPartitionedEventQueue queue;
+	private DemandSimulationEventIfc firstEvent;
+	private DemandSimulationEventIfc secondEvent;
+	private DemandSimulationEventIfc thirdEvent;
+
+	@BeforeEach
+	public void initialise() {
+		SimulationPerson somePerson = person(1, 0);
+		SimulationPerson otherPerson = person(2, 1);
+		OccupationIfc occupation = mock(OccupationIfc.class);
+		firstEvent = new DemandSimulationEvent(priority, otherPerson, occupation, early);
+		secondEvent = new DemandSimulationEvent(priority, somePerson, occupation, late);
+		thirdEvent = new DemandSimulationEvent(priority, otherPerson, occupation, late);
+		queue = new HouseholdPartitionedEventQueue(2);
+	}
+
+	private static SimulationPerson person(int oid, int householdOid) {
+		SimulationPerson person = mock(SimulationPerson.class);
+		Household household = mock(Household.class);
+		when(person.getOid()).thenReturn(oid);
+		when(person.household()).thenReturn(household);
+		when(household.getOid()).thenReturn(householdOid);
+		return person;
+	}
+
+	@Test
+	public void assignsEventsToShardOfHousehold() {
+		queue.add(firstEvent);
+		queue.add(secondEvent);
+		queue.add(thirdEvent);
+
+		assertThat(queue.size(), is(3));
+		assertThat(queue.shard(0).size(), is(1));
+		assertThat(queue.shard(1).size(), is(2));
+		assertThat(queue.shard(0).nextEvent(), is(sameInstance(secondEvent)));
+		assertThat(queue.shard(1).nextEvent(), is(sameInstance(firstEvent)));
+	}
+
+	@Test
+	public void processesEventsOfAllShardsInOrder() {
+		queue.add(thirdEvent);
+		queue.add(secondEvent);
+		queue.add(firstEvent);
+
+		assertThat(queue.hasEventsUntil(early), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(firstEvent)));
+		assertThat(queue.hasEventsUntil(early), is(false));
+		assertThat(queue.hasEventsUntil(late), is(true));
+		assertThat(queue.nextEvent(), is(sameInstance(secondEvent)));
+		assertThat(queue.nextEvent(), is(sameInstance(thirdEvent)));
+		assertThat(queue.hasEventsUntil(late), is(false));
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test
+	public void failsWithoutShards() {
+		assertThrows(IllegalArgumentException.class, () -> new HouseholdPartitionedEventQueue(0));
+	}
+}
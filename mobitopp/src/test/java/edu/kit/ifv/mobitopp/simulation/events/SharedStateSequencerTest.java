@@ -0,0 +1,102 @@
+package edu.kit.ifv.mobitopp.simulation.events;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Data;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.OccupationIfc;
+import edu.kit.ifv.mobitopp.simulation.person.SimulationPerson;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class SharedStateSequencerTest {
+
+	private static final int priority = 0;
+	private static final Time early = Data.someTime();
+	private static final Time late = early.plusMinutes(1);
+
+	private SharedStateSequencer sequencer;
+	private ExecutorService executor;
+	private DemandSimulationEventIfc earlyEvent;
+	private DemandSimulationEventIfc lateEvent;
+	private List<String> accesses;
+
+	@BeforeEach
+	public void initialise() {
+		OccupationIfc occupation = mock(OccupationIfc.class);
+		earlyEvent = new DemandSimulationEvent(priority, person(1), occupation, early);
+		lateEvent = new DemandSimulationEvent(priority, person(2), occupation, late);
+		sequencer = new SharedStateSequencer(2);
+		executor = Executors.newFixedThreadPool(2);
+		accesses = new CopyOnWriteArrayList<>();
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private static SimulationPerson person(int oid) {
+		SimulationPerson person = mock(SimulationPerson.class);
+		when(person.getOid()).thenReturn(oid);
+		return person;
+	}
+
+	@Test
+	public void accessesSharedStateInEventOrder() throws Exception {
+		CountDownLatch lateShardWaits = new CountDownLatch(1);
+		sequencer.prepare(0, Optional.of(lateEvent));
+		sequencer.prepare(1, Optional.of(earlyEvent));
+
+		Future<?> lateShard = executor.submit(() -> {
+			sequencer.bind(0);
+			sequencer.process(lateEvent);
+			lateShardWaits.countDown();
+			SharedStateSequencer.awaitTurn();
+			accesses.add("late");
+			sequencer.finish();
+		});
+		Future<?> earlyShard = executor.submit(() -> {
+			sequencer.bind(1);
+			sequencer.process(earlyEvent);
+			awaitQuietly(lateShardWaits);
+			SharedStateSequencer.awaitTurn();
+			accesses.add("early");
+			sequencer.finish();
+		});
+		earlyShard.get(1, TimeUnit.MINUTES);
+		lateShard.get(1, TimeUnit.MINUTES);
+
+		assertThat(accesses, contains("early", "late"));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void doesNotBlockOutsideOfParallelSimulation() {
+		SharedStateSequencer.awaitTurn();
+		accesses.add("sequential");
+
+		assertThat(accesses, contains("sequential"));
+	}
+}
@@ -3,6 +3,8 @@ package edu.kit.ifv.mobitopp.simulation.publictransport;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.hasValue;
 import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
 import static edu.kit.ifv.mobitopp.publictransport.model.Data.coordinate;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -10,6 +12,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -89,6 +92,26 @@ public class PublicTransportImpedanceTest {
 		verifyZeroInteractions(impedance);
 	}
 
+	@Test
+	public void searchesArrivalsAtAllTargetsTogether() throws Exception {
+		Time arrival = date.plusMinutes(10);
+		StationPaths startStations = mock(StationPaths.class);
+		StationPaths endStations = mock(StationPaths.class);
+		when(stationResolver.findReachableStations(source)).thenReturn(startStations);
+		when(stationResolver.findReachableStations(target)).thenReturn(endStations);
+		when(stationResolver.findReachableStations(sameAsSource)).thenReturn(startStations);
+		when(startStations.findArrivals(asList(endStations, startStations), date, routeSearch))
+				.thenReturn(asList(Optional.of(arrival), Optional.of(date)));
+
+		List<Optional<Time>> arrivals = publicTransport().getPublicTransportArrivals(source,
+				asList(target, sameAsSource), StandardMode.PUBLICTRANSPORT, date);
+
+		assertThat(arrivals, contains(Optional.of(arrival), Optional.empty()));
+		verify(startStations).findArrivals(asList(endStations, startStations), date, routeSearch);
+		verifyZeroInteractions(routeSearch);
+		verifyZeroInteractions(impedance);
+	}
+
 	private PublicTransportImpedance publicTransport() {
 		PublicTransportImpedance publicTransport = new PublicTransportImpedance(routeSearch, stationResolver,
 				impedance);
@@ -0,0 +1,78 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class PublicTransportSkimGenerationTest {
+
+	private static final RelativeTime interval = RelativeTime.ofMinutes(15);
+	private static final int workers = 2;
+
+	@TempDir
+	public File temporaryFolder;
+
+	private File folder;
+	private Time day;
+	private PublicTransportTimetable timetable;
+	private PublicTransportSkims skims;
+	private Collection<Zone> zones;
+
+	@BeforeEach
+	public void initialise() {
+		folder = new File(temporaryFolder, "skims");
+		day = Time.start;
+		timetable = mock(PublicTransportTimetable.class);
+		skims = mock(PublicTransportSkims.class);
+		zones = List.of(mock(Zone.class));
+		List<ZoneId> ids = List.of(new ZoneId("1", 0));
+		PublicTransportSkim skim = new PublicTransportSkim(7,
+				new TravelTimeMatrix(ids, PublicTransportSkims.unreachable));
+		when(timetable.createSkims(interval, workers, false)).thenReturn(skims);
+		when(skims.skim(zones, day, TimeSpan.between(0, 23))).thenReturn(List.of(skim));
+	}
+
+	private PublicTransportSkimGeneration generation() {
+		return new PublicTransportSkimGeneration(folder, day, interval, workers, false);
+	}
+
+	@Test
+	void generatesSkimsOfWholeDay() throws Exception {
+		generation().generate(timetable, zones);
+
+		verify(skims).skim(zones, day, TimeSpan.between(0, 23));
+		assertThat(new File(folder, PublicTransportSkimWriter.configurationName).exists(), is(true));
+		assertThat(new File(folder, PublicTransportSkimWriter.travelTimeFileFor(7)).exists(),
+				is(true));
+	}
+
+	@Test
+	void keepsExistingSkims() throws Exception {
+		generation().generate(timetable, zones);
+		PublicTransportTimetable otherTimetable = mock(PublicTransportTimetable.class);
+
+		generation().generate(otherTimetable, zones);
+
+		verify(otherTimetable, never()).createSkims(any(), any(Integer.class), any(Boolean.class));
+	}
+
+}
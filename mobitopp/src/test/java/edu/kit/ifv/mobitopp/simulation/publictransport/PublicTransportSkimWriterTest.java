@@ -0,0 +1,88 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.data.DayType;
+import edu.kit.ifv.mobitopp.data.FloatMatrix;
+import edu.kit.ifv.mobitopp.data.TravelTimeMatrix;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.MatrixRepository;
+import edu.kit.ifv.mobitopp.data.local.configuration.FileMatrixConfiguration;
+import edu.kit.ifv.mobitopp.data.local.configuration.MatrixConfiguration;
+import edu.kit.ifv.mobitopp.data.local.configuration.TravelTimeMatrixType;
+import edu.kit.ifv.mobitopp.simulation.StandardMode;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class PublicTransportSkimWriterTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private List<ZoneId> ids;
+
+	@BeforeEach
+	public void initialise() {
+		ids = List.of(new ZoneId("1", 0), new ZoneId("2", 1));
+	}
+
+	private PublicTransportSkim skim(int hour, float travelTime) {
+		TravelTimeMatrix travelTimes = new TravelTimeMatrix(ids, PublicTransportSkims.unreachable);
+		travelTimes.setFloat(0, 1, travelTime);
+		FloatMatrix transfers = new FloatMatrix(ids, PublicTransportSkims.unreachable);
+		transfers.setFloat(0, 1, 1.5f);
+		return new PublicTransportSkim(hour, travelTimes, transfers);
+	}
+
+	@Test
+	void writesSkimsLoadableByMatrixRepository() throws Exception {
+		PublicTransportSkimWriter writer = new PublicTransportSkimWriter(temporaryFolder);
+
+		writer.write(List.of(skim(7, 12.5f), skim(8, 20.25f)), DayType.weekdays);
+
+		MatrixConfiguration configuration = FileMatrixConfiguration
+				.from(writer.configuration(), temporaryFolder,
+						mode -> TravelTimeMatrixType.publictransport);
+		MatrixRepository matrices = new MatrixRepository(configuration);
+		Time morning = Time.start.plusHours(7);
+		TravelTimeMatrix loaded = matrices.travelTimeFor(StandardMode.PUBLICTRANSPORT, morning);
+		TravelTimeMatrix later = matrices
+				.travelTimeFor(StandardMode.PUBLICTRANSPORT, morning.plusHours(1));
+		assertThat((double) loaded.getFloat(0, 1), is(closeTo(12.5, 1e-3)));
+		assertThat((double) loaded.getFloat(1, 0),
+				is(closeTo(PublicTransportSkims.unreachable, 1e-3)));
+		assertThat((double) later.getFloat(0, 1), is(closeTo(20.25, 1e-3)));
+	}
+
+	@Test
+	void writesTransfersNextToTravelTimes() throws Exception {
+		new PublicTransportSkimWriter(temporaryFolder).write(List.of(skim(7, 1.0f)), DayType.weekdays);
+
+		assertThat(new File(temporaryFolder, PublicTransportSkimWriter.travelTimeFileFor(7)).exists(),
+				is(true));
+		assertThat(new File(temporaryFolder, PublicTransportSkimWriter.transferFileFor(7)).exists(),
+				is(true));
+	}
+
+	@Test
+	void writesNoTransfersIfNotSkimmed() throws Exception {
+		TravelTimeMatrix travelTimes = new TravelTimeMatrix(ids, PublicTransportSkims.unreachable);
+		PublicTransportSkim skim = new PublicTransportSkim(7, travelTimes);
+
+		new PublicTransportSkimWriter(temporaryFolder).write(List.of(skim), DayType.weekdays);
+
+		assertThat(new File(temporaryFolder, PublicTransportSkimWriter.travelTimeFileFor(7)).exists(),
+				is(true));
+		assertThat(new File(temporaryFolder, PublicTransportSkimWriter.transferFileFor(7)).exists(),
+				is(false));
+	}
+
+}
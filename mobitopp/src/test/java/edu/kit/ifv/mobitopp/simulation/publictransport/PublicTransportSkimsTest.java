@@ -0,0 +1,242 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.JourneyBuilder.journey;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.data.local.configuration.TimeSpan;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.PublicTransportRoute;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.RouteSearch;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.SearchOrigin;
+import edu.kit.ifv.mobitopp.publictransport.connectionscan.StopPaths;
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Journey;
+import edu.kit.ifv.mobitopp.simulation.Location;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationFinder;
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.StationPaths;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class PublicTransportSkimsTest {
+
+	private static final int hour = 7;
+	private static final float unreachable = PublicTransportSkims.unreachable;
+
+	private RouteSearch routeSearch;
+	private StationFinder stationFinder;
+	private Zone someZone;
+	private Zone otherZone;
+	private StopPaths somePaths;
+	private StopPaths otherPaths;
+	private Time day;
+	private Journey someJourney;
+	private Journey otherJourney;
+
+	@BeforeEach
+	public void initialise() {
+		routeSearch = mock(RouteSearch.class);
+		stationFinder = mock(StationFinder.class);
+		somePaths = mock(StopPaths.class);
+		otherPaths = mock(StopPaths.class);
+		someZone = zone(new ZoneId("1", 0), somePaths);
+		otherZone = zone(new ZoneId("2", 1), otherPaths);
+		day = Time.start;
+		someJourney = journey().withId(1).build();
+		otherJourney = journey().withId(2).build();
+		when(routeSearch.findRoutes(any(), any(), any()))
+				.thenReturn(List.of(Optional.empty(), Optional.empty()));
+		when(routeSearch.findArrivals(anyList(), any()))
+				.thenReturn(List.of(List.of(Optional.empty(), Optional.empty())));
+	}
+
+	private Zone zone(ZoneId id, StopPaths paths) {
+		Zone zone = mock(Zone.class);
+		Location centroid = mock(Location.class);
+		StationPaths stations = mock(StationPaths.class);
+		when(zone.getId()).thenReturn(id);
+		when(zone.centroidLocation()).thenReturn(centroid);
+		when(stationFinder.findReachableStations(centroid)).thenReturn(stations);
+		when(stations.pathsToStops()).thenReturn(paths);
+		return zone;
+	}
+
+	private PublicTransportSkims skims() {
+		return new PublicTransportSkims(routeSearch, stationFinder, RelativeTime.ofMinutes(30), 2,
+				true);
+	}
+
+	private PublicTransportSkims travelTimeSkims() {
+		return new PublicTransportSkims(routeSearch, stationFinder, RelativeTime.ofMinutes(30), 2,
+				false);
+	}
+
+	private Time departureAt(int minutes) {
+		return day.plusHours(hour).plusMinutes(minutes);
+	}
+
+	private PublicTransportRoute route(Time arrival, Journey... journeys) {
+		PublicTransportRoute route = mock(PublicTransportRoute.class);
+		when(route.arrival()).thenReturn(arrival);
+		List<Connection> connections = new ArrayList<>();
+		for (Journey journey : journeys) {
+			connections.add(connection().partOf(journey).build());
+		}
+		when(route.connections()).thenReturn(connections);
+		return route;
+	}
+
+	@Test
+	void averagesOverDeparturesWithinHour() throws Exception {
+		PublicTransportRoute fast = route(departureAt(40), someJourney);
+		PublicTransportRoute slow = route(departureAt(50), someJourney, otherJourney);
+		when(routeSearch.findRoutes(eq(somePaths), any(), eq(departureAt(0))))
+				.thenReturn(List.of(Optional.empty(), Optional.of(slow)));
+		when(routeSearch.findRoutes(eq(somePaths), any(), eq(departureAt(30))))
+				.thenReturn(List.of(Optional.empty(), Optional.of(fast)));
+
+		PublicTransportSkim skim = skims().skim(List.of(otherZone, someZone), day, hour);
+
+		assertThat(skim.hour(), is(hour));
+		assertThat(skim.travelTimes().getFloat(0, 1), is(30.0f));
+		assertThat(skim.transfers().get().getFloat(0, 1), is(0.5f));
+	}
+
+	@Test
+	void averagesOnlyDeparturesWithRoute() throws Exception {
+		PublicTransportRoute route = route(departureAt(20), someJourney);
+		when(routeSearch.findRoutes(eq(otherPaths), any(), eq(departureAt(0))))
+				.thenReturn(List.of(Optional.of(route), Optional.empty()));
+
+		PublicTransportSkim skim = skims().skim(List.of(someZone, otherZone), day, hour);
+
+		assertThat(skim.travelTimes().getFloat(1, 0), is(20.0f));
+		assertThat(skim.transfers().get().getFloat(1, 0), is(0.0f));
+	}
+
+	@Test
+	void marksPairsWithoutRouteAsUnreachable() throws Exception {
+		PublicTransportSkim skim = skims().skim(List.of(someZone, otherZone), day, hour);
+
+		assertThat(skim.travelTimes().getFloat(0, 1), is(unreachable));
+		assertThat(skim.transfers().get().getFloat(1, 0), is(unreachable));
+	}
+
+	@Test
+	void skimsEachHourOfTimeSpan() throws Exception {
+		List<PublicTransportSkim> skims = skims()
+				.skim(List.of(someZone, otherZone), day, TimeSpan.between(6, 8));
+
+		assertThat(skims.stream().map(PublicTransportSkim::hour).collect(toList()), contains(6, 7, 8));
+	}
+
+	@Test
+	void countsVehicleChangesOnly() throws Exception {
+		Time departure = departureAt(0);
+		Connection walk = Connection
+				.byFootFrom(someStop(), anotherStop(), departure, departure.plusMinutes(5));
+		Connection ride = connection()
+				.startsAt(anotherStop())
+				.endsAt(otherStop())
+				.partOf(someJourney)
+				.build();
+		Connection sameRide = connection().partOf(someJourney).build();
+		Connection change = connection().partOf(otherJourney).build();
+		PublicTransportRoute route = mock(PublicTransportRoute.class);
+		when(route.connections()).thenReturn(List.of(walk, ride, sameRide, walk, change));
+
+		assertThat(PublicTransportSkims.transfersOf(route), is(1));
+	}
+
+	@Test
+	void needsNoTransferWithoutVehicle() throws Exception {
+		PublicTransportRoute route = mock(PublicTransportRoute.class);
+		when(route.connections()).thenReturn(Collections.emptyList());
+
+		assertThat(PublicTransportSkims.transfersOf(route), is(0));
+	}
+
+	@Test
+	void searchesRoutesToAllZonesOnce() throws Exception {
+		skims().skim(List.of(someZone, otherZone), day, hour);
+
+		verify(routeSearch).findRoutes(somePaths, List.of(somePaths, otherPaths), departureAt(0));
+		verify(routeSearch).findRoutes(somePaths, List.of(somePaths, otherPaths), departureAt(30));
+	}
+
+	@Test
+	void searchesArrivalsOfAllOriginsTogether() throws Exception {
+		List<StopPaths> paths = List.of(somePaths, otherPaths);
+		List<SearchOrigin> atStart = List
+				.of(SearchOrigin.from(somePaths, departureAt(0)),
+						SearchOrigin.from(otherPaths, departureAt(0)));
+		List<SearchOrigin> atHalfPast = List
+				.of(SearchOrigin.from(somePaths, departureAt(30)),
+						SearchOrigin.from(otherPaths, departureAt(30)));
+		when(routeSearch.findArrivals(atStart, paths))
+				.thenReturn(List
+						.of(List.of(Optional.empty(), Optional.of(departureAt(50))),
+								List.of(Optional.of(departureAt(20)), Optional.empty())));
+		when(routeSearch.findArrivals(atHalfPast, paths))
+				.thenReturn(List
+						.of(List.of(Optional.empty(), Optional.of(departureAt(40))),
+								List.of(Optional.empty(), Optional.empty())));
+
+		PublicTransportSkim skim = new PublicTransportSkims(routeSearch, stationFinder,
+				RelativeTime.ofMinutes(30), 1, false).skim(List.of(someZone, otherZone), day, hour);
+
+		assertThat(skim.travelTimes().getFloat(0, 1), is(30.0f));
+		assertThat(skim.travelTimes().getFloat(1, 0), is(20.0f));
+		assertThat(skim.travelTimes().getFloat(1, 1), is(unreachable));
+		assertThat(skim.transfers(), isEmpty());
+		verify(routeSearch, never()).findRoutes(any(), any(), any());
+	}
+
+	@Test
+	void skimsTravelTimesOfAllOrigins() throws Exception {
+		travelTimeSkims().skim(List.of(someZone, otherZone), day, hour);
+
+		verify(routeSearch)
+				.findArrivals(List.of(SearchOrigin.from(somePaths, departureAt(0))),
+						List.of(somePaths, otherPaths));
+		verify(routeSearch)
+				.findArrivals(List.of(SearchOrigin.from(otherPaths, departureAt(0))),
+						List.of(somePaths, otherPaths));
+	}
+
+	@Test
+	void rejectsInvalidSettings() throws Exception {
+		RelativeTime noInterval = RelativeTime.ofSeconds(0);
+		RelativeTime someInterval = RelativeTime.ofMinutes(30);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new PublicTransportSkims(routeSearch, stationFinder, noInterval, 1, true));
+		assertThrows(IllegalArgumentException.class,
+				() -> new PublicTransportSkims(routeSearch, stationFinder, someInterval, 0, true));
+	}
+
+}
@@ -0,0 +1,151 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport;
+
+import static edu.kit.ifv.mobitopp.simulation.publictransport.TransportSystemHelper.asSet;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumBuilder.visumConnector;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumBuilder.visumLink;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumBuilder.visumNetwork;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumBuilder.visumNode;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumBuilder.visumZone;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.simulation.publictransport.model.VisumLinkBuilder;
+import edu.kit.ifv.mobitopp.util.ReflectionHelper;
+import edu.kit.ifv.mobitopp.visum.VisumConnector;
+import edu.kit.ifv.mobitopp.visum.VisumNetwork;
+import edu.kit.ifv.mobitopp.visum.VisumNode;
+import edu.kit.ifv.mobitopp.visum.VisumTransportSystem;
+import edu.kit.ifv.mobitopp.visum.VisumZone;
+
+public class WalkingNetworkFingerprintTest {
+
+	private VisumTransportSystem walk;
+	private VisumTransportSystem car;
+	private List<VisumTransportSystem> walking;
+	private VisumNode someNode;
+	private VisumNode anotherNode;
+	private VisumZone zone;
+	private long fingerprint;
+
+	@BeforeEach
+	public void initialise() {
+		walk = new VisumTransportSystem("F", "Fuss", "F");
+		car = new VisumTransportSystem("P", "Pkw", "P");
+		walking = List.of(walk);
+		someNode = visumNode().withId(1).build();
+		anotherNode = visumNode().withId(2).build();
+		zone = visumZone().withId(3).build();
+		fingerprint = WalkingNetworkFingerprint.of(network(walkLink(), walkConnector()), walking);
+	}
+
+	@AfterEach
+	public void clearTransportSystems() throws Exception {
+		ReflectionHelper.clearTransportSystemSetCache();
+	}
+
+	private VisumLinkBuilder walkLink() {
+		return visumLink()
+				.withId(4)
+				.from(someNode)
+				.to(anotherNode)
+				.withLength(0.5f)
+				.withWalkSpeed(4)
+				.with(asSet(walk));
+	}
+
+	private VisumConnector walkConnector() {
+		return visumConnector().with(zone).with(someNode).with(asSet(walk)).withTravelTime(60).build();
+	}
+
+	private VisumNetwork network(VisumLinkBuilder link, VisumConnector connector) {
+		return visumNetwork()
+				.with(walk)
+				.with(car)
+				.with(someNode)
+				.with(anotherNode)
+				.with(zone)
+				.with(link.build())
+				.addConnector(zone, connector)
+				.build();
+	}
+
+	private long fingerprintOf(VisumLinkBuilder link, VisumConnector connector) {
+		return WalkingNetworkFingerprint.of(network(link, connector), walking);
+	}
+
+	@Test
+	void isStableForSameNetwork() throws Exception {
+		assertThat(fingerprintOf(walkLink(), walkConnector()), is(fingerprint));
+	}
+
+	@Test
+	void dependsOnWalkableLinks() throws Exception {
+		assertThat(fingerprintOf(walkLink().withLength(0.6f), walkConnector()), is(not(fingerprint)));
+		assertThat(fingerprintOf(walkLink().withWalkSpeed(5), walkConnector()), is(not(fingerprint)));
+		assertThat(fingerprintOf(walkLink().from(anotherNode).to(someNode), walkConnector()),
+				is(not(fingerprint)));
+		assertThat(fingerprintOf(walkLink().with(asSet(car)), walkConnector()), is(not(fingerprint)));
+	}
+
+	@Test
+	void dependsOnWalkableConnectors() throws Exception {
+		VisumConnector slower = visumConnector()
+				.with(zone)
+				.with(someNode)
+				.with(asSet(walk))
+				.withTravelTime(120)
+				.build();
+		VisumConnector otherNode = visumConnector()
+				.with(zone)
+				.with(anotherNode)
+				.with(asSet(walk))
+				.withTravelTime(60)
+				.build();
+		VisumConnector notWalkable = visumConnector()
+				.with(zone)
+				.with(someNode)
+				.with(asSet(car))
+				.withTravelTime(60)
+				.build();
+
+		assertThat(fingerprintOf(walkLink(), slower), is(not(fingerprint)));
+		assertThat(fingerprintOf(walkLink(), otherNode), is(not(fingerprint)));
+		assertThat(fingerprintOf(walkLink(), notWalkable), is(not(fingerprint)));
+	}
+
+	@Test
+	void dependsOnWalkingSystems() throws Exception {
+		VisumNetwork network = network(walkLink(), walkConnector());
+
+		assertThat(WalkingNetworkFingerprint.of(network, List.of(walk, car)), is(not(fingerprint)));
+	}
+
+	@Test
+	void ignoresLinksWhichCannotBeWalked() throws Exception {
+		VisumNetwork withCarLink = visumNetwork()
+				.with(walk)
+				.with(car)
+				.with(someNode)
+				.with(anotherNode)
+				.with(zone)
+				.with(walkLink().build())
+				.with(visumLink()
+						.withId(5)
+						.from(anotherNode)
+						.to(someNode)
+						.withLength(2.0f)
+						.with(asSet(car))
+						.build())
+				.addConnector(zone, walkConnector())
+				.build();
+
+		assertThat(WalkingNetworkFingerprint.of(withCarLink, walking), is(fingerprint));
+	}
+}
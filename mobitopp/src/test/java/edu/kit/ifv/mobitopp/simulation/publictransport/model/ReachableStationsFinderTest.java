@@ -7,11 +7,13 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -22,6 +24,7 @@ import edu.kit.ifv.mobitopp.publictransport.model.Station;
 import edu.kit.ifv.mobitopp.simulation.Location;
 import edu.kit.ifv.mobitopp.simulation.publictransport.ShortestPathSearch;
 import edu.kit.ifv.mobitopp.simulation.publictransport.ShortestPathsToStations;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
 
 public class ReachableStationsFinderTest {
 
@@ -61,6 +64,40 @@ public class ReachableStationsFinderTest {
 		verify(search).search(someLocation, nodes());
 	}
 
+	@Test
+	public void searchesOncePerAccessNode() throws Exception {
+		StationPaths delegated = placeholder();
+		when(search.accessNodeOf(someLocation)).thenReturn(Optional.of("1"));
+		when(search.search(someLocation, nodes())).thenReturn(result);
+		when(result.mapPathsToStations(stations)).thenReturn(delegated);
+		StationAccessCache cache = StationAccessCache.inMemory(RelativeTime.ofMinutes(15));
+		ReachableStationsFinder finder = new ReachableStationsFinder(search, stations, cache);
+
+		StationPaths searched = finder.findReachableStations(someLocation);
+		StationPaths cached = finder.findReachableStations(someLocation);
+
+		assertThat(searched, is(sameInstance(delegated)));
+		assertThat(cached, is(sameInstance(delegated)));
+		verify(search).search(someLocation, nodes());
+		assertThat(cache.hits(), is(1L));
+		assertThat(cache.misses(), is(1L));
+	}
+
+	@Test
+	public void searchesEachTimeWithoutAccessNode() throws Exception {
+		when(search.accessNodeOf(someLocation)).thenReturn(Optional.empty());
+		when(search.search(someLocation, nodes())).thenReturn(result);
+		when(result.mapPathsToStations(stations)).thenReturn(placeholder());
+		StationAccessCache cache = StationAccessCache.inMemory(RelativeTime.ofMinutes(15));
+		ReachableStationsFinder finder = new ReachableStationsFinder(search, stations, cache);
+
+		finder.findReachableStations(someLocation);
+		finder.findReachableStations(someLocation);
+
+		verify(search, times(2)).search(someLocation, nodes());
+		assertThat(cache.size(), is(0));
+	}
+
 	private static StationPaths placeholder() {
 		return new StationPaths(emptyList());
 	}
@@ -0,0 +1,158 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.model;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.StopBuilder.stop;
+import static edu.kit.ifv.mobitopp.simulation.publictransport.StationBuilder.station;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Station;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+
+public class StationAccessCacheTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private File file;
+	private Station someStation;
+	private Station anotherStation;
+	private Stations stations;
+	private RelativeTime maximumWalkTime;
+	private long network;
+	private long fingerprint;
+
+	@BeforeEach
+	public void initialise() {
+		file = new File(temporaryFolder, "station-access.bin");
+		someStation = station().with(1).build();
+		anotherStation = station().with(2).build();
+		stations = Stations.from(List.of(someStation, anotherStation));
+		maximumWalkTime = RelativeTime.ofMinutes(15);
+		network = 42L;
+		fingerprint = StationAccessCache.fingerprintOf(network, maximumWalkTime, stations);
+	}
+
+	private StationPaths somePaths() {
+		return new StationPaths(List
+				.of(new StationPath(someStation, RelativeTime.ofSeconds(90)),
+						new StationPath(anotherStation, RelativeTime.ofMinutes(4))));
+	}
+
+	@Test
+	void loadsSavedPaths() throws Exception {
+		StationAccessCache saved = StationAccessCache.in(file, maximumWalkTime);
+		saved.loadWith(stations, fingerprint);
+		saved.pathsFrom("1", this::somePaths);
+		saved.pathsFrom("2", () -> new StationPaths(List.of()));
+		saved.save();
+
+		StationAccessCache loaded = StationAccessCache.in(file, maximumWalkTime);
+		loaded.loadWith(stations, fingerprint);
+
+		assertThat(loaded.size(), is(2));
+		assertThat(loaded.pathsFrom("1", this::notSearched), is(equalTo(somePaths())));
+		assertThat(loaded.pathsFrom("2", this::notSearched), is(equalTo(new StationPaths(List.of()))));
+		assertThat(loaded.misses(), is(0L));
+	}
+
+	@Test
+	void ignoresPathsOfOtherMaximumWalkTime() throws Exception {
+		StationAccessCache saved = StationAccessCache.in(file, maximumWalkTime);
+		saved.loadWith(stations, fingerprint);
+		saved.pathsFrom("1", this::somePaths);
+		saved.save();
+
+		StationAccessCache loaded = StationAccessCache.in(file, RelativeTime.ofMinutes(10));
+		loaded.loadWith(stations, fingerprint);
+
+		assertThat(loaded.size(), is(0));
+	}
+
+	@Test
+	void ignoresPathsOfOtherNetworkOrStations() throws Exception {
+		StationAccessCache saved = StationAccessCache.in(file, maximumWalkTime);
+		saved.loadWith(stations, fingerprint);
+		saved.pathsFrom("1", this::somePaths);
+		saved.save();
+
+		StationAccessCache loaded = StationAccessCache.in(file, maximumWalkTime);
+		loaded.loadWith(stations, StationAccessCache.fingerprintOf(43L, maximumWalkTime, stations));
+
+		assertThat(loaded.size(), is(0));
+		assertThat(loaded.pathsFrom("1", this::somePaths), is(equalTo(somePaths())));
+		assertThat(loaded.misses(), is(1L));
+	}
+
+	@Test
+	void ignoresPathsToUnknownStations() throws Exception {
+		StationAccessCache saved = StationAccessCache.in(file, maximumWalkTime);
+		saved.loadWith(stations, fingerprint);
+		saved.pathsFrom("1", this::somePaths);
+		saved.save();
+
+		StationAccessCache loaded = StationAccessCache.in(file, maximumWalkTime);
+		loaded.loadWith(Stations.from(List.of(someStation)), fingerprint);
+
+		assertThat(loaded.size(), is(0));
+	}
+
+	@Test
+	void fingerprintDependsOnNetworkWalkTimeStationsAndStops() throws Exception {
+		Station otherStation = station().with(3).build();
+		Station stationWithStop = station().with(2).build();
+		stationWithStop.add(stop().withId(5).withStation(stationWithStop).build());
+
+		assertThat(StationAccessCache
+				.fingerprintOf(network, maximumWalkTime,
+						Stations.from(List.of(anotherStation, someStation))),
+				is(fingerprint));
+		assertThat(StationAccessCache.fingerprintOf(43L, maximumWalkTime, stations),
+				is(not(fingerprint)));
+		assertThat(StationAccessCache.fingerprintOf(network, RelativeTime.ofMinutes(10), stations),
+				is(not(fingerprint)));
+		assertThat(StationAccessCache
+				.fingerprintOf(network, maximumWalkTime,
+						Stations.from(List.of(someStation, otherStation))),
+				is(not(fingerprint)));
+		assertThat(StationAccessCache
+				.fingerprintOf(network, maximumWalkTime,
+						Stations.from(List.of(someStation, stationWithStop))),
+				is(not(fingerprint)));
+	}
+
+	@Test
+	void startsEmptyWithoutSavedFile() throws Exception {
+		StationAccessCache cache = StationAccessCache.in(file, maximumWalkTime);
+
+		cache.loadWith(stations, fingerprint);
+
+		assertThat(cache.size(), is(0));
+		assertThat(cache.isPersistent(), is(true));
+	}
+
+	@Test
+	void savesNothingInMemory() throws Exception {
+		StationAccessCache cache = StationAccessCache.inMemory(maximumWalkTime);
+		cache.pathsFrom("1", this::somePaths);
+
+		cache.save();
+
+		assertThat(cache.isPersistent(), is(false));
+		assertThat(temporaryFolder.list().length, is(0));
+	}
+
+	private StationPaths notSearched() {
+		return fail("Paths should have been loaded.");
+	}
+
+}
@@ -132,23 +132,52 @@ public class ArrivalTimeFunctionTest {
 	}
 
 	@Test
-	public void returnsInsertedInstanceOfArrival() throws Exception {
+	public void returnsInsertedArrival() throws Exception {
 		Time arrival = oneMinuteLater();
 		function.update(entry(someTime(), arrival));
 
-		assertThat(function.arrivalFor(someTime()), hasValue(sameInstance(arrival)));
+		assertThat(function.arrivalFor(someTime()), hasValue(arrival));
 	}
 
 	@Test
 	public void doesNotInsertEntryWhenExistingDepartureIsLaterButArrivalIsSame() throws Exception {
-		Time arrivalOfSomeDeparture = twoMinutesLater();
-		Time arrivalOfOneMinuteLater = twoMinutesLater();
-		function.update(entry(oneMinuteLater(), arrivalOfOneMinuteLater));
-		function.update(entry(someTime(), arrivalOfSomeDeparture));
-
-		assertThat(function.arrivalFor(oneMinuteLater()),
-				hasValue(sameInstance(arrivalOfOneMinuteLater)));
-		assertThat(function.arrivalFor(someTime()), hasValue(sameInstance(arrivalOfOneMinuteLater)));
+		Connection ofSomeDeparture = mock(Connection.class);
+		Connection ofOneMinuteLater = mock(Connection.class);
+		function.update(entry(oneMinuteLater(), twoMinutesLater(), ofOneMinuteLater));
+		function.update(entry(someTime(), twoMinutesLater(), ofSomeDeparture));
+
+		assertThat(function.size(), is(1));
+		assertThat(function.connectionFor(oneMinuteLater()), hasValue(sameInstance(ofOneMinuteLater)));
+		assertThat(function.connectionFor(someTime()), hasValue(sameInstance(ofOneMinuteLater)));
+	}
+
+	@Test
+	public void findsArrivalAmongManyEntries() throws Exception {
+		for (int minute = 100; minute > 0; minute--) {
+			function.update(entry(someTime().plusMinutes(2 * minute), someTime().plusMinutes(3 * minute)));
+		}
+
+		assertThat(function.size(), is(100));
+		assertThat(function.arrivalFor(someTime()), hasValue(someTime().plusMinutes(3)));
+		assertThat(function.arrivalFor(someTime().plusMinutes(2)), hasValue(someTime().plusMinutes(3)));
+		assertThat(function.arrivalFor(someTime().plusMinutes(101)),
+				hasValue(someTime().plusMinutes(153)));
+		assertThat(function.arrivalFor(someTime().plusMinutes(200)),
+				hasValue(someTime().plusMinutes(300)));
+		assertThat(function.arrivalFor(someTime().plusMinutes(201)), isEmpty());
+	}
+
+	@Test
+	public void equalsUpdatedFunctionWhenDeserializedInOrderOfDeparture() throws Exception {
+		ArrivalTimeFunction deserialized = new ArrivalTimeFunction(1);
+		deserialized.addDeserialized(entry(someTime(), oneMinuteLater()));
+		deserialized.addDeserialized(entry(twoMinutesLater(), fourMinutesLater()));
+		function.update(entry(twoMinutesLater(), fourMinutesLater()));
+		function.update(entry(someTime(), oneMinuteLater()));
+
+		assertThat(deserialized, is(equalTo(function)));
+		assertThat(deserialized.hashCode(), is(equalTo(function.hashCode())));
+		assertThat(deserialized.arrivalFor(oneMinuteLater()), hasValue(fourMinutesLater()));
 	}
 
 	@Test
@@ -192,11 +221,8 @@ public class ArrivalTimeFunctionTest {
 
 	@Test
 	public void processesEachEntry() throws Exception {
-		FunctionEntry laterEntry = mock(FunctionEntry.class);
-		FunctionEntry earlierEntry = mock(FunctionEntry.class);
-		when(laterEntry.arrivalAtTarget()).thenReturn(oneMinuteLater());
-		when(earlierEntry.arrivalAtTarget()).thenReturn(someTime());
-		when(earlierEntry.departure()).thenReturn(someTime());
+		FunctionEntry laterEntry = entry(oneMinuteLater(), twoMinutesLater());
+		FunctionEntry earlierEntry = entry(someTime(), oneMinuteLater());
 		function.update(laterEntry);
 		function.update(earlierEntry);
 
@@ -254,7 +280,15 @@ public class ArrivalTimeFunctionTest {
 				.forClass(ArrivalTimeFunction.class)
 				.withPrefabValues(Time.class, someTime(), oneMinuteLater())
 				.withPrefabValues(Connection.class, someConnection, anotherConnection)
+				.withPrefabValues(FunctionEntries.class, entries(someTime(), someConnection),
+						entries(oneMinuteLater(), anotherConnection))
 				.usingGetClass()
 				.verify();
 	}
+
+	private static FunctionEntries entries(Time departure, Connection connection) {
+		FunctionEntries entries = new FunctionEntries();
+		entries.addLast(departure.toSeconds(), departure.toSeconds(), connection);
+		return entries;
+	}
 }
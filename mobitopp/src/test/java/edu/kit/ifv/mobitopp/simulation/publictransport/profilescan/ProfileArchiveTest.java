@@ -0,0 +1,199 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.yetAnotherStop;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.simulation.publictransport.Timetable;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class ProfileArchiveTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private Timetable timetable;
+	private EntrySplitter splitter;
+	private File profileFolder;
+	private File archive;
+	private List<Stop> stops;
+	private List<Connection> connections;
+	private Store folder;
+
+	@BeforeEach
+	public void initialise() {
+		stops = List.of(someStop(), anotherStop(), otherStop(), yetAnotherStop());
+		connections = List
+				.of(newConnection(1, someStop(), anotherStop(), 0),
+						newConnection(2, anotherStop(), otherStop(), 70),
+						newConnection(3, someStop(), otherStop(), 130));
+		timetable = mock(Timetable.class);
+		for (Stop stop : stops) {
+			when(timetable.stopFor(stop.id())).thenReturn(stop);
+		}
+		for (Connection connection : connections) {
+			when(timetable.connectionFor(connection.id())).thenReturn(connection);
+		}
+		splitter = Split.hourly(someTime());
+		profileFolder = new File(temporaryFolder, "profiles");
+		archive = new File(temporaryFolder, ProfileArchive.fileName);
+		folder = StoreIn.folder(profileFolder, timetable, splitter);
+		folder.save(profileTo(otherStop()));
+		folder.save(profileTo(anotherStop()));
+	}
+
+	private static Connection newConnection(int id, Stop start, Stop end, int minutes) {
+		Time departure = someTime().plus(RelativeTime.ofMinutes(minutes));
+		return connection()
+				.withId(id)
+				.startsAt(start)
+				.endsAt(end)
+				.departsAt(departure)
+				.arrivesAt(departure.plus(RelativeTime.ofMinutes(5)))
+				.build();
+	}
+
+	private Profile profileTo(Stop target) {
+		Profile profile = new Profile(target);
+		for (Stop start : stops) {
+			ArrivalTimeFunction function = new ArrivalTimeFunction();
+			for (Connection connection : connections) {
+				if (connection.start().equals(start)) {
+					function
+							.addDeserialized(new FunctionEntry(connection.departure(),
+									connection.arrival().plus(RelativeTime.ofMinutes(target.id())), connection));
+				}
+			}
+			if (0 < function.size()) {
+				profile.update(start, function);
+			}
+		}
+		return profile;
+	}
+
+	@Test
+	void readsSameProfilesAsProfileFolder() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+
+		ProfileArchive packed = ProfileArchive.open(archive, timetable, splitter);
+
+		assertSameProfiles(packed);
+	}
+
+	@Test
+	void readsProfilesFromSeveralSegments() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+
+		ProfileArchive packed = ProfileArchive.open(archive, timetable, splitter, 64);
+
+		assertThat(packed.numberOfSegments(), is(greaterThan(1)));
+		assertSameProfiles(packed);
+	}
+
+	private void assertSameProfiles(ProfileArchive packed) {
+		for (Stop target : stops) {
+			for (int hour = 0; hour < 4; hour++) {
+				Time time = someTime().plus(RelativeTime.ofHours(hour));
+				Profile fromFolder = folder.profileTo(target, time);
+
+				Profile fromArchive = packed.profileTo(target, time);
+
+				assertThat(target + " at " + time, fromArchive, is(equalTo(fromFolder)));
+			}
+		}
+	}
+
+	@Test
+	void packsAllProfilesOfFolder() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+
+		ProfileArchive packed = ProfileArchive.open(archive, timetable, splitter);
+
+		assertThat(packed.numberOfProfiles(), is(equalTo(profileFiles())));
+		assertThat(packed.profileTo(otherStop(), someTime()).size(), is(greaterThan(0)));
+	}
+
+	private int profileFiles() {
+		int files = 0;
+		for (File validity : profileFolder.listFiles()) {
+			files += validity.listFiles().length;
+		}
+		return files;
+	}
+
+	@Test
+	void takesFingerprintFromCheckpoint() throws Exception {
+		File checkpoint = new File(profileFolder, ProfilePrecomputation.checkpointName);
+		new ProfilePrecomputation(connections, folder, 1).buildUpTo(stops, checkpoint);
+
+		new PackProfiles(profileFolder).to(archive);
+
+		long fingerprint = ProfilePrecomputation.fingerprintOf(connections, stops);
+		assertThat(ProfileArchive.fingerprintOf(archive), is(equalTo(fingerprint)));
+		assertThat(ProfileArchive.open(archive, timetable, splitter).fingerprint(),
+				is(equalTo(fingerprint)));
+		assertThat(ProfilePrecomputation.fingerprintOf(connections.subList(0, 2), stops),
+				is(not(equalTo(fingerprint))));
+	}
+
+	@Test
+	void hasUnknownFingerprintWithoutCheckpoint() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+
+		assertThat(ProfileArchive.fingerprintOf(archive),
+				is(equalTo(ProfileArchive.unknownFingerprint)));
+	}
+
+	@Test
+	void replacesExistingArchive() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+		folder.save(profileTo(someStop()));
+
+		new PackProfiles(profileFolder).to(archive);
+
+		ProfileArchive packed = ProfileArchive.open(archive, timetable, splitter);
+		assertThat(packed.numberOfProfiles(), is(equalTo(profileFiles())));
+		assertThat(temporaryFolder.list(), is(arrayContainingInAnyOrder("profiles", archive.getName())));
+	}
+
+	@Test
+	void failsOnUnknownFormat() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+		File other = new File(profileFolder, "1.bin");
+		other.createNewFile();
+
+		assertThrows(RuntimeException.class, () -> ProfileArchive.open(other, timetable, splitter));
+	}
+
+	@Test
+	void doesNotSaveProfiles() throws Exception {
+		new PackProfiles(profileFolder).to(archive);
+		ProfileArchive packed = ProfileArchive.open(archive, timetable, splitter);
+
+		assertThrows(UnsupportedOperationException.class,
+				() -> packed.save(profileTo(otherStop())));
+	}
+
+}
@@ -0,0 +1,90 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.yetAnotherStop;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class ProfileFingerprintsTest {
+
+	private static final List<Stop> stops = List
+			.of(someStop(), anotherStop(), otherStop(), yetAnotherStop());
+
+	private static Connection newConnection(int id, Stop start, Stop end, int minutes) {
+		Time departure = someTime().plus(RelativeTime.ofMinutes(minutes));
+		return connection()
+				.withId(id)
+				.startsAt(start)
+				.endsAt(end)
+				.departsAt(departure)
+				.arrivesAt(departure.plus(RelativeTime.ofMinutes(5)))
+				.build();
+	}
+
+	private static List<Connection> cycleAndBranch(int minutesOfBranch) {
+		return List
+				.of(newConnection(1, someStop(), anotherStop(), 0),
+						newConnection(2, anotherStop(), someStop(), 10),
+						newConnection(3, otherStop(), yetAnotherStop(), minutesOfBranch));
+	}
+
+	@Test
+	void isIndependentOfOrderOfConnectionsAndStops() throws Exception {
+		List<Connection> reversedConnections = new ArrayList<>(cycleAndBranch(20));
+		Collections.reverse(reversedConnections);
+		List<Stop> reversedStops = new ArrayList<>(stops);
+		Collections.reverse(reversedStops);
+
+		ProfileFingerprints fingerprints = ProfileFingerprints.from(cycleAndBranch(20), stops);
+		ProfileFingerprints reversed = ProfileFingerprints.from(reversedConnections, reversedStops);
+
+		assertThat(reversed.timetable(), is(equalTo(fingerprints.timetable())));
+		for (Stop stop : stops) {
+			assertThat(reversed.of(stop), is(equalTo(fingerprints.of(stop))));
+		}
+	}
+
+	@Test
+	void changesOnlyForTargetsReachedByChangedConnection() throws Exception {
+		ProfileFingerprints before = ProfileFingerprints.from(cycleAndBranch(20), stops);
+		ProfileFingerprints after = ProfileFingerprints.from(cycleAndBranch(30), stops);
+
+		assertThat(after.timetable(), is(not(equalTo(before.timetable()))));
+		assertThat(after.of(someStop()), is(equalTo(before.of(someStop()))));
+		assertThat(after.of(anotherStop()), is(equalTo(before.of(anotherStop()))));
+		assertThat(after.of(otherStop()), is(equalTo(before.of(otherStop()))));
+		assertThat(after.of(yetAnotherStop()), is(not(equalTo(before.of(yetAnotherStop())))));
+	}
+
+	@Test
+	void findsStronglyConnectedComponents() throws Exception {
+		int[][] edges = { { 1 }, { 2 }, { 0, 3 }, { 4 }, { 3 }, {} };
+
+		int[] components = ProfileFingerprints.componentsOf(edges);
+
+		assertThat(components[1], is(equalTo(components[0])));
+		assertThat(components[2], is(equalTo(components[0])));
+		assertThat(components[4], is(equalTo(components[3])));
+		assertThat(components[3], is(not(equalTo(components[0]))));
+		assertThat(components[5], is(not(equalTo(components[0]))));
+		assertThat(components[5], is(not(equalTo(components[3]))));
+	}
+
+}
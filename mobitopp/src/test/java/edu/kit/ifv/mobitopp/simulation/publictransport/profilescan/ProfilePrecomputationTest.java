@@ -0,0 +1,183 @@
+package edu.kit.ifv.mobitopp.simulation.publictransport.profilescan;
+
+import static edu.kit.ifv.mobitopp.publictransport.model.ConnectionBuilder.connection;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.anotherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.otherStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someStop;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
+import static edu.kit.ifv.mobitopp.publictransport.model.Data.yetAnotherStop;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.publictransport.model.Connection;
+import edu.kit.ifv.mobitopp.publictransport.model.Stop;
+import edu.kit.ifv.mobitopp.time.RelativeTime;
+import edu.kit.ifv.mobitopp.time.Time;
+
+public class ProfilePrecomputationTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	private File checkpoint;
+	private List<Stop> stops;
+	private List<Connection> connections;
+	private CountingStore store;
+
+	@BeforeEach
+	public void initialise() {
+		checkpoint = new File(temporaryFolder, ProfilePrecomputation.checkpointName);
+		stops = List.of(someStop(), anotherStop(), otherStop(), yetAnotherStop());
+		connections = new ArrayList<>(List
+				.of(newConnection(1, someStop(), anotherStop(), 0),
+						newConnection(2, otherStop(), yetAnotherStop(), 10)));
+		store = new CountingStore();
+	}
+
+	private static Connection newConnection(int id, Stop start, Stop end, int minutes) {
+		Time departure = someTime().plus(RelativeTime.ofMinutes(minutes));
+		return connection()
+				.withId(id)
+				.startsAt(start)
+				.endsAt(end)
+				.departsAt(departure)
+				.arrivesAt(departure.plus(RelativeTime.ofMinutes(5)))
+				.build();
+	}
+
+	@Test
+	void buildsProfilesToAllStops() throws Exception {
+		new ProfilePrecomputation(connections, store, 2).buildUpTo(stops);
+
+		assertThat(store.saved, containsInAnyOrder(stops.toArray()));
+		assertThat(store.profileTo(anotherStop(), someTime()).from(someStop()).size(), is(1));
+	}
+
+	@Test
+	void buildsSameProfilesAsSingleWorker() throws Exception {
+		CountingStore singleWorker = new CountingStore();
+		new ProfilePrecomputation(connections, singleWorker, 1).buildUpTo(stops);
+
+		new ProfilePrecomputation(connections, store, 4).buildUpTo(stops, checkpoint);
+
+		for (Stop target : stops) {
+			assertThat(store.profileTo(target, someTime()),
+					is(equalTo(singleWorker.profileTo(target, someTime()))));
+		}
+	}
+
+	@Test
+	void resumesMissingProfilesOnly() throws Exception {
+		new ProfilePrecomputation(connections, new CountingStore(), 2).buildUpTo(stops, checkpoint);
+		List<String> lines = Files.readAllLines(checkpoint.toPath(), UTF_8);
+		Files.write(checkpoint.toPath(), lines.subList(0, 2), UTF_8);
+		List<Integer> saved = List.of(idIn(lines.get(0)), idIn(lines.get(1)));
+
+		new ProfilePrecomputation(connections, store, 2).buildUpTo(stops, checkpoint);
+
+		List<Integer> rebuilt = new ArrayList<>();
+		store.saved.forEach(stop -> rebuilt.add(stop.id()));
+		assertThat(rebuilt.size(), is(2));
+		assertThat(Collections.disjoint(rebuilt, saved), is(true));
+		assertThat(Files.readAllLines(checkpoint.toPath(), UTF_8).size(), is(4));
+	}
+
+	private static int idIn(String line) {
+		return Integer.parseInt(line.split(";")[0]);
+	}
+
+	@Test
+	void rebuildsProfilesAffectedByChangedConnectionsOnly() throws Exception {
+		new ProfilePrecomputation(connections, new CountingStore(), 2).buildUpTo(stops, checkpoint);
+		connections.set(1, newConnection(2, otherStop(), yetAnotherStop(), 20));
+
+		new ProfilePrecomputation(connections, store, 2).buildUpTo(stops, checkpoint);
+
+		assertThat(store.saved, containsInAnyOrder(yetAnotherStop()));
+		assertThat(store.removed, containsInAnyOrder(yetAnotherStop()));
+	}
+
+	@Test
+	void buildsNothingWhenUpToDate() throws Exception {
+		new ProfilePrecomputation(connections, new CountingStore(), 2).buildUpTo(stops, checkpoint);
+
+		new ProfilePrecomputation(connections, store, 2).buildUpTo(stops, checkpoint);
+
+		assertThat(store.saved, is(empty()));
+	}
+
+	@Test
+	void doesNotCheckpointProfilesWhichCouldNotBeSaved() throws Exception {
+		Store failing = new CountingStore() {
+
+			@Override
+			public synchronized void save(Profile profile) {
+				if (otherStop().equals(profile.target())) {
+					throw new UncheckedIOException(new IOException("disk full"));
+				}
+				super.save(profile);
+			}
+		};
+
+		assertThrows(RuntimeException.class,
+				() -> new ProfilePrecomputation(connections, failing, 1).buildUpTo(stops, checkpoint));
+
+		List<String> lines = Files.readAllLines(checkpoint.toPath(), UTF_8);
+		List<Integer> saved = new ArrayList<>();
+		lines.forEach(line -> saved.add(idIn(line)));
+		assertThat(saved.contains(otherStop().id()), is(false));
+	}
+
+	@Test
+	void replacesCheckpointWithoutTemporaryFiles() throws Exception {
+		new ProfilePrecomputation(connections, new CountingStore(), 2).buildUpTo(stops, checkpoint);
+
+		new ProfilePrecomputation(connections, store, 2).buildUpTo(stops, checkpoint);
+
+		assertThat(Files.readAllLines(checkpoint.toPath(), UTF_8).size(), is(4));
+		assertThat(List.of(temporaryFolder.list()), contains(ProfilePrecomputation.checkpointName));
+	}
+
+	@Test
+	void needsAtLeastOneWorker() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> new ProfilePrecomputation(connections, store, 0));
+	}
+
+	private static class CountingStore extends DummyStore {
+
+		private final List<Stop> saved = Collections.synchronizedList(new ArrayList<>());
+		private final List<Stop> removed = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public synchronized void save(Profile profile) {
+			saved.add(profile.target());
+			super.save(profile);
+		}
+
+		@Override
+		public void remove(Stop target) {
+			removed.add(target);
+		}
+
+	}
+
+}
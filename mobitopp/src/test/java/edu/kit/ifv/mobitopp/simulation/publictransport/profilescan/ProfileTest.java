@@ -166,7 +166,15 @@ public class ProfileTest {
 				.withPrefabValues(Time.class, someTime(), oneMinuteLater())
 				.withPrefabValues(Stop.class, someStop(), anotherStop())
 				.withPrefabValues(Connection.class, oneConnection, anotherConnection)
+				.withPrefabValues(FunctionEntries.class, entries(someTime(), oneConnection),
+						entries(oneMinuteLater(), anotherConnection))
 				.usingGetClass()
 				.verify();
 	}
+
+	private static FunctionEntries entries(Time departure, Connection connection) {
+		FunctionEntries entries = new FunctionEntries();
+		entries.addLast(departure.toSeconds(), departure.toSeconds(), connection);
+		return entries;
+	}
 }
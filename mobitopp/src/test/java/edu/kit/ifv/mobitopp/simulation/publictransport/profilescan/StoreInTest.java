@@ -5,11 +5,14 @@ import static edu.kit.ifv.mobitopp.publictransport.model.Data.someTime;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -60,6 +63,13 @@ public class StoreInTest {
 		verify(somePart).saveTo(writer);
 	}
 
+	@Test(expected = UncheckedIOException.class)
+	public void failsWhenProfileCouldNotBeSaved() throws Exception {
+		doThrow(new IOException()).when(writer).close();
+
+		store.save(someProfile);
+	}
+
 	private StoreIn newStore() {
 		return new StoreIn(output, timetable, splitter) {
 
@@ -0,0 +1,320 @@
+package edu.kit.ifv.mobitopp.simulation.tour;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.data.Zone;
+import edu.kit.ifv.mobitopp.data.ZoneId;
+import edu.kit.ifv.mobitopp.simulation.ActivityType;
+import edu.kit.ifv.mobitopp.simulation.Employment;
+import edu.kit.ifv.mobitopp.simulation.Gender;
+import edu.kit.ifv.mobitopp.simulation.Household;
+import edu.kit.ifv.mobitopp.simulation.ImpedanceIfc;
+import edu.kit.ifv.mobitopp.simulation.Mode;
+import edu.kit.ifv.mobitopp.simulation.Person;
+import edu.kit.ifv.mobitopp.simulation.StandardChoiceSet;
+import edu.kit.ifv.mobitopp.simulation.StandardMode;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityIfc;
+import edu.kit.ifv.mobitopp.simulation.activityschedule.ActivityScheduleWithState;
+import edu.kit.ifv.mobitopp.simulation.modeChoice.ModeChoicePreferences;
+import edu.kit.ifv.mobitopp.time.SimpleTime;
+import edu.kit.ifv.mobitopp.util.logit.LinearUtilityFunction;
+
+public class DefaultTourModeChoiceUtilityFunctionTest {
+
+	private Tour tour;
+	private Person person;
+	private ImpedanceIfc impedance;
+	private Map<Mode, Double> preferences;
+	private Map<Mode, Double> shares;
+	private Set<Mode> choiceSet;
+
+	@BeforeEach
+	public void initialise() {
+		choiceSet = new LinkedHashSet<>(StandardChoiceSet.CHOICE_SET_FULL);
+		preferences = new LinkedHashMap<>();
+		shares = new LinkedHashMap<>();
+		double value = 0.1;
+		for (Mode mode : choiceSet) {
+			preferences.put(mode, value);
+			shares.put(mode, value / 2.0);
+			value += 0.15;
+		}
+
+		Zone home = mock(Zone.class);
+		Zone work = mock(Zone.class);
+		when(home.getId()).thenReturn(new ZoneId("1", 0));
+		when(work.getId()).thenReturn(new ZoneId("2", 1));
+
+		ActivityIfc mainActivity = mock(ActivityIfc.class);
+		when(mainActivity.isLocationSet()).thenReturn(true);
+		when(mainActivity.zone()).thenReturn(work);
+		when(mainActivity.startDate()).thenReturn(SimpleTime.ofDays(5).plusHours(8));
+		when(mainActivity.activityType()).thenReturn(ActivityType.WORK);
+		when(mainActivity.mode()).thenReturn(StandardMode.CAR);
+
+		Tour previousTour = mock(Tour.class);
+		when(previousTour.mode()).thenReturn(StandardMode.BIKE);
+
+		tour = mock(Tour.class);
+		when(tour.hasPreviousTour()).thenReturn(true);
+		when(tour.previousTour()).thenReturn(previousTour);
+		when(tour.mainActivity()).thenReturn(mainActivity);
+		when(tour.firstActivity()).thenReturn(mainActivity);
+		when(tour.numberOfTrips()).thenReturn(3);
+		when(tour.containsActivityOf(ActivityType.SHOPPING_DAILY)).thenReturn(true);
+
+		Household household = mock(Household.class);
+		when(household.getSize()).thenReturn(1);
+
+		ActivityScheduleWithState schedule = mock(ActivityScheduleWithState.class,
+				withSettings().extraInterfaces(TourAwareActivitySchedule.class));
+		when(((TourAwareActivitySchedule) schedule).alreadyUsedTourmodes(mainActivity))
+				.thenReturn(Map.of(StandardMode.BIKE, 2));
+
+		person = mock(Person.class);
+		when(person.homeZone()).thenReturn(home);
+		when(person.household()).thenReturn(household);
+		when(person.modeChoicePrefsSurvey()).thenReturn(new ModeChoicePreferences(shares));
+		when(person.activitySchedule()).thenReturn(schedule);
+		when(person.hasCommuterTicket()).thenReturn(true);
+		when(person.hasBike()).thenReturn(true);
+		when(person.gender()).thenReturn(Gender.FEMALE);
+		when(person.employment()).thenReturn(Employment.PARTTIME);
+		when(person.age()).thenReturn(42);
+
+		impedance = mock(ImpedanceIfc.class);
+		when(impedance.getDistance(any(), any())).thenReturn(4321.0f);
+		when(impedance.getTravelTime(any(), any(), any(), any())).thenReturn(17.5f);
+		when(impedance.getTravelCost(any(), any(), any(), any())).thenReturn(2.25f);
+	}
+
+	/**
+	 * Compares the utilities of all parameter classes with the utilities of
+	 * {@link LinearUtilityFunction} on attribute maps as built by the former map based
+	 * gatherAttributes for this tour.
+	 */
+	@Test
+	void calculatesSameUtilitiesAsLinearUtilityFunction() throws Exception {
+		List<TourModeChoiceParameter> parameters = List
+				.of(new TourModeChoiceParameterBaseTimeCostByEmpSex(),
+						new TourModeChoiceParameterTimeCostByAgeHhtSex(),
+						new TourModeChoiceParameterTimeCostByAgeSex(),
+						new TourModeChoiceParameterTimeCostByAgeSexIz(),
+						new TourModeChoiceParameterTimeCostByEmpAgeSex(),
+						new TourModeChoiceParameterTimeCostByEmpAgeSexOnlyConst(),
+						new TourModeChoiceParameterTimeCostByEmpHhtSex(),
+						new TourModeChoiceParameterTimeCostByEmpSex(),
+						new TourModeChoiceParameterTimeCostByEmpSexModeShares(),
+						new TourModeChoiceParameterTimeCostByEmpSexModeSharesPref(),
+						new TourModeChoiceParameterTimeCostByEmpSexModeSharesPrefScaled(),
+						new TourModeChoiceParameterTimeCostByEmpSexNumUsedBefore(),
+						new TourModeChoiceParameterTimeCostByEmpSexPreferenceML(),
+						new TourModeChoiceParameterTimeCostByEmpSexPreferenceMLScaled(),
+						new TourModeChoiceParameterTimeCostByEmpSexPreviousMode(),
+						new TourModeChoiceParameterTimeCostByEmpSexPreviousModeWithoutInitial(),
+						new TourModeChoiceParameterTimeCostByEmpSexSameMode(),
+						new TourModeChoiceParameterTimeCostByEmpSexSameModeScaled(),
+						new TourModeChoiceParameterTimeCostByEmpSexSameModeWithoutInitial(),
+						new TourModeChoiceParameterTimeCostByEmpSexUsedBefore(),
+						new TourModeChoiceParameterTimeCostByEmpSexUsedBeforeScaled(),
+						new TourModeChoiceParameterTimeCostOnly());
+
+		for (TourModeChoiceParameter parameter : parameters) {
+			assertUtilities(parameter, this::expectedAttributes);
+		}
+		assertUtilities(new TourModeChoiceParameterOnlyConstants(),
+				mode -> expectedConstants());
+	}
+
+	private void assertUtilities(
+			TourModeChoiceParameter parameter, Function<Mode, Map<String, Double>> expectedAttributes) {
+		DefaultTourModeChoiceUtilityFunction function = new DefaultTourModeChoiceUtilityFunction(
+				parameter, impedance);
+
+		Map<Mode, Double> utilities = function.calculateUtilities(tour, person, preferences,
+				choiceSet);
+
+		Map<Mode, Map<String, Double>> attributes = parameter.gatherAttributes(choiceSet, tour,
+				person, preferences, impedance);
+		for (Mode mode : choiceSet) {
+			String name = parameter.getClass().getSimpleName() + " " + mode;
+			Map<String, Double> expected = expectedAttributes.apply(mode);
+			Double expectedUtility = new LinearUtilityFunction(parameter.parameterForMode(mode))
+					.calculateUtility(expected);
+			assertThat(name, attributes.get(mode), equalTo(expected));
+			assertThat(name, utilities.get(mode), equalTo(expectedUtility));
+		}
+	}
+
+	private Map<String, Double> expectedConstants() {
+		Map<String, Double> attributes = new LinkedHashMap<>();
+		attributes.put("CONST", 1.0);
+		attributes.put("DAY_FR", 0.0);
+		attributes.put("DAY_SA", 1.0);
+		attributes.put("DAY_SU", 0.0);
+		return attributes;
+	}
+
+	/**
+	 * Attributes of the tour as put into the maps by the former gatherAttributes of
+	 * {@link ModeChoiceAttributes}.
+	 */
+	private Map<String, Double> expectedAttributes(Mode mode) {
+		Map<String, Double> attributes = new LinkedHashMap<>();
+		attributes.put("CONST", 1.0);
+		attributes.put("INTRAZONAL", 0.0);
+		attributes.put("COMMUTING_TICKET", 1.0);
+		attributes.put("NO_DRIVING_LICENCE", 1.0);
+		attributes.put("HAS_BICYCLE", 1.0);
+		attributes.put("NUM_ACTIVITIES", 2.0);
+		attributes.put("TOUR_CONTAINS_SERVICE", 0.0);
+		attributes.put("TOUR_CONTAINS_STROLLING", 0.0);
+		attributes.put("TOUR_CONTAINS_BUSINESS", 0.0);
+		attributes.put("TOUR_CONTAINS_LEISURE", 0.0);
+		attributes.put("TOUR_CONTAINS_PRIVATE_BUSINESS", 0.0);
+		attributes.put("TOUR_CONTAINS_SHOPPING", 1.0);
+		attributes.put("TOUR_CONTAINS_VISIT", 0.0);
+		attributes.put("FEMALE", 1.0);
+		attributes.put("DAY_SA", 1.0);
+		attributes.put("DAY_SU", 0.0);
+		attributes.put("INITIAL_TOUR", 0.0);
+		attributes.put("SHARE_MODE_WALK", shares.get(StandardMode.PEDESTRIAN));
+		attributes.put("SHARE_MODE_BIKE", shares.get(StandardMode.BIKE));
+		attributes.put("SHARE_MODE_CAR", shares.get(StandardMode.CAR));
+		attributes.put("SHARE_MODE_PASSENGER", shares.get(StandardMode.PASSENGER));
+		attributes.put("SHARE_MODE_PT", shares.get(StandardMode.PUBLICTRANSPORT));
+		putWithCompounds(attributes, "EMPLOYMENT_PARTTIME", "EMPLOYMENT_EDUCATION",
+				"EMPLOYMENT_FULLTIME", "EMPLOYMENT_INFANT", "EMPLOYMENT_UNEMPLOYED", "EMPLOYMENT_NONE",
+				"EMPLOYMENT_HOMEKEEPER", "EMPLOYMENT_PARTTIME", "EMPLOYMENT_MARGINAL",
+				"EMPLOYMENT_RETIRED", "EMPLOYMENT_STUDENT_PRIMARY", "EMPLOYMENT_STUDENT_SECONDARY",
+				"EMPLOYMENT_STUDENT_TERTIARY");
+		putWithCompounds(attributes, "AGE_36TO50", "AGE_0TO9", "AGE_10TO17", "AGE_18TO25",
+				"AGE_26TO35", "AGE_36TO50", "AGE_51TO60", "AGE_61TO70", "AGE_71PLUS");
+		putWithCompounds(attributes, "HHTYPE_SINGLE", "HHTYPE_SINGLE", "HHTYPE_COUPLE",
+				"HHTYPE_KIDS0TO7", "HHTYPE_KIDS8TO12", "HHTYPE_KIDS13PLUS", "HHTYPE_MULTIADULT");
+		attributes.put("TIME:FEMALE", 1.0);
+		attributes.put("COST:FEMALE", 1.0);
+		attributes.put("PURPOSE_WORK", 1.0);
+		for (String purpose : List.of("PURPOSE_BUSINESS", "PURPOSE_EDUCATION", "PURPOSE_HOME",
+				"PURPOSE_LEISURE_INDOOR", "PURPOSE_LEISURE_OUTDOOR", "PURPOSE_LEISURE_OTHER",
+				"PURPOSE_LEISURE_WALK", "PURPOSE_OTHER", "PURPOSE_PRIVATE_BUSINESS",
+				"PURPOSE_PRIVATE_VISIT", "PURPOSE_SERVICE", "PURPOSE_SHOPPING_DAILY",
+				"PURPOSE_SHOPPING_OTHER")) {
+			attributes.put(purpose, 0.0);
+		}
+		attributes.put("DISTANCE_KM", 4.321);
+		attributes.put("TIME", 17.5);
+		attributes.put("COST", StandardMode.PUBLICTRANSPORT == mode ? 0.0 : 2.25);
+		attributes.put("ISTOURMODE", StandardMode.CAR == mode ? 1.0 : 0.0);
+		attributes.put("SAME_MODE_AS_BEFORE", StandardMode.BIKE == mode ? 1.0 : 0.0);
+		attributes.put("PREVIOUS_MODE_WALK", 0.0);
+		attributes.put("PREVIOUS_MODE_BIKE", 1.0);
+		attributes.put("PREVIOUS_MODE_CAR", 0.0);
+		attributes.put("PREVIOUS_MODE_PASSENGER", 0.0);
+		attributes.put("PREVIOUS_MODE_PT", 0.0);
+		attributes.put("SHARES_AS_PREFERENCE", shares.get(mode));
+		attributes.put("NUM_USED_BEFORE", StandardMode.BIKE == mode ? 2.0 : 0.0);
+		attributes.put("USED_BEFORE", StandardMode.BIKE == mode ? 1.0 : 0.0);
+		attributes.put("PREFERENCE", preferences.get(mode));
+		return attributes;
+	}
+
+	private static void putWithCompounds(
+			Map<String, Double> attributes, String matching, String... names) {
+		for (String name : names) {
+			double value = matching.equals(name) ? 1.0 : 0.0;
+			attributes.put(name, value);
+			attributes.put("TIME:" + name, value);
+			attributes.put("COST:" + name, value);
+		}
+	}
+
+	@Test
+	void calculatesUtilitiesOfChoiceSetOnly() throws Exception {
+		Set<Mode> modes = new LinkedHashSet<>(List.of(StandardMode.PUBLICTRANSPORT, StandardMode.CAR));
+		TourModeChoiceParameter parameter = new TourModeChoiceParameterTimeCostByEmpSex();
+		DefaultTourModeChoiceUtilityFunction function = new DefaultTourModeChoiceUtilityFunction(
+				parameter, impedance);
+
+		Map<Mode, Double> all = function.calculateUtilities(tour, person, preferences, choiceSet);
+		Map<Mode, Double> utilities = function.calculateUtilities(tour, person, preferences, modes);
+
+		assertThat(utilities.keySet(), contains(StandardMode.PUBLICTRANSPORT, StandardMode.CAR));
+		assertThat(utilities.get(StandardMode.PUBLICTRANSPORT),
+				equalTo(all.get(StandardMode.PUBLICTRANSPORT)));
+		assertThat(utilities.get(StandardMode.CAR), equalTo(all.get(StandardMode.CAR)));
+	}
+
+	@Test
+	void failsForMissingPreferenceUsedByParameter() throws Exception {
+		TourModeChoiceParameter parameter = new TourModeChoiceParameterTimeCostByEmpSexPreferenceML();
+		DefaultTourModeChoiceUtilityFunction function = new DefaultTourModeChoiceUtilityFunction(
+				parameter, impedance);
+		preferences.remove(StandardMode.CAR);
+
+		assertThrows(IllegalStateException.class,
+				() -> function.calculateUtilities(tour, person, preferences, choiceSet));
+	}
+
+	@Test
+	void ignoresMissingPreferenceNotUsedByParameter() throws Exception {
+		TourModeChoiceParameter parameter = new TourModeChoiceParameterTimeCostByEmpSex();
+		DefaultTourModeChoiceUtilityFunction function = new DefaultTourModeChoiceUtilityFunction(
+				parameter, impedance);
+		Map<Mode, Double> all = function.calculateUtilities(tour, person, preferences, choiceSet);
+		preferences.remove(StandardMode.CAR);
+
+		Map<Mode, Double> utilities = function.calculateUtilities(tour, person, preferences,
+				choiceSet);
+
+		assertThat(utilities, equalTo(all));
+		assertThat(parameter
+				.gatherAttributes(choiceSet, tour, person, preferences, impedance)
+				.get(StandardMode.CAR)
+				.get("PREFERENCE"), is(nullValue()));
+	}
+
+	@Test
+	void gathersAttributesByName() throws Exception {
+		TourModeChoiceParameter parameter = new TourModeChoiceParameterTimeCostByEmpSex();
+
+		Map<Mode, Map<String, Double>> attributes = parameter.gatherAttributes(choiceSet, tour, person,
+				preferences, impedance);
+
+		Map<String, Double> car = attributes.get(StandardMode.CAR);
+		assertThat(car.get("CONST"), equalTo(1.0));
+		assertThat(car.get("NUM_ACTIVITIES"), equalTo(2.0));
+		assertThat(car.get("TOUR_CONTAINS_SHOPPING"), equalTo(1.0));
+		assertThat(car.get("EMPLOYMENT_PARTTIME"), equalTo(1.0));
+		assertThat(car.get("TIME:EMPLOYMENT_PARTTIME"), equalTo(1.0));
+		assertThat(car.get("COST:EMPLOYMENT_FULLTIME"), equalTo(0.0));
+		assertThat(car.get("AGE_36TO50"), equalTo(1.0));
+		assertThat(car.get("HHTYPE_SINGLE"), equalTo(1.0));
+		assertThat(car.get("COST"), equalTo(2.25));
+		assertThat(car.get("ISTOURMODE"), equalTo(1.0));
+		assertThat(car.get("PREFERENCE"), equalTo(preferences.get(StandardMode.CAR)));
+		assertThat(attributes.get(StandardMode.PUBLICTRANSPORT).get("COST"), equalTo(0.0));
+		assertThat(attributes.get(StandardMode.BIKE).get("NUM_USED_BEFORE"), equalTo(2.0));
+		assertThat(attributes.get(StandardMode.BIKE).get("ISTOURMODE"), equalTo(0.0));
+	}
+
+}
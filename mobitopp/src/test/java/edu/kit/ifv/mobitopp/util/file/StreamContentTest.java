@@ -0,0 +1,52 @@
+package edu.kit.ifv.mobitopp.util.file;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StreamContentTest {
+
+	private static final String content = "some content";
+
+	@TempDir
+	public File temporaryFolder;
+
+	@Test
+	void readsGzipFile() throws IOException {
+		File file = new File(temporaryFolder, "file.gz");
+		try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
+			output.write(content.getBytes());
+		}
+
+		assertContent(file);
+	}
+
+	@Test
+	void readsFirstEntryOfZipFile() throws IOException {
+		File file = new File(temporaryFolder, "file.zip");
+		try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(file))) {
+			output.putNextEntry(new ZipEntry("file"));
+			output.write(content.getBytes());
+			output.closeEntry();
+		}
+
+		assertContent(file);
+	}
+
+	private void assertContent(File file) throws IOException {
+		try (InputStream input = StreamContent.of(file)) {
+			assertThat(new String(StreamContent.readBytes(input)), is(content));
+		}
+		assertThat(new String(StreamContent.readBytes(file)), is(content));
+	}
+}
@@ -0,0 +1,124 @@
+package edu.kit.ifv.mobitopp.util.logit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable;
+
+public class ArrayLogitModelTest {
+
+	private static final double margin = 1e-12;
+
+	private ArrayLogitModel model;
+
+	@BeforeEach
+	public void initialise() {
+		model = new ArrayLogitModel();
+	}
+
+	@Test
+	void calculatesProbabilities() throws Exception {
+		double[] utilities = { 1.0, 2.0, 0.0 };
+		double[] probabilities = new double[4];
+
+		model.calculateProbabilities(1.0, utilities, 3, probabilities);
+
+		double total = Math.exp(1.0) + Math.exp(2.0) + Math.exp(0.0);
+		assertThat(probabilities[0], closeTo(Math.exp(1.0) / total, margin));
+		assertThat(probabilities[1], closeTo(Math.exp(2.0) / total, margin));
+		assertThat(probabilities[2], closeTo(Math.exp(0.0) / total, margin));
+		assertThat(probabilities[3], is(0.0));
+	}
+
+	@Test
+	void scalesUtilitiesWithBeta() throws Exception {
+		double[] utilities = { 1.0, 2.0 };
+		double[] probabilities = new double[2];
+
+		model.calculateProbabilities(0.5, utilities, 2, probabilities);
+
+		double total = Math.exp(0.5) + Math.exp(1.0);
+		assertThat(probabilities[0], closeTo(Math.exp(0.5) / total, margin));
+		assertThat(probabilities[1], closeTo(Math.exp(1.0) / total, margin));
+	}
+
+	@Test
+	void doesNotOverflowForLargeUtilities() throws Exception {
+		double[] utilities = { 1000.0, 1000.0 + Math.log(3.0) };
+
+		model.calculateProbabilities(1.0, utilities, 2, utilities);
+
+		assertThat(utilities[0], closeTo(0.25, margin));
+		assertThat(utilities[1], closeTo(0.75, margin));
+	}
+
+	@Test
+	void doesNotUnderflowForSmallUtilities() throws Exception {
+		double[] utilities = { -2000.0, -2000.0 + Math.log(3.0) };
+
+		model.calculateProbabilities(1.0, utilities, 2, utilities);
+
+		assertThat(utilities[0], closeTo(0.25, margin));
+		assertThat(utilities[1], closeTo(0.75, margin));
+	}
+
+	@Test
+	void calculatesLogSumExp() throws Exception {
+		double[] utilities = { 1000.0, 1000.0 };
+
+		assertThat(model.logSumExp(1.0, utilities, 2), closeTo(1000.0 + Math.log(2.0), margin));
+		assertThat(model.logSumExp(2.0, new double[] { 0.0, 1.0 }, 2),
+				closeTo(Math.log(1.0 + Math.exp(2.0)), margin));
+	}
+
+	@Test
+	void ignoresAlternativesWithoutUtility() throws Exception {
+		double[] utilities = { Double.NEGATIVE_INFINITY, 1.0 };
+		double[] probabilities = new double[2];
+
+		int selected = model.select(1.0, utilities, 2, probabilities, 0.0);
+
+		assertThat(selected, is(1));
+		assertThat(probabilities[0], is(0.0));
+	}
+
+	@Test
+	void selectsLikeDiscreteRandomVariable() throws Exception {
+		Random random = new Random(42);
+		for (int distribution = 0; distribution < 100; distribution++) {
+			int size = 1 + random.nextInt(20);
+			double[] probabilities = new double[size];
+			Map<Integer, Double> weights = new LinkedHashMap<>();
+			for (int index = 0; index < size; index++) {
+				probabilities[index] = 0 < index && random.nextInt(4) == 0 ? 0.0 : random.nextDouble();
+				weights.put(index, probabilities[index]);
+			}
+			DiscreteRandomVariable<Integer> reference = new DiscreteRandomVariable<>(weights);
+
+			for (int draw = 0; draw < 100; draw++) {
+				double randomNumber = random.nextDouble();
+				assertThat(model.select(probabilities, size, randomNumber),
+						is(reference.realization(randomNumber)));
+			}
+			assertThat(model.select(probabilities, size, 1.0), is(reference.realization(1.0)));
+		}
+	}
+
+	@Test
+	void failsWithoutAlternatives() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> model.calculateProbabilities(1.0, new double[0], 0, new double[0]));
+		assertThrows(IllegalArgumentException.class,
+				() -> model.select(new double[0], 0, 0.5));
+	}
+
+}
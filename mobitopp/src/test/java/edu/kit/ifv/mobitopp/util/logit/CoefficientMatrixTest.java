@@ -0,0 +1,86 @@
+package edu.kit.ifv.mobitopp.util.logit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CoefficientMatrixTest {
+
+	private List<String> attributeNames;
+	private Map<String, Map<String, Double>> parameters;
+
+	@BeforeEach
+	public void initialise() {
+		attributeNames = List.of("CONST", "TIME", "COST");
+		Map<String, Double> car = new LinkedHashMap<>();
+		car.put("COST", -0.3);
+		car.put("CONST", 0.7);
+		car.put("TIME", -0.1);
+		Map<String, Double> walk = new LinkedHashMap<>();
+		walk.put("TIME", -0.2);
+		parameters = new LinkedHashMap<>();
+		parameters.put("car", car);
+		parameters.put("walk", walk);
+	}
+
+	@Test
+	void calculatesUtilityLikeLinearUtilityFunction() throws Exception {
+		CoefficientMatrix<String> matrix = CoefficientMatrix.compile(parameters, attributeNames);
+		double[] attributes = { 1.0, 13.3, 4.1 };
+		Map<String, Double> attributesByName = new LinkedHashMap<>();
+		attributesByName.put("CONST", 1.0);
+		attributesByName.put("TIME", 13.3);
+		attributesByName.put("COST", 4.1);
+
+		for (String alternative : parameters.keySet()) {
+			Double expected = new LinearUtilityFunction(parameters.get(alternative))
+					.calculateUtility(attributesByName);
+			assertThat(matrix.utility(alternative, attributes), equalTo(expected));
+		}
+	}
+
+	@Test
+	void resolvesAlternatives() throws Exception {
+		CoefficientMatrix<String> matrix = CoefficientMatrix.compile(parameters, attributeNames);
+
+		assertThat(matrix.indexOf("car"), is(0));
+		assertThat(matrix.indexOf("walk"), is(1));
+		assertThat(matrix.indexOf("bike"), is(-1));
+		assertThrows(IllegalArgumentException.class, () -> matrix.utility("bike", new double[3]));
+	}
+
+	@Test
+	void failsOnMissingValueOfUsedAttribute() throws Exception {
+		CoefficientMatrix<String> matrix = CoefficientMatrix.compile(parameters, attributeNames);
+		double[] attributes = { 1.0, 13.3, Double.NaN };
+
+		assertThat(matrix.utility("walk", attributes), equalTo(-0.2 * 13.3));
+		assertThrows(IllegalStateException.class, () -> matrix.utility("car", attributes));
+	}
+
+	@Test
+	void failsOnUnknownAttribute() throws Exception {
+		parameters.put("bike", Map.of("DISTANCE", 1.0));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> CoefficientMatrix.compile(parameters, attributeNames));
+	}
+
+	@Test
+	void failsOnMissingCoefficient() throws Exception {
+		parameters.put("bike", Collections.singletonMap("TIME", null));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> CoefficientMatrix.compile(parameters, attributeNames));
+	}
+
+}
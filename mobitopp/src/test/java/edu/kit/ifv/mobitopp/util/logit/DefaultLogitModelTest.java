@@ -0,0 +1,107 @@
+package edu.kit.ifv.mobitopp.util.logit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.kit.ifv.mobitopp.util.randomvariable.DiscreteRandomVariable;
+
+public class DefaultLogitModelTest {
+
+	private static final double margin = 1e-12;
+
+	private Map<String, Double> utilities;
+	private DefaultLogitModel<String> model;
+
+	@BeforeEach
+	public void initialise() {
+		utilities = new LinkedHashMap<>();
+		utilities.put("c", 0.0);
+		utilities.put("a", Math.log(2.0));
+		utilities.put("b", Math.log(5.0));
+		model = new DefaultLogitModel<>();
+	}
+
+	@Test
+	void calculatesProbabilitiesInOrderOfUtilities() throws Exception {
+		Map<String, Double> probabilities = model.calculateProbabilities(utilities);
+
+		assertThat(probabilities.keySet(), contains("c", "a", "b"));
+		assertThat(probabilities.get("c"), closeTo(0.125, margin));
+		assertThat(probabilities.get("a"), closeTo(0.25, margin));
+		assertThat(probabilities.get("b"), closeTo(0.625, margin));
+	}
+
+	@Test
+	void restrictsToChoiceSet() throws Exception {
+		Map<String, Double> probabilities = model.calculateProbabilities(utilities,
+				List.of("b", "c", "unknown"));
+
+		assertThat(probabilities.keySet(), contains("c", "b"));
+		assertThat(probabilities.get("c"), closeTo(1.0 / 6.0, margin));
+		assertThat(probabilities.get("b"), closeTo(5.0 / 6.0, margin));
+	}
+
+	@Test
+	void handlesLargeUtilities() throws Exception {
+		utilities.put("a", 800.0);
+		utilities.put("b", 800.0);
+
+		Map<String, Double> probabilities = model.calculateProbabilities(utilities);
+
+		assertThat(probabilities.get("a"), closeTo(0.5, margin));
+		assertThat(probabilities.get("b"), closeTo(0.5, margin));
+	}
+
+	@Test
+	void selectsByCumulativeProbability() throws Exception {
+		assertThat(model.select(utilities, 0.0), is("c"));
+		assertThat(model.select(utilities, 0.124), is("c"));
+		assertThat(model.select(utilities, 0.126), is("a"));
+		assertThat(model.select(utilities, 0.374), is("a"));
+		assertThat(model.select(utilities, 0.376), is("b"));
+		assertThat(model.select(utilities, 1.0), is("b"));
+		assertThat(model.select(utilities, List.of("a", "b"), 0.28), is("a"));
+		assertThat(model.select(utilities, List.of("a", "b"), 0.29), is("b"));
+	}
+
+	@Test
+	void selectsLikeExponentiatedUtilitiesWithoutShift() throws Exception {
+		Random random = new Random(42);
+		for (int distribution = 0; distribution < 100; distribution++) {
+			Map<Integer, Double> someUtilities = new LinkedHashMap<>();
+			Map<Integer, Double> expUtilities = new LinkedHashMap<>();
+			int size = 1 + random.nextInt(20);
+			double total = 0.0;
+			for (int index = 0; index < size; index++) {
+				double utility = 10.0 * random.nextGaussian();
+				someUtilities.put(index, utility);
+				expUtilities.put(index, Math.exp(utility));
+				total += Math.exp(utility);
+			}
+			Map<Integer, Double> probabilities = new LinkedHashMap<>();
+			for (Map.Entry<Integer, Double> expUtility : expUtilities.entrySet()) {
+				probabilities.put(expUtility.getKey(), expUtility.getValue() / total);
+			}
+			DiscreteRandomVariable<Integer> reference = new DiscreteRandomVariable<>(probabilities);
+			DefaultLogitModel<Integer> someModel = new DefaultLogitModel<>();
+
+			assertThat(someModel.calculateProbabilities(someUtilities), is(probabilities));
+			for (int draw = 0; draw < 100; draw++) {
+				double randomNumber = random.nextDouble();
+				assertThat(someModel.select(someUtilities, randomNumber),
+						is(reference.realization(randomNumber)));
+			}
+		}
+	}
+
+}
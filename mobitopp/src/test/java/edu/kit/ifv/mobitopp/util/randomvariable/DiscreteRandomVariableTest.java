@@ -1,8 +1,14 @@
 package edu.kit.ifv.mobitopp.util.randomvariable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -94,4 +100,100 @@ public class DiscreteRandomVariableTest {
 		assertEquals(THIRD,  rv.realization(0.9));
 	}
 
+	@Test
+	public void testUniformDistribution() {
+
+		DiscreteRandomVariable<Integer> rv = new DiscreteRandomVariable<Integer>(
+				List.of(FIRST, SECOND, THIRD, FOURTH));
+
+		assertEquals(randomVariable, rv);
+		assertEquals(randomVariable.hashCode(), rv.hashCode());
+		assertEquals(FIRST,  rv.realization(0.1));
+		assertEquals(FOURTH, rv.realization(1.0));
+	}
+
+	@Test
+	public void testZeroAndInfiniteTotal() {
+
+		TreeMap<Integer,Double> zero = new TreeMap<Integer,Double>();
+		zero.put(FIRST,  0.0);
+		zero.put(SECOND, 0.0);
+
+		TreeMap<Integer,Double> infinite = new TreeMap<Integer,Double>();
+		infinite.put(FIRST,  1.0);
+		infinite.put(SECOND, Double.POSITIVE_INFINITY);
+		infinite.put(THIRD,  Double.POSITIVE_INFINITY);
+
+		DiscreteRandomVariable<Integer> zeroVariable = new DiscreteRandomVariable<Integer>(zero);
+		DiscreteRandomVariable<Integer> infiniteVariable = new DiscreteRandomVariable<Integer>(infinite);
+
+		assertEquals(FIRST,  zeroVariable.realization(0.49));
+		assertEquals(SECOND, zeroVariable.realization(0.5));
+		assertEquals(SECOND, infiniteVariable.realization(0.49));
+		assertEquals(THIRD,  infiniteVariable.realization(0.5));
+	}
+
+	@Test
+	public void testEqualsAndToString() {
+
+		assertEquals(randomVariable, new DiscreteRandomVariable<Integer>(data2));
+		assertNotEquals(randomVariable, new DiscreteRandomVariable<Integer>(List.of(FIRST, SECOND)));
+		assertEquals("{0.25=1, 0.5=2, 0.75=3, 1.0=4}", randomVariable.toString());
+	}
+
+	@Test
+	public void testSameRealizationsAsCumulativeMap() {
+
+		Random random = new Random(42);
+
+		for (int distribution = 0; distribution < 100; distribution++) {
+
+			Map<Integer,Double> weights = new LinkedHashMap<Integer,Double>();
+			int numberOfValues = 1 + random.nextInt(50);
+
+			for (int value = 0; value < numberOfValues; value++) {
+				weights.put(value, 0 < value && random.nextInt(4) == 0 ? 0.0 : random.nextDouble());
+			}
+
+			DiscreteRandomVariable<Integer> rv = new DiscreteRandomVariable<Integer>(weights);
+			NavigableMap<Double,Integer> reference = referenceDistribution(weights);
+
+			for (int draw = 0; draw < 1000; draw++) {
+				double rnd = random.nextDouble();
+				assertEquals(referenceRealization(reference, rnd), rv.realization(rnd));
+			}
+			for (Double cumulative : reference.keySet()) {
+				double rnd = Math.min(cumulative, 1.0);
+				assertEquals(referenceRealization(reference, rnd), rv.realization(rnd));
+			}
+			assertEquals(referenceRealization(reference, 0.0), rv.realization(0.0));
+			assertEquals(referenceRealization(reference, 1.0), rv.realization(1.0));
+		}
+	}
+
+	private static NavigableMap<Double,Integer> referenceDistribution(Map<Integer,Double> weights) {
+
+		double total = 0.0;
+		for (Double weight : weights.values()) {
+			total += weight;
+		}
+
+		NavigableMap<Double,Integer> cumulative = new TreeMap<Double,Integer>();
+		double current = 0.0;
+		for (Map.Entry<Integer,Double> entry : weights.entrySet()) {
+			double increment = entry.getValue() / total;
+			if (current + increment > current) {
+				current += increment;
+				cumulative.put(current, entry.getKey());
+			}
+		}
+		return cumulative;
+	}
+
+	private static Integer referenceRealization(NavigableMap<Double,Integer> reference, double rnd) {
+
+		Map.Entry<Double,Integer> entry = reference.higherEntry(rnd);
+		return entry != null ? entry.getValue() : reference.lastEntry().getValue();
+	}
+
 }
@@ -0,0 +1,103 @@
+package edu.kit.ifv.mobitopp.util.randomvariable;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IndexedRandomVariableTest {
+
+	private static final int numberOfDraws = 100000;
+
+	Integer FIRST  = 1;
+	Integer SECOND = 2;
+	Integer THIRD  = 3;
+	Integer FOURTH = 4;
+
+	@Test
+	public void testFrequencies() {
+
+		Map<Integer,Double> data = new LinkedHashMap<Integer,Double>();
+		data.put(FIRST,  0.1);
+		data.put(SECOND, 0.0);
+		data.put(THIRD,  0.6);
+		data.put(FOURTH, 0.3);
+
+		Map<Integer,Double> frequencies = frequencies(new IndexedRandomVariable<Integer>(data));
+
+		assertEquals(0.1, frequencies.getOrDefault(FIRST,  0.0), 1e-4);
+		assertEquals(0.0, frequencies.getOrDefault(SECOND, 0.0), 0.0);
+		assertEquals(0.6, frequencies.getOrDefault(THIRD,  0.0), 1e-4);
+		assertEquals(0.3, frequencies.getOrDefault(FOURTH, 0.0), 1e-4);
+	}
+
+	@Test
+	public void testUniformDistribution() {
+
+		IndexedRandomVariable<Integer> rv = new IndexedRandomVariable<Integer>(
+				List.of(FIRST, SECOND, THIRD, FOURTH));
+
+		assertEquals(FIRST,  rv.realization(0.0));
+		assertEquals(SECOND, rv.realization(0.25));
+		assertEquals(THIRD,  rv.realization(0.5));
+		assertEquals(FOURTH, rv.realization(0.75));
+		assertEquals(FOURTH, rv.realization(1.0));
+	}
+
+	@Test
+	public void testInfiniteTotal() {
+
+		Map<Integer,Double> data = new LinkedHashMap<Integer,Double>();
+		data.put(FIRST,  1.0);
+		data.put(SECOND, Double.POSITIVE_INFINITY);
+
+		IndexedRandomVariable<Integer> rv = new IndexedRandomVariable<Integer>(data);
+
+		assertEquals(SECOND, rv.realization(0.0));
+		assertEquals(SECOND, rv.realization(0.5));
+		assertEquals(SECOND, rv.realization(1.0));
+	}
+
+	@Test
+	public void selectsLikeDiscreteRandomVariable() {
+
+		Random random = new Random(42);
+		for (int distribution = 0; distribution < 100; distribution++) {
+			int size = 1 + random.nextInt(50);
+			Map<Integer,Double> data = new LinkedHashMap<Integer,Double>();
+			for (int value = 0; value < size; value++) {
+				data.put(value, 0 < value && random.nextInt(4) == 0 ? 0.0 : random.nextDouble());
+			}
+			DiscreteRandomVariable<Integer> reference = new DiscreteRandomVariable<Integer>(data);
+			IndexedRandomVariable<Integer> rv = new IndexedRandomVariable<Integer>(data);
+
+			for (int draw = 0; draw < 1000; draw++) {
+				double rnd = random.nextDouble();
+				assertEquals(reference.realization(rnd), rv.realization(rnd));
+			}
+			for (int index = 0; index < reference.size(); index++) {
+				double boundary = Math.min(1.0, reference.cumulativeProbability(index));
+				assertEquals(reference.realization(boundary), rv.realization(boundary));
+				double below = Math.max(0.0, Math.nextDown(boundary));
+				assertEquals(reference.realization(below), rv.realization(below));
+			}
+			assertEquals(reference.realization(0.0), rv.realization(0.0));
+			assertEquals(reference.realization(1.0), rv.realization(1.0));
+		}
+	}
+
+	private static Map<Integer,Double> frequencies(IndexedRandomVariable<Integer> rv) {
+
+		Map<Integer,Double> frequencies = new LinkedHashMap<Integer,Double>();
+		for (int draw = 0; draw < numberOfDraws; draw++) {
+			double rnd = (draw + 0.5) / numberOfDraws;
+			frequencies.merge(rv.realization(rnd), 1.0 / numberOfDraws, Double::sum);
+		}
+		return frequencies;
+	}
+
+}
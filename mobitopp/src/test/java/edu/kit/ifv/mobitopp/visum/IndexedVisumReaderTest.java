@@ -0,0 +1,129 @@
+package edu.kit.ifv.mobitopp.visum;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.kit.ifv.mobitopp.util.dataimport.Row;
+import edu.kit.ifv.mobitopp.visum.reader.VisumFileReader;
+
+public class IndexedVisumReaderTest {
+
+  private static final String defaultSeparator = ";";
+  private static final Charset charset = StandardCharsets.ISO_8859_1;
+
+  @TempDir
+  public File folder;
+  private TestTables testTables;
+
+  @BeforeEach
+  public void initialise() {
+    testTables = new TestTables();
+  }
+
+  @Test
+  void readsTables() throws Exception {
+    testTables.addSomeTable();
+    testTables.addCommentLine();
+    testTables.addEmptyLine();
+    testTables.addOtherTable();
+    File file = write(testTables.toString());
+
+    IndexedVisumReader reader = new IndexedVisumReader();
+
+    assertThat(rowsOf(reader, file, testTables.someTable),
+        contains(Row.createRow(testTables.someValues, testTables.someAttributes)));
+    assertThat(rowsOf(reader, file, testTables.otherTable),
+        contains(Row.createRow(testTables.otherValues, testTables.otherAttributes)));
+  }
+
+  @Test
+  void describesTablesLikeTableDescriptionReader() throws Exception {
+    testTables.addSomeTable();
+    testTables.addCommentLine();
+    testTables.addEmptyLine();
+    testTables.addOtherTable();
+    File file = write(testTables.toString());
+
+    IndexedVisumReader reader = new IndexedVisumReader();
+
+    Map<String, TableDescription> expected = new TableDescriptionReader(defaultSeparator)
+        .readTables(Files.newBufferedReader(file.toPath(), charset));
+    assertThat(reader.getTableDescription(file, charset, testTables.someTable),
+        is(equalTo(expected.get(testTables.someTable))));
+    assertThat(reader.getTableDescription(file, charset, testTables.otherTable),
+        is(equalTo(expected.get(testTables.otherTable))));
+  }
+
+  @Test
+  void readsWindowsLineEndingsAndLastLineWithoutLineBreak() throws Exception {
+    File file = write("$VERSION:VERSNR\r\n10\r\n\r\n$TABLE:NO;NAME;CODE\r\n1;first\r\n2;second;B");
+
+    IndexedVisumReader reader = new IndexedVisumReader();
+
+    List<String> attributes = List.of("NO", "NAME", "CODE");
+    assertThat(rowsOf(reader, file, "TABLE"),
+        contains(Row.createRow(List.of("1", "first", ""), attributes),
+            Row.createRow(List.of("2", "second", "B"), attributes)));
+  }
+
+  @Test
+  void readsTableOfEmptyFile() throws Exception {
+    File file = write("");
+
+    assertThat(rowsOf(new IndexedVisumReader(), file, testTables.someTable), is(empty()));
+  }
+
+  @Test
+  void readsSameRowsAsStreamReader() throws Exception {
+    StringBuilder content = new StringBuilder("$VISION\n");
+    for (int table = 0; table < 5; table++) {
+      content.append("* table " + table + "\n");
+      content.append("$TABLE" + table + ":NO;NAME;VALUE\n");
+      for (int row = 0; row < 100 * table; row++) {
+        content.append(row + ";name " + row + ";" + row * table + "\n");
+      }
+      content.append("\n");
+    }
+    File file = write(content.toString());
+    IndexedVisumReader reader = new IndexedVisumReader(defaultSeparator, charset, 7, 1 << 8);
+    StreamReader streamReader = new StreamReader(defaultSeparator, charset);
+
+    for (String table : tablesOf(file)) {
+      assertThat(table, rowsOf(reader, file, table), is(equalTo(rowsOf(streamReader, file, table))));
+    }
+    assertThat(rowsOf(reader, file, "TABLE4").size(), is(400));
+  }
+
+  private List<String> tablesOf(File file) throws IOException {
+    try (BufferedReader content = Files.newBufferedReader(file.toPath(), charset)) {
+      return List.copyOf(new TableDescriptionReader(defaultSeparator).readTables(content).keySet());
+    }
+  }
+
+  private List<Row> rowsOf(VisumFileReader reader, File file, String table) {
+    return reader.read(file, table).collect(toList());
+  }
+
+  private File write(String content) throws IOException {
+    File file = new File(folder, "network.net");
+    Files.write(file.toPath(), content.getBytes(charset));
+    return file;
+  }
+}
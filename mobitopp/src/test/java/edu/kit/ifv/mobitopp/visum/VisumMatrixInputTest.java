@@ -0,0 +1,80 @@
+package edu.kit.ifv.mobitopp.visum;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VisumMatrixInputTest {
+
+	@Test
+	void readsLinesWithDifferentLineEndings() throws IOException {
+		VisumMatrixInput input = inputOf("first\r\nsecond\nthird");
+
+		assertThat(input.readLine(), is("first"));
+		assertThat(input.readLine(), is("second"));
+		assertThat(input.readLine(), is("third"));
+		assertThat(input.readLine(), is(nullValue()));
+	}
+
+	@Test
+	void readsValuesOfSingleLine() throws IOException {
+		VisumMatrixInput input = inputOf(" 1.5\t-2 +3.25 \r\n 4.0\n");
+		float[] values = new float[4];
+
+		assertThat(input.readValues(values, 0), is(3));
+		assertThat(input.readValues(values, 3), is(4));
+		assertThat(values, is(new float[] { 1.5f, -2.0f, 3.25f, 4.0f }));
+	}
+
+	@Test
+	void parsesValuesLikeFloatParseFloat() throws IOException {
+		Random random = new Random(42);
+		StringBuilder content = new StringBuilder();
+		String[] tokens = new String[10000];
+		for (int index = 0; index < tokens.length; index++) {
+			tokens[index] = tokenOf(random, index);
+			content.append(' ').append(tokens[index]);
+		}
+		float[] values = new float[tokens.length];
+
+		inputOf(content.toString()).readValues(values, 0);
+
+		for (int index = 0; index < tokens.length; index++) {
+			assertThat(tokens[index], values[index], is(Float.parseFloat(tokens[index])));
+		}
+	}
+
+	private static String tokenOf(Random random, int index) {
+		switch (index % 5) {
+		case 0:
+			return String.format(Locale.ROOT, "%.3f", 10000 * random.nextFloat());
+		case 1:
+			return String.format(Locale.ROOT, "%.9f", random.nextFloat());
+		case 2:
+			return String.valueOf(-random.nextInt(1000000));
+		case 3:
+			return String.valueOf(random.nextFloat() * 1e20f);
+		default:
+			return String.format(Locale.ROOT, "%.6f", random.nextGaussian());
+		}
+	}
+
+	@Test
+	void failsOnInvalidValue() {
+		VisumMatrixInput input = inputOf(" 1.0.0");
+
+		assertThrows(NumberFormatException.class, () -> input.readValues(new float[1], 0));
+	}
+
+	private static VisumMatrixInput inputOf(String content) {
+		return new VisumMatrixInput(new ByteArrayInputStream(content.getBytes()));
+	}
+}